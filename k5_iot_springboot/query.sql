@@ -103,6 +103,7 @@ CREATE TABLE IF NOT EXISTS `users` (
     email VARCHAR(255) NOT NULL,
     nickname VARCHAR(50) NOT NULL,
     gender VARCHAR(10),
+    token_version BIGINT NOT NULL DEFAULT 0,	# 권한 변경 시 증가 - JWT ver 클레임이 이보다 작으면 거부
     created_at DATETIME(6) NOT NULL,
     updated_at DATETIME(6) NOT NULL,
     PRIMARY KEY (id),
@@ -168,9 +169,20 @@ SELECT * FROM articles;
 -- 안전 실행: 삭제 순서
 # cf) FOREIGN_KEY_CHECKS: 외래 키 제약 조건을 활성화(1)하거나 비활성화(0)하는 명령어
 SET FOREIGN_KEY_CHECKS = 0;
+DROP TABLE IF EXISTS token_revocations;
+DROP TABLE IF EXISTS refresh_tokens;
+DROP TABLE IF EXISTS principal_invalidations;
+DROP TABLE IF EXISTS stock_snapshots;
+DROP TABLE IF EXISTS stock_movements;
+DROP TABLE IF EXISTS daily_product_sales;
+DROP TABLE IF EXISTS product_admission_rules;
+DROP TABLE IF EXISTS order_tickets;
+DROP TABLE IF EXISTS idempotency_keys;
 DROP TABLE IF EXISTS order_logs;
 DROP TABLE IF EXISTS order_items;
 DROP TABLE IF EXISTS orders;
+DROP TABLE IF EXISTS stock_deltas;
+DROP TABLE IF EXISTS stock_slots;
 DROP TABLE IF EXISTS stocks;
 DROP TABLE IF EXISTS products;
 SET FOREIGN_KEY_CHECKS = 1;
@@ -180,6 +192,7 @@ CREATE TABLE IF NOT EXISTS `products` (
 	id			BIGINT AUTO_INCREMENT PRIMARY KEY,
     name		VARCHAR(100) NOT NULL,
     price		INT NOT NULL,
+    auto_approve	BOOLEAN NOT NULL DEFAULT FALSE,		# 자동 승인 대상 상품 여부
     created_at	DATETIME(6) NOT NULL,
     updated_at 	DATETIME(6) NOT NULL,
     CONSTRAINT uq_products_name UNIQUE (name),
@@ -194,6 +207,7 @@ CREATE TABLE IF NOT EXISTS `products` (
 	id			BIGINT AUTO_INCREMENT PRIMARY KEY,
     name		VARCHAR(100) NOT NULL,
     price		INT NOT NULL,
+    auto_approve	BOOLEAN NOT NULL DEFAULT FALSE,		# 자동 승인 대상 상품 여부
     created_at	DATETIME(6) NOT NULL,
     updated_at 	DATETIME(6) NOT NULL,
     CONSTRAINT uq_products_name UNIQUE (name),
@@ -210,6 +224,8 @@ CREATE TABLE IF NOT EXISTS `stocks` (
 	id			BIGINT AUTO_INCREMENT PRIMARY KEY,
     product_id	BIGINT NOT NULL,
     quantity	INT NOT NULL,
+    version		BIGINT NOT NULL DEFAULT 0,		# 낙관적 락(@Version) 버전 번호
+    sharded		BOOLEAN NOT NULL DEFAULT FALSE,	# 슬롯 분할 여부 (SHARDED) - 분할 이후 stocks 행 조건부 UPDATE 대상에서 제외
     created_at	DATETIME(6) NOT NULL,
     updated_at 	DATETIME(6) NOT NULL,
     CONSTRAINT fk_stocks_product
@@ -221,11 +237,52 @@ CREATE TABLE IF NOT EXISTS `stocks` (
   COLLATE = utf8mb4_unicode_ci
   COMMENT = '상품 재고 정보';
 
+-- 분할 재고 슬롯 테이블 (stock.mutation-mode=SHARDED)
+# 한 상품의 재고를 slot_no 0 ~ N-1 행으로 나누어 저장 - 가용 재고 = 슬롯 수량 합계
+CREATE TABLE IF NOT EXISTS `stock_slots` (
+	id			BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id	BIGINT NOT NULL,
+    slot_no		INT NOT NULL,
+    quantity	INT NOT NULL,
+    created_at	DATETIME(6) NOT NULL,
+    updated_at 	DATETIME(6) NOT NULL,
+    CONSTRAINT fk_stock_slots_product
+		FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE,
+	CONSTRAINT chk_stock_slots_qty CHECK (quantity >= 0),
+    CONSTRAINT uq_stock_slots_product_slot UNIQUE (product_id, slot_no),
+    INDEX idx_stock_slots_product_id (product_id)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_unicode_ci
+  COMMENT = '분할 재고 슬롯';
+
+-- cf) sharded 컬럼 추가 이전에 이미 분할된 상품 표시 (1회)
+-- UPDATE stocks SET sharded = TRUE WHERE product_id IN (SELECT DISTINCT product_id FROM stock_slots);
+
+-- 재고 변경 원장 테이블 (stock.mutation-mode=LEDGER)
+# 커밋된 재고 증감(delta)을 stocks 에 반영되기 전까지 보관 - 가용 재고 = stocks.quantity + SUM(delta)
+CREATE TABLE IF NOT EXISTS `stock_deltas` (
+	id			BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id	BIGINT NOT NULL,
+    delta		INT NOT NULL,								# 양수: 복원/입고, 음수: 차감
+    created_at	DATETIME(6) NOT NULL,
+    updated_at 	DATETIME(6) NOT NULL,
+    CONSTRAINT fk_stock_deltas_product
+		FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE,
+    INDEX idx_stock_deltas_product_id (product_id)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_unicode_ci
+  COMMENT = '재고 변경 원장';
+
 -- 주문 정보 테이블
 CREATE TABLE IF NOT EXISTS `orders` (
-	id				BIGINT AUTO_INCREMENT PRIMARY KEY,	
+	id				BIGINT PRIMARY KEY,					# 애플리케이션 생성 ID (SnowflakeIds)
     user_id			BIGINT NOT NULL,
     order_status	VARCHAR(50) NOT NULL DEFAULT 'PENDING',
+    total_amount	INT NOT NULL DEFAULT 0,				# 주문 시점 총액 (항목 line_total 합계)
+    total_quantity	INT NOT NULL DEFAULT 0,				# 주문 시점 총수량
+    auto_approve	BOOLEAN NOT NULL DEFAULT FALSE,		# 자동 승인 대상 (모든 항목이 자동 승인 상품)
 	created_at	DATETIME(6) NOT NULL,
     updated_at 	DATETIME(6) NOT NULL,
     CONSTRAINT fk_orders_user
@@ -233,7 +290,9 @@ CREATE TABLE IF NOT EXISTS `orders` (
 	CONSTRAINT chk_orders_os CHECK (order_status IN ('PENDING', 'APPROVED', 'CANCELLED')),
     INDEX idx_orders_user (user_id),
     INDEX idx_orders_status (order_status),
-    INDEX idx_orders_created_at (created_at)
+    INDEX idx_orders_created_at (created_at),
+    INDEX idx_orders_total_amount (total_amount),			# 금액 조건 검색/정렬
+    INDEX idx_orders_auto_approve (order_status, auto_approve)	# 자동 승인 대기 주문 (ID 순) 조회
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8mb4
   COLLATE = utf8mb4_unicode_ci
@@ -241,10 +300,13 @@ CREATE TABLE IF NOT EXISTS `orders` (
   
 -- 주문 상세 정보 테이블
 CREATE TABLE IF NOT EXISTS `order_items` (
-	id			BIGINT AUTO_INCREMENT PRIMARY KEY,
+	id			BIGINT PRIMARY KEY,						# 애플리케이션 생성 ID (SnowflakeIds)
     order_id	BIGINT NOT NULL,					# 주문 정보
     product_id	BIGINT NOT NULL,					# 제품 정보 
     quantity	INT NOT NULL,
+    product_name	VARCHAR(100) NOT NULL,			# 주문 시점 상품명 스냅샷
+    unit_price	INT NOT NULL,						# 주문 시점 단가 스냅샷 (이후 상품 가격 변경과 무관)
+    line_total	INT NOT NULL,						# unit_price * quantity
     created_at	DATETIME(6) NOT NULL,
     updated_at 	DATETIME(6) NOT NULL,
     CONSTRAINT fk_order_items_order
@@ -276,6 +338,168 @@ CREATE TABLE IF NOT EXISTS `order_logs` (
   DEFAULT CHARSET = utf8mb4
   COLLATE = utf8mb4_unicode_ci
   COMMENT = '주문 기록 정보';
+
+-- Idempotency-Key 테이블 (주문 생성 재시도 시 최초 응답 재사용)
+CREATE TABLE IF NOT EXISTS `idempotency_keys` (
+	id				BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id			BIGINT NOT NULL,
+    idem_key		VARCHAR(100) NOT NULL,
+    request_hash	CHAR(64) NOT NULL,						# 요청 본문 SHA-256
+    status			VARCHAR(20) NOT NULL,					# IN_PROGRESS | COMPLETED
+    response_body	MEDIUMTEXT NULL,						# 최초 응답 JSON
+    claimed_at		DATETIME(6) NOT NULL,					# 처리 권한 선점 시각 (임대 시간 지나면 넘겨받음)
+    expires_at		DATETIME(6) NOT NULL,
+    created_at		DATETIME(6) NOT NULL,
+    updated_at 		DATETIME(6) NOT NULL,
+    CONSTRAINT fk_idempotency_keys_user
+		FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+	CONSTRAINT chk_idempotency_keys_status CHECK (status IN ('IN_PROGRESS', 'COMPLETED')),
+    CONSTRAINT uq_idempotency_keys_user_key UNIQUE (user_id, idem_key),
+    INDEX idx_idempotency_keys_expires_at (expires_at)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_unicode_ci
+  COMMENT = 'Idempotency-Key';
+
+-- 비동기 주문 접수 결과 (처리가 끝난 티켓만 기록 - I_OrderIntakeQueue 가 JDBC batch INSERT)
+CREATE TABLE IF NOT EXISTS `order_tickets` (
+	id				BIGINT PRIMARY KEY,						# 접수 시 발급한 티켓 ID (Snowflake)
+    user_id			BIGINT NOT NULL,
+    status			VARCHAR(20) NOT NULL,					# SUCCEEDED | FAILED
+    order_id		BIGINT NULL,							# SUCCEEDED 일 때 생성된 주문 ID
+    failure_reason	VARCHAR(255) NULL,
+    created_at		DATETIME(6) NOT NULL,
+    updated_at 		DATETIME(6) NOT NULL,
+    CONSTRAINT fk_order_tickets_user
+		FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+	CONSTRAINT chk_order_tickets_status CHECK (status IN ('QUEUED', 'SUCCEEDED', 'FAILED')),
+    INDEX idx_order_tickets_created_at (created_at)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_unicode_ci
+  COMMENT = '비동기 주문 접수 결과';
+
+-- 상품별 주문 유입 제한 규칙 (규칙이 있는 상품만 주문 생성/승인 시 토큰 버킷 적용 - I_ProductAdmission)
+CREATE TABLE IF NOT EXISTS `product_admission_rules` (
+	product_id		BIGINT PRIMARY KEY,
+    rate_per_second	INT NOT NULL,							# 초당 허용 요청 수 (서버별)
+    burst			INT NOT NULL,							# 한 번에 몰려도 허용하는 요청 수
+    max_wait_ms		INT NOT NULL DEFAULT 0,					# 초과 시 대기 가능 시간 (0: 즉시 429)
+    created_at		DATETIME(6) NOT NULL,
+    updated_at 		DATETIME(6) NOT NULL,
+    CONSTRAINT fk_product_admission_rules_product
+		FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE,
+	CONSTRAINT chk_product_admission_rules_values CHECK (rate_per_second > 0 AND burst > 0 AND max_wait_ms >= 0)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_unicode_ci
+  COMMENT = '상품별 주문 유입 제한 규칙';
+
+-- 상품별 일별 매출 집계 (판매일 = 주문 생성일 KST)
+-- : 승인 시 증가 / 승인 후 취소 시 감소 - 주문 상태 변경과 같은 트랜잭션 (I_SalesAggregator)
+CREATE TABLE IF NOT EXISTS `daily_product_sales` (
+	sales_date		DATE NOT NULL,
+    product_id		BIGINT NOT NULL,
+    units			BIGINT NOT NULL DEFAULT 0,				# 판매 수량 합계
+    revenue			BIGINT NOT NULL DEFAULT 0,				# 매출액 합계 (line_total 기준)
+    updated_at 		DATETIME(6) NOT NULL,
+    PRIMARY KEY (sales_date, product_id),					# 기간 조회 = PK 범위 스캔
+    CONSTRAINT fk_daily_product_sales_product
+		FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE,
+    INDEX idx_daily_product_sales_product (product_id, sales_date)	# 상품별 일별 추이
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_unicode_ci
+  COMMENT = '상품별 일별 매출 집계';
+
+-- 재고 이동 원장 (추가만 - 승인/취소/증감/설정마다 1행, 커밋 직전 일괄 INSERT: I_StockMovementRecorder)
+-- : quantity 는 reason 이 INITIAL/SET 이면 설정된 수량, 그 외는 증감량(차감은 음수)
+CREATE TABLE IF NOT EXISTS `stock_movements` (
+	id				BIGINT PRIMARY KEY,						# SnowflakeIds (같은 상품 내 적용 순서)
+    product_id		BIGINT NOT NULL,
+    reason			VARCHAR(20) NOT NULL,					# INITIAL | ORDER_APPROVE | ORDER_CANCEL | ADJUST | SET
+    quantity		INT NOT NULL,
+    order_id		BIGINT NULL,							# 주문 승인/취소일 때
+    actor_id		BIGINT NULL,							# 요청 사용자 (백그라운드 작업은 NULL) - 사용자 삭제 후에도 기록 유지 (FK 없음)
+    created_at		DATETIME(6) NOT NULL,
+	CONSTRAINT chk_stock_movements_reason CHECK (reason IN ('INITIAL', 'ORDER_APPROVE', 'ORDER_CANCEL', 'ADJUST', 'SET')),
+    INDEX idx_stock_movements_product (product_id, id),		# 스냅샷 이후 재생 범위 스캔
+    INDEX idx_stock_movements_created_at (created_at)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_unicode_ci
+  COMMENT = '재고 이동 원장';
+
+-- 상품별 재고 스냅샷 (last_movement_id 까지 반영한 수량 - 주기적으로 생성: I_StockSnapshotter)
+CREATE TABLE IF NOT EXISTS `stock_snapshots` (
+	id					BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id			BIGINT NOT NULL,
+    quantity			INT NOT NULL,
+    last_movement_id	BIGINT NOT NULL,
+    snapshot_at			DATETIME(6) NOT NULL,				# 마지막으로 반영한 이동의 시각
+    CONSTRAINT uq_stock_snapshots_product_movement UNIQUE (product_id, last_movement_id),
+    INDEX idx_stock_snapshots_product_at (product_id, snapshot_at)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_unicode_ci
+  COMMENT = '재고 스냅샷';
+
+-- cf) 원장 도입 이전부터 있던 재고는 현재 수량을 시작 스냅샷으로 등록 (1회)
+-- INSERT INTO stock_snapshots (product_id, quantity, last_movement_id, snapshot_at)
+-- SELECT product_id, quantity, 0, UTC_TIMESTAMP(6) FROM stocks;
+
+-- 인증 주체(UserPrincipal) 캐시 무효화 기록 (PrincipalCache)
+# 사용자 정보/권한 변경 트랜잭션에서 INSERT >> 각 서버가 created_at 기준으로 주기 조회하여 캐시 제거
+# >> 보관 기간(principal.cache.retention-hours) 이후 삭제
+CREATE TABLE IF NOT EXISTS `principal_invalidations` (
+	id			BIGINT AUTO_INCREMENT PRIMARY KEY,
+    login_id	VARCHAR(50) NOT NULL,
+    created_at	DATETIME(6) NOT NULL,
+    INDEX idx_principal_invalidations_created_at (created_at)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_unicode_ci
+  COMMENT = '인증 주체 캐시 무효화 기록';
+
+-- 리프레시 토큰 (RefreshTokenStore)
+# 원문은 저장하지 않고 SHA-256 해시만 저장, 1회용 (사용 시 used_at 기록 + 같은 family 로 새 토큰)
+# >> 사용된 토큰이 다시 들어오면 family 전체 폐기 (revoked_at)
+CREATE TABLE IF NOT EXISTS `refresh_tokens` (
+	id			BIGINT NOT NULL PRIMARY KEY,		# SnowflakeIds
+    user_id		BIGINT NOT NULL,
+    login_id	VARCHAR(50) NOT NULL,
+    family_id	BIGINT NOT NULL,				# 로그인 1회에서 이어지는 토큰 묶음
+    token_hash	CHAR(64) NOT NULL,				# SHA-256 (hex)
+    expires_at	DATETIME(6) NOT NULL,
+    used_at		DATETIME(6) NULL,
+    revoked_at	DATETIME(6) NULL,
+    created_at	DATETIME(6) NOT NULL,
+    CONSTRAINT uk_refresh_tokens_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_user
+		FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_refresh_tokens_family (family_id),
+    INDEX idx_refresh_tokens_user (user_id),
+    INDEX idx_refresh_tokens_expires_at (expires_at)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_unicode_ci
+  COMMENT = '리프레시 토큰';
+
+# 엑세스 토큰 폐기 목록 (로그아웃 / 비밀번호 변경 / 강제 로그아웃)
+# : 각 서버가 created_at 기준으로 새 행만 읽어 메모리(Bloom filter + 집합)에 반영
+CREATE TABLE IF NOT EXISTS `token_revocations` (
+	id				BIGINT AUTO_INCREMENT PRIMARY KEY,
+    jti				VARCHAR(40) NULL,			# 토큰 단위 폐기 (로그아웃)
+    user_id			BIGINT NULL,				# 사용자 단위 폐기 (비밀번호 변경, 강제 로그아웃)
+    revoked_before	DATETIME(6) NULL,			# 사용자 단위: 이 시각 이전 발급(iat) 토큰 거부
+    expires_at		DATETIME(6) NOT NULL,		# 이후 폐기 항목 불필요 (토큰 만료)
+    created_at		DATETIME(6) NOT NULL,
+    INDEX idx_token_revocations_created_at (created_at),
+    INDEX idx_token_revocations_expires_at (expires_at)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4
+  COLLATE = utf8mb4_unicode_ci
+  COMMENT = '엑세스 토큰 폐기 목록';
   
 ##### 초기 데이터 설정 #####
 INSERT INTO products (name, price, created_at, updated_at) 
@@ -298,61 +522,37 @@ VALUES
 -- : 예) GET /api/v1/orders/{orderid}/items 
 CREATE OR REPLACE VIEW order_summary AS
 SELECT 
+	oi.id					AS order_item_id,		# 행 식별자 (한 주문에 여러 행이 있으므로 order_id 는 유일하지 않음)
 	o.id 					AS order_id,
     o.user_id				AS user_id,
     o.order_status			AS order_status,
-    p.name 					AS product_name,
+    oi.product_name			AS product_name,		# 주문 시점 스냅샷 (products JOIN 없음)
     oi.quantity				AS quantity,
-    p.price					AS price,
-    CAST((oi.quantity * p.price) AS SIGNED) AS total_price,
+    oi.unit_price			AS price,
+    CAST(oi.line_total AS SIGNED) AS total_price,
     o.created_at			AS ordered_at
 FROM
 	orders o
-    JOIN order_items oi ON o.id = oi.order_id
-    JOIN products p on oi.product_id = p.id;
+    JOIN order_items oi ON o.id = oi.order_id;
 
 -- 뷰 (주문 합계)
 CREATE OR REPLACE VIEW order_totals AS
+# 주문 합계는 주문 생성 시 orders.total_amount / total_quantity 에 저장
+# >> 집계/서브쿼리 없는 단순 MERGE 뷰 - 조건/정렬/LIMIT 이 orders 인덱스를 그대로 사용
 SELECT
 	o.id						AS order_id,
     o.user_id					AS user_id,
     o.order_status				AS order_status,
-    CAST(SUM(oi.quantity * p.price) AS SIGNED) AS order_total_amount,
-    CAST(SUM(oi.quantity) AS SIGNED)		   AS order_total_qty,
-    MIN(o.created_at)			AS ordered_at
-    
+    CAST(o.total_amount AS SIGNED)	AS order_total_amount,
+    CAST(o.total_quantity AS SIGNED)	AS order_total_qty,
+    o.created_at				AS ordered_at
 FROM
-	orders o
-	JOIN order_items oi ON o.id = oi.order_id
-	JOIN products p on oi.product_id = p.id
-GROUP BY
-	o.id, o.user_id, o.order_status; -- 주문 별! 합계: 주문(orders) 정보를 기준으로 그룹화! 
-    
--- 트리거: 주문 새성 시 로그 
-# 고객 문의/장애 분석 시 "언제 주문 레코드가 생겼는지" 원인 추적에 사용 
-DELIMITER //
-CREATE TRIGGER trg_after_order_insert
-AFTER INSERT ON orders
-FOR EACH ROW
-BEGIN
-	INSERT INTO order_logs(order_id, message)
-	VALUES (NEW.id, CONCAT('주문이 생성되었습니다. 주문ID: ', NEW.id));
-END //
-DELIMITER //
-CREATE TRIGGER trg_after_order_status_update
-AFTER UPDATE ON orders
-FOR EACH ROW
-BEGIN
-	IF NEW.order_status <> OLD.order_status THEN -- A <> B 는 A != B와 같은 의미 (같지 않다)
-		INSERT INTO order_logs(order_id, message)
-        VALUES (NEW.id, CONCAT('주문 상태가 ', OLD.order_status
-				, ' -> ', NEW.order_status, '로 변경되었습니다.'));
-	END IF;
-END //
-DELIMITER ;
-
--- 트리거: 주문 상태 변경 시 로그 
-# 상태 전이 추적 시 "누가 언제 어떤 상태로 바꿧는지" 원인 추적에 사용    
+	orders o;    
+-- 트리거: 주문 생성/상태 변경 시 로그 (사용 중지)
+# order_logs 는 애플리케이션이 커밋 후 비동기 일괄 INSERT (I_OrderLogWriter)
+# >> 트리거가 남아 있으면 로그가 중복 기록되므로 제거
+DROP TRIGGER IF EXISTS trg_after_order_insert;
+DROP TRIGGER IF EXISTS trg_after_order_status_update;
     
 SELECT * FROM `products`;
 SELECT * FROM `stocks`;
@@ -75,5 +75,34 @@ public class ApiMappingPattern {
         public static final String ROOT = BASE + "/stocks";
         public static final String ADJUST = "/adjust";
         public static final String PRODUCT_ID = "/{productId}";
+        public static final String PRODUCT_ID_AT = "/{productId}/at";
     }
-}
\ No newline at end of file
+
+    // == 7. 주문 조회 뷰(order_totals / order_summary) == //
+    public static final class OrderViews {
+        private OrderViews() {}
+
+        public static final String ROOT = BASE + "/order-views";
+        public static final String TOTALS = "/totals";
+        public static final String SUMMARY = "/summary";
+    }
+
+    // == 8. 주문 로그(I_OrderLog) == //
+    public static final class OrderLogs {
+        private OrderLogs() {}
+
+        public static final String ROOT = BASE + "/order-logs";
+        public static final String BY_ORDER = "/orders/{orderId}";
+    }
+
+    // == 9. 상품별 일별 매출 리포트(I_DailyProductSales) == //
+    public static final class SalesReports {
+        private SalesReports() {}
+
+        public static final String ROOT = BASE + "/sales-reports";
+        public static final String PRODUCTS = "/products";
+        public static final String TOP = "/top";
+        public static final String SERIES = "/series";
+        public static final String REBUILD = "/rebuild";
+    }
+}
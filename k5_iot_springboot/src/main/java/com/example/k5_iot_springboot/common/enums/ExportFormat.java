@@ -0,0 +1,7 @@
+package com.example.k5_iot_springboot.common.enums;
+
+/* 주문 내보내기 형식 */
+public enum ExportFormat {
+    NDJSON,     // 주문 1건 = JSON 1줄 (항목 포함)
+    CSV         // 주문 항목 1건 = 1행
+}
@@ -0,0 +1,7 @@
+package com.example.k5_iot_springboot.common.enums;
+
+/* Idempotency-Key 처리 상태 */
+public enum IdempotencyStatus {
+    IN_PROGRESS,    // 최초 요청 처리 중 (다른 서버의 같은 키 요청은 완료될 때까지 대기)
+    COMPLETED       // 처리 완료 - 저장된 응답을 재사용
+}
@@ -0,0 +1,8 @@
+package com.example.k5_iot_springboot.common.enums;
+
+/* JwtAuthenticationFilter 가 UserPrincipal 을 구성하는 방식 - jwt.auth-mode (기본 DB, CLAIMS 는 선택) */
+public enum JwtAuthMode {
+    DB,         // 요청마다 users + user_roles 조회 (최신 권한 즉시 반영)
+    CLAIMS      // 검증된 클레임(uid, roles, ver)만으로 구성 - 권한 변경은 토큰 버전(TokenVersionRegistry)으로 무효화
+                //  (다른 서버의 변경은 refresh-ms 이후 반영, 삭제/비활성 사용자는 토큰 만료까지 인증됨)
+}
@@ -0,0 +1,7 @@
+package com.example.k5_iot_springboot.common.enums;
+
+/* 자동 승인 작업자/만료 처리가 PENDING 주문을 가져오는 방식 - order.auto-approve.claim-mode (만료: order.expiry.claim-mode, 없으면 같은 값) */
+public enum OrderClaimMode {
+    SKIP_LOCKED,        // SELECT ... FOR UPDATE SKIP LOCKED - 다른 작업자가 잠근 주문은 건너뜀 (MySQL 8+)
+    GUARDED_UPDATE      // 잠금 없이 후보 조회 후 조건부 UPDATE로 선점 - SKIP LOCKED 미지원 DB(H2, MySQL 5.7)용
+}
@@ -0,0 +1,8 @@
+package com.example.k5_iot_springboot.common.enums;
+
+/* 비동기 주문 접수 티켓 상태 */
+public enum OrderTicketStatus {
+    QUEUED,         // 접수 대기열에 있음 (아직 저장 전)
+    SUCCEEDED,      // 주문 저장 완료 - orderId 확인 가능
+    FAILED          // 저장 실패 - 실패 사유 확인 가능
+}
@@ -0,0 +1,6 @@
+package com.example.k5_iot_springboot.common.enums;
+
+/** 매출 리포트 정렬 기준 - 매출액 / 판매 수량 */
+public enum SalesMetric {
+    REVENUE, UNITS
+}
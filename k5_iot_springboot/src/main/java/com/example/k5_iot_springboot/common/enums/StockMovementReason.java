@@ -0,0 +1,15 @@
+package com.example.k5_iot_springboot.common.enums;
+
+/* 재고 이동 사유 - INITIAL / SET 은 수량을 그 값으로 "설정", 나머지는 증감량 */
+public enum StockMovementReason {
+    INITIAL,        // 재고 생성 (상품 등록)
+    ORDER_APPROVE,  // 주문 승인 차감
+    ORDER_CANCEL,   // 승인된 주문 취소 복원
+    ADJUST,         // 관리자 증감
+    SET;            // 관리자 직접 설정
+
+    /** 이동 수량이 증감량이 아니라 설정값인지 여부 */
+    public boolean isAbsolute() {
+        return this == INITIAL || this == SET;
+    }
+}
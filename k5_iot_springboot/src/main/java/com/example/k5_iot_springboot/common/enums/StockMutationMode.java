@@ -0,0 +1,10 @@
+package com.example.k5_iot_springboot.common.enums;
+
+/* 재고 변경(차감/복원/증감/설정) 전략 - stock.mutation-mode 로 배포 단위 선택 */
+public enum StockMutationMode {
+    PESSIMISTIC,        // 행 잠금(SELECT ... FOR UPDATE) 후 자바에서 검사 & 변경 감지로 UPDATE
+    CONDITIONAL,        // 단일 조건부 UPDATE (quantity >= :n) - 영향 행 0이면 재고 부족
+    OPTIMISTIC,         // 잠금 없이 조회 후 @Version 비교로 충돌 감지 - 충돌 시 트랜잭션 재실행(I_StockRetryExecutor)
+    SHARDED,            // 상품 재고를 N개 슬롯(stock_slots)으로 분할 - 슬롯 단위 조건부 UPDATE로 단일 행 경합 분산
+    LEDGER              // 메모리 원장(CAS) + stock_deltas 저널 - stocks 는 주기적으로 일괄 반영 (단일 인스턴스 전용)
+}
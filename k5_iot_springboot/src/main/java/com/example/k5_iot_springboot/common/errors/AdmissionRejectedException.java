@@ -0,0 +1,17 @@
+package com.example.k5_iot_springboot.common.errors;
+
+import lombok.Getter;
+
+/**
+ * 상품별 주문 유입 제한 초과 (429)
+ * - 허용 속도를 넘었고 대기 가능 시간 안에 토큰을 받을 수 없는 경우
+ * */
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+    private final long retryAfterSeconds; // Retry-After 헤더 값
+
+    public AdmissionRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
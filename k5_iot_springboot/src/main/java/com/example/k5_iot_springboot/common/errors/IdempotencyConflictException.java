@@ -0,0 +1,12 @@
+package com.example.k5_iot_springboot.common.errors;
+
+/**
+ * Idempotency-Key 충돌 (409)
+ * - 같은 키로 다른 내용의 요청을 보낸 경우
+ * - 같은 키의 요청이 다른 서버에서 아직 처리 중인 경우
+ * */
+public class IdempotencyConflictException extends RuntimeException {
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
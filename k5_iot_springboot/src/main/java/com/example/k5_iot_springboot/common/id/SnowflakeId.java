@@ -0,0 +1,20 @@
+package com.example.k5_iot_springboot.common.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 엔티티 식별자를 SnowflakeIds 로 생성 (IDENTITY 대체)
+ * - 사용: @Id @SnowflakeId private Long id;
+ * - INSERT 전에 애플리케이션에서 ID가 정해지므로 Hibernate가 INSERT를 JDBC batch로 묶을 수 있음
+ *      (IDENTITY 는 INSERT 할 때마다 DB가 만든 키를 받아와야 해서 batch 불가)
+ * */
+@IdGeneratorType(SnowflakeIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
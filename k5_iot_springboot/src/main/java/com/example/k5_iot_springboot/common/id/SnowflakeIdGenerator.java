@@ -0,0 +1,13 @@
+package com.example.k5_iot_springboot.common.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/** Hibernate 식별자 생성기 - @SnowflakeId 가 붙은 필드에 적용 */
+public class SnowflakeIdGenerator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return SnowflakeIds.next();
+    }
+}
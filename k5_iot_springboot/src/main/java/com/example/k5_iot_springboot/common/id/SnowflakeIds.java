@@ -0,0 +1,66 @@
+package com.example.k5_iot_springboot.common.id;
+
+/**
+ * 시간 순서 ID 생성기 (Snowflake 방식)
+ *
+ * [ 비트 구성 ] - 총 53비트 (JavaScript Number 안전 정수 범위 2^53 이내 >> 프론트에서 정밀도 손실 없음)
+ * | 41비트: EPOCH 이후 경과 ms | 5비트: 노드 ID (0 ~ 31) | 7비트: 같은 ms 내 순번 (0 ~ 127) |
+ * - 노드당 ms당 128개 (초당 약 12만 개)
+ * - 상위 비트가 시간이므로 ID 크기 순서 ≒ 생성 순서 >> id 기준 정렬/커서 페이지네이션 그대로 사용 가능
+ *
+ * [ 단조 증가 보장 ]
+ * - 시계가 뒤로 가거나 같은 ms의 순번을 모두 쓰면 마지막 시각을 기준으로 계속 증가 (논리 시계)
+ *      >> 같은 프로세스에서 중복/역순 ID가 나오지 않음
+ *
+ * cf) 여러 인스턴스를 띄울 때는 인스턴스마다 다른 id.snowflake.node-id 를 지정해야 함
+ * */
+public final class SnowflakeIds {
+    /** 기준 시각: 2025-01-01T00:00:00Z */
+    public static final long EPOCH_MS = 1_735_689_600_000L;
+
+    private static final int NODE_BITS = 5;
+    private static final int SEQUENCE_BITS = 7;
+
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private static volatile long nodeId = 0;
+
+    private static long lastMs = -1L;
+    private static long sequence = 0L;
+
+    private SnowflakeIds() {}
+
+    /** 노드 ID 설정 (애플리케이션 기동 시 1회 - IdGeneratorConfig) */
+    public static void configure(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID)
+            throw new IllegalArgumentException("id.snowflake.node-id 는 0 ~ %d 범위여야 합니다.".formatted(MAX_NODE_ID));
+        SnowflakeIds.nodeId = nodeId;
+    }
+
+    public static synchronized long next() {
+        long now = System.currentTimeMillis() - EPOCH_MS;
+
+        if (now <= lastMs) {
+            // 같은 ms 또는 시계가 뒤로 간 경우 - 마지막 시각에서 순번 증가
+            now = lastMs;
+            sequence++;
+            if (sequence > MAX_SEQUENCE) {
+                now = lastMs + 1; // 순번 소진 - 다음 ms를 미리 사용
+                sequence = 0;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastMs = now;
+
+        return (now << (NODE_BITS + SEQUENCE_BITS))
+                | (nodeId << SEQUENCE_BITS)
+                | sequence;
+    }
+
+    /** ID에 포함된 생성 시각(epoch ms) */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MS;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.k5_iot_springboot.common.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * 커서(Keyset) 페이지네이션용 커서 인코딩 유틸
+ * - (createdAt, id) 쌍을 "epochMicros:id" 문자열로 만든 뒤 Base64 URL-safe 인코딩
+ * - 클라이언트는 값을 해석하지 않고 그대로 다음 요청에 전달 (불투명 커서)
+ * - createdAt 은 DB 저장값(UTC, DATETIME(6))과 같은 마이크로초 정밀도로 보존
+ * */
+public class CursorUtils {
+
+    /** 커서가 가리키는 마지막 항목의 정렬 키 */
+    public record Keyset(LocalDateTime createdAt, Long id) {}
+
+    public static String encode(LocalDateTime createdAt, Long id) {
+        if (createdAt == null || id == null) return null;
+        long epochMicros = ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), createdAt);
+        String raw = epochMicros + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 커서가 없으면 null (첫 페이지), 형식이 잘못되면 IllegalArgumentException (400)
+    public static Keyset decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            long epochMicros = Long.parseLong(raw.substring(0, sep));
+            long id = Long.parseLong(raw.substring(sep + 1));
+            LocalDateTime createdAt = LocalDateTime.ofEpochSecond(
+                    Math.floorDiv(epochMicros, 1_000_000L),
+                    (int) Math.floorMod(epochMicros, 1_000_000L) * 1_000,
+                    ZoneOffset.UTC);
+            return new Keyset(createdAt, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+        }
+    }
+}
@@ -10,7 +10,7 @@ import java.time.format.DateTimeFormatter;
  * */
 public class DateUtils {
     // KST(Asia/Seoul) 타임존 상수
-    private static final ZoneId ZONE_KST = ZoneId.of("Asia/Seoul");
+    public static final ZoneId ZONE_KST = ZoneId.of("Asia/Seoul");
 
     // KST 문자열 포멧
     private static final DateTimeFormatter KST_FORMAT
@@ -47,4 +47,19 @@ public class DateUtils {
         // 입력 받을 때: KST >>> UTC 변한 (서버 저장용)
         // 보여줄 때: UTC >>> KST 변한 (사용자 화면용)
     }
+
+    // DB(LocalDateTime, UTC) >>> KST 날짜 (일별 집계 기준일)
+    public static LocalDate toKstDate(LocalDateTime utcLocalDateTime) {
+        if (utcLocalDateTime == null) return null;
+        return utcLocalDateTime.atZone(ZoneOffset.UTC)
+                .withZoneSameInstant(ZONE_KST)
+                .toLocalDate();
+    }
+
+    // KST 날짜의 시작 시각(00:00 KST) >>> UTC(LocalDateTime)
+    // KST 2025-09-03 의 시작은 UTC 2025-09-02 15:00:00
+    public static LocalDateTime kstDateStartUtc(LocalDate kstDate) {
+        if (kstDate == null) return null;
+        return kstToUtc(kstDate.atStartOfDay());
+    }
 }
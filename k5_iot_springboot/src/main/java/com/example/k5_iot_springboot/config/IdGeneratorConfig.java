@@ -0,0 +1,21 @@
+package com.example.k5_iot_springboot.config;
+
+import com.example.k5_iot_springboot.common.id.SnowflakeIds;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Snowflake ID 노드 번호 설정
+ * - Hibernate가 직접 생성하는 식별자 생성기는 빈 주입을 받을 수 없으므로 기동 시 정적 설정으로 전달
+ * */
+@Configuration
+public class IdGeneratorConfig {
+    @Value("${id.snowflake.node-id:0}")
+    private int nodeId;
+
+    @PostConstruct
+    public void configure() {
+        SnowflakeIds.configure(nodeId);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.k5_iot_springboot.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 스케줄링(@Scheduled) 전역 설정
+ * - 재고 원장(stock_deltas) 주기적 반영 등 백그라운드 작업에 사용
+ * */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
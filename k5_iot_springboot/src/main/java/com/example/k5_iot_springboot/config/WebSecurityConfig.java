@@ -182,6 +182,10 @@ public class WebSecurityConfig {
                                     // ADMIN 전용 권한 관리 API
                                     .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
 
+                                    // 운영 메트릭(Actuator): 관리자만 조회
+                                    .requestMatchers("/actuator/health").permitAll()
+                                    .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                                     .anyRequest().authenticated(); // 나머지는 인증 필요 - JWT 토큰이 있어야 접근 가능
                         }
                 );
@@ -62,4 +62,14 @@ public class G_AdminController {
         ResponseDto<RoleManageResponse.RemoveRoleResponse> response = adminService.removeRole(principal, req);
         return ResponseEntity.ok(ResponseDto.setSuccess("권한이 삭제되었습니다.", null));
     }
+
+    // 강제 로그아웃 - 대상 사용자의 발급된 모든 토큰 폐기
+    @PostMapping("/users/{userId}/force-logout")
+    public ResponseEntity<ResponseDto<Void>> forceLogout(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @PathVariable Long userId
+    ) {
+        ResponseDto<Void> response = adminService.forceLogout(principal, userId);
+        return ResponseEntity.ok().body(response);
+    }
 }
\ No newline at end of file
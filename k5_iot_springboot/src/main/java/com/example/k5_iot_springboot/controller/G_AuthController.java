@@ -1,18 +1,21 @@
 
 package com.example.k5_iot_springboot.controller;
 
+import com.example.k5_iot_springboot.dto.G_Auth.request.LogoutRequest;
+import com.example.k5_iot_springboot.dto.G_Auth.request.RefreshRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.request.SignInRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.request.SignUpRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.response.SignInResponse;
 import com.example.k5_iot_springboot.dto.ResponseDto;
+import com.example.k5_iot_springboot.security.UserPrincipal;
 import com.example.k5_iot_springboot.service.G_AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/v1/auth") // 회원가입, 로그인, 아이디찾기, 비밀번호 재설정 등
@@ -33,4 +36,23 @@ public class G_AuthController {
         ResponseDto<SignInResponse> response = authService.signIn(req);
         return ResponseEntity.ok().body(response);
     }
+
+    /** 로그아웃 - 현재 엑세스 토큰 폐기 (+ 리프레시 토큰을 보내면 함께 폐기) */
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/logout")
+    public ResponseEntity<ResponseDto<Void>> logout(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+            @Valid @RequestBody(required = false) LogoutRequest req
+    ) {
+        ResponseDto<Void> response = authService.logout(principal, authorization, req);
+        return ResponseEntity.ok().body(response);
+    }
+
+    /** 엑세스 토큰 재발급 (리프레시 토큰 회전 - 응답의 새 리프레시 토큰으로 교체해서 사용) */
+    @PostMapping("/refresh")
+    public ResponseEntity<ResponseDto<SignInResponse>> refresh(@Valid @RequestBody RefreshRequest req) {
+        ResponseDto<SignInResponse> response = authService.refresh(req);
+        return ResponseEntity.ok().body(response);
+    }
 }
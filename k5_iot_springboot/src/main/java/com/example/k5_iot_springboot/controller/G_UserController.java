@@ -1,5 +1,6 @@
 package com.example.k5_iot_springboot.controller;
 
+import com.example.k5_iot_springboot.dto.G_Auth.request.PasswordChangeRequest;
 import com.example.k5_iot_springboot.dto.G_User.request.UserProfileUpdateRequest;
 import com.example.k5_iot_springboot.dto.G_User.response.UserProfileResponse;
 import com.example.k5_iot_springboot.dto.ResponseDto;
@@ -40,4 +41,15 @@ public class G_UserController {
         ResponseDto<UserProfileResponse.MyPageResponse> response = userService.updateMyInfo(principal, request);
         return ResponseEntity.ok().body(response);
     }
+
+    // 비밀번호 변경 - 기존에 발급된 모든 토큰 폐기 (다시 로그인)
+    @PreAuthorize("isAuthenticated()")
+    @PutMapping("/password")
+    public ResponseEntity<ResponseDto<Void>> changePassword(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @Valid @RequestBody PasswordChangeRequest request
+    ) {
+        ResponseDto<Void> response = userService.changePassword(principal, request);
+        return ResponseEntity.ok().body(response);
+    }
 }
\ No newline at end of file
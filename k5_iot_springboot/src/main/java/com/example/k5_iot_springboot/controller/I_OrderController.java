@@ -1,19 +1,26 @@
 package com.example.k5_iot_springboot.controller;
 
+import com.example.k5_iot_springboot.common.enums.ExportFormat;
 import com.example.k5_iot_springboot.common.enums.OrderStatus;
 import com.example.k5_iot_springboot.dto.I_Order.request.OrderRequest;
 import com.example.k5_iot_springboot.dto.I_Order.response.OrderResponse;
 import com.example.k5_iot_springboot.dto.ResponseDto;
 import com.example.k5_iot_springboot.security.UserPrincipal;
+import com.example.k5_iot_springboot.service.I_OrderExportService;
 import com.example.k5_iot_springboot.service.I_OrderService;
+import com.example.k5_iot_springboot.service.support.I_IdempotencyExecutor;
+import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.List;
 
 // === Controller 기본 어노테이션 === //
 @RestController
@@ -24,6 +31,10 @@ import java.util.List;
  * */
 public class I_OrderController {
     private final I_OrderService orderService; // 생성자 주입
+    private final I_OrderExportService orderExportService;
+    private final I_IdempotencyExecutor idempotencyExecutor;
+
+    private static final TypeReference<ResponseDto<OrderResponse.Detail>> CREATE_RESPONSE_TYPE = new TypeReference<>() {};
 
     /** 주문 생성: 인증 주체의 userId를 사용 (POST: 전송하다 - 새로운 데이터 생성) */
     @PostMapping
@@ -34,13 +45,42 @@ public class I_OrderController {
     public ResponseEntity<ResponseDto<OrderResponse.Detail>> create(
             // 매개변수 - Controller (@PathVariable, @RequestBody, @RequestParam)
             @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody OrderRequest.OrderCreateRequest req
     ) {
-        ResponseDto<OrderResponse.Detail> response = orderService.create(userPrincipal, req);
+        // Idempotency-Key 가 있으면 같은 키의 재시도에 최초 응답을 그대로 반환 (주문 중복 생성 방지)
+        ResponseDto<OrderResponse.Detail> response = (idempotencyKey == null || userPrincipal == null)
+                ? orderService.create(userPrincipal, req)
+                : idempotencyExecutor.execute(userPrincipal.getId(), idempotencyKey, req, CREATE_RESPONSE_TYPE,
+                        () -> orderService.create(userPrincipal, req));
 //        return ResponseEntity.ok(response);
         return ResponseEntity.ok().body(response);
     }
 
+    /**
+     * 비동기 주문 접수: 요청 검증 후 대기열에 넣고 바로 202 + 티켓 ID 반환
+     * - 저장은 백그라운드 작업자가 배치로 처리, 결과는 GET /tickets/{ticketId} 로 확인
+     * - 대기열이 가득 차면 503 (Retry-After)
+     * */
+    @PostMapping("/async")
+    public ResponseEntity<ResponseDto<OrderResponse.Ticket>> createAsync(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestBody OrderRequest.OrderCreateRequest req
+    ) {
+        ResponseDto<OrderResponse.Ticket> response = orderService.createAsync(userPrincipal, req);
+        return ResponseEntity.accepted().body(response);
+    }
+
+    /** 비동기 주문 접수 결과 조회: QUEUED / SUCCEEDED(주문 ID) / FAILED(사유) */
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<ResponseDto<OrderResponse.Ticket>> getTicket(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @PathVariable Long ticketId
+    ) {
+        ResponseDto<OrderResponse.Ticket> response = orderService.getTicket(userPrincipal, ticketId);
+        return ResponseEntity.ok(response);
+    }
+
     /** 주문 승인: ADMIN/MANAGER만 가능 */
     @PostMapping("/{orderId}/approve")
     public ResponseEntity<ResponseDto<OrderResponse.Detail>> approve(
@@ -51,6 +91,16 @@ public class I_OrderController {
         return ResponseEntity.ok(response);
     }
 
+    /** 주문 일괄 승인: ADMIN/MANAGER만 가능 - 주문별 실패 사유를 함께 반환 */
+    @PostMapping("/approve-batch")
+    public ResponseEntity<ResponseDto<OrderResponse.BatchApproveResult>> approveBatch(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestBody OrderRequest.BatchApproveRequest req
+    ) {
+        ResponseDto<OrderResponse.BatchApproveResult> response = orderService.approveBatch(userPrincipal, req);
+        return ResponseEntity.ok(response);
+    }
+
     /** 주문 취소: */
     @PostMapping("/{orderId}/cancel")
     public ResponseEntity<ResponseDto<OrderResponse.Detail>> cancel(
@@ -61,17 +111,48 @@ public class I_OrderController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 주문 검색 (커서 기반)
+     * - 첫 요청은 cursor 생략, 이후 응답의 nextCursor 값을 그대로 전달
+     * */
     @GetMapping
-    public ResponseEntity<ResponseDto<List<OrderResponse.Detail>>> search(
+    public ResponseEntity<ResponseDto<OrderResponse.SearchSlice>> search(
             @AuthenticationPrincipal UserPrincipal userPrincipal,   // 로그인한 사용자 정보
             @RequestParam(required = false) Long userId,            // 검색할 사용자 정보
             @RequestParam(required = false) OrderStatus status,
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)LocalDateTime from,
             @RequestParam(required = false)
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)LocalDateTime to
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)LocalDateTime to,
+            @RequestParam(required = false) Integer minAmount,     // 주문 총액 하한 (이상)
+            @RequestParam(required = false) Integer maxAmount,     // 주문 총액 상한 (이하)
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
             ){
-        ResponseDto<List<OrderResponse.Detail>> response = orderService.search(userPrincipal, userId, status, from, to);
+        ResponseDto<OrderResponse.SearchSlice> response = orderService.search(userPrincipal, userId, status, from, to, minAmount, maxAmount, cursor, size);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * 주문 내보내기: ADMIN/MANAGER만 가능
+     * - format=NDJSON(기본): 주문 1건 = JSON 1줄 / format=CSV: 주문 항목 1건 = 1행
+     * - 전체 결과를 메모리에 모으지 않고 조회하는 즉시 응답으로 흘려보냄 (StreamingResponseBody)
+     * */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)LocalDateTime from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)LocalDateTime to
+    ) {
+        StreamingResponseBody body = orderExportService.export(format, status, from, to);
+
+        boolean csv = format == ExportFormat.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
 }
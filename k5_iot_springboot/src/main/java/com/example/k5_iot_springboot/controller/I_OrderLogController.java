@@ -1,4 +1,46 @@
 package com.example.k5_iot_springboot.controller;
 
+import com.example.k5_iot_springboot.common.constants.ApiMappingPattern;
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderLogResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+import com.example.k5_iot_springboot.service.I_OrderLogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 로그 조회 (커서 기반, 최신순)
+ * - 첫 요청은 cursor 생략, 이후 응답의 nextCursor 값을 그대로 전달
+ * */
+@RestController
+@RequestMapping(ApiMappingPattern.OrderLogs.ROOT)
+@RequiredArgsConstructor
 public class I_OrderLogController {
+    private final I_OrderLogService orderLogService;
+
+    /** 주문별 로그: ADMIN/MANAGER 또는 주문자 본인 */
+    @GetMapping(ApiMappingPattern.OrderLogs.BY_ORDER)
+    public ResponseEntity<ResponseDto<OrderLogResponse.SliceResponse>> getByOrder(
+            @PathVariable Long orderId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        ResponseDto<OrderLogResponse.SliceResponse> response = orderLogService.getByOrder(orderId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    /** 기간별 로그 [from, to): ADMIN/MANAGER만 가능 */
+    @GetMapping
+    public ResponseEntity<ResponseDto<OrderLogResponse.SliceResponse>> getByPeriod(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        ResponseDto<OrderLogResponse.SliceResponse> response = orderLogService.getByPeriod(from, to, cursor, size);
+        return ResponseEntity.ok(response);
+    }
 }
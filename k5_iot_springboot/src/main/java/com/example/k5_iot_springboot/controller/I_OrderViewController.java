@@ -1,4 +1,65 @@
 package com.example.k5_iot_springboot.controller;
 
+import com.example.k5_iot_springboot.common.constants.ApiMappingPattern;
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderViewResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+import com.example.k5_iot_springboot.security.UserPrincipal;
+import com.example.k5_iot_springboot.service.I_OrderViewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 목록/리포트 (DB 뷰 기반 조회)
+ * - /totals : 주문 1건 = 1행 (총액/총수량 포함)
+ * - /summary: 주문 항목 1건 = 1행
+ * - 첫 요청은 cursor 생략, 이후 응답의 nextCursor 값을 그대로 전달
+ * */
+@RestController
+@RequestMapping(ApiMappingPattern.OrderViews.ROOT)
+@RequiredArgsConstructor
 public class I_OrderViewController {
+    private final I_OrderViewService orderViewService;
+
+    @GetMapping(ApiMappingPattern.OrderViews.TOTALS)
+    public ResponseEntity<ResponseDto<OrderViewResponse.SliceResponse<OrderViewResponse.OrderTotalsRowDto>>> getTotals(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        ResponseDto<OrderViewResponse.SliceResponse<OrderViewResponse.OrderTotalsRowDto>> response
+                = orderViewService.getTotals(userPrincipal, userId, status, from, to, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(ApiMappingPattern.OrderViews.SUMMARY)
+    public ResponseEntity<ResponseDto<OrderViewResponse.SliceResponse<OrderViewResponse.OrderSummaryRowDto>>> getSummaries(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        ResponseDto<OrderViewResponse.SliceResponse<OrderViewResponse.OrderSummaryRowDto>> response
+                = orderViewService.getSummaries(userPrincipal, userId, status, from, to, cursor, size);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,46 @@
+package com.example.k5_iot_springboot.controller;
+
+import com.example.k5_iot_springboot.dto.I_Order.request.AdmissionRequest;
+import com.example.k5_iot_springboot.dto.I_Order.response.AdmissionResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+import com.example.k5_iot_springboot.service.I_ProductAdmissionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 상품별 주문 유입 제한 규칙 관리 (ADMIN 전용)
+ * - 규칙이 있는 상품은 주문 생성/승인 시 초당 허용량을 넘으면 대기 또는 429
+ * */
+@RestController
+@RequestMapping("/api/v1/admin/admission/products")
+@RequiredArgsConstructor
+public class I_ProductAdmissionController {
+    private final I_ProductAdmissionService productAdmissionService;
+
+    /** 적용 중인 규칙 + 누적 허용/대기/거절 건수 (응답한 서버 기준) */
+    @GetMapping
+    public ResponseEntity<ResponseDto<List<AdmissionResponse.Rule>>> getRules() {
+        ResponseDto<List<AdmissionResponse.Rule>> response = productAdmissionService.getRules();
+        return ResponseEntity.ok(response);
+    }
+
+    /** 규칙 등록/수정 (덮어쓰기) */
+    @PutMapping("/{productId}")
+    public ResponseEntity<ResponseDto<AdmissionResponse.Rule>> upsert(
+            @PathVariable Long productId,
+            @RequestBody AdmissionRequest.Upsert req
+    ) {
+        ResponseDto<AdmissionResponse.Rule> response = productAdmissionService.upsert(productId, req);
+        return ResponseEntity.ok(response);
+    }
+
+    /** 규칙 삭제 - 해당 상품은 제한 없이 통과 */
+    @DeleteMapping("/{productId}")
+    public ResponseEntity<ResponseDto<Void>> delete(@PathVariable Long productId) {
+        ResponseDto<Void> response = productAdmissionService.delete(productId);
+        return ResponseEntity.ok(response);
+    }
+}
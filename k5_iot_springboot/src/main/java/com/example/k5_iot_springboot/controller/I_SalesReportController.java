@@ -0,0 +1,64 @@
+package com.example.k5_iot_springboot.controller;
+
+import com.example.k5_iot_springboot.common.constants.ApiMappingPattern;
+import com.example.k5_iot_springboot.common.enums.SalesMetric;
+import com.example.k5_iot_springboot.dto.I_Order.response.SalesReportResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+import com.example.k5_iot_springboot.service.I_SalesReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * 상품별 매출 리포트 (daily_product_sales 집계 기반)
+ * - from/to: KST 날짜(yyyy-MM-dd, 양 끝 포함), 판매일 = 주문 생성일
+ * - /products: 상품별 합계 / /top: 상위 상품 / /series: 일별 추이 / /rebuild: 집계 재계산(ADMIN)
+ * */
+@RestController
+@RequestMapping(ApiMappingPattern.SalesReports.ROOT)
+@RequiredArgsConstructor
+public class I_SalesReportController {
+    private final I_SalesReportService salesReportService;
+
+    @GetMapping(ApiMappingPattern.SalesReports.PRODUCTS)
+    public ResponseEntity<ResponseDto<SalesReportResponse.Report<SalesReportResponse.ProductSales>>> getByProduct(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        ResponseDto<SalesReportResponse.Report<SalesReportResponse.ProductSales>> response = salesReportService.getByProduct(from, to);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(ApiMappingPattern.SalesReports.TOP)
+    public ResponseEntity<ResponseDto<SalesReportResponse.Report<SalesReportResponse.ProductSales>>> getTop(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "REVENUE") SalesMetric metric,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        ResponseDto<SalesReportResponse.Report<SalesReportResponse.ProductSales>> response = salesReportService.getTop(from, to, metric, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(ApiMappingPattern.SalesReports.SERIES)
+    public ResponseEntity<ResponseDto<SalesReportResponse.Report<SalesReportResponse.DailySales>>> getSeries(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long productId   // 생략 시 전체 상품 합계
+    ) {
+        ResponseDto<SalesReportResponse.Report<SalesReportResponse.DailySales>> response = salesReportService.getSeries(from, to, productId);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(ApiMappingPattern.SalesReports.REBUILD)
+    public ResponseEntity<ResponseDto<SalesReportResponse.RebuildResult>> rebuild(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        ResponseDto<SalesReportResponse.RebuildResult> response = salesReportService.rebuild(from, to);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -8,11 +8,13 @@ import com.example.k5_iot_springboot.security.UserPrincipal;
 import com.example.k5_iot_springboot.service.I_StockService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import javax.print.DocFlavor;
+import java.time.LocalDateTime;
 
 /**
  * 재고 증감/설정/조회
@@ -48,4 +50,17 @@ public class I_StockController {
         ResponseDto<StockResponse.Response> response = stockService.get(productId);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * 특정 시각의 재고 (ts: KST, ISO DATE_TIME)
+     * - 가장 가까운 이전 스냅샷 + 이후 재고 이동만 재생
+     * */
+    @GetMapping(ApiMappingPattern.Stocks.PRODUCT_ID_AT)
+    public ResponseEntity<ResponseDto<StockResponse.AtTime>> getAt(
+            @PathVariable Long productId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ts
+    ) {
+        ResponseDto<StockResponse.AtTime> response = stockService.getAt(productId, ts);
+        return ResponseEntity.ok(response);
+    }
 }
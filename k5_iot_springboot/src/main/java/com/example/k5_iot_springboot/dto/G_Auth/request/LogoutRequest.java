@@ -0,0 +1,9 @@
+package com.example.k5_iot_springboot.dto.G_Auth.request;
+
+import jakarta.validation.constraints.Size;
+
+public record LogoutRequest(
+        @Size(max = 200)
+        String refreshToken     // 선택 - 함께 보내면 해당 리프레시 토큰 family 도 폐기
+) {
+}
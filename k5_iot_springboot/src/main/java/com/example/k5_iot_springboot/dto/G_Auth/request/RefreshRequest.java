@@ -0,0 +1,10 @@
+package com.example.k5_iot_springboot.dto.G_Auth.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record RefreshRequest(
+        @NotBlank @Size(max = 200)
+        String refreshToken
+) {
+}
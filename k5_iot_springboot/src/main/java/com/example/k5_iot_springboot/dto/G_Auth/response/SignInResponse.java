@@ -7,5 +7,7 @@ public record SignInResponse(
         String accessToken,     // JWT
         long expiresAt,         // 만료시각 (ms)
         String username,        // loginId
-        Set<String> roles       // ["ROLE_USER"]
+        Set<String> roles,      // ["ROLE_USER"]
+        String refreshToken,    // 엑세스 토큰 재발급용 (1회용 - 재발급 시 새 토큰으로 교체)
+        long refreshExpiresAt   // 리프레시 토큰 만료시각 (ms)
 ) {}
\ No newline at end of file
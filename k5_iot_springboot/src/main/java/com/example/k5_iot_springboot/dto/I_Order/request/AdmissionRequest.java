@@ -0,0 +1,10 @@
+package com.example.k5_iot_springboot.dto.I_Order.request;
+
+public class AdmissionRequest {
+    /** 상품별 유입 제한 규칙 등록/수정 요청 DTO */
+    public record Upsert(
+            Integer ratePerSecond,  // 초당 허용 요청 수 (1 이상)
+            Integer burst,          // 한 번에 몰려도 허용하는 요청 수 (생략 시 ratePerSecond)
+            Integer maxWaitMs       // 초과 시 대기 가능 시간 (생략 시 0 - 즉시 거절)
+    ) {}
+}
@@ -33,6 +33,11 @@ public class OrderRequest {
             int quantity
     ) {}
 
+    /** 주문 일괄 승인 요청 DTO */
+    public record BatchApproveRequest(
+            List<Long> orderIds
+    ) {}
+
     /** 주문 조회 조건 DTO */
     public record OrderSearchCondition(
             Long userId,
@@ -4,13 +4,15 @@ public class ProductRequest {
     /** 제품 등록 요청 DTO */
     public record Create(
             String name,
-            Integer price
+            Integer price,
+            Boolean autoApprove // 자동 승인 대상 여부 (생략 시 false)
     ) {}
 
     /** 제품 수정 요청 DTO */
     public record Update(
             String name,
-            Integer price
+            Integer price,
+            Boolean autoApprove
     ) {}
 
 }
@@ -0,0 +1,14 @@
+package com.example.k5_iot_springboot.dto.I_Order.response;
+
+public class AdmissionResponse {
+    /** 상품별 유입 제한 규칙 응답 DTO (누적 건수는 응답한 서버 기준) */
+    public record Rule(
+            Long productId,
+            int ratePerSecond,
+            int burst,
+            int maxWaitMs,
+            long admitted,
+            long queued,
+            long rejected
+    ) {}
+}
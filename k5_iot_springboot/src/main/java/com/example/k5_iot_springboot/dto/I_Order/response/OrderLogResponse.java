@@ -0,0 +1,32 @@
+package com.example.k5_iot_springboot.dto.I_Order.response;
+
+import com.example.k5_iot_springboot.common.utils.DateUtils;
+import com.example.k5_iot_springboot.entity.I_OrderLog;
+
+import java.util.List;
+
+public class OrderLogResponse {
+    /** 주문 로그 응답 DTO */
+    public record Log(
+            Long id,
+            Long orderId,
+            String message,
+            String createdAt
+    ) {
+        public static Log from(I_OrderLog log) {
+            return new Log(
+                    log.getId(),
+                    log.getOrder().getId(), // 프록시 식별자 - 추가 SELECT 없음
+                    log.getMessage(),
+                    DateUtils.toKstString(log.getCreatedAt())
+            );
+        }
+    }
+
+    /** 커서 기반 목록 응답 DTO */
+    public record SliceResponse(
+            List<Log> content,
+            boolean hasNext,
+            String nextCursor // 다음 요청의 cursor 값 (불투명 문자열) - 마지막 페이지면 null
+    ) {}
+}
@@ -1,6 +1,7 @@
 package com.example.k5_iot_springboot.dto.I_Order.response;
 
 import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.common.enums.OrderTicketStatus;
 
 import java.util.List;
 
@@ -24,4 +25,32 @@ public class OrderResponse {
             Integer quantity,
             Integer lineTotal
     ) {}
+
+    /** 주문 일괄 승인 결과 응답 DTO */
+    public record BatchApproveResult(
+            int requestedCount,
+            List<Long> approvedOrderIds,
+            List<BatchFailure> failures
+    ) {}
+
+    /** 일괄 승인 실패 항목 (주문별 실패 사유) */
+    public record BatchFailure(
+            Long orderId,
+            String reason
+    ) {}
+
+    /** 주문 검색 응답 DTO (커서 기반) */
+    public record SearchSlice(
+            List<Detail> content,
+            boolean hasNext,
+            String nextCursor // 다음 요청의 cursor 값 (불투명 문자열) - 마지막 페이지면 null
+    ) {}
+
+    /** 비동기 주문 접수 티켓 응답 DTO */
+    public record Ticket(
+            Long ticketId,
+            OrderTicketStatus status,
+            Long orderId,          // SUCCEEDED 일 때만 값 존재
+            String failureReason   // FAILED 일 때만 값 존재
+    ) {}
 }
@@ -1,23 +1,62 @@
 package com.example.k5_iot_springboot.dto.I_Order.response;
 
+import com.example.k5_iot_springboot.common.utils.DateUtils;
+import com.example.k5_iot_springboot.entity.view.OderTotalsView;
+import com.example.k5_iot_springboot.entity.view.OrderSummaryView;
+
+import java.util.List;
+
 public class OrderViewResponse {
     public record OrderSummaryRowDto(
+            Long orderItemId,
             Long orderId,
             Long userid,
             String orderStatus,
             String productName,
             Integer quantity,
             Integer price,
-            Integer totalPrice,
+            Long totalPrice,
             String orderedAt
-    ) {}
+    ) {
+        public static OrderSummaryRowDto from(OrderSummaryView v) {
+            return new OrderSummaryRowDto(
+                    v.getOrderItemId(),
+                    v.getOrderId(),
+                    v.getUser_id(),
+                    v.getOrder_status(),
+                    v.getProduct_name(),
+                    v.getQuantity(),
+                    v.getPrice(),
+                    v.getTotal_price(),
+                    DateUtils.toKstString(v.getOrderAt())
+            );
+        }
+    }
 
     public record OrderTotalsRowDto(
             Long orderId,
             Long userid,
             String orderStatus,
-            Integer orderTotalAmount,
+            Long orderTotalAmount,
             Long orderTotalQty,
             String orderedAt
+    ) {
+        public static OrderTotalsRowDto from(OderTotalsView v) {
+            return new OrderTotalsRowDto(
+                    v.getOrderId(),
+                    v.getUser_id(),
+                    v.getOrder_status(),
+                    v.getOrder_total_amount(),
+                    v.getOrder_total_qty(),
+                    DateUtils.toKstString(v.getOrderedAt())
+            );
+        }
+    }
+
+    /** 커서 기반 목록 응답 DTO */
+    public record SliceResponse<T>(
+            List<T> content,
+            boolean hasNext,
+            String nextCursor // 다음 요청의 cursor 값 (불투명 문자열) - 마지막 페이지면 null
     ) {}
 }
@@ -5,7 +5,8 @@ public class ProductResponse {
     public record DetailResponse(
             Long id,
             String name,
-            Integer price
+            Integer price,
+            Boolean autoApprove
     ) {}
 
     /** 제품 요약 응답 DTO */
@@ -0,0 +1,36 @@
+package com.example.k5_iot_springboot.dto.I_Order.response;
+
+import java.util.List;
+
+public class SalesReportResponse {
+    /** 상품별 매출 합계 */
+    public record ProductSales(
+            Long productId,
+            long units,
+            long revenue
+    ) {}
+
+    /** 일별 매출 합계 (KST 날짜) */
+    public record DailySales(
+            String date,    // yyyy-MM-dd
+            long units,
+            long revenue
+    ) {}
+
+    /** 기간 리포트 응답 DTO - from/to 는 KST 날짜 (양 끝 포함), total* 은 rows 합계 */
+    public record Report<T>(
+            String from,
+            String to,
+            long totalUnits,
+            long totalRevenue,
+            List<T> rows
+    ) {}
+
+    /** 집계 재계산 결과 */
+    public record RebuildResult(
+            String from,
+            String to,
+            int days,
+            int rows
+    ) {}
+}
@@ -6,4 +6,14 @@ public class StockResponse {
             Long productId,
             int quantity
     ) {}
+
+    /** 특정 시각의 재고 응답 DTO (시각은 KST) */
+    public record AtTime(
+            Long productId,
+            int quantity,
+            String at,
+            String snapshotAt,  // 재생 시작점 스냅샷 시각 (없으면 null)
+            int replayed,       // 스냅샷 이후 재생한 이동 수
+            boolean exact       // false: 보관 기간이 지나 압축된 구간 - snapshotAt 시점의 값
+    ) {}
 }
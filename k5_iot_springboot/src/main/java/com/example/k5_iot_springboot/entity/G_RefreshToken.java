@@ -0,0 +1,68 @@
+package com.example.k5_iot_springboot.entity;
+
+import com.example.k5_iot_springboot.common.id.SnowflakeId;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 리프레시 토큰 (RefreshTokenStore)
+ * - 원문은 저장하지 않고 SHA-256 해시만 저장 (DB 유출 시 토큰 재사용 방지)
+ * - 1회용: 사용(재발급)되면 used_at 기록 + 같은 family 로 새 토큰 발급 (회전)
+ * - 이미 사용된 토큰이 다시 들어오면 탈취로 간주 >> family 전체 폐기(revoked_at)
+ * */
+@Entity
+@Table(
+        name = "refresh_tokens",
+        uniqueConstraints = @UniqueConstraint(name = "uk_refresh_tokens_hash", columnNames = "token_hash"),
+        indexes = {
+                @Index(name = "idx_refresh_tokens_family", columnList = "family_id"),
+                @Index(name = "idx_refresh_tokens_user", columnList = "user_id"),
+                @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class G_RefreshToken {
+    @Id @SnowflakeId
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(name = "login_id", nullable = false, updatable = false, length = 50)
+    private String loginId; // PrincipalCache 조회 키 (users.login_id 는 변경 불가)
+
+    @Column(name = "family_id", nullable = false, updatable = false)
+    private Long familyId; // 로그인 1회에서 이어지는 토큰 묶음
+
+    @Column(name = "token_hash", nullable = false, updatable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "used_at")
+    private LocalDateTime usedAt;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Builder
+    private G_RefreshToken(Long userId, String loginId, Long familyId, String tokenHash,
+                           LocalDateTime expiresAt, LocalDateTime createdAt) {
+        this.userId = userId;
+        this.loginId = loginId;
+        this.familyId = familyId;
+        this.tokenHash = tokenHash;
+        this.expiresAt = expiresAt;
+        this.createdAt = createdAt;
+    }
+}
@@ -71,6 +71,10 @@ public class G_User extends BaseTimeEntity {
     @Enumerated(EnumType.STRING)
     private Set<RoleType> roles = new HashSet<>();
 
+    /** 토큰 버전 - 권한 변경 시 증가, JWT(ver 클레임)가 이 값보다 작으면 만료된 토큰으로 거부 */
+    @Column(name = "token_version", nullable = false)
+    private long tokenVersion = 0L;
+
     /** 생성 편의 메서드 */
     @Builder
     private G_User(String loginId, String password, String email, String nickname, Gender gender, Set<RoleType> roles) {
@@ -94,4 +98,7 @@ public class G_User extends BaseTimeEntity {
 
     public void addRole(RoleType role) { this.roles.add(role); }
     public void removeRole(RoleType role) { this.roles.remove(role); }
+
+    /** 기존에 발급된 토큰 무효화 (권한 변경 등) */
+    public long bumpTokenVersion() { return ++this.tokenVersion; }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.example.k5_iot_springboot.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 상품별 일별 매출 집계 (판매일 = 주문 생성일, KST)
+ * - 승인 시 증가 / 승인 후 취소 시 감소 - 주문 상태 변경과 같은 트랜잭션 (I_SalesAggregator)
+ * - 행은 INSERT ... ON DUPLICATE KEY UPDATE 로만 변경, 엔티티는 리포트 조회 전용
+ * */
+@Entity
+@Table(
+        name = "daily_product_sales",
+        indexes = { @Index(name = "idx_daily_product_sales_product", columnList = "product_id, sales_date") }
+)
+@IdClass(I_DailyProductSales.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class I_DailyProductSales {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private long units; // 판매 수량 합계
+
+    @Column(nullable = false)
+    private long revenue; // 매출액 합계 (주문 시점 line_total 기준)
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /** 복합 키 (sales_date, product_id) */
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private LocalDate salesDate;
+        private Long productId;
+    }
+}
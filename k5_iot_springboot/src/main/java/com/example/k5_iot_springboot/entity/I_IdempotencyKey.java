@@ -0,0 +1,64 @@
+package com.example.k5_iot_springboot.entity;
+
+import com.example.k5_iot_springboot.common.enums.IdempotencyStatus;
+import com.example.k5_iot_springboot.entity.base.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Idempotency-Key 저장소
+ * : 같은 사용자가 같은 키로 다시 요청하면 처음 요청의 응답을 그대로 반환하기 위한 기록
+ * - (user_id, idem_key) 유니크 >> 여러 서버에서 동시에 들어온 같은 키 요청 중 하나만 처리 권한을 얻음
+ * - claimed_at: 처리 권한(IN_PROGRESS) 선점 시각 - 임대 시간이 지나면 다른 요청이 넘겨받음 (처리 중 서버 장애 대비)
+ * */
+@Entity
+@Table(
+        name = "idempotency_keys",
+        indexes = { @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at") },
+        uniqueConstraints = { @UniqueConstraint(name = "uq_idempotency_keys_user_key", columnNames = {"user_id", "idem_key"}) }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class I_IdempotencyKey extends BaseTimeEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "idem_key", nullable = false, length = 100)
+    private String idemKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash; // 요청 본문 SHA-256 (같은 키로 다른 요청을 보냈는지 확인)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private IdempotencyStatus status;
+
+    @Lob
+    @Column(name = "response_body", columnDefinition = "MEDIUMTEXT")
+    private String responseBody; // 최초 응답(JSON) - 처리 중에는 null
+
+    @Column(name = "claimed_at", nullable = false)
+    private LocalDateTime claimedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Builder
+    private I_IdempotencyKey(Long userId, String idemKey, String requestHash, LocalDateTime claimedAt, LocalDateTime expiresAt) {
+        this.userId = userId;
+        this.idemKey = idemKey;
+        this.requestHash = requestHash;
+        this.status = IdempotencyStatus.IN_PROGRESS;
+        this.claimedAt = claimedAt;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.k5_iot_springboot.entity;
 
 import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.common.id.SnowflakeId;
 import com.example.k5_iot_springboot.entity.base.BaseTimeEntity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -11,6 +12,8 @@ import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Entity
 @Table(
@@ -18,13 +21,15 @@ import java.util.List;
         indexes = {
                 @Index(name = "idx_orders_user", columnList = "user_id"),
                 @Index(name = "idx_orders_status", columnList = "order_status"),
-                @Index(name = "idx_orders_created_at", columnList = "created_at")
+                @Index(name = "idx_orders_created_at", columnList = "created_at"),
+                @Index(name = "idx_orders_total_amount", columnList = "total_amount"),
+                @Index(name = "idx_orders_auto_approve", columnList = "order_status, auto_approve")
         }
 )
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class I_Order extends BaseTimeEntity {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @SnowflakeId // 시간 순서 ID - INSERT JDBC batch 가능
     private Long id;
 
     @NotNull
@@ -38,6 +43,18 @@ public class I_Order extends BaseTimeEntity {
     @Column(name = "order_status", nullable = false, length = 16)
     private OrderStatus orderStatus = OrderStatus.PENDING;
 
+    // === 주문 합계 (항목 추가/삭제 시 갱신) === //
+    // 주문 조회/검색 시 항목을 합산하지 않고 바로 사용 + 금액 조건 검색/정렬 (idx_orders_total_amount)
+    @Column(name = "total_amount", nullable = false)
+    private int totalAmount;
+
+    @Column(name = "total_quantity", nullable = false)
+    private int totalQuantity;
+
+    // 자동 승인 대상 여부 (생성 시 모든 상품이 자동 승인 상품이면 true, 자동 승인 실패 시 false - 수동 승인 대기)
+    @Column(name = "auto_approve", nullable = false)
+    private boolean autoApprove;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     // I_Order (주문) 엔티티와 I_OrderItem (주문 상세) 엔티티 간 1:N 관계를 명시
     // - mappedBy: 주인 관계 지정 (양방향 매핑에서 연관관계의 주인을 I_OrderItem으로 지정 - FK 설정을 하는 엔티티 지정!)
@@ -57,17 +74,42 @@ public class I_Order extends BaseTimeEntity {
     }
 
     public void addItem(I_OrderItem item) {
+        int amount, quantity;
+        try {
+            amount = Math.addExact(totalAmount, item.getLineTotal());
+            quantity = Math.addExact(totalQuantity, item.getQuantity());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("주문 합계가 허용 범위를 초과했습니다.");
+        }
         items.add(item);
         item.setOrder(this);
+        totalAmount = amount;
+        totalQuantity = quantity;
     }
 
     public void removeItem(I_OrderItem item) {
-        items.remove(item);
+        if (!items.remove(item)) return;
         item.setOrder(null);
+        totalAmount -= item.getLineTotal();
+        totalQuantity -= item.getQuantity();
     }
 
     public void setOrderStatus(OrderStatus orderStatus) {
         this.orderStatus = orderStatus;
     }
+
+    public void setAutoApprove(boolean autoApprove) {
+        this.autoApprove = autoApprove;
+    }
+
+    /**
+     * 상품 ID별 주문 수량 합계 (productId 오름차순 - 재고 잠금 순서 고정)
+     * - 같은 상품이 여러 항목에 있어도 재고는 한 번에 차감/복원
+     * */
+    public Map<Long, Integer> quantitiesByProduct() {
+        Map<Long, Integer> quantityMap = new TreeMap<>();
+        items.forEach(item -> quantityMap.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum));
+        return quantityMap;
+    }
 }
 
@@ -1,5 +1,6 @@
 package com.example.k5_iot_springboot.entity;
 
+import com.example.k5_iot_springboot.common.id.SnowflakeId;
 import com.example.k5_iot_springboot.entity.base.BaseTimeEntity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
@@ -23,7 +24,7 @@ import lombok.NoArgsConstructor;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class I_OrderItem extends BaseTimeEntity {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @SnowflakeId // 시간 순서 ID - INSERT JDBC batch 가능
     private Long id;
 
     @NotNull
@@ -42,10 +43,29 @@ public class I_OrderItem extends BaseTimeEntity {
     @Column(nullable = false)
     private int quantity;
 
+    // === 주문 시점 스냅샷 === //
+    // 상품 가격/이름이 이후에 변경되어도 기존 주문의 금액은 바뀌지 않음
+    // + 주문 조회 시 products 를 JOIN 하지 않아도 응답을 만들 수 있음
+    @Column(name = "product_name", nullable = false, length = 100)
+    private String productName;
+
+    @Column(name = "unit_price", nullable = false)
+    private int unitPrice;
+
+    @Column(name = "line_total", nullable = false)
+    private int lineTotal; // unitPrice * quantity
+
     @Builder
     public I_OrderItem(I_Product product, int quantity) {
         this.product = product;
         this.quantity = quantity;
+        this.productName = product.getName();
+        this.unitPrice = product.getPrice();
+        try {
+            this.lineTotal = Math.multiplyExact(product.getPrice(), quantity);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("주문 금액이 허용 범위를 초과했습니다. productId=" + product.getId());
+        }
     }
 
     void setOrder(I_Order order) {
@@ -0,0 +1,37 @@
+package com.example.k5_iot_springboot.entity;
+
+import com.example.k5_iot_springboot.common.enums.OrderTicketStatus;
+import com.example.k5_iot_springboot.entity.base.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 비동기 주문 접수 결과 (처리가 끝난 티켓만 저장 - 대기 중인 티켓은 접수한 서버의 메모리에만 존재)
+ * - 행은 I_OrderIntakeQueue 가 JDBC batch INSERT 로 기록, 엔티티는 조회 전용
+ * */
+@Entity
+@Table(
+        name = "order_tickets",
+        indexes = { @Index(name = "idx_order_tickets_created_at", columnList = "created_at") }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class I_OrderTicket extends BaseTimeEntity {
+    @Id // 접수 시 발급한 티켓 ID (SnowflakeIds)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderTicketStatus status;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "failure_reason", length = 255)
+    private String failureReason;
+}
@@ -31,10 +31,15 @@ public class I_Product extends BaseTimeEntity {
     @Column(nullable = false)
     private int price;
 
+    // 자동 승인 대상 상품 여부 - 모든 항목이 자동 승인 상품인 주문은 I_OrderAutoApprover가 승인
+    @Column(name = "auto_approve", nullable = false)
+    private boolean autoApprove;
+
     @Builder
-    private I_Product(String name, int price) {
+    private I_Product(String name, int price, boolean autoApprove) {
         this.name = name;
         this.price = price;
+        this.autoApprove = autoApprove;
     }
 
     public void setName(String name) {
@@ -44,4 +49,8 @@ public class I_Product extends BaseTimeEntity {
     public void setPrice(int price) {
         this.price = price;
     }
+
+    public void setAutoApprove(boolean autoApprove) {
+        this.autoApprove = autoApprove;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.example.k5_iot_springboot.entity;
+
+import com.example.k5_iot_springboot.entity.base.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 상품별 주문 유입 제한 규칙 (관리자 API 로 설정)
+ * - 규칙이 있는 상품만 주문 생성/승인 시 토큰 버킷으로 속도 제한 (I_ProductAdmission)
+ * - 허용 속도는 서버(노드)별 적용 - 서버 N 대면 전체 허용량은 약 N 배
+ * */
+@Entity
+@Table(name = "product_admission_rules")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class I_ProductAdmissionRule extends BaseTimeEntity {
+
+    @Id // products.id (상품당 규칙 1개)
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "rate_per_second", nullable = false)
+    private int ratePerSecond; // 초당 허용 요청 수
+
+    @Column(nullable = false)
+    private int burst; // 한 번에 몰려도 허용하는 요청 수
+
+    @Column(name = "max_wait_ms", nullable = false)
+    private int maxWaitMs; // 허용 속도 초과 시 대기 가능 시간 (0: 즉시 거절)
+
+    @Builder
+    private I_ProductAdmissionRule(Long productId, int ratePerSecond, int burst, int maxWaitMs) {
+        this.productId = productId;
+        change(ratePerSecond, burst, maxWaitMs);
+    }
+
+    public void change(int ratePerSecond, int burst, int maxWaitMs) {
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.maxWaitMs = maxWaitMs;
+    }
+}
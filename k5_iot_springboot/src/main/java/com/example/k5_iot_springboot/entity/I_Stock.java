@@ -31,6 +31,16 @@ public class I_Stock extends BaseTimeEntity {
     @Column(nullable = false)
     private int quantity;
 
+    // 낙관적 락 버전 번호 (StockMutationMode.OPTIMISTIC)
+    // : UPDATE ... WHERE id = ? AND version = ? 로 갱신, 영향 행이 0이면 OptimisticLockException
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // 슬롯 분할 여부 (StockMutationMode.SHARDED) - 최초 재분배 시 true, 이후 stocks 행 조건부 UPDATE 대상에서 제외
+    @Column(nullable = false)
+    private boolean sharded;
+
     @Builder
     private I_Stock(I_Product product, int quantity) {
         this.product = product;
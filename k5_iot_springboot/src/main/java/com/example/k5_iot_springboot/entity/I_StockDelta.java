@@ -0,0 +1,42 @@
+package com.example.k5_iot_springboot.entity;
+
+import com.example.k5_iot_springboot.entity.base.BaseTimeEntity;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 재고 변경 원장 (StockMutationMode.LEDGER)
+ * : 커밋된 재고 증감(delta)을 stocks 에 반영되기 전까지 보관하는 저널
+ * - 주문 승인/취소와 같은 트랜잭션에서 INSERT >> 커밋되면 유실되지 않음
+ * - 주기적으로 상품별 합계를 stocks.quantity 에 반영한 뒤 삭제 (I_StockLedger.flush)
+ * - 실제 가용 재고 = stocks.quantity + 남아있는 delta 합계
+ * */
+@Entity
+@Table(
+        name = "stock_deltas",
+        indexes = { @Index(name = "idx_stock_deltas_product_id", columnList = "product_id") }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class I_StockDelta extends BaseTimeEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "product_id", nullable = false,
+        foreignKey = @ForeignKey(name = "fk_stock_deltas_product"))
+    private I_Product product;
+
+    @Column(nullable = false)
+    private int delta; // 양수: 복원/입고, 음수: 차감
+
+    @Builder
+    private I_StockDelta(I_Product product, int delta) {
+        this.product = product;
+        this.delta = delta;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.k5_iot_springboot.entity;
+
+import com.example.k5_iot_springboot.common.enums.StockMovementReason;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재고 이동 원장 (추가만 가능 - 수정/삭제 없음, 보관 기간이 지나면 스냅샷으로 압축)
+ * - 행은 I_StockMovementRecorder 가 트랜잭션 커밋 직전 JDBC batch INSERT 로 기록, 엔티티는 조회 전용
+ * - quantity: reason 이 INITIAL/SET 이면 설정된 수량, 그 외는 증감량(차감은 음수)
+ * */
+@Entity
+@Table(
+        name = "stock_movements",
+        indexes = {
+                @Index(name = "idx_stock_movements_product", columnList = "product_id, id"),
+                @Index(name = "idx_stock_movements_created_at", columnList = "created_at")
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class I_StockMovement {
+    @Id // SnowflakeIds - 시간 순서 (같은 상품의 이동은 재고 행 잠금 안에서 발급되어 적용 순서와 같음)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StockMovementReason reason;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(name = "order_id")
+    private Long orderId; // 주문 승인/취소일 때
+
+    @Column(name = "actor_id")
+    private Long actorId; // 요청한 사용자 (백그라운드 작업은 null)
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
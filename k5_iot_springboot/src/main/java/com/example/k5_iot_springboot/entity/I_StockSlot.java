@@ -0,0 +1,54 @@
+package com.example.k5_iot_springboot.entity;
+
+import com.example.k5_iot_springboot.entity.base.BaseTimeEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 재고 슬롯 (StockMutationMode.SHARDED)
+ * : 한 상품의 재고 수량을 N개의 행으로 나누어 저장
+ * - 주문 승인 시 슬롯 하나만 잠그기 때문에 인기 상품도 단일 행 잠금에 직렬화되지 않음
+ * - 상품의 가용 재고 = 모든 슬롯 수량의 합
+ * */
+@Entity
+@Table(
+        name = "stock_slots",
+        indexes = { @Index(name = "idx_stock_slots_product_id", columnList = "product_id") },
+        uniqueConstraints = { @UniqueConstraint(name = "uq_stock_slots_product_slot", columnNames = {"product_id", "slot_no"}) }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class I_StockSlot extends BaseTimeEntity {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "product_id", nullable = false,
+        foreignKey = @ForeignKey(name = "fk_stock_slots_product"))
+    private I_Product product;
+
+    @Column(name = "slot_no", nullable = false)
+    private int slotNo;
+
+    @Min(0)
+    @Column(nullable = false)
+    private int quantity;
+
+    @Builder
+    private I_StockSlot(I_Product product, int slotNo, int quantity) {
+        this.product = product;
+        this.slotNo = slotNo;
+        this.quantity = quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.k5_iot_springboot.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상품별 재고 스냅샷 - lastMovementId 까지의 이동을 모두 반영한 수량
+ * - 특정 시각의 재고 = 그 이전 가장 가까운 스냅샷 + 이후 이동만 재생 (I_StockHistory)
+ * - snapshotAt: 마지막으로 반영한 이동의 시각 (이 시각부터 다음 이동 전까지 유효한 수량)
+ * */
+@Entity
+@Table(
+        name = "stock_snapshots",
+        indexes = { @Index(name = "idx_stock_snapshots_product_at", columnList = "product_id, snapshot_at") },
+        uniqueConstraints = { @UniqueConstraint(name = "uq_stock_snapshots_product_movement", columnNames = {"product_id", "last_movement_id"}) }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class I_StockSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(name = "last_movement_id", nullable = false)
+    private Long lastMovementId;
+
+    @Column(name = "snapshot_at", nullable = false)
+    private LocalDateTime snapshotAt;
+}
@@ -25,7 +25,7 @@ public abstract class BaseTimeEntity {
      * 레코드 최초 생성 시 자동 세팅되는 시간(UTC 기준)
      * */
     @CreatedDate
-    @Column(name = "created_at", nullable = false, updatable = false, columnDefinition = "DATETIME(60)")
+    @Column(name = "created_at", nullable = false, updatable = false, columnDefinition = "DATETIME(6)")
     private LocalDateTime createdAt;
 
     /**
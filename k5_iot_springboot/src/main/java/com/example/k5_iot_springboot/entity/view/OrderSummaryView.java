@@ -21,8 +21,11 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Immutable
 public class OrderSummaryView {
-    @Id @Column(name = "order_id")
-    private Long orderId;
+    @Id @Column(name = "order_item_id")
+    private Long orderItemId;       // 주문 항목 ID (행 식별자)
+
+    @Column(name = "order_id")
+    private Long orderId;           // 한 주문에 여러 행 - 식별자로 사용 X
 
     private Long user_id;           // 뷰 컬럼명 그대로 사용
     private String order_status;    // 문자열 컬럼 (필요 시 enum 변환은 서비스에서!)
@@ -1,15 +1,21 @@
 package com.example.k5_iot_springboot.filter;
 
+import com.example.k5_iot_springboot.common.enums.JwtAuthMode;
 import com.example.k5_iot_springboot.entity.G_User;
 import com.example.k5_iot_springboot.provider.JwtProvider;
 import com.example.k5_iot_springboot.repository.G_UserRepository;
+import com.example.k5_iot_springboot.security.PrincipalCache;
+import com.example.k5_iot_springboot.security.TokenRevocationRegistry;
+import com.example.k5_iot_springboot.security.TokenVersionRegistry;
 import com.example.k5_iot_springboot.security.UserPrincipal;
 import com.example.k5_iot_springboot.security.UserPrincipalMapper;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
@@ -49,6 +55,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtProvider jwtProvider; // 의존성 주입
     private final G_UserRepository g_UserRepository;
     private final UserPrincipalMapper principalMapper;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
+    /** UserPrincipal 구성 방식 (DB: 요청마다 사용자 조회 / CLAIMS: 토큰 클레임만 사용) */
+    @Value("${jwt.auth-mode:DB}")
+    private JwtAuthMode authMode;
 
     /**
      * OncePerRequestFilter 내부 추상 메서드 - 반드시 구현
@@ -102,28 +115,58 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
 
-            // 6) 토큰 유효성 검사(서명/만료 포함)
-            if (!jwtProvider.isValidToken(token)) {
+            // 6) 토큰 유효성 검사(서명/만료 포함) + 파싱 - 1회만 파싱하여 이후 단계에서 Claims 재사용
+            Claims claims;
+            try {
+                claims = jwtProvider.getClaims(token);
+            } catch (Exception e) {
                 unauthorized(response, "토큰이 유효하지 않거나 만료되었습니다.");
                 return;
             }
 
             // 7) 사용자 식별자 & 권한 추출
-            String username = jwtProvider.getUsernameFromJwt(token);
-
-            // +) DB 재조회 - UserPrincipal 구성 (최신 권한/상태 반영)
-            G_User user = g_UserRepository.findByLoginId(username)
-                    .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다."));
-
-            // Set<String> roles = jwtProvider.getRolesFromJwt(token);
-
-            // 8) 권한 문자열 - GrantedAuthority로 매핑 ("ROLE_" 접두어 보장)
-            // : 스프링 시큐리티가 이해하는 권한 타입으로 변환
-            // >> 권한명 앞에 "ROLE_" 접두사가 필요
-            // Collection<? extends GrantedAuthority> authorities = toAuthorities(roles);
+            UserPrincipal principal;
+            Long userId = jwtProvider.getUserId(claims);
+
+            if (authMode == JwtAuthMode.CLAIMS && userId != null) {
+                // +) 클레임 인증 - DB 조회 없이 검증된 클레임만으로 UserPrincipal 구성
+                //      >> 권한 변경 후(토큰 버전 증가) 이전에 발급된 토큰은 거부 - 다시 로그인하여 새 권한으로 발급
+                long tokenVersion = jwtProvider.getTokenVersion(claims);
+                if (!tokenVersionRegistry.isCurrent(userId, tokenVersion)) {
+                    unauthorized(response, "권한이 변경되었거나 더 이상 유효하지 않은 토큰입니다. 다시 로그인해주세요.");
+                    return;
+                }
+
+                // 8) 권한 문자열 - GrantedAuthority로 매핑 ("ROLE_" 접두어 보장)
+                // : 스프링 시큐리티가 이해하는 권한 타입으로 변환
+                // >> 권한명 앞에 "ROLE_" 접두사가 필요
+                principal = UserPrincipal.builder()
+                        .id(userId)
+                        .username(claims.getSubject())
+                        .authorities(toAuthorities(jwtProvider.getRoles(claims)))
+                        .tokenVersion(tokenVersion)
+                        .accountNonExpired(true)
+                        .accountNonLocked(true)
+                        .credentialsNonExpired(true)
+                        .enabled(true)
+                        .build();
+            } else {
+                // +) DB 재조회 - UserPrincipal 구성 (최신 권한/상태 반영)
+                //      cf) CLAIMS 모드라도 uid 클레임이 없는 토큰(이전 발급분)은 DB 조회로 처리
+                //      cf) 변경 시 무효화되는 캐시(PrincipalCache) 경유 - 권한/정보 변경 전까지는 조회 생략
+                String username = claims.getSubject();
+
+                // >> user 데이터의 최신 권한을 반영
+                principal = principalCache.get(username, () -> g_UserRepository.findByLoginId(username).map(principalMapper::map))
+                        .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다."));
+            }
 
-            // >> user 데이터의 최신 권한을 반영
-            UserPrincipal principal = principalMapper.map(user);
+            // +) 폐기된 토큰 거부 (로그아웃/비밀번호 변경/강제 로그아웃)
+            //      - 메모리 Bloom filter 로 대부분 즉시 "폐기 아님" 확정, 가능성이 있을 때만 정확한 집합 확인
+            if (tokenRevocationRegistry.isRevoked(claims.getId(), principal.getId(), claims.getIssuedAt())) {
+                unauthorized(response, "로그아웃되었거나 폐기된 토큰입니다. 다시 로그인해주세요.");
+                return;
+            }
 
             // 9) SecurityContext에 인증 저장
             // : 인증 객체를 만들고 SecurityContext에 저장
@@ -174,12 +217,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     /** USER/ADMIN -> "ROLE_USER"/"ROLE_ADMIN" 으로 매핑 */
     private List<GrantedAuthority> toAuthorities(Set<String> roles) {
-        if (roles == null || roles.isEmpty()) return List.of(); // 권한이 없으면 빈 배열 반환
-        return roles.stream()
-                .map(role -> role.startsWith("ROLE_") ? role : "ROLE_" + role)
-                .map(SimpleGrantedAuthority::new)
-                // : 시큐리티가 이해할 수 잇는 타입으로 변환
-                .collect(Collectors.toList());
+        // 권한이 없으면 빈 배열 반환, 같은 권한 조합이면 매번 새로 만들지 않고 공유 목록 재사용
+        // : 시큐리티가 이해할 수 잇는 타입으로 변환
+        return principalMapper.authoritiesOfNames(roles);
 
         // cf) "ROLE_" 첨부 이유
         // 스프링 시큐리티의 기본 hasRole("권한")은 내부적으로 ROLE_가 첨부된 권한 문자열을 찾음
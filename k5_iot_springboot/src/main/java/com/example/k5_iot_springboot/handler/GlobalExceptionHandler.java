@@ -4,10 +4,14 @@ package com.example.k5_iot_springboot.handler;
 import com.example.k5_iot_springboot.common.enums.ErrorCode;
 import com.example.k5_iot_springboot.common.errors.ErrorResponse;
 import com.example.k5_iot_springboot.common.errors.FieldErrorItem;
+import com.example.k5_iot_springboot.common.errors.AdmissionRejectedException;
+import com.example.k5_iot_springboot.common.errors.IdempotencyConflictException;
 import com.example.k5_iot_springboot.dto.ResponseDto;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -18,6 +22,7 @@ import java.nio.file.AccessDeniedException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 // 스프링이 빈으로 등록 - 해당 프로젝트 전역의 @RestController에서 발생하는 예외를 처리
@@ -110,6 +115,39 @@ public class GlobalExceptionHandler {
         return fail(ErrorCode.CONFLICT, null, null);
     }
 
+    @ExceptionHandler(IdempotencyConflictException.class) // 같은 Idempotency-Key 재사용/처리 중
+    public ResponseEntity<ResponseDto<Object>> handleIdempotencyConflict(IdempotencyConflictException e) {
+        log.warn("Idempotency conflict: {}", e.getMessage());
+        return fail(ErrorCode.CONFLICT, e.getMessage(), null);
+    }
+
+    // === 409 Conflict: 동시 변경 충돌(낙관적 락) === //
+    @ExceptionHandler(OptimisticLockingFailureException.class) // 낙관적 락 재시도 한도 초과 등
+    public ResponseEntity<ResponseDto<Object>> handleOptimisticLock(OptimisticLockingFailureException e) {
+        log.warn("Optimistic lock conflict: {}", e.getMessage());
+        return fail(ErrorCode.CONFLICT, "동시에 변경 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.", null);
+    }
+
+    // === 429 Too Many Requests: 상품별 유입 제한 초과 === //
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ResponseDto<Object>> handleAdmissionRejected(AdmissionRejectedException e) {
+        log.warn("Admission rejected: {}", e.getMessage());
+        ResponseEntity<ResponseDto<Object>> res = fail(ErrorCode.TOO_MANY_REQUESTS, e.getMessage(), null);
+        return ResponseEntity.status(res.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(res.getBody());
+    }
+
+    // === 503 Service Unavailable: 접수 대기열 포화 등 (잠시 후 재시도 가능) === //
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ResponseDto<Object>> handleRejected(RejectedExecutionException e) {
+        log.warn("Service unavailable: {}", e.getMessage());
+        ResponseEntity<ResponseDto<Object>> res = fail(ErrorCode.SERVICE_UNAVAILABLE, null, null);
+        return ResponseEntity.status(res.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(res.getBody());
+    }
+
     // === 500 Internal Server Error: 그 밖의 모든 예외에 대한 최종 안정망 === //
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ResponseDto<Object>> handleException(Exception e) {
@@ -1,5 +1,6 @@
 package com.example.k5_iot_springboot.provider;
 
+import com.example.k5_iot_springboot.common.id.SnowflakeIds;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -35,6 +36,7 @@ import java.util.*;
  *   2) Bearer 제거                                   - removeBearer 메서드
  *   3) 토큰 검증/파싱                                 - parseClaimsInternal 메서드
  *   4) payload에 저장된 데이터 추출 (username, roles)  - getUsernameFromJwt, getRolesFromJwt 메서드
+ *      +) 클레임 인증용 (uid, ver)                       - getUserId, getTokenVersion 메서드
  *   5) 만료까지 남은 시간 계산                         - getRemainingMillis 메서드
  *
  * */
@@ -48,6 +50,8 @@ public class JwtProvider {
     public static final String BEARER_PREFIX = "Bearer "; // removeBearer에서 사용
     /** 커스텀 클레임 키 */
     public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_USER_ID = "uid";     // 사용자 PK
+    public static final String CLAIM_TOKEN_VERSION = "ver"; // 사용자 토큰 버전 (G_User.tokenVersion)
 
     /** 서명용 비밀키, 엑세스 토큰 만료시간(ms), 만료 직후 허용할 시계 오차(s) */
     // 환경 변수에 지정한 비밀키와 만료 시간 저장 변수 선언
@@ -58,13 +62,20 @@ public class JwtProvider {
     /** 검증/파싱 파서: 파서를 생성자에서 1회 구성하여 재사용 - 성능/일관성 보장 (JJWT의 파서 객체) */
     private final JwtParser parser;
 
+    /** 검증 완료 토큰 캐시: 필터/서비스/권한 검사가 같은 토큰을 다시 파싱하지 않도록 (토큰 만료 시 제거) */
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    /** 발급 결과: 토큰 + 만료 시각(ms) - 발급 직후 만료 시각을 얻기 위해 토큰을 다시 파싱하지 않도록 */
+    public record IssuedToken(String token, long expiresAt) {}
+
     // === 생성자: 환경변수로부터 설정 주입 + 파서 준비 ===
     public JwtProvider(
             // @Value: application.properties나 application.yml과 같은 설정 파일의 값을 클래스 변수에 주입
             //          >> 데이터 타입 자동 인식
             @Value("${jwt.secret}") String secret, // cf) Base64 인코딩된 비밀키 문자열이어야 함!
             @Value("${jwt.expiration}") long jwtExpirationMs,
-            @Value("${jwt.clock-skew-seconds:0}") int clockSkewSeconds // 기본 0 - 옵션
+            @Value("${jwt.clock-skew-seconds:0}") int clockSkewSeconds, // 기본 0 - 옵션
+            @Value("${jwt.verified-cache.max-entries:10000}") int verifiedCacheMaxEntries // 0 이하 - 캐시 사용 X
     ) {
         // 생성자: JwtProvider 객체 생성 시 비밀키와 만료시간 초기화
 
@@ -84,6 +95,8 @@ public class JwtProvider {
         this.parser = Jwts.parser()
                 .verifyWith(this.key) // 해당 키로 서명 검증을 수행하는 파서 (이후 파싱마다 반복 설정 X)
                 .build();
+
+        this.verifiedTokenCache = new VerifiedTokenCache(verifiedCacheMaxEntries);
     }
 
     /* ==============
@@ -97,6 +110,20 @@ public class JwtProvider {
      *
      * subject=sub(username), roles는 커스텀 클레임 */
     public String generateJwtToken(String username, Set<String> roles) {
+        return generateJwtToken(username, null, 0L, roles);
+    }
+
+    /**
+     * 엑세스 토큰 생성 (클레임 인증용)
+     * @param userId        uid 클레임 - 필터가 DB 조회 없이 UserPrincipal 을 구성할 때 사용 (null 이면 생략)
+     * @param tokenVersion  ver 클레임 - 권한 변경 등으로 사용자 토큰 버전이 올라가면 이전 토큰은 거부됨
+     * */
+    public String generateJwtToken(String username, Long userId, long tokenVersion, Set<String> roles) {
+        return issueToken(username, userId, tokenVersion, roles).token();
+    }
+
+    /** 엑세스 토큰 생성 + 만료 시각 반환 (로그인 응답용) */
+    public IssuedToken issueToken(String username, Long userId, long tokenVersion, Set<String> roles) {
         long now = System.currentTimeMillis();
         Date iat = new Date(now);
         Date exp = new Date(now + jwtExpirationMs);
@@ -104,15 +131,27 @@ public class JwtProvider {
         // List로 변환하여 직렬화 시 타입 안정성 확보
         List<String> roleList = (roles == null) ? List.of() : new ArrayList<>(roles);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                // 표준 클레임 jti(JWT ID) - 토큰 단위 폐기(로그아웃) 식별자
+                .setId(Long.toString(SnowflakeIds.next()))
                 // 표준 클레임 sub(Subject)에 사용자 아이디(또는 고유 식별자) 설정
                 .setSubject(username)
                 .claim(CLAIM_ROLES, roleList) // 커스텀 클레임 키에 권한 목록 저장
                 .setIssuedAt(iat) // 표준 클레임에 현재 시간 설정 (발행 시간)
-                .setExpiration(exp) // 현재 시간에 만료 시간을 더한 설정 (만료 시간)
+                .setExpiration(exp); // 현재 시간에 만료 시간을 더한 설정 (만료 시간)
+
+        if (userId != null) {
+            builder.claim(CLAIM_USER_ID, userId)
+                    .claim(CLAIM_TOKEN_VERSION, tokenVersion);
+        }
+
+        String token = builder
 //                .signWith(key, SignatureAlgorithm.HS256)
                 .signWith(key) // 서명 키로 서명 (자동 HS256 선택) - 비밀키를 서명
                 .compact(); // 빌더를 압축하여 최종 JWT 문자열 생성
+
+        // cf) exp 클레임은 초 단위로 직렬화 - 파싱 결과와 같은 값이 되도록 초 단위로 내림
+        return new IssuedToken(token, (exp.getTime() / 1000) * 1000);
     }
 
     /* ==============
@@ -135,11 +174,20 @@ public class JwtProvider {
     /**
      * 내부 파싱(검증 포함) - 서명 검증 + 구조 검증한 뒤 Claims(페이로드)를 반환
      *      >> 만료 시 clock-skew 허용 옵션
+     *      >> 이미 검증한 토큰은 캐시된 Claims 반환 (서명 검증/JSON 디코딩 생략)
      * */
     private Claims parseClaimsInternal(String token, boolean allowClockSkewOnExpiry) {
         // allowClockSkewOnExpiry: 만료 직후 허용 오차 적용 여부
+        Claims cached = verifiedTokenCache.get(token); // 만료(+허용 오차) 지난 항목은 반환되지 않음
+        if (cached != null
+                && (allowClockSkewOnExpiry || cached.getExpiration().getTime() > System.currentTimeMillis())) {
+            return cached;
+        }
+
         try {
-            return parser.parseSignedClaims(token).getPayload();
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            cacheVerified(token, claims);
+            return claims;
             // 1) 토큰 서명 검증 (key로 signature 확인)
             // 2) JWT 기본 구조 검사(h.p.s)
             // 3) 성공 시 Claims 꺼내기 가능 (.getPayload() 가능)
@@ -154,6 +202,7 @@ public class JwtProvider {
                     long now = System.currentTimeMillis();
                     if (now - exp.getTime() <= skewMs) {
                         // 현재 시각 - 만료 시각 <= 허용오차 이내면 "방금 만료" 간주
+                        cacheVerified(token, ex.getClaims()); // 서명은 검증된 상태 (만료 검사는 서명 검증 이후)
                         return ex.getClaims(); // 예외에서 Claims를 꺼내 그대로 유효한 것으로 반환
                     }
                 }
@@ -165,6 +214,13 @@ public class JwtProvider {
         }
     }
 
+    /** 검증된 Claims 캐시 - 만료 시각 + 허용 오차까지 유효 (exp 없는 토큰은 캐시 X) */
+    private void cacheVerified(String token, Claims claims) {
+        Date exp = claims.getExpiration();
+        if (exp == null) return;
+        verifiedTokenCache.put(token, claims, exp.getTime() + clockSkewSeconds * 1000L);
+    }
+
     /**
      * 토큰 유효성 검사 (서명/만료 포함)
      * / clock-skew 허용 적용
@@ -197,9 +253,14 @@ public class JwtProvider {
     /** roles >> Set<String> 변환 */
     @SuppressWarnings("unchecked") // 제네릭 캐스팅 경고 억제 (런타임 타입 확인으로 보완)
     public Set<String> getRolesFromJwt(String tokenWithoutBearer) {
+        return getRoles(getClaims(tokenWithoutBearer));
+    }
+
+    /** 이미 검증된 Claims 에서 roles 추출 (재파싱 없음) */
+    public Set<String> getRoles(Claims claims) {
         // get("roles")로 커스텀 클레임을 가져오면, JSON 파싱 결과가 List로 반환이 일반적
         //      >> 문자열 집합(Set<String>)으로 표준화해서 반환
-        Object raw = getClaims(tokenWithoutBearer).get(CLAIM_ROLES);
+        Object raw = claims.get(CLAIM_ROLES);
         if (raw == null) return Set.of(); // 권한 없음
 
         if (raw instanceof List<?> list) {
@@ -217,6 +278,18 @@ public class JwtProvider {
         return Set.of(raw.toString());
     }
 
+    /** uid 클레임 (없으면 null - 클레임 인증 도입 전에 발급된 토큰) */
+    public Long getUserId(Claims claims) {
+        Object raw = claims.get(CLAIM_USER_ID);
+        return (raw instanceof Number n) ? Long.valueOf(n.longValue()) : null;
+    }
+
+    /** ver 클레임 (없으면 0) */
+    public long getTokenVersion(Claims claims) {
+        Object raw = claims.get(CLAIM_TOKEN_VERSION);
+        return (raw instanceof Number n) ? n.longValue() : 0L;
+    }
+
     /** 남은 만료시간(ms)이 음수면 이미 만료 */
     public long getRemainingMillis(String tokenWithoutBearer) {
         Claims c = parseClaimsInternal(tokenWithoutBearer, true);
@@ -0,0 +1,72 @@
+package com.example.k5_iot_springboot.provider;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * === VerifiedTokenCache ===
+ * : 서명 검증을 마친 토큰의 Claims 캐시 (JwtProvider 내부 전용)
+ * - 같은 토큰이 여러 요청/여러 호출에서 반복 검증될 때 HMAC 검증 + JSON 디코딩을 1회로
+ *
+ * [ 동작 ]
+ * - 키: 토큰의 서명 세그먼트 (HMAC 결과 - 이미 토큰 전체의 요약값)
+ * - 조회 시 토큰 전체 문자열이 같은지 다시 비교 (서명만 같고 header/payload 가 다른 토큰에 캐시된 Claims 를 돌려주지 않도록)
+ * - 항목은 토큰 만료(+허용 오차) 시각까지만 유효 - 이후 조회 시 제거하고 다시 파싱(만료 예외)
+ * - 최대 maxEntries 개 - 가득 차면 만료 항목을 정리(최대 1초에 1번), 그래도 가득 차 있으면 캐시하지 않음
+ *
+ * cf) maxEntries <= 0 이면 캐시 사용 안 함
+ * */
+final class VerifiedTokenCache {
+    private record Entry(String token, Claims claims, long validUntilMillis) {}
+
+    private static final long SWEEP_INTERVAL_MILLIS = 1000;
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepMillis = new AtomicLong();
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /** 캐시된 Claims (없거나 만료되었으면 null) */
+    Claims get(String token) {
+        if (maxEntries <= 0) return null;
+
+        String key = signatureOf(token);
+        Entry entry = entries.get(key);
+        if (entry == null || !entry.token().equals(token)) return null;
+
+        if (System.currentTimeMillis() > entry.validUntilMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    /** 검증된 Claims 저장 - validUntilMillis 이후에는 사용하지 않음 */
+    void put(String token, Claims claims, long validUntilMillis) {
+        if (maxEntries <= 0) return;
+
+        if (entries.size() >= maxEntries) {
+            sweepExpired();
+            if (entries.size() >= maxEntries) return;
+        }
+        entries.put(signatureOf(token), new Entry(token, claims, validUntilMillis));
+    }
+
+    private void sweepExpired() {
+        long now = System.currentTimeMillis();
+        long last = lastSweepMillis.get();
+        if (now - last < SWEEP_INTERVAL_MILLIS || !lastSweepMillis.compareAndSet(last, now)) return;
+
+        entries.values().removeIf(e -> now > e.validUntilMillis());
+    }
+
+    private static String signatureOf(String token) {
+        int dot = token.lastIndexOf('.');
+        return dot < 0 ? token : token.substring(dot + 1);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.entity.G_RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface G_RefreshTokenRepository extends JpaRepository<G_RefreshToken, Long> {
+
+    Optional<G_RefreshToken> findByTokenHash(String tokenHash);
+
+    // 사용 처리 (회전) - 아직 사용/폐기되지 않은 경우에만 (동시 요청 중 1건만 성공)
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE G_RefreshToken t
+        SET t.usedAt = :now
+        WHERE t.id = :id
+            AND t.usedAt IS NULL
+            AND t.revokedAt IS NULL
+    """)
+    int markUsed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // 재사용 감지 시 family 전체 폐기
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE G_RefreshToken t
+        SET t.revokedAt = :now
+        WHERE t.familyId = :familyId
+            AND t.revokedAt IS NULL
+    """)
+    int revokeFamily(@Param("familyId") Long familyId, @Param("now") LocalDateTime now);
+
+    // 사용자의 모든 토큰 폐기 (비밀번호 변경/강제 로그아웃)
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE G_RefreshToken t
+        SET t.revokedAt = :now
+        WHERE t.userId = :userId
+            AND t.revokedAt IS NULL
+    """)
+    int revokeAllByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // 만료된 토큰 정리 (expires_at 인덱스, limit 건씩 - 긴 잠금 방지)
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE expires_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
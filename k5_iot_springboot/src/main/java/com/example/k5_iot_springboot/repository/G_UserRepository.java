@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -37,6 +39,23 @@ public interface G_UserRepository extends JpaRepository<G_User, Long> {
             Long id
     );
 
+    // 토큰 버전만 조회 (PK 단건, roles 조인 없음) - TokenVersionRegistry 캐시 미스 시 사용
+    @Query("SELECT u.tokenVersion FROM G_User u WHERE u.id = :id")
+    Optional<Long> findTokenVersionById(@Param("id") Long id);
+
+    // 특정 시각 이후 수정된 사용자의 토큰 버전 - 다른 서버에서 변경된 권한 반영용
+    @Query("""
+        SELECT u.id AS id, u.tokenVersion AS tokenVersion
+        FROM G_User u
+        WHERE u.updatedAt >= :since
+    """)
+    List<TokenVersionView> findTokenVersionsUpdatedSince(@Param("since") LocalDateTime since);
+
+    interface TokenVersionView {
+        Long getId();
+        long getTokenVersion();
+    }
+
     boolean existsByLoginId(String loginId);
     boolean existsByEmail(String email);
     boolean existsByNickname(String nickname);
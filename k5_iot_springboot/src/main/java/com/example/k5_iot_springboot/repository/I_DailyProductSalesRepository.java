@@ -0,0 +1,74 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.entity.I_DailyProductSales;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 상품별 일별 매출 집계 조회 - orders/order_items 는 읽지 않음
+ * - 기간 조건은 PK(sales_date, product_id) 범위 스캔
+ * */
+@Repository
+public interface I_DailyProductSalesRepository extends JpaRepository<I_DailyProductSales, I_DailyProductSales.Key> {
+
+    /** 상품별 합계 projection */
+    interface ProductTotal {
+        Long getProductId();
+        Long getUnits();
+        Long getRevenue();
+    }
+
+    /** 일별 합계 projection */
+    interface DailyTotal {
+        LocalDate getSalesDate();
+        Long getUnits();
+        Long getRevenue();
+    }
+
+    /** 기간 내 상품별 매출 (productId 오름차순) */
+    @Query("""
+        select s.productId as productId, sum(s.units) as units, sum(s.revenue) as revenue
+        from I_DailyProductSales s
+        where s.salesDate between :from and :to
+        group by s.productId
+        order by s.productId
+    """)
+    List<ProductTotal> sumByProduct(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /** 기간 내 매출액 상위 상품 */
+    @Query("""
+        select s.productId as productId, sum(s.units) as units, sum(s.revenue) as revenue
+        from I_DailyProductSales s
+        where s.salesDate between :from and :to
+        group by s.productId
+        order by sum(s.revenue) desc, s.productId
+    """)
+    List<ProductTotal> findTopByRevenue(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    /** 기간 내 판매 수량 상위 상품 */
+    @Query("""
+        select s.productId as productId, sum(s.units) as units, sum(s.revenue) as revenue
+        from I_DailyProductSales s
+        where s.salesDate between :from and :to
+        group by s.productId
+        order by sum(s.units) desc, s.productId
+    """)
+    List<ProductTotal> findTopByUnits(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    /** 일별 매출 추이 (productId 가 null 이면 전체 상품 합계) - 판매가 없는 날은 행이 없음 */
+    @Query("""
+        select s.salesDate as salesDate, sum(s.units) as units, sum(s.revenue) as revenue
+        from I_DailyProductSales s
+        where s.salesDate between :from and :to
+            and (:productId is null or s.productId = :productId)
+        group by s.salesDate
+        order by s.salesDate
+    """)
+    List<DailyTotal> sumByDate(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("productId") Long productId);
+}
@@ -0,0 +1,62 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.common.enums.IdempotencyStatus;
+import com.example.k5_iot_springboot.entity.I_IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface I_IdempotencyKeyRepository extends JpaRepository<I_IdempotencyKey, Long> {
+
+    Optional<I_IdempotencyKey> findByUserIdAndIdemKey(Long userId, String idemKey);
+
+    /**
+     * 처리 완료 기록 - 주문 저장과 같은 트랜잭션에서 호출
+     * - 선점 시각이 그대로일 때만 (임대 시간이 지나 다른 요청이 넘겨받았으면 0 >> 호출한 트랜잭션 롤백)
+     * - 영속성 컨텍스트는 비우지 않음 (같은 트랜잭션의 주문 엔티티 유지)
+     * */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        update I_IdempotencyKey k
+        set k.status = :completed, k.responseBody = :body
+        where k.id = :id and k.status = :inProgress and k.claimedAt = :claimedAt
+    """)
+    int complete(@Param("id") Long id,
+                 @Param("claimedAt") LocalDateTime claimedAt,
+                 @Param("body") String body,
+                 @Param("inProgress") IdempotencyStatus inProgress,
+                 @Param("completed") IdempotencyStatus completed);
+
+    /** 임대 시간이 지난 선점 넘겨받기 - 여러 요청이 동시에 시도해도 1건만 성공 */
+    @Modifying
+    @Query("""
+        update I_IdempotencyKey k
+        set k.claimedAt = :now
+        where k.id = :id and k.status = :inProgress and k.claimedAt = :claimedAt
+    """)
+    int takeOver(@Param("id") Long id,
+                 @Param("claimedAt") LocalDateTime claimedAt,
+                 @Param("now") LocalDateTime now,
+                 @Param("inProgress") IdempotencyStatus inProgress);
+
+    /** 처리 실패 시 선점 기록 제거 (같은 키로 다시 시도할 수 있도록) - 넘겨받은 선점은 지우지 않음 */
+    @Modifying
+    @Query("""
+        delete from I_IdempotencyKey k
+        where k.id = :id and k.status = :inProgress and k.claimedAt = :claimedAt
+    """)
+    int release(@Param("id") Long id,
+                @Param("claimedAt") LocalDateTime claimedAt,
+                @Param("inProgress") IdempotencyStatus inProgress);
+
+    /** 만료된 기록 정리 */
+    @Modifying
+    @Query("delete from I_IdempotencyKey k where k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
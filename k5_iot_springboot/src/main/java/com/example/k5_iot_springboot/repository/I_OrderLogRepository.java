@@ -0,0 +1,41 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.entity.I_OrderLog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+// 커서 조건 (createdAt, id) < (cursorCreatedAt, cursorId) - 첫 페이지는 최대값을 커서로 사용
+@Repository
+public interface I_OrderLogRepository extends JpaRepository<I_OrderLog, Long> {
+
+    /** 주문별 로그 (idx_order_logs_order) - 최신순 */
+    @Query("""
+        select l from I_OrderLog l
+        where l.order.id = :orderId
+          and (l.createdAt < :cursorCreatedAt or (l.createdAt = :cursorCreatedAt and l.id < :cursorId))
+        order by l.createdAt desc, l.id desc
+    """)
+    Slice<I_OrderLog> findByOrderIdBefore(@Param("orderId") Long orderId,
+                                          @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
+
+    /** 기간별 로그 (idx_order_logs_created_at) - 최신순, [from, to) */
+    @Query("""
+        select l from I_OrderLog l
+        where l.createdAt >= :from and l.createdAt < :to
+          and (l.createdAt < :cursorCreatedAt or (l.createdAt = :cursorCreatedAt and l.id < :cursorId))
+        order by l.createdAt desc, l.id desc
+    """)
+    Slice<I_OrderLog> findByCreatedAtBetweenBefore(@Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to,
+                                                   @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                   @Param("cursorId") Long cursorId,
+                                                   Pageable pageable);
+}
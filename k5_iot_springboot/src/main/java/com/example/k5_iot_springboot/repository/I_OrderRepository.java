@@ -1,23 +1,158 @@
 package com.example.k5_iot_springboot.repository;
 
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
 import com.example.k5_iot_springboot.entity.I_Order;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 // 인터페이스 간의 확장 ("I_OrderRepository 인터페이스" extends "JpaRepository 인터페이스)
 @Repository
 public interface I_OrderRepository extends JpaRepository<I_Order, Long>, I_OrderRepositoryCustom {
 
-    /**  주문 상세 (주문 - 항목 - 상품) fetch join 단건 조회 */
+    /**
+     * 주문 상세 (주문 - 항목) fetch join 단건 조회
+     * - 상품명/단가는 항목에 스냅샷으로 저장되어 있어 products 는 JOIN 하지 않음 (oi.product 는 ID만 가진 프록시)
+     * */
     @Query("""
         select distinct o from I_Order o
             left join fetch o.items oi
-            left join fetch oi.product p
         where o.id = :orderId
     """)
     Optional<I_Order> findDetailById(@Param("orderId") Long orderId);
+
+    /** 주문 상세 (주문 - 항목) fetch join 다건 조회 - 일괄 승인/검색용 (IN 1회) */
+    @Query("""
+        select distinct o from I_Order o
+            left join fetch o.items oi
+        where o.id in :orderIds
+    """)
+    List<I_Order> findDetailAllByIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /** 주문에 담긴 상품 ID (승인 전 상품별 유입 제한 확인용 - 항목 인덱스만 사용) */
+    @Query("select distinct oi.product.id from I_OrderItem oi where oi.order.id = :orderId")
+    List<Long> findProductIdsByOrderId(@Param("orderId") Long orderId);
+
+    /** 주문 상태만 조회 (엔티티/항목 로딩 없이 상태 검사용) */
+    @Query("select o.orderStatus from I_Order o where o.id = :orderId")
+    Optional<OrderStatus> findStatusById(@Param("orderId") Long orderId);
+
+    /**
+     * 조건부 상태 전이 - 현재 상태가 from 일 때만 to 로 변경 (UPDATE 1회)
+     * - 반환값 1: 전이 성공(이 트랜잭션이 주문 행 잠금을 획득) / 0: 이미 다른 요청이 상태를 변경함
+     * - 동시에 같은 주문을 변경하면 두 번째 UPDATE는 첫 번째 트랜잭션이 끝날 때까지 대기 후 WHERE 재평가
+     *      >> 한 주문에 대해 같은 전이는 한 트랜잭션만 성공 (재고 차감/복원은 성공한 쪽만 수행)
+     * cf) 벌크 연산이라 이미 영속성 컨텍스트에 올라온 I_Order 의 상태는 바뀌지 않음
+     *      >> 전이 후에 주문을 조회하거나, 먼저 조회한 엔티티의 상태 값은 사용하지 않아야 함
+     * */
+    @Modifying
+    @Query("""
+        update I_Order o
+        set o.orderStatus = :to, o.updatedAt = :now
+        where o.id = :orderId and o.orderStatus = :from
+    """)
+    int updateStatusIf(@Param("orderId") Long orderId,
+                       @Param("from") OrderStatus from,
+                       @Param("to") OrderStatus to,
+                       @Param("now") LocalDateTime now);
+
+    // === PENDING 주문 자동 만료 (I_OrderExpiryScheduler) === //
+
+    /** 만료 시각 계산용 주문 ID/생성 시각 */
+    interface PendingOrder {
+        Long getId();
+        LocalDateTime getCreatedAt();
+    }
+
+    /**
+     * 상태별 주문을 ID 오름차순으로 afterId 다음부터 조회 (keyset)
+     * - idx_orders_status (order_status, + PK id) 범위 조회 - orders 전체를 훑지 않음
+     * - createdBefore 가 있으면 그 이전에 생성된 주문만
+     * */
+    @Query("""
+        select o.id as id, o.createdAt as createdAt from I_Order o
+        where o.orderStatus = :status and o.id > :afterId
+            and (:createdBefore is null or o.createdAt < :createdBefore)
+        order by o.id asc
+    """)
+    List<PendingOrder> findIdsByStatusAfter(@Param("status") OrderStatus status,
+                                            @Param("afterId") Long afterId,
+                                            @Param("createdBefore") LocalDateTime createdBefore,
+                                            Pageable pageable);
+
+    /**
+     * 아직 PENDING 인 주문 행을 잠금 - 다른 트랜잭션(다른 서버의 만료 처리, 승인/취소)이 잠근 행은 건너뜀
+     * >> 같은 주문의 만료를 여러 서버가 동시에 처리하지 않음
+     * cf) MySQL 8+ 전용 - OrderClaimMode.GUARDED_UPDATE 에서는 사용하지 않음 (findIdsByIdInAndStatus + updateStatusIf)
+     * */
+    @Query(value = """
+        SELECT id FROM orders
+        WHERE id IN (:orderIds) AND order_status = 'PENDING'
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<Long> lockPendingIdsSkipLocked(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * 주어진 주문 중 아직 PENDING 인 주문 행을 주문 ID 오름차순으로 잠금 (SELECT 1회) - 일괄 승인(I_OrderBatchApprover)용
+     * - 다른 트랜잭션이 잠근 행은 커밋될 때까지 기다린 뒤 최신 상태로 다시 판단 (이미 승인/취소된 주문은 제외)
+     * */
+    @Query(value = """
+        SELECT id FROM orders
+        WHERE id IN (:orderIds) AND order_status = 'PENDING'
+        ORDER BY id
+        FOR UPDATE
+    """, nativeQuery = true)
+    List<Long> lockPendingIds(@Param("orderIds") Collection<Long> orderIds);
+
+    /** 주어진 주문 중 해당 상태인 주문 ID (잠금 없이 조회) */
+    @Query("select o.id from I_Order o where o.id in :orderIds and o.orderStatus = :status")
+    List<Long> findIdsByIdInAndStatus(@Param("orderIds") Collection<Long> orderIds, @Param("status") OrderStatus status);
+
+    /** 다건 조건부 상태 전이 (UPDATE 1회) - 반환값: 변경된 행 수 */
+    @Modifying
+    @Query("""
+        update I_Order o
+        set o.orderStatus = :to, o.updatedAt = :now
+        where o.id in :orderIds and o.orderStatus = :from
+    """)
+    int updateStatusIn(@Param("orderIds") Collection<Long> orderIds,
+                       @Param("from") OrderStatus from,
+                       @Param("to") OrderStatus to,
+                       @Param("now") LocalDateTime now);
+
+    // === 자동 승인 (I_OrderAutoApprover) === //
+
+    /**
+     * 자동 승인 대상 PENDING 주문을 오래된 순(ID 오름차순)으로 limit 건 잠금
+     * - 다른 작업자/서버가 잠근 주문은 기다리지 않고 건너뜀 >> 작업자끼리 서로 다른 주문을 가져감
+     * - idx_orders_auto_approve (order_status, auto_approve, + PK id) 범위 조회
+     * */
+    @Query(value = """
+        SELECT id FROM orders
+        WHERE order_status = 'PENDING' AND auto_approve = TRUE
+        ORDER BY id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<Long> claimAutoApprovableSkipLocked(@Param("limit") int limit);
+
+    /** 자동 승인 대상 주문 ID (잠금 없음 - OrderClaimMode.GUARDED_UPDATE 후보 조회) */
+    @Query("select o.id from I_Order o where o.orderStatus = :status and o.autoApprove = true order by o.id asc")
+    List<Long> findAutoApprovableIds(@Param("status") OrderStatus status, Pageable pageable);
+
+    /** 자동 승인 대기 건수 */
+    long countByOrderStatusAndAutoApproveTrue(OrderStatus orderStatus);
+
+    /** 자동 승인 제외 (재고 부족 등으로 실패한 주문 - 수동 승인 대기) */
+    @Modifying
+    @Query("update I_Order o set o.autoApprove = false, o.updatedAt = :now where o.id in :orderIds")
+    int disableAutoApprove(@Param("orderIds") Collection<Long> orderIds, @Param("now") LocalDateTime now);
 }
@@ -1,13 +1,29 @@
 package com.example.k5_iot_springboot.repository;
 
 import com.example.k5_iot_springboot.common.enums.OrderStatus;
-import com.example.k5_iot_springboot.entity.I_Order;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface I_OrderRepositoryCustom {
 
-    /** 유저/상태/기간 조건에 따른 주문 목록 조회 */
-    List<I_Order> searchOrders(Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to);
+    /**
+     * 유저/상태/기간/총액 조건에 따른 주문 ID 조회 (1단계 - 커서 페이지네이션)
+     * - 정렬: createdAt desc, id desc
+     * - cursorCreatedAt/cursorId 가 있으면 해당 키 "이후"(더 오래된) 주문만
+     * - 최대 limit 건 (다음 페이지 여부 판단은 호출하는 쪽에서 size + 1 로 요청)
+     * */
+    List<Long> searchOrderIds(Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+                              Integer minAmount, Integer maxAmount,
+                              LocalDateTime cursorCreatedAt, Long cursorId, int limit);
+
+    /**
+     * 내보내기용 주문 항목 행 스트림 (주문 ID 오름차순, 항목 1건 = 1행 / 항목 없는 주문은 항목 컬럼 null)
+     * - [orderId, userId, orderStatus, createdAt, totalAmount, totalQuantity, productId, productName, unitPrice, quantity, lineTotal]
+     * - 주문 시점 스냅샷 컬럼만 사용 (products JOIN 없음)
+     * - 스칼라 조회라 엔티티가 영속성 컨텍스트에 올라가지 않음
+     * - 반드시 트랜잭션 안에서 사용하고 try-with-resources 로 닫아야 함
+     * */
+    Stream<Object[]> streamExportRows(OrderStatus status, LocalDateTime from, LocalDateTime to, int fetchSize);
 }
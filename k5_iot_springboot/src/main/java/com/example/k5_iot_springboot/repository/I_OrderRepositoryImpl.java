@@ -1,16 +1,18 @@
 package com.example.k5_iot_springboot.repository;
 
 import com.example.k5_iot_springboot.common.enums.OrderStatus;
-import com.example.k5_iot_springboot.entity.I_Order;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Repository
 public class I_OrderRepositoryImpl implements I_OrderRepositoryCustom {
@@ -18,13 +20,16 @@ public class I_OrderRepositoryImpl implements I_OrderRepositoryCustom {
     private EntityManager em;
 
     @Override
-    public List<I_Order> searchOrders(Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to) {
+    public List<Long> searchOrderIds(Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+                                     Integer minAmount, Integer maxAmount,
+                                     LocalDateTime cursorCreatedAt, Long cursorId, int limit) {
 
+        // 1단계: 페이지에 해당하는 주문 ID만 조회 (항목/상품 JOIN 없이 orders 인덱스만 사용)
+        //      - 항목/상품은 2단계에서 이 ID들에 대해서만 fetch join (I_OrderRepository.findDetailAllByIdIn)
+        //      >> 조건에 맞는 주문이 아무리 많아도 영속성 컨텍스트에는 한 페이지 분량만 올라감
         StringBuilder jpql = new StringBuilder(
-                "SELECT DISTINCT o " +
+                "SELECT o.id " +
                 "FROM I_Order o " +
-                    "LEFT JOIN FETCH o.items oi " +
-                    "LEFT JOIN FETCH oi.product p " +
                 "WHERE 1 = 1" // 항상 참이 되는 조건) 사실상 SELECT * FROM orders 와 동일한 결과
         );
 
@@ -50,16 +55,80 @@ public class I_OrderRepositoryImpl implements I_OrderRepositoryCustom {
             params.put("to", to);
         }
 
+        // 주문 총액 조건 - orders.total_amount 컬럼 (항목 합산 없이 idx_orders_total_amount 사용 가능)
+        if (minAmount != null) {
+            jpql.append(" and o.totalAmount >= :minAmount");
+            params.put("minAmount", minAmount);
+        }
+
+        if (maxAmount != null) {
+            jpql.append(" and o.totalAmount <= :maxAmount");
+            params.put("maxAmount", maxAmount);
+        }
+
+        // Keyset 조건: (createdAt, id) < (cursorCreatedAt, cursorId) - OFFSET 없이 이전 페이지 마지막 키 다음부터
+        if (cursorCreatedAt != null && cursorId != null) {
+            jpql.append(" and (o.createdAt < :cursorCreatedAt or (o.createdAt = :cursorCreatedAt and o.id < :cursorId))");
+            params.put("cursorCreatedAt", cursorCreatedAt);
+            params.put("cursorId", cursorId);
+        }
+
         jpql.append(" order by o.createdAt desc, o.id desc");
 
         // 명시적 타입 사용: TypedQuery
-        TypedQuery<I_Order> query = em.createQuery(jpql.toString(), I_Order.class);
+        TypedQuery<Long> query = em.createQuery(jpql.toString(), Long.class);
         // >> @Query 쓰일 쿼리문
         for (Map.Entry<String, Object> entry : params.entrySet()) {
             query.setParameter(entry.getKey(), entry.getValue());
         }
 
-        List<I_Order> results = query.getResultList();
+        query.setMaxResults(limit);
+
+        List<Long> results = query.getResultList();
         return results;
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<Object[]> streamExportRows(OrderStatus status, LocalDateTime from, LocalDateTime to, int fetchSize) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT o.id, o.user.id, o.orderStatus, o.createdAt, o.totalAmount, o.totalQuantity, " +
+                        "oi.product.id, oi.productName, oi.unitPrice, oi.quantity, oi.lineTotal " +
+                "FROM I_Order o " +
+                    "LEFT JOIN o.items oi " + // oi.product.id 는 order_items.product_id 컬럼 - products JOIN 없음
+
+                "WHERE 1 = 1"
+        );
+
+        Map<String, Object> params = new HashMap<>();
+
+        if (status != null) {
+            jpql.append(" and o.orderStatus = :status");
+            params.put("status", status);
+        }
+
+        if (from != null) {
+            jpql.append(" and o.createdAt >= :from");
+            params.put("from", from);
+        }
+
+        if (to != null) {
+            jpql.append(" and o.createdAt <= :to");
+            params.put("to", to);
+        }
+
+        // 같은 주문의 항목이 연속으로 나오도록 주문 ID 순 정렬 (호출하는 쪽에서 주문 단위로 묶어서 출력)
+        jpql.append(" order by o.id asc, oi.id asc");
+
+        Query query = em.createQuery(jpql.toString());
+        for (Map.Entry<String, Object> entry : params.entrySet()) {
+            query.setParameter(entry.getKey(), entry.getValue());
+        }
+
+        // fetch size: 드라이버가 결과를 한 번에 메모리로 읽지 않고 나누어 가져오도록 (MySQL: useCursorFetch=true 필요)
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+
+        return query.getResultStream();
+    }
 }
@@ -0,0 +1,19 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.entity.I_OrderTicket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface I_OrderTicketRepository extends JpaRepository<I_OrderTicket, Long> {
+
+    /** 보관 기간이 지난 티켓 삭제 */
+    @Modifying
+    @Query("delete from I_OrderTicket t where t.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
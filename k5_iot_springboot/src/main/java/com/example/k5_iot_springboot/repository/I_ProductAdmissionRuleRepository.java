@@ -0,0 +1,9 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.entity.I_ProductAdmissionRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface I_ProductAdmissionRuleRepository extends JpaRepository<I_ProductAdmissionRule, Long> {
+}
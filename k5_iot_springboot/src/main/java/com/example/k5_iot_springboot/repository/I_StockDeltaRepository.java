@@ -0,0 +1,63 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.entity.I_StockDelta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface I_StockDeltaRepository extends JpaRepository<I_StockDelta, Long> {
+
+    /** 반영 대기 중인 delta 프로젝션 */
+    interface PendingDelta {
+        Long getId();
+        Long getProductId();
+        Integer getDelta();
+    }
+
+    /** 상품별 원장 수량 프로젝션 (stocks.quantity + 미반영 delta 합계) */
+    interface LedgerQuantity {
+        Long getProductId();
+        Long getQuantity();
+    }
+
+    // 단일 SELECT 문으로 계산 - stocks 반영(flush)과 동시에 실행되어도 같은 시점의 값을 읽음
+    @Query(value = """
+        SELECT CAST(s.quantity + COALESCE(
+                   (SELECT SUM(d.delta) FROM stock_deltas d WHERE d.product_id = s.product_id), 0) AS SIGNED)
+        FROM stocks s
+        WHERE s.product_id = :productId
+    """, nativeQuery = true)
+    Optional<Long> findLedgerQuantityByProductId(@Param("productId") Long productId);
+
+    @Query(value = """
+        SELECT s.product_id AS productId,
+               CAST(s.quantity + COALESCE(
+                   (SELECT SUM(d.delta) FROM stock_deltas d WHERE d.product_id = s.product_id), 0) AS SIGNED) AS quantity
+        FROM stocks s
+    """, nativeQuery = true)
+    List<LedgerQuantity> findAllLedgerQuantities();
+
+    /**
+     * 반영할 delta 조회 (id 오름차순)
+     * - SKIP LOCKED: 다른 인스턴스가 반영 중인 행은 건너뜀 (같은 delta가 두 번 반영되지 않도록)
+     * */
+    @Query(value = """
+        SELECT id AS id, product_id AS productId, delta AS delta
+        FROM stock_deltas
+        ORDER BY id ASC
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<PendingDelta> findPendingForUpdate(@Param("limit") int limit);
+
+    @Modifying
+    @Query("delete from I_StockDelta d where d.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
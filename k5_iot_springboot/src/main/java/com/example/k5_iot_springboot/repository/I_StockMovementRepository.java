@@ -0,0 +1,34 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.entity.I_StockMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface I_StockMovementRepository extends JpaRepository<I_StockMovement, Long> {
+
+    /** 재생 대상 이동 (afterId 초과 ~ until 이하, ID 순) - idx_stock_movements_product 범위 스캔 */
+    @Query("""
+        select m from I_StockMovement m
+        where m.productId = :productId and m.id > :afterId and m.createdAt <= :until
+        order by m.id
+    """)
+    List<I_StockMovement> findReplay(@Param("productId") Long productId,
+                                     @Param("afterId") Long afterId,
+                                     @Param("until") LocalDateTime until);
+
+    /** 재생 대상 이동 (afterId 초과 ~ untilId 이하, ID 순) - 스냅샷 생성용 */
+    @Query("""
+        select m from I_StockMovement m
+        where m.productId = :productId and m.id > :afterId and m.id <= :untilId
+        order by m.id
+    """)
+    List<I_StockMovement> findReplayUntilId(@Param("productId") Long productId,
+                                            @Param("afterId") Long afterId,
+                                            @Param("untilId") Long untilId);
+}
@@ -4,10 +4,14 @@ import com.example.k5_iot_springboot.entity.I_Stock;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -36,5 +40,82 @@ public interface I_StockRepository  extends JpaRepository<I_Stock, Long> {
     @Query("select s from I_Stock s where s.product.id = :productId")
     Optional<I_Stock> findByProductIdForUpdate(@Param("productId") Long aLong);
 
+    // 여러 상품의 재고 행을 한 번에 잠금 (SELECT ... WHERE product_id IN (...) FOR UPDATE)
+    // : 항상 product_id 오름차순으로 잠그기 때문에
+    //      , 겹치는 주문을 동시에 승인하더라도 잠금 순서가 같아 교착 상태(Deadlock)가 발생하지 않음
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from I_Stock s where s.product.id in :productIds order by s.product.id asc")
+    List<I_Stock> findAllByProductIdInForUpdate(@Param("productIds") Collection<Long> productIds);
+
     Optional<I_Stock> findByProductId(Long productid);
+
+    // === 조건부 UPDATE 방식 (StockMutationMode.CONDITIONAL) === //
+    // : 읽기 - 검사 - 쓰기를 하나의 UPDATE 문장으로 처리
+    // - 검사 조건(quantity >= :n)을 WHERE 절에 포함하여 영향받은 행 수(0 또는 1)로 성공 여부 판단
+    // - 별도의 SELECT ... FOR UPDATE 없이 UPDATE 문장 자체의 행 잠금만 사용
+    // cf) 벌크 연산은 영속성 컨텍스트를 거치지 않으므로 @LastModifiedDate/@Version이 동작하지 않음
+    //      >> updatedAt, version 직접 갱신 (OPTIMISTIC 모드 노드와 섞여 실행되어도 충돌 감지 유지)
+
+    /** 재고가 충분할 때만 차감 - 반환값 0이면 재고 부족 (또는 재고 정보 없음) */
+    @Modifying
+    @Query("""
+        update I_Stock s
+        set s.quantity = s.quantity - :n, s.version = s.version + 1, s.updatedAt = :now
+        where s.product.id = :productId and s.quantity >= :n
+    """)
+    int decreaseIfEnough(@Param("productId") Long productId, @Param("n") int n, @Param("now") LocalDateTime now);
+
+    /** 재고 증가 (복원/입고) - 반환값 0이면 재고 정보 없음 */
+    @Modifying
+    @Query("""
+        update I_Stock s
+        set s.quantity = s.quantity + :n, s.version = s.version + 1, s.updatedAt = :now
+        where s.product.id = :productId
+    """)
+    int increase(@Param("productId") Long productId, @Param("n") int n, @Param("now") LocalDateTime now);
+
+    /** 재고 직접 설정 - 반환값 0이면 재고 정보 없음 */
+    @Modifying
+    @Query("""
+        update I_Stock s
+        set s.quantity = :quantity, s.version = s.version + 1, s.updatedAt = :now
+        where s.product.id = :productId
+    """)
+    int updateQuantity(@Param("productId") Long productId, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    // === 분할 재고 방식 (StockMutationMode.SHARDED) === //
+    // : 아직 슬롯으로 분할되지 않은 상품만 stocks 행에서 직접 증감 (sharded = false 조건)
+    // - UPDATE 는 최신 커밋 값으로 조건을 검사하므로, 최초 분할(rebalance)이 먼저 커밋되었다면 영향 행 수 0
+    //      >> 성공한 경우에는 분할 여부를 다시 확인할 필요가 없음 (별도 잠금 읽기 X)
+
+    /** 분할되지 않은 상품의 재고가 충분할 때만 차감 - 반환값 0이면 재고 부족 / 분할됨 / 재고 정보 없음 */
+    @Modifying
+    @Query("""
+        update I_Stock s
+        set s.quantity = s.quantity - :n, s.version = s.version + 1, s.updatedAt = :now
+        where s.product.id = :productId and s.sharded = false and s.quantity >= :n
+    """)
+    int decreaseIfEnoughUnsharded(@Param("productId") Long productId, @Param("n") int n, @Param("now") LocalDateTime now);
+
+    /** 분할되지 않은 상품의 재고 증가 - 반환값 0이면 분할됨 / 재고 정보 없음 */
+    @Modifying
+    @Query("""
+        update I_Stock s
+        set s.quantity = s.quantity + :n, s.version = s.version + 1, s.updatedAt = :now
+        where s.product.id = :productId and s.sharded = false
+    """)
+    int increaseUnsharded(@Param("productId") Long productId, @Param("n") int n, @Param("now") LocalDateTime now);
+
+    /** 슬롯 재분배 결과 반영 - 미러 수량 설정 + 분할됨 표시 */
+    @Modifying
+    @Query("""
+        update I_Stock s
+        set s.quantity = :quantity, s.sharded = true, s.version = s.version + 1, s.updatedAt = :now
+        where s.product.id = :productId
+    """)
+    int updateShardedQuantity(@Param("productId") Long productId, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    /** 현재 수량만 조회 (엔티티 로딩 X) */
+    @Query("select s.quantity from I_Stock s where s.product.id = :productId")
+    Optional<Integer> findQuantityByProductId(@Param("productId") Long productId);
 }
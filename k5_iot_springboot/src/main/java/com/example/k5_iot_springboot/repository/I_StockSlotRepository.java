@@ -0,0 +1,96 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.entity.I_StockSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+// cf) 슬롯 조회는 엔티티가 아닌 프로젝션으로만 반환
+//      - 슬롯 수량은 벌크 UPDATE로만 변경하므로, 엔티티를 영속성 컨텍스트에 올려두면 같은 트랜잭션 안에서 값이 어긋날 수 있음
+@Repository
+public interface I_StockSlotRepository extends JpaRepository<I_StockSlot, Long> {
+
+    /** 슬롯 번호 + 수량 프로젝션 */
+    interface SlotQuantity {
+        Integer getSlotNo();
+        Integer getQuantity();
+    }
+
+    /** 슬롯 수량 스냅샷 조회 (잠금 X) - 차감할 슬롯 후보 선택용 */
+    @Query("""
+        select s.slotNo as slotNo, s.quantity as quantity
+        from I_StockSlot s
+        where s.product.id = :productId
+        order by s.slotNo asc
+    """)
+    List<SlotQuantity> findQuantitiesByProductId(@Param("productId") Long productId);
+
+    /** 상품의 모든 슬롯 잠금 (slot_no 오름차순 - 잠금 순서 고정) - 재분배/합산 차감용 */
+    @Query(value = """
+        SELECT slot_no AS slotNo, quantity AS quantity
+        FROM stock_slots
+        WHERE product_id = :productId
+        ORDER BY slot_no ASC
+        FOR UPDATE
+    """, nativeQuery = true)
+    List<SlotQuantity> findQuantitiesByProductIdForUpdate(@Param("productId") Long productId);
+
+    /**
+     * 슬롯 하나를 기다리지 않고 잠금 (FOR UPDATE SKIP LOCKED) - 차감용
+     * - 다른 트랜잭션이 잠근 슬롯이면 empty (같은 트랜잭션이 이미 잠근 슬롯은 그대로 반환)
+     * */
+    @Query(value = """
+        SELECT quantity
+        FROM stock_slots
+        WHERE product_id = :productId AND slot_no = :slotNo
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    Optional<Integer> findQuantityBySlotForUpdateSkipLocked(@Param("productId") Long productId, @Param("slotNo") int slotNo);
+
+    /** 다른 트랜잭션이 잠그지 않은 슬롯만 잠금 (slot_no 오름차순, SKIP LOCKED) - 여러 슬롯 합산 차감용 */
+    @Query(value = """
+        SELECT slot_no AS slotNo, quantity AS quantity
+        FROM stock_slots
+        WHERE product_id = :productId
+        ORDER BY slot_no ASC
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<SlotQuantity> findQuantitiesByProductIdForUpdateSkipLocked(@Param("productId") Long productId);
+
+    /** 슬롯 수량 합계 (슬롯이 없으면 empty) */
+    @Query("select sum(s.quantity) from I_StockSlot s where s.product.id = :productId")
+    Optional<Long> sumQuantityByProductId(@Param("productId") Long productId);
+
+    boolean existsByProductId(Long productId);
+
+    /** 슬롯 하나에 수량 추가 (주문 취소 복원 등) - 반환값 0이면 슬롯 없음 */
+    @Modifying
+    @Query("""
+        update I_StockSlot s
+        set s.quantity = s.quantity + :n, s.updatedAt = :now
+        where s.product.id = :productId and s.slotNo = :slotNo
+    """)
+    int increase(@Param("productId") Long productId, @Param("slotNo") int slotNo,
+                 @Param("n") int n, @Param("now") LocalDateTime now);
+
+    /** 슬롯 수량 직접 설정 (재분배) */
+    @Modifying
+    @Query("""
+        update I_StockSlot s
+        set s.quantity = :quantity, s.updatedAt = :now
+        where s.product.id = :productId and s.slotNo = :slotNo
+    """)
+    int updateQuantity(@Param("productId") Long productId, @Param("slotNo") int slotNo,
+                       @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    /** 슬롯 수 설정이 줄어든 경우 초과 슬롯 제거 */
+    @Modifying
+    @Query("delete from I_StockSlot s where s.product.id = :productId and s.slotNo >= :fromSlotNo")
+    int deleteSlotsFrom(@Param("productId") Long productId, @Param("fromSlotNo") int fromSlotNo);
+}
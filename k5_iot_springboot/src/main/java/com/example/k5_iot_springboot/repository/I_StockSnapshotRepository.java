@@ -0,0 +1,28 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.entity.I_StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface I_StockSnapshotRepository extends JpaRepository<I_StockSnapshot, Long> {
+
+    /** at 시각 이전(포함)의 가장 최근 스냅샷 */
+    Optional<I_StockSnapshot> findFirstByProductIdAndSnapshotAtLessThanEqualOrderByLastMovementIdDesc(Long productId, LocalDateTime at);
+
+    /** lastMovementId 이하를 반영한 가장 최근 스냅샷 (스냅샷 생성 시 재생 시작점) */
+    @Query("""
+        select s from I_StockSnapshot s
+        where s.productId = :productId
+            and s.lastMovementId = (
+                select max(s2.lastMovementId) from I_StockSnapshot s2
+                where s2.productId = :productId and s2.lastMovementId <= :lastMovementId
+            )
+    """)
+    Optional<I_StockSnapshot> findLatestUpTo(@Param("productId") Long productId, @Param("lastMovementId") Long lastMovementId);
+}
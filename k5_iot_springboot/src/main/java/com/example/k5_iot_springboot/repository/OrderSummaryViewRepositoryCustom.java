@@ -0,0 +1,14 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.entity.view.OrderSummaryView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderSummaryViewRepositoryCustom {
+
+    /** 유저/상태/기간 조건 + 커서 조회 - order_summary 뷰 (주문 항목 1건 = 1행) */
+    List<OrderSummaryView> searchSummaries(Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+            LocalDateTime cursorOrderedAt, Long cursorId, int limit);
+}
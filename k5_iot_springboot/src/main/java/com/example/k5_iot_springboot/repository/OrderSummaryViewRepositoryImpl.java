@@ -0,0 +1,23 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.entity.view.OrderSummaryView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class OrderSummaryViewRepositoryImpl implements OrderSummaryViewRepositoryCustom {
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<OrderSummaryView> searchSummaries(Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+            LocalDateTime cursorOrderedAt, Long cursorId, int limit) {
+        return OrderViewQueries.search(em, OrderSummaryView.class, "orderAt", "orderItemId",
+                userId, status, from, to, cursorOrderedAt, cursorId, limit);
+    }
+}
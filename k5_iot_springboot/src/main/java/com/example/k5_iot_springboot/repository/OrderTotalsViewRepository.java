@@ -0,0 +1,10 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.entity.view.OderTotalsView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+// 읽기 전용 뷰 - 조회 메서드만 사용 (@Immutable 엔티티)
+@Repository
+public interface OrderTotalsViewRepository extends JpaRepository<OderTotalsView, Long>, OrderTotalsViewRepositoryCustom {
+}
@@ -0,0 +1,14 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.entity.view.OderTotalsView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderTotalsViewRepositoryCustom {
+
+    /** 유저/상태/기간 조건 + 커서 조회 - order_totals 뷰 (주문 1건 = 1행, 합계 포함) */
+    List<OderTotalsView> searchTotals(Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+            LocalDateTime cursorOrderedAt, Long cursorId, int limit);
+}
@@ -0,0 +1,23 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.entity.view.OderTotalsView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class OrderTotalsViewRepositoryImpl implements OrderTotalsViewRepositoryCustom {
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<OderTotalsView> searchTotals(Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+            LocalDateTime cursorOrderedAt, Long cursorId, int limit) {
+        return OrderViewQueries.search(em, OderTotalsView.class, "orderedAt", "orderId",
+                userId, status, from, to, cursorOrderedAt, cursorId, limit);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.k5_iot_springboot.repository;
+
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 뷰(order_totals / order_summary) 공통 조건 + 커서 조회
+ * - 두 뷰 모두 user_id / order_status / 주문 시각 컬럼을 가지므로 같은 조건식으로 조회
+ * - 정렬: 주문 시각 desc, 식별자 desc / 커서가 있으면 해당 키 "이후"(더 오래된) 행만, 최대 limit 건
+ * */
+class OrderViewQueries {
+    private OrderViewQueries() {}
+
+    static <T> List<T> search(EntityManager em, Class<T> viewType, String timeField, String idField,
+                              Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to,
+                              LocalDateTime cursorOrderedAt, Long cursorId, int limit) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT v FROM " + viewType.getSimpleName() + " v WHERE 1 = 1"
+        );
+
+        Map<String, Object> params = new HashMap<>();
+
+        if (userId != null) {
+            jpql.append(" and v.user_id = :userId");
+            params.put("userId", userId);
+        }
+
+        if (status != null) {
+            jpql.append(" and v.order_status = :status"); // 뷰 컬럼은 문자열
+            params.put("status", status.name());
+        }
+
+        if (from != null) {
+            jpql.append(" and v.").append(timeField).append(" >= :from");
+            params.put("from", from);
+        }
+
+        if (to != null) {
+            jpql.append(" and v.").append(timeField).append(" <= :to");
+            params.put("to", to);
+        }
+
+        if (cursorOrderedAt != null && cursorId != null) {
+            jpql.append(" and (v.").append(timeField).append(" < :cursorOrderedAt")
+                    .append(" or (v.").append(timeField).append(" = :cursorOrderedAt")
+                    .append(" and v.").append(idField).append(" < :cursorId))");
+            params.put("cursorOrderedAt", cursorOrderedAt);
+            params.put("cursorId", cursorId);
+        }
+
+        jpql.append(" order by v.").append(timeField).append(" desc, v.").append(idField).append(" desc");
+
+        TypedQuery<T> query = em.createQuery(jpql.toString(), viewType);
+        for (Map.Entry<String, Object> entry : params.entrySet()) {
+            query.setParameter(entry.getKey(), entry.getValue());
+        }
+        query.setMaxResults(limit);
+
+        return query.getResultList();
+    }
+}
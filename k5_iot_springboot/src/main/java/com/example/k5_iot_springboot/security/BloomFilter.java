@@ -0,0 +1,77 @@
+package com.example.k5_iot_springboot.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * === BloomFilter ===
+ * : 문자열 키 집합의 근사 멤버십 검사 (잠금 없음)
+ * - mightContain == false: 확실히 없음 / true: 있을 수도 있음 (오탐 확률 약 fpp)
+ * - 삭제 불가 - 만료된 키를 빼려면 새 필터를 만들어 교체
+ *
+ * [ 구현 ]
+ * - 비트 배열: AtomicLongArray (CAS 로 비트 set, 동시 put/조회 안전)
+ * - 해시 k개: 64비트 해시 1회(FNV-1a + 비트 섞기) >> 상위/하위 32비트로 이중 해싱 (h1 + i x h2)
+ * - 크기: m = -n ln(p) / (ln 2)^2, k = (m / n) ln 2
+ * */
+public final class BloomFilter {
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(int expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0) throw new IllegalArgumentException("expectedInsertions는 1 이상이어야 합니다.");
+        if (fpp <= 0 || fpp >= 1) throw new IllegalArgumentException("fpp는 0과 1 사이여야 합니다.");
+
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = words * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1; // 0 이면 k개 위치가 모두 같아짐
+        for (int i = 1; i <= hashCount; i++) {
+            long index = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            setBit(index);
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1; // 0 이면 k개 위치가 모두 같아짐
+        for (int i = 1; i <= hashCount; i++) {
+            long index = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) return false;
+        }
+        return true;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index; // 시프트 값은 하위 6비트만 사용
+        while (true) {
+            long current = bits.get(word);
+            if ((current & mask) != 0 || bits.compareAndSet(word, current, current | mask)) return;
+        }
+    }
+
+    /** FNV-1a 64 + fmix64 (MurmurHash3 마무리 단계 - 하위/상위 비트 고르게) */
+    private static long hash64(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -27,6 +27,7 @@ import org.springframework.stereotype.Service;
 public class CustomUserDetailsService implements UserDetailsService {
     private final G_UserRepository userRepository; // 데이터 접근 계층 (사용자 조회 담당)
     private final UserPrincipalMapper principalMapper; // 변환 계층 (보안 모델로 변환)
+    private final PrincipalCache principalCache; // 변환 결과 캐시 (변경 시 무효화)
 
     /**
      * loadUserByUsername 메서드
@@ -40,10 +41,8 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         // 현재는 loginId를 username으로 사용하는 정책!
         // +) 이메일 로그인 정책 시 userRepository.findByEmail(username) 형태로 변경
-        G_User user = userRepository.findByLoginId(username)
+        // 도메인 엔티티를 보안 VO 객체로 변환하여 반환 (PrincipalCache - 정보/권한 변경 전까지 재사용)
+        return principalCache.get(loginId, () -> userRepository.findByLoginId(loginId).map(principalMapper::map))
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + username));
-
-        // 도메인 엔티티를 보안 VO 객체로 변환하여 반환
-        return principalMapper.map(user);
     }
 }
\ No newline at end of file
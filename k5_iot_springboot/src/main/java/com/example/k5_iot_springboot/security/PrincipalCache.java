@@ -0,0 +1,162 @@
+package com.example.k5_iot_springboot.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * === PrincipalCache ===
+ * : loginId >> UserPrincipal 캐시 (CustomUserDetailsService, JwtAuthenticationFilter DB 모드)
+ * - 요청마다 users + user_roles 조회 & UserPrincipal 재생성을 생략
+ *
+ * [ 무효화 ]
+ * - 사용자 정보/권한 변경 시 invalidate(loginId) 호출 (변경 트랜잭션 안에서)
+ *      1) principal_invalidations 에 변경 행 INSERT (같은 트랜잭션 - 롤백되면 함께 취소)
+ *      2) 커밋 후 이 서버의 캐시에서 즉시 제거
+ * - 다른 서버는 poll-ms 마다 principal_invalidations 를 created_at 기준으로 읽어 제거 (별도 메시지 브로커 없음)
+ *      >> 조회 구간은 poll-overlap-seconds 만큼 겹치게 (조회 시점에 커밋 전이던 변경 누락 방지)
+ *      >> 이미 반영한 변경 행(이 서버에서 만든 행 포함)은 id 로 건너뜀
+ * - 변경 행은 retention-hours 이후 삭제
+ *
+ * cf) 조회(DB) 중 무효화가 일어나면 조회 결과를 캐시하지 않음 (무효화 이전 값이 다시 캐시되는 것 방지)
+ * */
+@Slf4j
+@Component
+public class PrincipalCache {
+    private static final String INSERT_SQL =
+            "INSERT INTO principal_invalidations (login_id, created_at) VALUES (?, ?)";
+    private static final String POLL_SQL =
+            "SELECT id, login_id, created_at FROM principal_invalidations WHERE created_at >= ?";
+    private static final String PURGE_SQL =
+            "DELETE FROM principal_invalidations WHERE created_at < ? LIMIT 1000";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxEntries;
+    private final long pollOverlapSeconds;
+    private final long retentionHours;
+
+    private final ConcurrentHashMap<String, UserPrincipal> principals = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong(); // 무효화마다 증가
+    private final ConcurrentHashMap<Long, LocalDateTime> applied = new ConcurrentHashMap<>(); // 이미 반영한 변경 행 (조회 겹침 구간 중복 제거용)
+    private volatile LocalDateTime lastPolledAt = LocalDateTime.now();
+
+    public PrincipalCache(
+            JdbcTemplate jdbcTemplate,
+            @Value("${principal.cache.max-entries:10000}") int maxEntries,
+            @Value("${principal.cache.poll-overlap-seconds:30}") long pollOverlapSeconds,
+            @Value("${principal.cache.retention-hours:24}") long retentionHours
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxEntries = maxEntries;
+        this.pollOverlapSeconds = Math.max(pollOverlapSeconds, 0);
+        this.retentionHours = Math.max(retentionHours, 1);
+    }
+
+    /** 캐시 조회, 없으면 loader 로 조회 후 캐시 (maxEntries <= 0 이면 항상 loader) */
+    public Optional<UserPrincipal> get(String loginId, Supplier<Optional<UserPrincipal>> loader) {
+        if (maxEntries <= 0) return loader.get();
+
+        UserPrincipal cached = principals.get(loginId);
+        if (cached != null) return Optional.of(cached);
+
+        long before = generation.get();
+        Optional<UserPrincipal> loaded = loader.get();
+        loaded.ifPresent(p -> {
+            if (principals.size() >= maxEntries) evictOne();
+            principals.put(loginId, p);
+            if (generation.get() != before) principals.remove(loginId, p); // 조회 중 무효화 - 캐시하지 않음
+        });
+        return loaded;
+    }
+
+    /** 사용자 정보 변경 - 변경 트랜잭션 안에서 호출 (모든 서버에 전파) */
+    public void invalidate(String loginId) {
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, loginId);
+            ps.setTimestamp(2, Timestamp.valueOf(now));
+            return ps;
+        }, keyHolder);
+        Number id = keyHolder.getKey();
+
+        Runnable apply = () -> {
+            if (id != null) applied.put(id.longValue(), now); // 이 서버의 변경은 poll 에서 다시 제거하지 않음
+            evict(loginId);
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    /** 다른 서버에서 발생한 무효화 반영 */
+    @Scheduled(fixedDelayString = "${principal.cache.poll-ms:2000}")
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastPolledAt.minusSeconds(pollOverlapSeconds);
+        try {
+            jdbcTemplate.query(POLL_SQL, rs -> {
+                long id = rs.getLong("id");
+                if (applied.putIfAbsent(id, rs.getTimestamp("created_at").toLocalDateTime()) == null) {
+                    evict(rs.getString("login_id"));
+                }
+            }, Timestamp.valueOf(since));
+            applied.values().removeIf(at -> at.isBefore(since)); // 다음 조회 구간 밖의 기록은 불필요
+            lastPolledAt = now; // 실패 시 다음 주기에 같은 구간부터 다시
+        } catch (Exception e) {
+            log.warn("Principal invalidation poll failed", e);
+        }
+    }
+
+    /** 보관 기간이 지난 변경 행 삭제 */
+    @Scheduled(fixedDelayString = "${principal.cache.purge-interval-ms:3600000}")
+    public void purge() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusHours(retentionHours));
+        int deleted;
+        try {
+            do {
+                deleted = jdbcTemplate.update(PURGE_SQL, cutoff);
+            } while (deleted > 0);
+        } catch (Exception e) {
+            log.warn("Principal invalidation purge failed", e);
+        }
+    }
+
+    private void evict(String loginId) {
+        generation.incrementAndGet();
+        principals.remove(loginId);
+    }
+
+    /** 상한 도달 시 임의 항목 1개 제거 */
+    private void evictOne() {
+        Iterator<String> it = principals.keySet().iterator();
+        if (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.k5_iot_springboot.security;
+
+import com.example.k5_iot_springboot.common.id.SnowflakeIds;
+import com.example.k5_iot_springboot.entity.G_RefreshToken;
+import com.example.k5_iot_springboot.repository.G_RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * === RefreshTokenStore ===
+ * : 리프레시 토큰 발급/회전 - 엑세스 토큰 재발급 시 비밀번호(BCrypt) 검증 없이 새 토큰 발급
+ *
+ * [ 동작 ]
+ * - 발급: 256비트 난수 토큰(Base64URL) >> refresh_tokens 에는 SHA-256 해시만 저장
+ *      (난수 토큰이므로 느린 해시 불필요 - 조회는 해시 유니크 인덱스 1회)
+ * - 회전: 토큰 1회 사용 >> used_at 조건부 UPDATE 로 선점 (동시 요청 중 1건만 성공) + 같은 family 로 새 토큰 발급
+ * - 재사용 감지: 이미 사용된 토큰이 다시 들어오면 탈취로 간주 >> family 전체 폐기 (정상 사용자도 다시 로그인)
+ *      >> 폐기가 커밋되어야 하므로 호출하는 트랜잭션은 BadCredentialsException 에 롤백하지 않아야 함
+ * - 메모리 앞단 캐시: 이 서버가 발급한 미사용 토큰(해시 >> 행 정보) - 회전 시 SELECT 생략
+ *      cf) 사용 가능 여부는 항상 DB 조건부 UPDATE 로 확정 (다른 서버에서 사용/폐기된 토큰도 안전)
+ *
+ * cf) 만료된 행은 purge-interval-ms 마다 삭제
+ * */
+@Slf4j
+@Component
+public class RefreshTokenStore {
+    /** 발급 결과: 원문 토큰(클라이언트 전달용) + 만료 시각(ms) */
+    public record Issued(String token, long expiresAt) {}
+
+    /** 회전 결과: 토큰 소유자 + 새 리프레시 토큰 */
+    public record Rotated(Long userId, String loginId, Issued next) {}
+
+    private record Entry(Long id, Long userId, String loginId, Long familyId, LocalDateTime expiresAt) {
+        static Entry of(G_RefreshToken t) {
+            return new Entry(t.getId(), t.getUserId(), t.getLoginId(), t.getFamilyId(), t.getExpiresAt());
+        }
+    }
+
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private final G_RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expirationMs;
+    private final int cacheMaxEntries;
+
+    private final SecureRandom random = new SecureRandom();
+    private final ConcurrentHashMap<String, Entry> fresh = new ConcurrentHashMap<>();
+
+    public RefreshTokenStore(
+            G_RefreshTokenRepository refreshTokenRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${jwt.refresh.expiration:1209600000}") long expirationMs,
+            @Value("${jwt.refresh.cache-max-entries:10000}") int cacheMaxEntries
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.expirationMs = expirationMs;
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    /** 새 family 로 발급 (로그인) - 트랜잭션 안에서 호출 */
+    public Issued issue(Long userId, String loginId) {
+        return issue(userId, loginId, SnowflakeIds.next());
+    }
+
+    /**
+     * 리프레시 토큰 회전 - 트랜잭션 안에서 호출
+     * @throws BadCredentialsException 없는/만료/폐기된 토큰, 재사용 감지(family 폐기)
+     * */
+    public Rotated rotate(String rawToken) {
+        String hash = hash(rawToken);
+        LocalDateTime now = LocalDateTime.now();
+
+        Entry entry = fresh.remove(hash); // 1회용 - 성공/실패와 관계없이 캐시에서 제거
+        if (entry == null) {
+            G_RefreshToken token = refreshTokenRepository.findByTokenHash(hash)
+                    .orElseThrow(() -> new BadCredentialsException("유효하지 않은 리프레시 토큰입니다."));
+            if (token.getRevokedAt() != null) throw new BadCredentialsException("폐기된 리프레시 토큰입니다.");
+            if (token.getUsedAt() != null) throw reused(token.getFamilyId(), now);
+            entry = Entry.of(token);
+        }
+        if (entry.expiresAt().isBefore(now)) throw new BadCredentialsException("만료된 리프레시 토큰입니다.");
+
+        if (refreshTokenRepository.markUsed(entry.id(), now) == 0) {
+            // 그 사이 다른 요청/서버가 사용했거나 family 가 폐기됨
+            G_RefreshToken token = refreshTokenRepository.findById(entry.id()).orElse(null);
+            if (token == null || token.getRevokedAt() != null)
+                throw new BadCredentialsException("폐기된 리프레시 토큰입니다.");
+            throw reused(entry.familyId(), now);
+        }
+
+        Issued next = issue(entry.userId(), entry.loginId(), entry.familyId());
+        return new Rotated(entry.userId(), entry.loginId(), next);
+    }
+
+    /** 리프레시 토큰이 속한 family 폐기 (로그아웃) - 없는 토큰이면 무시, 트랜잭션 안에서 호출 */
+    public void revoke(String rawToken) {
+        String hash = hash(rawToken);
+        fresh.remove(hash);
+        refreshTokenRepository.findByTokenHash(hash)
+                .ifPresent(t -> refreshTokenRepository.revokeFamily(t.getFamilyId(), LocalDateTime.now()));
+    }
+
+    /** 사용자의 모든 리프레시 토큰 폐기 (비밀번호 변경/강제 로그아웃) - 트랜잭션 안에서 호출 */
+    public void revokeAll(Long userId) {
+        fresh.values().removeIf(e -> e.userId().equals(userId));
+        refreshTokenRepository.revokeAllByUserId(userId, LocalDateTime.now());
+    }
+
+    /** 만료 토큰 정리 */
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval-ms:3600000}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        fresh.values().removeIf(e -> e.expiresAt().isBefore(cutoff));
+        try {
+            Integer deleted;
+            do {
+                deleted = transactionTemplate.execute(status ->
+                        refreshTokenRepository.deleteExpired(cutoff, PURGE_BATCH_SIZE));
+            } while (deleted != null && deleted > 0);
+        } catch (Exception e) {
+            log.warn("Refresh token purge failed", e);
+        }
+    }
+
+    private Issued issue(Long userId, String loginId, Long familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(Duration.ofMillis(expirationMs));
+
+        G_RefreshToken saved = refreshTokenRepository.save(G_RefreshToken.builder()
+                .userId(userId)
+                .loginId(loginId)
+                .familyId(familyId)
+                .tokenHash(hash(raw))
+                .expiresAt(expiresAt)
+                .createdAt(now)
+                .build());
+
+        if (cacheMaxEntries > 0) {
+            if (fresh.size() >= cacheMaxEntries) evictOne();
+            fresh.put(saved.getTokenHash(), Entry.of(saved));
+        }
+        return new Issued(raw, expiresAt.toInstant(ZoneOffset.UTC).toEpochMilli());
+    }
+
+    /** 재사용 감지 - family 전체 폐기 후 거부 */
+    private BadCredentialsException reused(Long familyId, LocalDateTime now) {
+        int revoked = refreshTokenRepository.revokeFamily(familyId, now);
+        log.warn("Refresh token reuse detected: familyId={}, revoked={}", familyId, revoked);
+        return new BadCredentialsException("이미 사용된 리프레시 토큰입니다. 다시 로그인해주세요.");
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private void evictOne() {
+        Iterator<String> it = fresh.keySet().iterator();
+        if (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
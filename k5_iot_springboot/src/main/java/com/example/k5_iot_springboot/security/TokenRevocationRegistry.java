@@ -0,0 +1,230 @@
+package com.example.k5_iot_springboot.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * === TokenRevocationRegistry ===
+ * : 만료 전 엑세스 토큰 폐기 (로그아웃, 비밀번호 변경, 관리자 강제 로그아웃)
+ *
+ * [ 폐기 단위 ]
+ * - 토큰(jti): 로그아웃 - 해당 토큰만, 토큰 만료 시각까지 유지
+ * - 사용자(userId): 비밀번호 변경/강제 로그아웃 - 폐기 시각 이전(iat 기준)에 발급된 모든 토큰
+ *      , 이전 토큰이 모두 만료되는 시각(폐기 시각 + jwt.expiration + 허용 오차)까지 유지
+ *      cf) iat 는 초 단위 - 폐기 직후 1초 이내에 발급된 토큰도 거부될 수 있음 (같은 초는 폐기 쪽으로 판단)
+ *      cf) jti(Snowflake)의 시각은 사용하지 않음 - 순번 소진/시계 역행 시 벽시계보다 앞서는 논리 시계라
+ *          폐기 직전에 발급된 토큰이 폐기 시각 이후로 보일 수 있음
+ *
+ * [ 조회 - JwtAuthenticationFilter 매 요청 ]
+ * - 1차: 메모리 Bloom filter - "없음"이면 확정 (대부분의 요청, DB/맵 조회 없음)
+ * - 2차: Bloom filter 가 "있을 수도 있음"일 때만 정확한 집합(ConcurrentHashMap)에서 확인
+ *
+ * [ 서버 간 동기화 ]
+ * - 폐기는 token_revocations 에 INSERT (호출한 트랜잭션) >> 커밋 후 이 서버에 즉시 반영
+ * - 다른 서버는 poll-ms 마다 created_at 기준으로 새 행만 읽어 반영 (조회 구간 겹침 + id 로 중복 제거)
+ * - 기동 후 첫 조회는 만료되지 않은 전체 행을 읽음
+ *
+ * [ 만료 ]
+ * - purge-interval-ms 마다 만료 항목을 집합/DB 에서 제거하고 Bloom filter 를 새로 만들어 교체 (Bloom filter 는 삭제 불가)
+ * */
+@Slf4j
+@Component
+public class TokenRevocationRegistry {
+    private static final String INSERT_SQL =
+            "INSERT INTO token_revocations (jti, user_id, revoked_before, expires_at, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String POLL_SQL = """
+            SELECT id, jti, user_id, revoked_before, expires_at, created_at
+            FROM token_revocations
+            WHERE created_at >= ? AND expires_at > ?
+            """;
+    private static final String PURGE_SQL =
+            "DELETE FROM token_revocations WHERE expires_at <= ? LIMIT 1000";
+
+    /** 사용자 단위 폐기: revokedBefore 이전(포함) 발급 토큰 거부, expiresAt 이후 항목 제거 (ms) */
+    private record UserRevocation(long revokedBeforeMillis, long expiresAtMillis) {
+        UserRevocation merge(UserRevocation other) {
+            return new UserRevocation(Math.max(revokedBeforeMillis, other.revokedBeforeMillis),
+                    Math.max(expiresAtMillis, other.expiresAtMillis));
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long userRevocationTtlMs;
+    private final long pollOverlapSeconds;
+    private final int expectedInsertions;
+    private final double fpp;
+
+    private final ConcurrentHashMap<String, Long> revokedTokens = new ConcurrentHashMap<>(); // jti >> 만료(ms)
+    private final ConcurrentHashMap<Long, UserRevocation> revokedUsers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, LocalDateTime> applied = new ConcurrentHashMap<>(); // 반영한 행 (조회 겹침 구간 중복 제거용)
+    private volatile BloomFilter bloom;
+    private volatile LocalDateTime lastPolledAt; // null: 아직 전체 로드 전
+
+    public TokenRevocationRegistry(
+            JdbcTemplate jdbcTemplate,
+            @Value("${jwt.expiration}") long accessTokenTtlMs,
+            @Value("${jwt.clock-skew-seconds:0}") int clockSkewSeconds,
+            @Value("${jwt.revocation.poll-overlap-seconds:30}") long pollOverlapSeconds,
+            @Value("${jwt.revocation.expected-insertions:100000}") int expectedInsertions,
+            @Value("${jwt.revocation.fpp:0.01}") double fpp
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRevocationTtlMs = accessTokenTtlMs + Math.max(clockSkewSeconds, 0) * 1000L;
+        this.pollOverlapSeconds = Math.max(pollOverlapSeconds, 0);
+        this.expectedInsertions = Math.max(expectedInsertions, 1);
+        this.fpp = fpp;
+        this.bloom = new BloomFilter(this.expectedInsertions, fpp);
+    }
+
+    /** 토큰이 폐기되었는지 (jti 또는 사용자 단위) */
+    public boolean isRevoked(String jti, Long userId, Date issuedAt) {
+        BloomFilter current = bloom;
+        long now = System.currentTimeMillis();
+
+        if (jti != null && current.mightContain(tokenKey(jti))) {
+            Long expiresAt = revokedTokens.get(jti);
+            if (expiresAt != null && expiresAt > now) return true;
+        }
+        if (userId != null && current.mightContain(userKey(userId))) {
+            UserRevocation r = revokedUsers.get(userId);
+            // 발급 시각은 iat (초 단위로 잘림) - 같은 초에 발급된 토큰은 폐기 전/후를 구분할 수 없으므로 거부
+            if (r != null && r.expiresAtMillis() > now
+                    && (issuedAt == null || issuedAt.getTime() <= r.revokedBeforeMillis())) return true;
+        }
+        return false;
+    }
+
+    /** 토큰 1개 폐기 (로그아웃) - 트랜잭션 안에서 호출 */
+    public void revokeToken(String jti, long expiresAtMillis) {
+        insert(jti, null, null, expiresAtMillis);
+    }
+
+    /** 사용자의 지금까지 발급된 모든 토큰 폐기 (비밀번호 변경/강제 로그아웃) - 트랜잭션 안에서 호출 */
+    public void revokeUser(Long userId) {
+        long now = System.currentTimeMillis();
+        insert(null, userId, now, now + userRevocationTtlMs);
+    }
+
+    /** 다른 서버의 폐기 반영 (첫 실행은 전체 로드) */
+    @Scheduled(fixedDelayString = "${jwt.revocation.poll-ms:2000}")
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = (lastPolledAt == null)
+                ? LocalDateTime.of(1970, 1, 1, 0, 0)
+                : lastPolledAt.minusSeconds(pollOverlapSeconds);
+        try {
+            jdbcTemplate.query(POLL_SQL, rs -> {
+                long id = rs.getLong("id");
+                if (applied.putIfAbsent(id, rs.getTimestamp("created_at").toLocalDateTime()) != null) return;
+
+                String jti = rs.getString("jti");
+                long rawUserId = rs.getLong("user_id");
+                Long userId = rs.wasNull() ? null : rawUserId;
+                Timestamp revokedBefore = rs.getTimestamp("revoked_before");
+                apply(jti, userId,
+                        revokedBefore == null ? null : toMillis(revokedBefore.toLocalDateTime()),
+                        toMillis(rs.getTimestamp("expires_at").toLocalDateTime()));
+            }, Timestamp.valueOf(since), Timestamp.valueOf(now));
+            applied.values().removeIf(at -> at.isBefore(now.minusSeconds(pollOverlapSeconds)));
+            lastPolledAt = now; // 실패 시 다음 주기에 같은 구간부터 다시
+        } catch (Exception e) {
+            log.warn("Token revocation poll failed", e);
+        }
+    }
+
+    /** 만료 항목 제거 + Bloom filter 재구성 */
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:60000}")
+    public void purge() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedUsers.values().removeIf(r -> r.expiresAtMillis() <= now);
+        rebuildBloom();
+
+        try {
+            Timestamp cutoff = Timestamp.valueOf(toLocal(now));
+            while (jdbcTemplate.update(PURGE_SQL, cutoff) > 0) {
+                // 1000건씩 삭제 (긴 잠금 방지)
+            }
+        } catch (Exception e) {
+            log.warn("Token revocation purge failed", e);
+        }
+    }
+
+    private void insert(String jti, Long userId, Long revokedBeforeMillis, long expiresAtMillis) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        LocalDateTime createdAt = LocalDateTime.now();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, jti);
+            if (userId == null) ps.setNull(2, Types.BIGINT); else ps.setLong(2, userId);
+            ps.setTimestamp(3, revokedBeforeMillis == null ? null : Timestamp.valueOf(toLocal(revokedBeforeMillis)));
+            ps.setTimestamp(4, Timestamp.valueOf(toLocal(expiresAtMillis)));
+            ps.setTimestamp(5, Timestamp.valueOf(createdAt));
+            return ps;
+        }, keyHolder);
+        Number id = keyHolder.getKey();
+
+        Runnable local = () -> {
+            if (id != null) applied.put(id.longValue(), createdAt); // poll 에서 다시 반영하지 않음
+            apply(jti, userId, revokedBeforeMillis, expiresAtMillis);
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            local.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                local.run();
+            }
+        });
+    }
+
+    /** 정확한 집합에 먼저 넣고 Bloom filter 에 추가 (재구성 중 추가된 항목 누락 방지 순서) */
+    private void apply(String jti, Long userId, Long revokedBeforeMillis, long expiresAtMillis) {
+        if (jti != null) {
+            revokedTokens.merge(jti, expiresAtMillis, Math::max);
+            bloom.put(tokenKey(jti));
+        }
+        if (userId != null && revokedBeforeMillis != null) {
+            revokedUsers.merge(userId, new UserRevocation(revokedBeforeMillis, expiresAtMillis), UserRevocation::merge);
+            bloom.put(userKey(userId));
+        }
+    }
+
+    private void rebuildBloom() {
+        int size = Math.max(expectedInsertions, (revokedTokens.size() + revokedUsers.size()) * 2);
+        BloomFilter next = new BloomFilter(size, fpp);
+        fill(next);
+        bloom = next;
+        fill(next); // 교체 직전 이전 필터에만 추가된 항목 보충 (집합에는 먼저 들어가 있음)
+    }
+
+    private void fill(BloomFilter filter) {
+        revokedTokens.keySet().forEach(jti -> filter.put(tokenKey(jti)));
+        revokedUsers.keySet().forEach(userId -> filter.put(userKey(userId)));
+    }
+
+    private static String tokenKey(String jti) { return "j:" + jti; }
+    private static String userKey(Long userId) { return "u:" + userId; }
+
+    private static long toMillis(LocalDateTime utc) { return utc.toInstant(ZoneOffset.UTC).toEpochMilli(); }
+    private static LocalDateTime toLocal(long millis) { return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC); }
+}
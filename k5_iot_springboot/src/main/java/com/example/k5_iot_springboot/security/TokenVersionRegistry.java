@@ -0,0 +1,107 @@
+package com.example.k5_iot_springboot.security;
+
+import com.example.k5_iot_springboot.repository.G_UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * === TokenVersionRegistry ===
+ * : 사용자별 토큰 버전(G_User.tokenVersion) 메모리 캐시 - 클레임 인증(jwt.auth-mode=CLAIMS)에서 만료된 권한의 토큰 거부
+ *
+ * [ 동작 ]
+ * - 토큰의 ver 클레임 >= 현재 버전: 통과 / 작으면: 권한 변경 전에 발급된 토큰 >> 거부
+ * - 캐시에 없는 사용자는 users PK 단건 조회(token_version 컬럼만)로 채움 - 사용자당 최초 1회
+ * - 권한 변경(G_AdminServiceImpl)은 커밋 후 이 서버의 캐시에 즉시 반영
+ * - 다른 서버의 변경은 refresh-ms 마다 updated_at 기준으로 다시 읽어 반영 (그 사이 최대 refresh-ms 만큼 이전 토큰 허용)
+ *
+ * cf) 버전은 증가만 하므로 항상 큰 값으로 병합 (토큰의 ver 가 캐시보다 크면 캐시가 늦은 것 - 토큰 값으로 올림)
+ * */
+@Slf4j
+@Component
+public class TokenVersionRegistry {
+    private final G_UserRepository userRepository;
+    private final int maxEntries;
+    private final long pollOverlapSeconds;
+
+    private final ConcurrentHashMap<Long, Long> versions = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastPolledAt = LocalDateTime.now();
+
+    public TokenVersionRegistry(
+            G_UserRepository userRepository,
+            @Value("${jwt.token-version.max-entries:100000}") int maxEntries,
+            @Value("${jwt.token-version.poll-overlap-seconds:30}") long pollOverlapSeconds
+    ) {
+        this.userRepository = userRepository;
+        this.maxEntries = Math.max(maxEntries, 1);
+        this.pollOverlapSeconds = Math.max(pollOverlapSeconds, 0);
+    }
+
+    /** 토큰 버전이 현재 사용자 버전 이상인지 (없는 사용자면 false) */
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        Long current = versions.get(userId);
+        if (current == null) {
+            Optional<Long> loaded = userRepository.findTokenVersionById(userId);
+            if (loaded.isEmpty()) return false;
+            current = merge(userId, loaded.get());
+        }
+        if (tokenVersion > current) {
+            merge(userId, tokenVersion);
+            return true;
+        }
+        return tokenVersion == current;
+    }
+
+    /** 알려진 버전 반영 (로그인 직후 등) */
+    public void remember(Long userId, long tokenVersion) {
+        merge(userId, tokenVersion);
+    }
+
+    /** 버전 증가 반영 - 트랜잭션 안이면 커밋 후 (롤백되면 반영 X) */
+    public void bumped(Long userId, long tokenVersion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            merge(userId, tokenVersion);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                merge(userId, tokenVersion);
+            }
+        });
+    }
+
+    /** 다른 서버에서 변경된 버전 반영 (캐시에 있는 사용자만) */
+    @Scheduled(fixedDelayString = "${jwt.token-version.refresh-ms:5000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastPolledAt.minusSeconds(pollOverlapSeconds); // 조회 시점에 커밋 전이던 변경까지 포함
+        if (versions.isEmpty()) {
+            lastPolledAt = now;
+            return;
+        }
+
+        try {
+            for (G_UserRepository.TokenVersionView v : userRepository.findTokenVersionsUpdatedSince(since)) {
+                versions.computeIfPresent(v.getId(), (id, current) -> Math.max(current, v.getTokenVersion()));
+            }
+            lastPolledAt = now; // 실패 시 다음 주기에 같은 구간부터 다시
+        } catch (Exception e) {
+            log.warn("Token version refresh failed", e);
+        }
+    }
+
+    private long merge(Long userId, long tokenVersion) {
+        if (versions.size() >= maxEntries && !versions.containsKey(userId)) {
+            versions.clear(); // 상한 초과 시 비움 - 이후 요청에서 다시 채워짐
+        }
+        return versions.merge(userId, tokenVersion, Math::max);
+    }
+}
@@ -50,6 +50,7 @@ public class UserPrincipal implements UserDetails {
     @JsonIgnore
     private final String password;                                      // 해시 비밀번호
     private final Collection<? extends GrantedAuthority> authorities;   // 권한
+    private final long tokenVersion;                                    // 토큰 버전 (JWT ver 클레임)
 
     /** 계정 상태 플래그들
      *
@@ -75,6 +76,7 @@ public class UserPrincipal implements UserDetails {
             String username,
             String password,
             Collection<? extends GrantedAuthority> authorities,
+            long tokenVersion,
             boolean accountNonExpired,
             boolean accountNonLocked,
             boolean credentialsNonExpired,
@@ -84,6 +86,7 @@ public class UserPrincipal implements UserDetails {
         this.username = username;
         this.password = password;
         this.authorities = authorities;
+        this.tokenVersion = tokenVersion;
         this.accountNonExpired = accountNonExpired;
         this.accountNonLocked = accountNonLocked;
         this.credentialsNonExpired = credentialsNonExpired;
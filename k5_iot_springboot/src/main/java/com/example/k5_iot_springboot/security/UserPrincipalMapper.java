@@ -1,5 +1,6 @@
 package com.example.k5_iot_springboot.security;
 
+import com.example.k5_iot_springboot.common.enums.RoleType;
 import com.example.k5_iot_springboot.entity.G_User;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.GrantedAuthority;
@@ -7,7 +8,10 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * === UserPrincipalMapper ===
@@ -28,34 +32,61 @@ import java.util.List;
 @Component
 public class UserPrincipalMapper {
 
+    /** 기본 권한 (권한이 비어있는 사용자) */
+    private static final List<GrantedAuthority> DEFAULT_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    /**
+     * 권한 조합별 authority 목록 (불변, 공유)
+     * - 요청/로그인마다 SimpleGrantedAuthority 를 새로 만들지 않고 같은 조합이면 같은 목록을 재사용
+     * - 조합 수는 RoleType 개수로 제한됨 (토큰 클레임의 권한 문자열도 서버가 서명한 값만 들어옴)
+     * */
+    private final ConcurrentHashMap<Set<RoleType>, List<GrantedAuthority>> byRoles = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Set<String>, List<GrantedAuthority>> byNames = new ConcurrentHashMap<>();
+
     @NonNull
     public UserPrincipal map(@NonNull G_User user) {
 //        Collection<SimpleGrantedAuthority> authorities
 //                = List.of(new SimpleGrantedAuthority("ROLE_USER"));
 
-        Collection<? extends GrantedAuthority> authorities =
-                // 사용자 정보 내부의 권한이 비어져 있거나 없는 경우
-                (user.getRoles() == null || user.getRoles().isEmpty())
-                        // 기본 권한 "ROLE_USER" 부여
-                        ? List.of(new SimpleGrantedAuthority("ROLE_USER"))
-                        // 해당 권한(들)을 GrantedAuthority 타입으로 변환하여 반환
-                        : user.getRoles().stream()
-                        .map(r -> {
-                            String name = r.name();
-                            String role = name.startsWith("ROLE_") ? name : "ROLE_" + name;
-                            return new SimpleGrantedAuthority(role);
-                        })
-                        .toList();
+        Collection<? extends GrantedAuthority> authorities = authoritiesOf(user.getRoles());
 
         return UserPrincipal.builder()
                 .id(user.getId())
                 .username(user.getLoginId())
                 .password(user.getPassword())
                 .authorities(authorities)
+                .tokenVersion(user.getTokenVersion())
                 .accountNonExpired(true)
                 .accountNonLocked(true)
                 .credentialsNonExpired(true)
                 .enabled(true)
                 .build();
     }
-}
\ No newline at end of file
+
+    /** 엔티티 권한 >> GrantedAuthority 목록 (조합별 공유 인스턴스) */
+    @NonNull
+    public List<GrantedAuthority> authoritiesOf(Set<RoleType> roles) {
+        // 사용자 정보 내부의 권한이 비어져 있거나 없는 경우 - 기본 권한 "ROLE_USER" 부여
+        if (roles == null || roles.isEmpty()) return DEFAULT_AUTHORITIES;
+
+        // 해당 권한(들)을 GrantedAuthority 타입으로 변환하여 반환
+        return byRoles.computeIfAbsent(EnumSet.copyOf(roles), key -> toAuthorities(
+                key.stream().map(RoleType::name).toList()));
+    }
+
+    /** 권한 문자열(토큰 roles 클레임, "ROLE_" 유무 무관) >> GrantedAuthority 목록 (조합별 공유 인스턴스) */
+    @NonNull
+    public List<GrantedAuthority> authoritiesOfNames(Set<String> roleNames) {
+        if (roleNames == null || roleNames.isEmpty()) return List.of();
+        return byNames.computeIfAbsent(Set.copyOf(roleNames), this::toAuthorities);
+    }
+
+    private List<GrantedAuthority> toAuthorities(Collection<String> names) {
+        return names.stream()
+                .map(name -> name.startsWith("ROLE_") ? name : "ROLE_" + name)
+                .sorted()
+                .distinct()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+}
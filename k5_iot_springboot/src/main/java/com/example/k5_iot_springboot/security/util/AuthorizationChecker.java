@@ -50,6 +50,16 @@ public class AuthorizationChecker {
                 .orElse(false);
     }
 
+    /** USER가 해당 주문의 소유자인지 확인 (주문 로그 조회 등) */
+    public boolean isOrderOwner(Long orderId, Authentication authentication) {
+        if (orderId == null) return false;
+        Long me = extractUserId(authentication);
+
+        return orderRepository.findById(orderId)
+                .map(o -> o.getUser().getId().equals(me))
+                .orElse(false);
+    }
+
     // == 프로젝트의 Principal 구조에 맞게 사용자 ID 추출 == //
     private Long extractUserId (Authentication authentication) {
         if (authentication == null) return null;
@@ -1,12 +1,17 @@
 package com.example.k5_iot_springboot.service;
 
+import com.example.k5_iot_springboot.dto.G_Auth.request.LogoutRequest;
+import com.example.k5_iot_springboot.dto.G_Auth.request.RefreshRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.request.SignInRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.request.SignUpRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.response.SignInResponse;
 import com.example.k5_iot_springboot.dto.ResponseDto;
+import com.example.k5_iot_springboot.security.UserPrincipal;
 import jakarta.validation.Valid;
 
 public interface G_AuthService {
     void signUp(@Valid SignUpRequest req);
     ResponseDto<SignInResponse> signIn(@Valid SignInRequest req);
+    ResponseDto<SignInResponse> refresh(@Valid RefreshRequest req);
+    ResponseDto<Void> logout(UserPrincipal principal, String authorization, @Valid LogoutRequest req);
 }
\ No newline at end of file
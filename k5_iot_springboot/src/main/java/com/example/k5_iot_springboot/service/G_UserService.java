@@ -1,5 +1,6 @@
 package com.example.k5_iot_springboot.service;
 
+import com.example.k5_iot_springboot.dto.G_Auth.request.PasswordChangeRequest;
 import com.example.k5_iot_springboot.dto.G_User.request.UserProfileUpdateRequest;
 import com.example.k5_iot_springboot.dto.G_User.response.UserProfileResponse;
 import com.example.k5_iot_springboot.dto.ResponseDto;
@@ -9,4 +10,5 @@ import jakarta.validation.Valid;
 public interface G_UserService {
     ResponseDto<UserProfileResponse.MyPageResponse> getMyInfo(UserPrincipal principal);
     ResponseDto<UserProfileResponse.MyPageResponse> updateMyInfo(UserPrincipal principal, @Valid UserProfileUpdateRequest request);
+    ResponseDto<Void> changePassword(UserPrincipal principal, @Valid PasswordChangeRequest request);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.example.k5_iot_springboot.service;
+
+import com.example.k5_iot_springboot.common.enums.ExportFormat;
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+
+public interface I_OrderExportService {
+
+    StreamingResponseBody export(ExportFormat format, OrderStatus status, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,12 @@
+package com.example.k5_iot_springboot.service;
+
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderLogResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+
+import java.time.LocalDateTime;
+
+public interface I_OrderLogService {
+
+    ResponseDto<OrderLogResponse.SliceResponse> getByOrder(Long orderId, String cursor, int size);
+    ResponseDto<OrderLogResponse.SliceResponse> getByPeriod(LocalDateTime from, LocalDateTime to, String cursor, int size);
+}
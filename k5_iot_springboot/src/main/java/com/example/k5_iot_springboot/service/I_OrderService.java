@@ -7,11 +7,13 @@ import com.example.k5_iot_springboot.dto.ResponseDto;
 import com.example.k5_iot_springboot.security.UserPrincipal;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 public interface I_OrderService {
     ResponseDto<OrderResponse.Detail> create(UserPrincipal userPrincipal, OrderRequest.OrderCreateRequest req);
+    ResponseDto<OrderResponse.Ticket> createAsync(UserPrincipal userPrincipal, OrderRequest.OrderCreateRequest req);
+    ResponseDto<OrderResponse.Ticket> getTicket(UserPrincipal userPrincipal, Long ticketId);
     ResponseDto<OrderResponse.Detail> approve(UserPrincipal userPrincipal, Long orderId);
+    ResponseDto<OrderResponse.BatchApproveResult> approveBatch(UserPrincipal userPrincipal, OrderRequest.BatchApproveRequest req);
     ResponseDto<OrderResponse.Detail> cancel(UserPrincipal userPrincipal, Long orderId);
-    ResponseDto<List<OrderResponse.Detail>> search(UserPrincipal userPrincipal, Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to);
+    ResponseDto<OrderResponse.SearchSlice> search(UserPrincipal userPrincipal, Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to, Integer minAmount, Integer maxAmount, String cursor, int size);
 }
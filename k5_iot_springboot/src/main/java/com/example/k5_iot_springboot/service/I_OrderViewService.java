@@ -0,0 +1,17 @@
+package com.example.k5_iot_springboot.service;
+
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderViewResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+import com.example.k5_iot_springboot.security.UserPrincipal;
+
+import java.time.LocalDateTime;
+
+public interface I_OrderViewService {
+
+    ResponseDto<OrderViewResponse.SliceResponse<OrderViewResponse.OrderTotalsRowDto>> getTotals(
+            UserPrincipal userPrincipal, Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to, String cursor, int size);
+
+    ResponseDto<OrderViewResponse.SliceResponse<OrderViewResponse.OrderSummaryRowDto>> getSummaries(
+            UserPrincipal userPrincipal, Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to, String cursor, int size);
+}
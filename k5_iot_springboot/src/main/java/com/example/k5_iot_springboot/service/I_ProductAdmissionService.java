@@ -0,0 +1,13 @@
+package com.example.k5_iot_springboot.service;
+
+import com.example.k5_iot_springboot.dto.I_Order.request.AdmissionRequest;
+import com.example.k5_iot_springboot.dto.I_Order.response.AdmissionResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+
+import java.util.List;
+
+public interface I_ProductAdmissionService {
+    ResponseDto<List<AdmissionResponse.Rule>> getRules();
+    ResponseDto<AdmissionResponse.Rule> upsert(Long productId, AdmissionRequest.Upsert req);
+    ResponseDto<Void> delete(Long productId);
+}
@@ -0,0 +1,14 @@
+package com.example.k5_iot_springboot.service;
+
+import com.example.k5_iot_springboot.common.enums.SalesMetric;
+import com.example.k5_iot_springboot.dto.I_Order.response.SalesReportResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+
+import java.time.LocalDate;
+
+public interface I_SalesReportService {
+    ResponseDto<SalesReportResponse.Report<SalesReportResponse.ProductSales>> getByProduct(LocalDate from, LocalDate to);
+    ResponseDto<SalesReportResponse.Report<SalesReportResponse.ProductSales>> getTop(LocalDate from, LocalDate to, SalesMetric metric, int limit);
+    ResponseDto<SalesReportResponse.Report<SalesReportResponse.DailySales>> getSeries(LocalDate from, LocalDate to, Long productId);
+    ResponseDto<SalesReportResponse.RebuildResult> rebuild(LocalDate from, LocalDate to);
+}
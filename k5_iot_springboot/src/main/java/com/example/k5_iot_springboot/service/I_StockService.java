@@ -6,9 +6,12 @@ import com.example.k5_iot_springboot.dto.ResponseDto;
 import com.example.k5_iot_springboot.security.UserPrincipal;
 import jakarta.validation.Valid;
 
+import java.time.LocalDateTime;
+
 public interface I_StockService {
 
     ResponseDto<StockResponse.Response> adjust(UserPrincipal userPrincipal, StockRequest.@Valid StockAdjust req);
     ResponseDto<StockResponse.Response> set(UserPrincipal userPrincipal, StockRequest.@Valid StockSet req);
     ResponseDto<StockResponse.Response> get(Long productid);
+    ResponseDto<StockResponse.AtTime> getAt(Long productId, LocalDateTime at);
 }
@@ -8,6 +8,10 @@ import com.example.k5_iot_springboot.dto.G_User.request.RoleModifyRequest;
 import com.example.k5_iot_springboot.dto.ResponseDto;
 import com.example.k5_iot_springboot.entity.G_User;
 import com.example.k5_iot_springboot.repository.G_UserRepository;
+import com.example.k5_iot_springboot.security.PrincipalCache;
+import com.example.k5_iot_springboot.security.RefreshTokenStore;
+import com.example.k5_iot_springboot.security.TokenRevocationRegistry;
+import com.example.k5_iot_springboot.security.TokenVersionRegistry;
 import com.example.k5_iot_springboot.security.UserPrincipal;
 import com.example.k5_iot_springboot.service.G_AdminService;
 import jakarta.persistence.EntityNotFoundException;
@@ -24,6 +28,10 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class G_AdminServiceImpl implements G_AdminService {
     private final G_UserRepository userRepository;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final RefreshTokenStore refreshTokenStore;
 
     @Override
     @Transactional
@@ -37,6 +45,7 @@ public class G_AdminServiceImpl implements G_AdminService {
         // 2) 전체 교체 - 요청에 @NotEmpty이므로 최소 1개 이상의 권한을 보장!
         user.getRoles().clear();
         req.roles().forEach(user::addRole);
+        rolesChanged(user);
 
         userRepository.flush();
 
@@ -57,7 +66,10 @@ public class G_AdminServiceImpl implements G_AdminService {
                 .orElseThrow(() -> new EntityNotFoundException("해당 id의 사용자가 없습니다."));
 
         RoleType added = req.role();
-        user.addRole(added);
+        if (!user.getRoles().contains(added)) {
+            user.addRole(added);
+            rolesChanged(user); // 이미 가진 권한이면 기존 토큰 유지
+        }
 
         userRepository.flush();
 
@@ -72,6 +84,7 @@ public class G_AdminServiceImpl implements G_AdminService {
     }
 
     @Override
+    @Transactional
     public ResponseDto<RoleManageResponse.RemoveRoleResponse> removeRole(UserPrincipal principal, RoleManageRequest.@Valid RemoveRoleRequest req) {
         G_User user = userRepository.findWithRolesById(req.userId())
                 .orElseThrow(() -> new EntityNotFoundException("해당 id의 사용자가 없습니다."));
@@ -83,6 +96,7 @@ public class G_AdminServiceImpl implements G_AdminService {
         if (user.getRoles().isEmpty()) {
             user.addRole(RoleType.USER);
         }
+        rolesChanged(user);
 
         userRepository.flush();
 
@@ -95,4 +109,27 @@ public class G_AdminServiceImpl implements G_AdminService {
         );
         return ResponseDto.setSuccess("SUCCESS", data);
     }
+
+    @Override
+    @Transactional
+    public ResponseDto<Void> forceLogout(UserPrincipal principal, Long userId) {
+        if (!userRepository.existsById(userId))
+            throw new EntityNotFoundException("해당 id의 사용자가 없습니다.");
+
+        // 지금까지 발급된 엑세스/리프레시 토큰 모두 폐기 (커밋 후 모든 서버 반영)
+        tokenRevocationRegistry.revokeUser(userId);
+        refreshTokenStore.revokeAll(userId);
+
+        return ResponseDto.setSuccess("강제 로그아웃되었습니다.", null);
+    }
+
+    /**
+     * 권한 변경 반영
+     * - 토큰 버전 증가 (이전에 발급된 토큰은 클레임 인증에서 거부, 커밋 후 캐시 반영)
+     * - PrincipalCache 무효화 (모든 서버)
+     * */
+    private void rolesChanged(G_User user) {
+        tokenVersionRegistry.bumped(user.getId(), user.bumpTokenVersion());
+        principalCache.invalidate(user.getLoginId());
+    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.example.k5_iot_springboot.service.impl;
 
+import com.example.k5_iot_springboot.dto.G_Auth.request.LogoutRequest;
+import com.example.k5_iot_springboot.dto.G_Auth.request.RefreshRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.request.SignInRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.request.SignUpRequest;
 import com.example.k5_iot_springboot.dto.G_Auth.response.SignInResponse;
@@ -7,10 +9,17 @@ import com.example.k5_iot_springboot.dto.ResponseDto;
 import com.example.k5_iot_springboot.entity.G_User;
 import com.example.k5_iot_springboot.provider.JwtProvider;
 import com.example.k5_iot_springboot.repository.G_UserRepository;
+import com.example.k5_iot_springboot.security.PrincipalCache;
+import com.example.k5_iot_springboot.security.RefreshTokenStore;
+import com.example.k5_iot_springboot.security.TokenRevocationRegistry;
+import com.example.k5_iot_springboot.security.TokenVersionRegistry;
+import com.example.k5_iot_springboot.security.UserPrincipal;
+import com.example.k5_iot_springboot.security.UserPrincipalMapper;
 import com.example.k5_iot_springboot.service.G_AuthService;
 import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -31,6 +40,11 @@ public class G_AuthServiceImpl implements G_AuthService {
     //      , 스프링 컨테이너에 등록될 때 PasswordEncoder 타입으로 인식 (주입 시 해당 타입으로 정의 권장)
     private final AuthenticationManager authenticationManager;
     private final JwtProvider jwtProvider;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final RefreshTokenStore refreshTokenStore;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final PrincipalCache principalCache;
+    private final UserPrincipalMapper principalMapper;
 
     @Override
     @Transactional
@@ -61,7 +75,8 @@ public class G_AuthServiceImpl implements G_AuthService {
         userRepository.save(user);
     }
 
-    @Override // 읽기 전용
+    @Override
+    @Transactional // 리프레시 토큰 저장
     public ResponseDto<SignInResponse> signIn(SignInRequest req) {
 
         // 스프링 시큐리티 표준 인증 흐름 (UserDetailsService + PasswordEnoder)
@@ -81,22 +96,69 @@ public class G_AuthServiceImpl implements G_AuthService {
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toSet());
 
-        // 3) JWT 발급 (username=loginId, roles 포함)
-        String accessToken = jwtProvider.generateJwtToken(req.loginId(), roles);
+        // 3) JWT 발급 (username=loginId, roles + 클레임 인증용 uid/ver 포함) + 리프레시 토큰 발급 (새 family)
+        UserPrincipal principal = (UserPrincipal) auth.getPrincipal();
+        RefreshTokenStore.Issued refresh = refreshTokenStore.issue(principal.getId(), principal.getUsername());
+
+        // 4) 응답 DTO 구성
+        SignInResponse response = issueTokens(principal, roles, refresh);
+
+        return ResponseDto.setSuccess("로그인 성공", response);
+    }
+
+    @Override
+    @Transactional(noRollbackFor = BadCredentialsException.class) // 재사용 감지 시 family 폐기는 커밋되어야 함
+    public ResponseDto<SignInResponse> refresh(RefreshRequest req) {
+        // 1) 리프레시 토큰 회전 (1회용 - 없는/만료/폐기/재사용 토큰이면 BadCredentialsException >> 401)
+        RefreshTokenStore.Rotated rotated = refreshTokenStore.rotate(req.refreshToken());
+
+        // 2) 현재 사용자 정보/권한 - 비밀번호(BCrypt) 검증 없이 PrincipalCache 에서 조회 (권한 변경 시 무효화됨)
+        UserPrincipal principal = principalCache.get(rotated.loginId(),
+                        () -> userRepository.findByLoginId(rotated.loginId()).map(principalMapper::map))
+                .orElseThrow(() -> new BadCredentialsException("사용자를 찾을 수 없습니다."));
+
+        Set<String> roles = principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+
+        // 3) 새 엑세스 토큰 + 새 리프레시 토큰 응답
+        SignInResponse response = issueTokens(principal, roles, rotated.next());
+        return ResponseDto.setSuccess("토큰 재발급 성공", response);
+    }
 
-        // 4) 만료 시각 추출하여 응답에 포함
-        Claims claims = jwtProvider.getClaims(accessToken);
-        long expiresAt = claims.getExpiration().getTime();
+    @Override
+    @Transactional
+    public ResponseDto<Void> logout(UserPrincipal principal, String authorization, LogoutRequest req) {
+        // 1) 현재 엑세스 토큰 폐기 - 필터에서 이미 검증한 토큰이므로 검증 캐시에서 Claims 재사용
+        Claims claims = jwtProvider.getClaims(jwtProvider.removeBearer(authorization));
+        if (claims.getId() != null) {
+            tokenRevocationRegistry.revokeToken(claims.getId(), claims.getExpiration().getTime());
+        } else {
+            tokenRevocationRegistry.revokeUser(principal.getId()); // jti 도입 전 발급 토큰 - 사용자 단위로 폐기
+        }
 
-        // 5) 응답 DTO 구성
-        SignInResponse response = new SignInResponse(
+        // 2) 리프레시 토큰을 함께 보낸 경우 해당 family 폐기 (더 이상 재발급 불가)
+        if (req != null && req.refreshToken() != null && !req.refreshToken().isBlank()) {
+            refreshTokenStore.revoke(req.refreshToken());
+        }
+        return ResponseDto.setSuccess("로그아웃되었습니다.", null);
+    }
+
+    /** 엑세스 토큰 발급 + 응답 구성 (로그인/재발급 공통) */
+    private SignInResponse issueTokens(UserPrincipal principal, Set<String> roles, RefreshTokenStore.Issued refresh) {
+        JwtProvider.IssuedToken issued = jwtProvider.issueToken(
+                principal.getUsername(), principal.getId(), principal.getTokenVersion(), roles);
+        tokenVersionRegistry.remember(principal.getId(), principal.getTokenVersion());
+
+        // 만료 시각을 응답에 포함 (발급 시 계산한 값 사용 - 방금 만든 토큰을 다시 파싱하지 않음)
+        return new SignInResponse(
                 "Bearer",
-                accessToken,
-                expiresAt,
-                req.loginId(),
-                roles
+                issued.token(),
+                issued.expiresAt(),
+                principal.getUsername(),
+                roles,
+                refresh.token(),
+                refresh.expiresAt()
         );
-
-        return ResponseDto.setSuccess("로그인 성공", response);
     }
 }
\ No newline at end of file
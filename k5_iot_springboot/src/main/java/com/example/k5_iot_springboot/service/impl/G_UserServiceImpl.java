@@ -1,15 +1,20 @@
 package com.example.k5_iot_springboot.service.impl;
 
+import com.example.k5_iot_springboot.dto.G_Auth.request.PasswordChangeRequest;
 import com.example.k5_iot_springboot.dto.G_User.request.UserProfileUpdateRequest;
 import com.example.k5_iot_springboot.dto.G_User.response.UserProfileResponse;
 import com.example.k5_iot_springboot.dto.ResponseDto;
 import com.example.k5_iot_springboot.entity.G_User;
 import com.example.k5_iot_springboot.repository.G_UserRepository;
+import com.example.k5_iot_springboot.security.PrincipalCache;
+import com.example.k5_iot_springboot.security.RefreshTokenStore;
+import com.example.k5_iot_springboot.security.TokenRevocationRegistry;
 import com.example.k5_iot_springboot.security.UserPrincipal;
 import com.example.k5_iot_springboot.security.util.PrincipalUtils;
 import com.example.k5_iot_springboot.service.G_UserService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +23,10 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(readOnly = true)
 public class G_UserServiceImpl implements G_UserService {
     private final G_UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final RefreshTokenStore refreshTokenStore;
 
     @Override
     public ResponseDto<UserProfileResponse.MyPageResponse> getMyInfo(UserPrincipal principal) {
@@ -48,6 +57,7 @@ public class G_UserServiceImpl implements G_UserService {
                 .orElseThrow(() -> new EntityNotFoundException("해당 username의 사용자가 없습니다: " + principal.getUsername()));
 
         user.changeProfile(request.nickname(), request.gender());
+        principalCache.invalidate(user.getLoginId()); // 커밋 후 모든 서버의 캐시된 UserPrincipal 제거
         userRepository.flush();
 
         UserProfileResponse.MyPageResponse data = new UserProfileResponse.MyPageResponse(
@@ -59,4 +69,29 @@ public class G_UserServiceImpl implements G_UserService {
         );
         return ResponseDto.setSuccess("SUCCESS", data);
     }
+
+    @Override
+    @Transactional
+    public ResponseDto<Void> changePassword(UserPrincipal principal, PasswordChangeRequest request) {
+        PrincipalUtils.requiredActive(principal);
+
+        G_User user = userRepository.findByLoginId(principal.getUsername())
+                .orElseThrow(() -> new EntityNotFoundException("해당 username의 사용자가 없습니다: " + principal.getUsername()));
+
+        if (!passwordEncoder.matches(request.currentPassword(), user.getPassword())) {
+            throw new IllegalArgumentException("현재 비밀번호가 일치하지 않습니다.");
+        }
+        if (passwordEncoder.matches(request.newPassword(), user.getPassword())) {
+            throw new IllegalArgumentException("새 비밀번호가 현재 비밀번호와 같습니다.");
+        }
+
+        user.changePassword(passwordEncoder.encode(request.newPassword()));
+        principalCache.invalidate(user.getLoginId()); // 캐시된 UserPrincipal 의 비밀번호 해시 제거
+
+        // 기존에 발급된 엑세스/리프레시 토큰 모두 폐기 (커밋 후 모든 서버 반영) - 다시 로그인 필요
+        tokenRevocationRegistry.revokeUser(user.getId());
+        refreshTokenStore.revokeAll(user.getId());
+
+        return ResponseDto.setSuccess("비밀번호가 변경되었습니다. 다시 로그인해주세요.", null);
+    }
 }
\ No newline at end of file
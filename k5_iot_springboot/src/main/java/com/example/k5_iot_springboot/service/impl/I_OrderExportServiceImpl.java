@@ -0,0 +1,148 @@
+package com.example.k5_iot_springboot.service.impl;
+
+import com.example.k5_iot_springboot.common.enums.ExportFormat;
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.common.utils.DateUtils;
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderResponse;
+import com.example.k5_iot_springboot.repository.I_OrderRepository;
+import com.example.k5_iot_springboot.service.I_OrderExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 주문 내보내기 (NDJSON / CSV)
+ * - 결과를 List로 모으지 않고 DB 커서에서 한 행씩 읽어 바로 응답 스트림에 출력
+ *      >> 주문이 수백만 건이어도 메모리에는 "현재 주문 1건"만 유지
+ * - StreamingResponseBody 는 컨트롤러 반환 후 별도 스레드에서 실행 >> 트랜잭션은 본문 안에서 TransactionTemplate으로 시작
+ * */
+@Service
+@RequiredArgsConstructor
+public class I_OrderExportServiceImpl implements I_OrderExportService {
+    /** DB 커서에서 한 번에 가져올 행 수 */
+    private static final int FETCH_SIZE = 1_000;
+    /** N행마다 영속성 컨텍스트 비우기 + 출력 버퍼 flush */
+    private static final int CLEAR_INTERVAL = 5_000;
+
+    private static final String CSV_HEADER =
+            "order_id,user_id,status,created_at,product_id,product_name,price,quantity,line_total\n";
+
+    private final I_OrderRepository orderRepository;
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public StreamingResponseBody export(ExportFormat format, OrderStatus status, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime fromUtc = DateUtils.kstToUtc(from);
+        LocalDateTime toUtc = DateUtils.kstToUtc(to);
+
+        // 권한 검사는 이 메서드 호출 시점에 끝나고, 실제 조회/출력은 응답 스레드에서 실행
+        return outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+            TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+            readOnly.setReadOnly(true);
+
+            readOnly.executeWithoutResult(tx -> {
+                try (Stream<Object[]> rows = orderRepository.streamExportRows(status, fromUtc, toUtc, FETCH_SIZE)) {
+                    if (format == ExportFormat.CSV) writeCsv(rows.iterator(), out);
+                    else writeNdjson(rows.iterator(), out);
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+    }
+
+    // 항목 1건 = 1행
+    private void writeCsv(Iterator<Object[]> rows, OutputStream out) throws IOException {
+        out.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+
+        long count = 0;
+        while (rows.hasNext()) {
+            Object[] r = rows.next();
+
+            String line = String.join(",",
+                    String.valueOf(r[0]),
+                    String.valueOf(r[1]),
+                    String.valueOf(r[2]),
+                    csv(DateUtils.toKstString((LocalDateTime) r[3])),
+                    r[6] == null ? "" : String.valueOf(r[6]),
+                    csv((String) r[7]),
+                    r[8] == null ? "" : String.valueOf(r[8]),
+                    r[9] == null ? "" : String.valueOf(r[9]),
+                    r[10] == null ? "" : String.valueOf(r[10])
+            ) + "\n";
+            out.write(line.getBytes(StandardCharsets.UTF_8));
+
+            if (++count % CLEAR_INTERVAL == 0) clearAndFlush(out);
+        }
+    }
+
+    // 주문 1건 = 1줄 - 같은 주문의 항목 행이 연속으로 오므로 주문 ID가 바뀔 때 이전 주문을 출력
+    private void writeNdjson(Iterator<Object[]> rows, OutputStream out) throws IOException {
+        Object[] head = null;
+        List<OrderResponse.OrderItemList> items = new ArrayList<>();
+
+        long count = 0;
+        while (rows.hasNext()) {
+            Object[] r = rows.next();
+            if (head != null && !head[0].equals(r[0])) {
+                writeOrderLine(head, items, out);
+                items = new ArrayList<>();
+            }
+            head = r;
+
+            if (r[6] != null) {
+                items.add(new OrderResponse.OrderItemList((Long) r[6], (String) r[7], (Integer) r[8], (Integer) r[9], (Integer) r[10]));
+            }
+
+            if (++count % CLEAR_INTERVAL == 0) clearAndFlush(out);
+        }
+        if (head != null) writeOrderLine(head, items, out);
+    }
+
+    private void writeOrderLine(Object[] head, List<OrderResponse.OrderItemList> items, OutputStream out) throws IOException {
+        OrderResponse.Detail detail = new OrderResponse.Detail(
+                (Long) head[0],
+                (Long) head[1],
+                (OrderStatus) head[2],
+                (Integer) head[4], // 주문 시점 합계
+                (Integer) head[5],
+                DateUtils.toKstString((LocalDateTime) head[3]),
+                items
+        );
+        // writeValue(OutputStream)은 스트림을 닫으므로 바이트로 변환 후 출력
+        out.write(objectMapper.writeValueAsBytes(detail));
+        out.write('\n');
+    }
+
+    private void clearAndFlush(OutputStream out) throws IOException {
+        em.clear(); // 스칼라 조회라 쌓이는 엔티티는 없지만, 지연 로딩 등으로 올라온 엔티티가 누적되지 않도록
+        out.flush();
+    }
+
+    // 쉼표/따옴표/줄바꿈이 있으면 큰따옴표로 감싸고 내부 따옴표는 두 번
+    private String csv(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
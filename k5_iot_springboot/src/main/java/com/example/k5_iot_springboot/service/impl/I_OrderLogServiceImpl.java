@@ -0,0 +1,94 @@
+package com.example.k5_iot_springboot.service.impl;
+
+import com.example.k5_iot_springboot.common.utils.CursorUtils;
+import com.example.k5_iot_springboot.common.utils.DateUtils;
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderLogResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+import com.example.k5_iot_springboot.entity.I_OrderLog;
+import com.example.k5_iot_springboot.repository.I_OrderLogRepository;
+import com.example.k5_iot_springboot.service.I_OrderLogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class I_OrderLogServiceImpl implements I_OrderLogService {
+    /** 1페이지 최대 건수 */
+    private static final int MAX_PAGE_SIZE = 100;
+    /** 첫 페이지 커서 (DATETIME 최대값 - 모든 로그보다 "이후") */
+    private static final LocalDateTime FIRST_CURSOR_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final I_OrderLogRepository orderLogRepository;
+
+    @Override
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN') or @authz.isOrderOwner(#orderId, authentication)")
+    public ResponseDto<OrderLogResponse.SliceResponse> getByOrder(Long orderId, String cursor, int size) {
+        OrderLogResponse.SliceResponse data = null;
+
+        validateSize(size);
+        CursorUtils.Keyset keyset = CursorUtils.decode(cursor);
+
+        Slice<I_OrderLog> slice = orderLogRepository.findByOrderIdBefore(
+                orderId,
+                keyset == null ? FIRST_CURSOR_AT : keyset.createdAt(),
+                keyset == null ? Long.MAX_VALUE : keyset.id(),
+                PageRequest.of(0, size)
+        );
+
+        data = toSliceResponse(slice);
+
+        return ResponseDto.setSuccess("주문 로그 조회가 정상적으로 진행되었습니다.", data);
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseDto<OrderLogResponse.SliceResponse> getByPeriod(LocalDateTime from, LocalDateTime to, String cursor, int size) {
+        OrderLogResponse.SliceResponse data = null;
+
+        if (from == null || to == null) throw new IllegalArgumentException("조회 기간(from, to)은 필수입니다.");
+        if (!from.isBefore(to)) throw new IllegalArgumentException("from은 to보다 이전이어야 합니다.");
+        validateSize(size);
+        CursorUtils.Keyset keyset = CursorUtils.decode(cursor);
+
+        Slice<I_OrderLog> slice = orderLogRepository.findByCreatedAtBetweenBefore(
+                DateUtils.kstToUtc(from),
+                DateUtils.kstToUtc(to),
+                keyset == null ? FIRST_CURSOR_AT : keyset.createdAt(),
+                keyset == null ? Long.MAX_VALUE : keyset.id(),
+                PageRequest.of(0, size)
+        );
+
+        data = toSliceResponse(slice);
+
+        return ResponseDto.setSuccess("기간별 주문 로그 조회가 정상적으로 진행되었습니다.", data);
+    }
+
+    private OrderLogResponse.SliceResponse toSliceResponse(Slice<I_OrderLog> slice) {
+        List<I_OrderLog> logs = slice.getContent();
+
+        String nextCursor = null;
+        if (slice.hasNext() && !logs.isEmpty()) {
+            I_OrderLog last = logs.get(logs.size() - 1);
+            nextCursor = CursorUtils.encode(last.getCreatedAt(), last.getId());
+        }
+
+        return new OrderLogResponse.SliceResponse(
+                logs.stream().map(OrderLogResponse.Log::from).toList(),
+                slice.hasNext(),
+                nextCursor
+        );
+    }
+
+    private void validateSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("size는 1 이상 %d 이하여야 합니다.".formatted(MAX_PAGE_SIZE));
+    }
+}
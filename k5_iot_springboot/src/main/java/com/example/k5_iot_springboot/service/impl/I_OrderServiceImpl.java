@@ -1,80 +1,89 @@
 package com.example.k5_iot_springboot.service.impl;
 
 import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.common.enums.StockMovementReason;
+import com.example.k5_iot_springboot.common.utils.CursorUtils;
 import com.example.k5_iot_springboot.common.utils.DateUtils;
 import com.example.k5_iot_springboot.dto.I_Order.request.OrderRequest;
 import com.example.k5_iot_springboot.dto.I_Order.response.OrderResponse;
 import com.example.k5_iot_springboot.dto.ResponseDto;
 import com.example.k5_iot_springboot.entity.*;
 import com.example.k5_iot_springboot.repository.I_OrderRepository;
-import com.example.k5_iot_springboot.repository.I_ProductRepository;
-import com.example.k5_iot_springboot.repository.I_StockRepository;
 import com.example.k5_iot_springboot.security.UserPrincipal;
 import com.example.k5_iot_springboot.service.I_OrderService;
-import jakarta.persistence.EntityManager;
+import com.example.k5_iot_springboot.service.support.I_IdempotencyExecutor;
+import com.example.k5_iot_springboot.service.support.I_OrderBatchApprover;
+import com.example.k5_iot_springboot.service.support.I_OrderAssembler;
+import com.example.k5_iot_springboot.service.support.I_OrderIntakeQueue;
+import com.example.k5_iot_springboot.service.support.I_OrderLogEvent;
+import com.example.k5_iot_springboot.service.support.I_ProductAdmission;
+import com.example.k5_iot_springboot.service.support.I_SalesAggregator;
+import com.example.k5_iot_springboot.service.support.I_StockMovementRecorder;
+import com.example.k5_iot_springboot.service.support.I_StockMutator;
+import com.example.k5_iot_springboot.service.support.I_StockRetryExecutor;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 // 인터페이스의 추상 메서드를 Impl 클래스 파일에서 "강제 구현!"
 @Service
 @RequiredArgsConstructor // final 필드 OR @NonNull 필드를 매개변수로 가지는 생성자
 @Transactional(readOnly = true)
 public class I_OrderServiceImpl implements I_OrderService {
-    private final EntityManager em; // 사용자 참조 - getReference 등
+    /** 일괄 승인 1회 요청의 최대 주문 수 (IN 절/잠금 범위 제한) */
+    private static final int MAX_BATCH_APPROVE_SIZE = 500;
+    /** 주문 검색 1페이지 최대 건수 */
+    private static final int MAX_SEARCH_SIZE = 100;
+
     private final I_OrderRepository orderRepository;
-    private final I_ProductRepository productRepository;
-    private final I_StockRepository stockRepository;
+    private final I_StockMutator stockMutator;
+    private final I_StockRetryExecutor stockRetryExecutor;
+    private final I_OrderBatchApprover orderBatchApprover;
+    private final ApplicationEventPublisher eventPublisher; // 주문 로그 이벤트 (커밋 후 I_OrderLogWriter가 기록)
+    private final I_OrderAssembler orderAssembler; // 주문 생성 요청 >> 엔티티 조립 (비동기 접수와 공통)
+    private final I_OrderIntakeQueue orderIntakeQueue; // 비동기 주문 접수 대기열
+    private final I_ProductAdmission productAdmission; // 상품별 유입 제한 (트랜잭션 시작 전 확인)
+    private final I_IdempotencyExecutor idempotencyExecutor; // Idempotency-Key 완료 기록 (주문 저장과 같은 트랜잭션)
+    private final TransactionTemplate transactionTemplate;
+    private final I_SalesAggregator salesAggregator; // 일별 매출 집계 (주문 상태 변경과 같은 트랜잭션)
+    private final I_StockMovementRecorder stockMovementRecorder; // 재고 이동 원장 (커밋 직전 일괄 기록)
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 유입 제한 대기 중에는 커넥션을 잡지 않도록 트랜잭션은 허용 후 시작
     @PreAuthorize("isAuthenticated()")
     public ResponseDto<OrderResponse.Detail> create(UserPrincipal userPrincipal, OrderRequest.OrderCreateRequest req) {
-        OrderResponse.Detail data = null;
-
-        if (req.items() == null || req.items().isEmpty())
-             throw  new IllegalArgumentException("주문 항목이 비어있습니다.");
-
         // principal에서 userId 추출
         Long authUserId = userPrincipal.getId();
 
-        // EntityManager.getReference() VS JPA.findById()
-        // 1) EntityManager.getReference()
-        //       : 단순히 연관관계 주입만 필요할 때 사용
-        //       - 실제 SQL SELECT문을 실행하지 않고, 프록시 객체를 반환
-        //       >> 어차피 Order 엔티티의 user를 참조하는 데 실제 User의 다른 필드가 필요없는 경우 효율적
-        // 2) UserRepository.findById()
-        //       : DB 조회 쿼리를 날리고 G_User 엔티티를 반환
-        //       >> 존재하지 않는 userId이면 예외를 던지고 싶다! (안전성)
-
-        // 인증 주체 authUserId로 G_User 프록시(대리인, 중계자) 획득 (UserRepository 없이도 가능)
-        G_User userRef = em.getReference(G_User.class, authUserId);
-
-        I_Order order = I_Order.builder()
-                .user(userRef)
-                .orderStatus(OrderStatus.PENDING) // 기본값 - PENDING
-                .build();
-        for (OrderRequest.OrderItemLine line: req.items()) { // List<OrderItemLine> items
-            if (line.quantity() <= 0) throw new IllegalArgumentException("수량은 1 이상이어야 합니다.");
-            I_Product product = productRepository.findById(line.productId())
-                    .orElseThrow(() -> new EntityNotFoundException("상품을 찾을 수 없습니다. id=" + line.productId()));
-            I_OrderItem item = I_OrderItem.builder()
-                    .product(product)
-                    .quantity(line.quantity())
-                    .build();
-            order.addItem(item);
-        }
+        // 요청 검증 + 상품별 수량 합산 >> 상품별 유입 제한 (초과 시 대기 또는 429)
+        Map<Long, Integer> quantityMap = orderAssembler.mergeLines(req);
+        productAdmission.admit(quantityMap.keySet());
+
+        // Idempotency-Key 요청이면 주문 저장과 같은 트랜잭션에서 응답 기록 (키 없는 요청은 그대로)
+        return transactionTemplate.execute(status ->
+                idempotencyExecutor.completeInTransaction(doCreate(authUserId, quantityMap)));
+    }
+
+    private ResponseDto<OrderResponse.Detail> doCreate(Long authUserId, Map<Long, Integer> quantityMap) {
+        OrderResponse.Detail data = null;
+
+        // 상품 일괄 조회 (IN 1회) >> 주문 조립 (I_OrderAssembler)
+        Map<Long, I_Product> productMap = orderAssembler.loadProducts(quantityMap.keySet());
+        I_Order order = orderAssembler.assemble(authUserId, quantityMap, productMap);
 
         I_Order saved = orderRepository.save(order);
+        orderAssembler.created(saved); // 생성 로그 + 커밋 후 만료 타이머 등록
 
         data = toOrderResponse(saved);
 
@@ -82,40 +91,81 @@ public class I_OrderServiceImpl implements I_OrderService {
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 요청 스레드에서는 커넥션을 사용하지 않음 (저장은 I_OrderIntakeQueue 작업자)
+    @PreAuthorize("isAuthenticated()")
+    public ResponseDto<OrderResponse.Ticket> createAsync(UserPrincipal userPrincipal, OrderRequest.OrderCreateRequest req) {
+        OrderResponse.Ticket data = null;
+
+        // 요청 형식만 검증 후 대기열에 추가 (상품 존재 여부는 작업자가 확인 >> 티켓 FAILED)
+        //      - 동기 생성과 같은 상품별 유입 제한 (초과 시 대기 또는 429) - 비동기 경로로 제한을 우회하지 않도록
+        //      - 대기열이 가득 차면 RejectedExecutionException >> 503
+        Map<Long, Integer> quantityMap = orderAssembler.mergeLines(req);
+        productAdmission.admit(quantityMap.keySet());
+        I_OrderIntakeQueue.Ticket ticket = orderIntakeQueue.accept(userPrincipal.getId(), quantityMap);
+
+        data = toTicketResponse(ticket);
+
+        return ResponseDto.setSuccess("주문이 접수되었습니다. 티켓으로 처리 결과를 확인해주세요.", data);
+    }
+
+    @Override
+    @PreAuthorize("isAuthenticated()")
+    public ResponseDto<OrderResponse.Ticket> getTicket(UserPrincipal userPrincipal, Long ticketId) {
+        OrderResponse.Ticket data = null;
+
+        I_OrderIntakeQueue.Ticket ticket = orderIntakeQueue.find(ticketId)
+                .orElseThrow(() -> new EntityNotFoundException("티켓을 찾을 수 없습니다. id=" + ticketId));
+
+        // 본인 티켓만 조회 가능 (MANAGER/ADMIN 제외) - 다른 사용자의 티켓 존재 여부도 노출하지 않음
+        if (!ticket.userId().equals(userPrincipal.getId()) && !hasManagerOrAdmin(userPrincipal))
+            throw new EntityNotFoundException("티켓을 찾을 수 없습니다. id=" + ticketId);
+
+        data = toTicketResponse(ticket);
+
+        return ResponseDto.setSuccess("티켓 조회에 성공하였습니다.", data);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 트랜잭션은 stockRetryExecutor가 시도마다 새로 시작
     @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
     public ResponseDto<OrderResponse.Detail> approve(UserPrincipal userPrincipal, Long orderId) {
+        // 주문에 담긴 상품별 유입 제한 - 재고 행 잠금 대기열이 커넥션 풀을 채우지 않도록 트랜잭션 전에 확인
+        //      - 상품 ID 조회는 별도의 짧은 트랜잭션으로 (트랜잭션 밖에서 조회하면 그 커넥션이 메서드 끝까지 유지되어
+        //        유입 대기 + 승인 트랜잭션 동안 요청 1건이 커넥션 2개를 사용 >> 동시 승인이 풀 크기의 절반을 넘으면 서로 대기)
+        List<Long> productIds = transactionTemplate.execute(status -> orderRepository.findProductIdsByOrderId(orderId));
+        productAdmission.admit(productIds);
+        return stockRetryExecutor.execute("approve", () -> doApprove(orderId));
+    }
+
+    private ResponseDto<OrderResponse.Detail> doApprove(Long orderId) {
         OrderResponse.Detail data = null;
 
+        // 1) PENDING -> APPROVED 조건부 전이 먼저 (주문 행 잠금)
+        //      - 같은 주문을 동시에 승인하면 한 요청만 성공 >> 재고 차감도 성공한 요청만 수행
+        //      - 이후 재고 부족 등으로 예외가 나면 트랜잭션 롤백으로 상태도 PENDING으로 되돌아감
+        if (!changeStatus(orderId, OrderStatus.PENDING, OrderStatus.APPROVED)) {
+            OrderStatus current = orderRepository.findStatusById(orderId)
+                    .orElseThrow(() -> new EntityNotFoundException("주문을 찾을 수 없습니다. id=" + orderId));
+            throw new IllegalArgumentException("PENDING 상태만 승인할 수 있습니다. 현재 상태=" + current);
+        }
+
+        // 2) 전이 후 조회 - 영속성 컨텍스트에 APPROVED 상태로 로딩
         I_Order order = orderRepository.findDetailById(orderId)
                 .orElseThrow(() -> new EntityNotFoundException("주문을 찾을 수 없습니다. id=" + orderId));
 
-        if (order.getOrderStatus() != OrderStatus.PENDING) {
-            throw new IllegalArgumentException("PENDING 상태만 승인할 수 있습니다.");
-        }
-
         // Map 컬렉션 프레임워크 사용
         // 주문 항목: 상품 A X 2 / 상품 B X 3 / 상품 A X 3
         //      >> 단순히 리스트로 순회하며 차감 시 삼품 A 재고를 두 번 차감
         //      - Map<Long, Integer>: key=productId, value=누적수량 (수량을 합하여 한 번 차감/복원)
-        Map<Long, Integer> needMap = new HashMap<>();
-        order.getItems().forEach(item -> needMap.merge(
-                item.getProduct().getId(),      // key
-                item.getQuantity(),             // value
-                Integer::sum));                 // key를 기준으로 동일한 Integer 값 합계
-
-        // 재고 확인 & 차감 (productId 단위 차감)
-        for (Map.Entry<Long, Integer> e: needMap.entrySet()) {
-            Long productId = e.getKey();
-            int need = e.getValue();
-            I_Stock stock = stockRepository.findByProductIdForUpdate(productId)
-                    .orElseThrow(() -> new IllegalArgumentException("재고 정보가 없습니다. id=" + productId));
-            if (stock.getQuantity() < need)
-                throw new IllegalArgumentException("재고 부족: productId=%d, 필요=%d, 보유=%d".formatted(productId, need, stock.getQuantity()));
-            stock.setQuantity(stock.getQuantity() - need);
-        }
-        order.setOrderStatus(OrderStatus.APPROVED);
-        // 상태 변경 트리거가 order_logs 자동 기록
+        //      - productId 오름차순(TreeMap)으로 차감하여 동시 승인 간 잠금 순서를 고정
+        Map<Long, Integer> needMap = order.quantitiesByProduct();
+
+        // 재고 확인 & 차감 (productId 단위 차감 - stock.mutation-mode 전략에 따라 처리)
+        needMap.forEach(stockMutator::decrease);
+        stockMovementRecorder.recordOrder(StockMovementReason.ORDER_APPROVE, orderId, needMap, -1);
+        // 일별 매출 집계 증가 (같은 트랜잭션 - 재고 부족 등으로 롤백되면 함께 롤백)
+        salesAggregator.approved(List.of(order));
+        // 상태 변경 로그는 커밋 후 order_logs 에 비동기 기록
 
         data = toOrderResponse(order);
 
@@ -124,60 +174,77 @@ public class I_OrderServiceImpl implements I_OrderService {
 
     @Override
     @Transactional
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseDto<OrderResponse.BatchApproveResult> approveBatch(UserPrincipal userPrincipal, OrderRequest.BatchApproveRequest req) {
+        OrderResponse.BatchApproveResult data = null;
+
+        if (req == null || req.orderIds() == null || req.orderIds().isEmpty())
+            throw new IllegalArgumentException("승인할 주문 ID가 비어있습니다.");
+        if (req.orderIds().size() > MAX_BATCH_APPROVE_SIZE)
+            throw new IllegalArgumentException("한 번에 승인할 수 있는 주문은 최대 %d건입니다.".formatted(MAX_BATCH_APPROVE_SIZE));
+
+        // 중복 제거 + 주문 ID 오름차순 (먼저 생성된 주문부터 재고를 배정)
+        TreeSet<Long> orderIds = new TreeSet<>();
+        req.orderIds().stream().filter(Objects::nonNull).forEach(orderIds::add);
+
+        List<OrderResponse.BatchFailure> failures = new ArrayList<>();
+
+        // 1) 주문 - 항목 일괄 조회 (IN 1회)
+        Map<Long, I_Order> orderMap = new HashMap<>();
+        for (I_Order o : orderRepository.findDetailAllByIdIn(orderIds)) orderMap.put(o.getId(), o);
+
+        List<I_Order> pendings = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            I_Order order = orderMap.get(orderId);
+            if (order == null) {
+                failures.add(new OrderResponse.BatchFailure(orderId, "주문을 찾을 수 없습니다."));
+            } else if (order.getOrderStatus() != OrderStatus.PENDING) {
+                failures.add(new OrderResponse.BatchFailure(orderId, "PENDING 상태만 승인할 수 있습니다. 현재 상태=" + order.getOrderStatus()));
+            } else {
+                pendings.add(order);
+            }
+        }
+
+        // 2) 조건부 전이 + 재고 확인 & 차감 (I_OrderBatchApprover)
+        I_OrderBatchApprover.Result result = orderBatchApprover.approve(pendings);
+        failures.addAll(result.failures());
+
+        data = new OrderResponse.BatchApproveResult(orderIds.size(), result.approvedIds(), failures);
+
+        return ResponseDto.setSuccess("일괄 승인이 처리되었습니다. 승인=%d, 실패=%d".formatted(result.approvedIds().size(), failures.size()), data);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 트랜잭션은 stockRetryExecutor가 시도마다 새로 시작
     @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN') or @authz.canCancel(#orderId, authentication)")
     public ResponseDto<OrderResponse.Detail> cancel(UserPrincipal userPrincipal, Long orderId) {
+        return stockRetryExecutor.execute("cancel", () -> doCancel(userPrincipal, orderId));
+    }
+
+    private ResponseDto<OrderResponse.Detail> doCancel(UserPrincipal userPrincipal, Long orderId) {
         OrderResponse.Detail data = null;
 
-        I_Order order = orderRepository.findDetailById(orderId)
+        // 상태만 먼저 조회 (주문/항목은 전이 후에 조회 - 조회한 엔티티와 벌크 UPDATE 결과가 어긋나지 않도록)
+        OrderStatus current = orderRepository.findStatusById(orderId)
                 .orElseThrow(() -> new EntityNotFoundException("주문을 찾을 수 없습니다. id=" + orderId));
 
         // 이미 취소된 주문일 경우 그대로 반환 (또는 예외 발생)
-        if (order.getOrderStatus() == OrderStatus.CANCELLED) {
+        if (current == OrderStatus.CANCELLED) {
             throw new IllegalArgumentException("이미 취소된 주문입니다.");
             // return ResponseDto.setFailed("이미 취소된 주문입니다.");
         }
 
         // == MANAGER와 ADMIN은 PENDING 상태가 아니어도 (APPROVED 상태라도) 취소 가능 == //
         // 상태별 분기
-        if (order.getOrderStatus() == OrderStatus.PENDING) {
-            // 승인 전(PENDING):권한 확인 필요 X
-            // +) 재고 차감이 없었기 때문에 복원 불필요!
-            order.setOrderStatus(OrderStatus.CANCELLED);
-        } else if (order.getOrderStatus() == OrderStatus.APPROVED) {
+        if (current == OrderStatus.APPROVED) {
             // 승인 후(APPROVED): 권한 확인 필요 O
             // +) MANAGER/ADMIN만 취소 허용
-            // +) 재고 복원 수정
             if (!hasManagerOrAdmin(userPrincipal)) {
                 // hasManagerOrAdmin의 결과값이 false인 경우
                 throw new IllegalArgumentException("승인된 주문은 관리자 권한(MANAGER/ADMIN)만 취소할 수 있습니다.");
             }
-            // 권한이 MANAGER | ADMIN 인 경우
-            // : 재고 복원
-            Map<Long, Integer> restoreMap = new HashMap<>();
-            // 같은 상품 정보에 수량에 대한 중복 제거 (단일 수량으로 합치는 기능)
-            for (I_OrderItem item: order.getItems()) {
-                Long productId = item.getProduct().getId();     // 해당 주문 항목의 상품 고유 ID를 순회하여 저장
-                int quantity = item.getQuantity();              // 해당 주문 항목의 주문 수량 순회하여 저장
-                Integer prev = restoreMap.get(productId);       // 상품 ID를 Key로 하고, 수량을 value로 저장하는 Map
-                                                                // >> 현재 productId에 해당하는 기존 수량을 가져옴
-                                                                //      , 해당 key가 없다면 null 반환
-                restoreMap.put(productId, (prev == null ? quantity : prev + quantity));
-            }
-
-            // 중복없는 구매의 제품 Id에 대한 재고를 복구
-            for (Map.Entry<Long, Integer> e : restoreMap.entrySet()) {
-                Long productId = e.getKey();
-                int quantity = e.getValue(); // 재고 복원 데이터
-
-                // 재고 레코드 행 단위 잠금
-                I_Stock stock = stockRepository.findByProductIdForUpdate(productId)
-                        .orElseThrow(() -> new IllegalArgumentException("재고 정보가 없습니다. productId=" + productId));
-
-                stock.setQuantity(stock.getQuantity() + quantity); // 변경 감지로 UPDATE
-            }
-            order.setOrderStatus(OrderStatus.CANCELLED);
-        } else {
-            throw new IllegalArgumentException("취소할 수 없는 주문 상태입니다: " + order.getOrderStatus());
+        } else if (current != OrderStatus.PENDING) {
+            throw new IllegalArgumentException("취소할 수 없는 주문 상태입니다: " + current);
         }
 // PENDING일 때만 취소 가능한 로직
 //        // PENDING이 아니면 취소 불가
@@ -185,10 +252,29 @@ public class I_OrderServiceImpl implements I_OrderService {
 //            throw new IllegalArgumentException("PENDING 상태의 주문만 취소할 수 있습니다.");
 //        }
 
-        order.setOrderStatus(OrderStatus.CANCELLED);
+        // 조회한 상태 그대로일 때만 CANCELLED로 전이 - 그 사이 승인/취소된 경우 실패
+        //      >> 동시 취소 시 재고 복원이 두 번 일어나지 않음
+        //      >> 409 응답 (OPTIMISTIC 모드에서는 stockRetryExecutor가 상태를 다시 읽어 재시도)
+        if (!changeStatus(orderId, current, OrderStatus.CANCELLED))
+            throw new OptimisticLockingFailureException("주문 상태가 동시에 변경되었습니다. 다시 시도해주세요. id=" + orderId);
+
+        I_Order order = orderRepository.findDetailById(orderId)
+                .orElseThrow(() -> new EntityNotFoundException("주문을 찾을 수 없습니다. id=" + orderId));
+
+        if (current == OrderStatus.APPROVED) {
+            // 승인 후 취소: 재고 복원
+            // 같은 상품 정보에 수량에 대한 중복 제거 (단일 수량으로 합치는 기능)
+            Map<Long, Integer> restoreMap = order.quantitiesByProduct();
+
+            // 중복없는 구매의 제품 Id에 대한 재고를 복구 (stock.mutation-mode 전략에 따라 처리)
+            restoreMap.forEach(stockMutator::increase);
+            stockMovementRecorder.recordOrder(StockMovementReason.ORDER_CANCEL, orderId, restoreMap, 1);
+            // 일별 매출 집계 감소 (승인 시 증가시킨 주문 생성일 행)
+            salesAggregator.cancelled(List.of(order));
+        }
+        // 승인 전(PENDING) 취소: 재고 차감이 없었기 때문에 복원 불필요!
 
-        // + 변경 정보 자동 저장
-        // + 변경 발생 시 DB 트리거에 의해 로그 기록 생성
+        // + 변경 발생 시 커밋 후 로그 기록 생성 (I_OrderLogWriter)
 
         data = toOrderResponse(order);
         return ResponseDto.setSuccess("주문 취소가 정상적으로 진행되었습니다.", data);
@@ -196,58 +282,89 @@ public class I_OrderServiceImpl implements I_OrderService {
 
     @Override
     @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN') or @authz.isSelf(#userId, authentication)")
-    public ResponseDto<List<OrderResponse.Detail>> search(UserPrincipal userPrincipal, Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to) {
-        List<OrderResponse.Detail> data = null;
+    public ResponseDto<OrderResponse.SearchSlice> search(UserPrincipal userPrincipal, Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to, Integer minAmount, Integer maxAmount, String cursor, int size) {
+        OrderResponse.SearchSlice data = null;
+
+        if (size < 1 || size > MAX_SEARCH_SIZE)
+            throw new IllegalArgumentException("size는 1 이상 %d 이하여야 합니다.".formatted(MAX_SEARCH_SIZE));
+        if (minAmount != null && maxAmount != null && minAmount > maxAmount)
+            throw new IllegalArgumentException("minAmount는 maxAmount보다 클 수 없습니다.");
 
         LocalDateTime fromUtc = DateUtils.kstToUtc(from);
         LocalDateTime toUtc = DateUtils.kstToUtc(to);
+        CursorUtils.Keyset keyset = CursorUtils.decode(cursor);
+
+        // 1단계: 페이지 ID 조회 (size + 1건 - 다음 페이지 존재 여부 판단용)
+        List<Long> ids = orderRepository.searchOrderIds(
+                userId, status, fromUtc, toUtc, minAmount, maxAmount,
+                keyset == null ? null : keyset.createdAt(),
+                keyset == null ? null : keyset.id(),
+                size + 1
+        );
+        boolean hasNext = ids.size() > size;
+        if (hasNext) ids = ids.subList(0, size);
 
-        List<I_Order> orders = orderRepository.searchOrders(userId, status, fromUtc, toUtc);
-
-        data = orders.stream()
-                .map(this::toOrderResponse)
+        // 2단계: 해당 ID들만 항목 fetch join 후 1단계 정렬 순서대로 재배치
+        Map<Long, I_Order> orderMap = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (I_Order o : orderRepository.findDetailAllByIdIn(ids)) orderMap.put(o.getId(), o);
+        }
+        List<I_Order> orders = ids.stream()
+                .map(orderMap::get)
+                .filter(Objects::nonNull) // 1단계 ~ 2단계 사이 삭제된 주문 제외
                 .toList();
 
+        String nextCursor = null;
+        if (hasNext && !orders.isEmpty()) {
+            I_Order last = orders.get(orders.size() - 1);
+            nextCursor = CursorUtils.encode(last.getCreatedAt(), last.getId());
+        }
+
+        data = new OrderResponse.SearchSlice(
+                orders.stream().map(this::toOrderResponse).toList(),
+                hasNext,
+                nextCursor
+        );
+
         return ResponseDto.setSuccess("조건 검색이 정상적으로 진행되었습니다." , data);
     }
 
     // === 변환 유틸 === //
+    // 주문 시점 스냅샷(단가/상품명/합계)만 사용 - products 조회 없음, 이후 상품 가격이 바뀌어도 응답 금액 고정
     private OrderResponse.Detail toOrderResponse(I_Order order) {
-        // 각 주문 항목 변환
-        List<OrderResponse.OrderItemList> items = order.getItems().stream()
-                .map(item -> {
-                    int price = item.getProduct().getPrice();
-                    int quantity = item.getQuantity();
-                    int lineTotal = (int) price * quantity;
-
-                    return new OrderResponse.OrderItemList(
-                            item.getProduct().getId(),
-                            item.getProduct().getName(),
-                            price,
-                            quantity,
-                            lineTotal
-                    );
-                }).toList();
-        // 총액 곗나 (long)
-        int totalAmount = items.stream()
-                .mapToInt(OrderResponse.OrderItemList::lineTotal)
-                .sum();
-
-        int totalQuantity = items.stream()
-                .mapToInt(OrderResponse.OrderItemList::quantity)
-                .sum();
+        List<OrderResponse.OrderItemList> items = new ArrayList<>(order.getItems().size());
+        for (I_OrderItem item : order.getItems()) {
+            items.add(new OrderResponse.OrderItemList(
+                    item.getProduct().getId(), // 프록시의 ID 조회는 초기화(SELECT)를 일으키지 않음
+                    item.getProductName(),
+                    item.getUnitPrice(),
+                    item.getQuantity(),
+                    item.getLineTotal()
+            ));
+        }
 
         return new OrderResponse.Detail(
                 order.getId(),
                 order.getUser().getId(),
                 order.getOrderStatus(),
-                totalAmount,
-                totalQuantity,
+                order.getTotalAmount(),
+                order.getTotalQuantity(),
                 DateUtils.toKstString(order.getCreatedAt()),
                 items
         );
     }
 
+    private OrderResponse.Ticket toTicketResponse(I_OrderIntakeQueue.Ticket ticket) {
+        return new OrderResponse.Ticket(ticket.ticketId(), ticket.status(), ticket.orderId(), ticket.failureReason());
+    }
+
+    // == 주문 상태 조건부 전이 + 로그 이벤트 발행 (현재 상태가 from 일 때만 - 성공 여부 반환) == //
+    private boolean changeStatus(Long orderId, OrderStatus from, OrderStatus to) {
+        if (orderRepository.updateStatusIf(orderId, from, to, LocalDateTime.now()) == 0) return false;
+        eventPublisher.publishEvent(I_OrderLogEvent.statusChanged(orderId, from, to));
+        return true;
+    }
+
     // == 호출자 권한이 MANAGER/ADMIN인지 확인 == //
     private boolean hasManagerOrAdmin(UserPrincipal userPrincipal) {
         if (userPrincipal == null || userPrincipal.getAuthorities() == null) return false;
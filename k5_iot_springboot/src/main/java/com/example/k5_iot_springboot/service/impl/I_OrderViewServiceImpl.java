@@ -0,0 +1,108 @@
+package com.example.k5_iot_springboot.service.impl;
+
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.common.utils.CursorUtils;
+import com.example.k5_iot_springboot.common.utils.DateUtils;
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderViewResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+import com.example.k5_iot_springboot.entity.view.OderTotalsView;
+import com.example.k5_iot_springboot.entity.view.OrderSummaryView;
+import com.example.k5_iot_springboot.repository.OrderSummaryViewRepository;
+import com.example.k5_iot_springboot.repository.OrderTotalsViewRepository;
+import com.example.k5_iot_springboot.security.UserPrincipal;
+import com.example.k5_iot_springboot.service.I_OrderViewService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 목록/리포트 조회 - DB 뷰(order_totals, order_summary)에서 바로 조회
+ * - 합계는 DB에서 계산된 값을 그대로 사용 (I_Order 엔티티/항목 그래프를 로딩하지 않음)
+ * */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class I_OrderViewServiceImpl implements I_OrderViewService {
+    /** 1페이지 최대 건수 */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderTotalsViewRepository totalsViewRepository;
+    private final OrderSummaryViewRepository summaryViewRepository;
+
+    @Override
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN') or @authz.isSelf(#userId, authentication)")
+    public ResponseDto<OrderViewResponse.SliceResponse<OrderViewResponse.OrderTotalsRowDto>> getTotals(
+            UserPrincipal userPrincipal, Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to, String cursor, int size) {
+        OrderViewResponse.SliceResponse<OrderViewResponse.OrderTotalsRowDto> data = null;
+
+        validateSize(size);
+        CursorUtils.Keyset keyset = CursorUtils.decode(cursor);
+
+        List<OderTotalsView> rows = totalsViewRepository.searchTotals(
+                userId, status, DateUtils.kstToUtc(from), DateUtils.kstToUtc(to),
+                keyset == null ? null : keyset.createdAt(),
+                keyset == null ? null : keyset.id(),
+                size + 1 // 다음 페이지 존재 여부 판단용 1건 추가
+        );
+
+        boolean hasNext = rows.size() > size;
+        if (hasNext) rows = rows.subList(0, size);
+
+        String nextCursor = null;
+        if (hasNext) {
+            OderTotalsView last = rows.get(rows.size() - 1);
+            nextCursor = CursorUtils.encode(last.getOrderedAt(), last.getOrderId());
+        }
+
+        data = new OrderViewResponse.SliceResponse<>(
+                rows.stream().map(OrderViewResponse.OrderTotalsRowDto::from).toList(),
+                hasNext,
+                nextCursor
+        );
+
+        return ResponseDto.setSuccess("주문 합계 조회가 정상적으로 진행되었습니다.", data);
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN') or @authz.isSelf(#userId, authentication)")
+    public ResponseDto<OrderViewResponse.SliceResponse<OrderViewResponse.OrderSummaryRowDto>> getSummaries(
+            UserPrincipal userPrincipal, Long userId, OrderStatus status, LocalDateTime from, LocalDateTime to, String cursor, int size) {
+        OrderViewResponse.SliceResponse<OrderViewResponse.OrderSummaryRowDto> data = null;
+
+        validateSize(size);
+        CursorUtils.Keyset keyset = CursorUtils.decode(cursor);
+
+        List<OrderSummaryView> rows = summaryViewRepository.searchSummaries(
+                userId, status, DateUtils.kstToUtc(from), DateUtils.kstToUtc(to),
+                keyset == null ? null : keyset.createdAt(),
+                keyset == null ? null : keyset.id(),
+                size + 1
+        );
+
+        boolean hasNext = rows.size() > size;
+        if (hasNext) rows = rows.subList(0, size);
+
+        String nextCursor = null;
+        if (hasNext) {
+            OrderSummaryView last = rows.get(rows.size() - 1);
+            nextCursor = CursorUtils.encode(last.getOrderAt(), last.getOrderItemId());
+        }
+
+        data = new OrderViewResponse.SliceResponse<>(
+                rows.stream().map(OrderViewResponse.OrderSummaryRowDto::from).toList(),
+                hasNext,
+                nextCursor
+        );
+
+        return ResponseDto.setSuccess("주문 항목 조회가 정상적으로 진행되었습니다.", data);
+    }
+
+    private void validateSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE)
+            throw new IllegalArgumentException("size는 1 이상 %d 이하여야 합니다.".formatted(MAX_PAGE_SIZE));
+    }
+}
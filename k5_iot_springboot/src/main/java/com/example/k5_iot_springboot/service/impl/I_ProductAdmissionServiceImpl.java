@@ -0,0 +1,100 @@
+package com.example.k5_iot_springboot.service.impl;
+
+import com.example.k5_iot_springboot.dto.I_Order.request.AdmissionRequest;
+import com.example.k5_iot_springboot.dto.I_Order.response.AdmissionResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+import com.example.k5_iot_springboot.entity.I_ProductAdmissionRule;
+import com.example.k5_iot_springboot.repository.I_ProductAdmissionRuleRepository;
+import com.example.k5_iot_springboot.repository.I_ProductRepository;
+import com.example.k5_iot_springboot.service.I_ProductAdmissionService;
+import com.example.k5_iot_springboot.service.support.I_ProductAdmission;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@PreAuthorize("hasRole('ADMIN')")
+public class I_ProductAdmissionServiceImpl implements I_ProductAdmissionService {
+    private final I_ProductAdmissionRuleRepository ruleRepository;
+    private final I_ProductRepository productRepository;
+    private final I_ProductAdmission productAdmission;
+
+    @Override
+    public ResponseDto<List<AdmissionResponse.Rule>> getRules() {
+        List<AdmissionResponse.Rule> data = null;
+
+        // 이 서버에 적용 중인 규칙 + 누적 건수
+        data = productAdmission.limiters().stream()
+                .map(l -> new AdmissionResponse.Rule(
+                        l.productId(), l.ratePerSecond(), l.burst(), l.maxWaitMs(),
+                        (long) l.admitted().count(), (long) l.queued().count(), (long) l.rejected().count()))
+                .toList();
+
+        return ResponseDto.setSuccess("유입 제한 규칙 조회에 성공하였습니다.", data);
+    }
+
+    @Override
+    @Transactional
+    public ResponseDto<AdmissionResponse.Rule> upsert(Long productId, AdmissionRequest.Upsert req) {
+        AdmissionResponse.Rule data = null;
+
+        if (req == null || req.ratePerSecond() == null || req.ratePerSecond() < 1)
+            throw new IllegalArgumentException("ratePerSecond는 1 이상이어야 합니다.");
+        int burst = req.burst() == null ? req.ratePerSecond() : req.burst();
+        int maxWaitMs = req.maxWaitMs() == null ? 0 : req.maxWaitMs();
+        if (burst < 1) throw new IllegalArgumentException("burst는 1 이상이어야 합니다.");
+        if (maxWaitMs < 0) throw new IllegalArgumentException("maxWaitMs는 0 이상이어야 합니다.");
+
+        if (!productRepository.existsById(productId))
+            throw new EntityNotFoundException("상품을 찾을 수 없습니다. id=" + productId);
+
+        I_ProductAdmissionRule rule = ruleRepository.findById(productId).orElse(null);
+        if (rule == null) {
+            rule = ruleRepository.save(I_ProductAdmissionRule.builder()
+                    .productId(productId)
+                    .ratePerSecond(req.ratePerSecond())
+                    .burst(burst)
+                    .maxWaitMs(maxWaitMs)
+                    .build());
+        } else {
+            rule.change(req.ratePerSecond(), burst, maxWaitMs);
+        }
+
+        // 커밋 후 이 서버에 바로 적용 (다른 서버는 order.admission.refresh-ms 이내 반영)
+        I_ProductAdmissionRule applied = rule;
+        afterCommit(() -> productAdmission.apply(applied));
+
+        data = new AdmissionResponse.Rule(productId, req.ratePerSecond(), burst, maxWaitMs, 0, 0, 0);
+
+        return ResponseDto.setSuccess("유입 제한 규칙이 저장되었습니다.", data);
+    }
+
+    @Override
+    @Transactional
+    public ResponseDto<Void> delete(Long productId) {
+        if (!ruleRepository.existsById(productId))
+            throw new EntityNotFoundException("유입 제한 규칙을 찾을 수 없습니다. productId=" + productId);
+
+        ruleRepository.deleteById(productId);
+        afterCommit(() -> productAdmission.remove(productId));
+
+        return ResponseDto.setSuccess("유입 제한 규칙이 삭제되었습니다.", null);
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
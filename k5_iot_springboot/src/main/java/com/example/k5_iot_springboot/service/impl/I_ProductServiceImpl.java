@@ -1,5 +1,6 @@
 package com.example.k5_iot_springboot.service.impl;
 
+import com.example.k5_iot_springboot.common.enums.StockMovementReason;
 import com.example.k5_iot_springboot.dto.I_Order.request.ProductRequest;
 import com.example.k5_iot_springboot.dto.I_Order.response.ProductResponse;
 import com.example.k5_iot_springboot.dto.ResponseDto;
@@ -9,6 +10,7 @@ import com.example.k5_iot_springboot.repository.I_ProductRepository;
 import com.example.k5_iot_springboot.repository.I_StockRepository;
 import com.example.k5_iot_springboot.security.UserPrincipal;
 import com.example.k5_iot_springboot.service.I_ProductService;
+import com.example.k5_iot_springboot.service.support.I_StockMovementRecorder;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +26,7 @@ import java.util.Objects;
 public class I_ProductServiceImpl implements I_ProductService {
     private final I_ProductRepository productRepository;
     private final I_StockRepository stockRepository;
+    private final I_StockMovementRecorder stockMovementRecorder;
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
@@ -37,6 +40,7 @@ public class I_ProductServiceImpl implements I_ProductService {
         I_Product product = I_Product.builder()
                 .name(req.name())
                 .price(req.price())
+                .autoApprove(Boolean.TRUE.equals(req.autoApprove()))
                 .build();
 
         I_Product saved = productRepository.save(product);
@@ -46,8 +50,10 @@ public class I_ProductServiceImpl implements I_ProductService {
                         .product(saved)
                         .build()
         );
+        // 재고 이동 원장의 시작점 (수량 0으로 생성)
+        stockMovementRecorder.record(saved.getId(), StockMovementReason.INITIAL, 0, null);
 
-        data = new ProductResponse.DetailResponse(saved.getId(), saved.getName(), saved.getPrice());
+        data = new ProductResponse.DetailResponse(saved.getId(), saved.getName(), saved.getPrice(), saved.isAutoApprove());
 
         return ResponseDto.setSuccess("제품이 성공적으로 등록되었습니다.", data);
     }
@@ -65,14 +71,15 @@ public class I_ProductServiceImpl implements I_ProductService {
         I_Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new EntityNotFoundException("상품을 찾을 수 없습니다."));
 
-        if (req.name() == null && req.price() == null) {
+        if (req.name() == null && req.price() == null && req.autoApprove() == null) {
             throw new IllegalArgumentException("제품을 수정할 데이터가 없습니다.");
         }
 
         boolean nameChanged = req.name() != null && !Objects.equals(product.getName(), req.name());
         boolean priceChanged = req.price() != null && !Objects.equals(product.getPrice(), req.price());
+        boolean autoApproveChanged = req.autoApprove() != null && product.isAutoApprove() != req.autoApprove();
 
-        if (!nameChanged && !priceChanged) {
+        if (!nameChanged && !priceChanged && !autoApproveChanged) {
             throw new IllegalArgumentException("변경된 데이터가 없습니다.");
         }
 
@@ -83,11 +90,13 @@ public class I_ProductServiceImpl implements I_ProductService {
 
         if (nameChanged) product.setName(req.name());
         if (priceChanged) product.setPrice(req.price());
+        if (autoApproveChanged) product.setAutoApprove(req.autoApprove()); // 이후 생성되는 주문부터 적용
 
         data = new ProductResponse.DetailResponse(
                 product.getId(),
                 product.getName(),
-                product.getPrice()
+                product.getPrice(),
+                product.isAutoApprove()
         );
 
         return ResponseDto.setSuccess("제품이 성공적으로 수정되었습니다.", data);
@@ -100,7 +109,7 @@ public class I_ProductServiceImpl implements I_ProductService {
         I_Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new EntityNotFoundException("상품을 찾을 수 없습니다."));
 
-        data = new ProductResponse.DetailResponse(product.getId(), product.getName(), product.getPrice());
+        data = new ProductResponse.DetailResponse(product.getId(), product.getName(), product.getPrice(), product.isAutoApprove());
 
         return ResponseDto.setSuccess("제품이 성공적으로 조회되었습니다.", data);
     }
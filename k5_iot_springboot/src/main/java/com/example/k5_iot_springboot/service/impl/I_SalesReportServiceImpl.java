@@ -0,0 +1,124 @@
+package com.example.k5_iot_springboot.service.impl;
+
+import com.example.k5_iot_springboot.common.enums.SalesMetric;
+import com.example.k5_iot_springboot.dto.I_Order.response.SalesReportResponse;
+import com.example.k5_iot_springboot.dto.ResponseDto;
+import com.example.k5_iot_springboot.repository.I_DailyProductSalesRepository;
+import com.example.k5_iot_springboot.service.I_SalesReportService;
+import com.example.k5_iot_springboot.service.support.I_SalesAggregateRebuilder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * 상품별 일별 매출 리포트 - daily_product_sales 만 조회 (orders/order_items 스캔 없음)
+ * */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+public class I_SalesReportServiceImpl implements I_SalesReportService {
+    /** 1회 조회/재계산 가능한 최대 기간(일) */
+    private static final int MAX_RANGE_DAYS = 366;
+    /** 상위 상품 최대 건수 */
+    private static final int MAX_TOP_LIMIT = 100;
+
+    private final I_DailyProductSalesRepository dailyProductSalesRepository;
+    private final I_SalesAggregateRebuilder salesAggregateRebuilder;
+
+    @Override
+    public ResponseDto<SalesReportResponse.Report<SalesReportResponse.ProductSales>> getByProduct(LocalDate from, LocalDate to) {
+        SalesReportResponse.Report<SalesReportResponse.ProductSales> data = null;
+
+        validateRange(from, to);
+        List<SalesReportResponse.ProductSales> rows = toProductSales(dailyProductSalesRepository.sumByProduct(from, to));
+        data = productReport(from, to, rows);
+
+        return ResponseDto.setSuccess("상품별 매출 조회에 성공하였습니다.", data);
+    }
+
+    @Override
+    public ResponseDto<SalesReportResponse.Report<SalesReportResponse.ProductSales>> getTop(LocalDate from, LocalDate to, SalesMetric metric, int limit) {
+        SalesReportResponse.Report<SalesReportResponse.ProductSales> data = null;
+
+        validateRange(from, to);
+        if (limit < 1 || limit > MAX_TOP_LIMIT)
+            throw new IllegalArgumentException("limit는 1 이상 %d 이하여야 합니다.".formatted(MAX_TOP_LIMIT));
+
+        PageRequest page = PageRequest.of(0, limit);
+        List<I_DailyProductSalesRepository.ProductTotal> totals = (metric == SalesMetric.UNITS)
+                ? dailyProductSalesRepository.findTopByUnits(from, to, page)
+                : dailyProductSalesRepository.findTopByRevenue(from, to, page);
+        data = productReport(from, to, toProductSales(totals));
+
+        return ResponseDto.setSuccess("판매 상위 상품 조회에 성공하였습니다.", data);
+    }
+
+    @Override
+    public ResponseDto<SalesReportResponse.Report<SalesReportResponse.DailySales>> getSeries(LocalDate from, LocalDate to, Long productId) {
+        SalesReportResponse.Report<SalesReportResponse.DailySales> data = null;
+
+        validateRange(from, to);
+
+        Map<LocalDate, I_DailyProductSalesRepository.DailyTotal> byDate = new HashMap<>();
+        for (I_DailyProductSalesRepository.DailyTotal t : dailyProductSalesRepository.sumByDate(from, to, productId)) {
+            byDate.put(t.getSalesDate(), t);
+        }
+
+        // 판매가 없는 날도 0으로 채워 연속된 날짜로 반환
+        List<SalesReportResponse.DailySales> rows = new ArrayList<>();
+        long totalUnits = 0, totalRevenue = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            I_DailyProductSalesRepository.DailyTotal t = byDate.get(day);
+            long units = t == null ? 0 : t.getUnits();
+            long revenue = t == null ? 0 : t.getRevenue();
+            rows.add(new SalesReportResponse.DailySales(day.toString(), units, revenue));
+            totalUnits += units;
+            totalRevenue += revenue;
+        }
+        data = new SalesReportResponse.Report<>(from.toString(), to.toString(), totalUnits, totalRevenue, rows);
+
+        return ResponseDto.setSuccess("일별 매출 추이 조회에 성공하였습니다.", data);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 날짜 파티션마다 별도 트랜잭션 (I_SalesAggregateRebuilder)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseDto<SalesReportResponse.RebuildResult> rebuild(LocalDate from, LocalDate to) {
+        SalesReportResponse.RebuildResult data = null;
+
+        validateRange(from, to);
+        I_SalesAggregateRebuilder.Result result = salesAggregateRebuilder.rebuild(from, to);
+        data = new SalesReportResponse.RebuildResult(from.toString(), to.toString(), result.days(), result.rows());
+
+        return ResponseDto.setSuccess("매출 집계를 다시 계산하였습니다.", data);
+    }
+
+    // KST 날짜 기간 검증 (양 끝 포함)
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) throw new IllegalArgumentException("from, to는 필수입니다.");
+        if (from.isAfter(to)) throw new IllegalArgumentException("from은 to보다 늦을 수 없습니다.");
+        if (ChronoUnit.DAYS.between(from, to) + 1 > MAX_RANGE_DAYS)
+            throw new IllegalArgumentException("조회 기간은 최대 %d일입니다.".formatted(MAX_RANGE_DAYS));
+    }
+
+    private List<SalesReportResponse.ProductSales> toProductSales(List<I_DailyProductSalesRepository.ProductTotal> totals) {
+        return totals.stream()
+                .map(t -> new SalesReportResponse.ProductSales(t.getProductId(), t.getUnits(), t.getRevenue()))
+                .toList();
+    }
+
+    private SalesReportResponse.Report<SalesReportResponse.ProductSales> productReport(
+            LocalDate from, LocalDate to, List<SalesReportResponse.ProductSales> rows) {
+        long totalUnits = rows.stream().mapToLong(SalesReportResponse.ProductSales::units).sum();
+        long totalRevenue = rows.stream().mapToLong(SalesReportResponse.ProductSales::revenue).sum();
+        return new SalesReportResponse.Report<>(from.toString(), to.toString(), totalUnits, totalRevenue, rows);
+    }
+}
@@ -1,28 +1,37 @@
 package com.example.k5_iot_springboot.service.impl;
 
+import com.example.k5_iot_springboot.common.enums.StockMovementReason;
+import com.example.k5_iot_springboot.common.utils.DateUtils;
 import com.example.k5_iot_springboot.dto.I_Order.request.StockRequest;
 import com.example.k5_iot_springboot.dto.I_Order.response.StockResponse;
 import com.example.k5_iot_springboot.dto.ResponseDto;
-import com.example.k5_iot_springboot.entity.I_Stock;
-import com.example.k5_iot_springboot.repository.I_StockRepository;
 import com.example.k5_iot_springboot.security.UserPrincipal;
 import com.example.k5_iot_springboot.service.I_StockService;
-import jakarta.persistence.EntityNotFoundException;
+import com.example.k5_iot_springboot.service.support.I_StockHistory;
+import com.example.k5_iot_springboot.service.support.I_StockMovementRecorder;
+import com.example.k5_iot_springboot.service.support.I_StockMutator;
+import com.example.k5_iot_springboot.service.support.I_StockRetryExecutor;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
 public class I_StockServiceImpl implements I_StockService {
-    private final I_StockRepository stockRepository;
+    private final I_StockMutator stockMutator;
+    private final I_StockRetryExecutor stockRetryExecutor;
+    private final I_StockMovementRecorder stockMovementRecorder;
+    private final I_StockHistory stockHistory;
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 트랜잭션은 stockRetryExecutor가 시도마다 새로 시작
     public ResponseDto<StockResponse.Response> adjust(UserPrincipal userPrincipal, StockRequest.@Valid StockAdjust req) {
         // 재고 증감 (delta)
         // : delta 값이 양수면 - 입고/반품
@@ -30,39 +39,29 @@ public class I_StockServiceImpl implements I_StockService {
 
         StockResponse.Response data = null; // 실제 ResponseDto 내부에서 전달될 data 타입을 초기화
 
-        I_Stock stock = stockRepository.findByProductIdForUpdate(req.productId())
-                .orElseThrow(() -> new EntityNotFoundException("재고 정보를 찾을 수 없습니다. productId=" + req.productId()));
-        int newQuantiry = stock.getQuantity() + req.delta();
-
-        if (newQuantiry < 0) throw new IllegalArgumentException("제고가 부족합니다.");
-
-        stock.setQuantity(newQuantiry);
-
-        data = new StockResponse.Response(
-                stock.getProduct().getId(),
-                stock.getQuantity()
-        );
-
+        int quantity = stockRetryExecutor.execute("adjust", () -> {
+            int changed = stockMutator.adjust(req.productId(), req.delta());
+            stockMovementRecorder.record(req.productId(), StockMovementReason.ADJUST, req.delta(), null);
+            return changed;
+        });
 
+        data = new StockResponse.Response(req.productId(), quantity);
 
         return ResponseDto.setSuccess("재고가 성공적으로 증감되었습니다.", data);
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // 트랜잭션은 stockRetryExecutor가 시도마다 새로 시작
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseDto<StockResponse.Response> set(UserPrincipal userPrincipal, StockRequest.@Valid StockSet req) {
         StockResponse.Response data = null;
 
-        I_Stock stock = stockRepository.findByProductIdForUpdate(req.productId())
-                .orElseThrow(() -> new EntityNotFoundException("재고 정보를 찾을 수 없습니다. productId=" + req.productId()));
-
-        if (req.quantity() < 0) throw new IllegalArgumentException("재고는 0이상이어야 합니다.");
-        stock.setQuantity(req.quantity());
-        data = new StockResponse.Response(
-                stock.getProduct().getId(),
-                stock.getQuantity()
-        );
+        int quantity = stockRetryExecutor.execute("set", () -> {
+            int changed = stockMutator.set(req.productId(), req.quantity());
+            stockMovementRecorder.record(req.productId(), StockMovementReason.SET, changed, null);
+            return changed;
+        });
+        data = new StockResponse.Response(req.productId(), quantity);
 
         return ResponseDto.setSuccess("재고가 성공적으로 설정되었습니다.", data);
     }
@@ -72,13 +71,34 @@ public class I_StockServiceImpl implements I_StockService {
     public ResponseDto<StockResponse.Response> get(Long productId) {
         StockResponse.Response data = null;
 
-        I_Stock stock = stockRepository.findByProductId(productId)
-                .orElseThrow(() -> new EntityNotFoundException("재고 정보를 찾을 수 없습니다. productId=" + productId));
-
+        // 분할 재고(SHARDED) 상품은 슬롯 합계
         data = new StockResponse.Response(
-                stock.getProduct().getId(),
-                stock.getQuantity()
+                productId,
+                stockMutator.getQuantity(productId)
         );
         return ResponseDto.setSuccess("재고가 성공적으로 조회되었습니다.", data);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseDto<StockResponse.AtTime> getAt(Long productId, LocalDateTime at) {
+        StockResponse.AtTime data = null;
+
+        if (at == null) throw new IllegalArgumentException("조회 시각(ts)은 필수입니다.");
+        if (at.isAfter(LocalDateTime.now(DateUtils.ZONE_KST)))
+            throw new IllegalArgumentException("미래 시각의 재고는 조회할 수 없습니다.");
+
+        // 입력(KST) >> UTC 로 변환 후 가장 가까운 스냅샷 + 이후 이동 재생 (I_StockHistory)
+        I_StockHistory.PointInTime p = stockHistory.quantityAt(productId, DateUtils.kstToUtc(at));
+        data = new StockResponse.AtTime(
+                productId,
+                p.quantity(),
+                DateUtils.toKstString(DateUtils.kstToUtc(at)),
+                DateUtils.toKstString(p.snapshotAt()),
+                p.replayed(),
+                p.exact()
+        );
+
+        return ResponseDto.setSuccess("해당 시각의 재고가 조회되었습니다.", data);
+    }
 }
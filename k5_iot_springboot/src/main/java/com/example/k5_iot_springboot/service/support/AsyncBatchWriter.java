@@ -0,0 +1,107 @@
+package com.example.k5_iot_springboot.service.support;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * === AsyncBatchWriter ===
+ * : 요청 스레드에서 받은 레코드를 제한된 크기의 큐에 쌓고, 전용 스레드가 모아서 한 번에 기록하는 공통 기반 클래스
+ * - 큐가 비어있으면 대기 >> 첫 레코드가 들어오면 최대 batchSize 건까지 꺼내서 writeBatch() 1회 호출
+ * - 큐가 가득 차면 maxWaitMs 만큼 기다린 뒤에도 자리가 없으면 호출 스레드에서 직접 기록 (유실 X, 역압)
+ * - 종료 시(@PreDestroy) 남아있는 레코드를 모두 기록한 뒤 스레드 종료
+ *
+ * cf) 큐는 메모리에 있으므로 프로세스가 비정상 종료되면 아직 기록되지 않은 레코드는 유실될 수 있음
+ *      >> 유실되면 안 되는 데이터(재고, 주문 상태 등)가 아닌 로그/이력성 데이터에만 사용
+ * */
+@Slf4j
+public abstract class AsyncBatchWriter<T> {
+    private final String name;
+    private final int batchSize;
+    private final long maxWaitMs;
+    private final BlockingQueue<T> queue;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    protected AsyncBatchWriter(String name, int capacity, int batchSize, long maxWaitMs) {
+        this.name = name;
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxWaitMs = Math.max(maxWaitMs, 0);
+        this.queue = new ArrayBlockingQueue<>(Math.max(capacity, this.batchSize));
+    }
+
+    /** 모아진 레코드를 한 번에 기록 (JDBC batch 등) */
+    protected abstract void writeBatch(List<T> batch);
+
+    /** 레코드 추가 - 큐가 가득 차 있으면 호출 스레드에서 바로 기록 */
+    public void enqueue(T record) {
+        try {
+            if (running && queue.offer(record, maxWaitMs, TimeUnit.MILLISECONDS)) return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.warn("{} queue full or stopped - writing synchronously", name);
+        writeSafely(List.of(record));
+    }
+
+    /** 현재 대기 중인 레코드 수 */
+    public int pending() {
+        return queue.size();
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::runLoop, name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        drainRemaining();
+    }
+
+    private void runLoop() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                T first = queue.take(); // 레코드가 들어올 때까지 대기
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeSafely(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // stop() 호출 - 남은 레코드는 drainRemaining()에서 처리
+                if (!batch.isEmpty()) writeSafely(batch);
+                break;
+            }
+        }
+    }
+
+    private void drainRemaining() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeSafely(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeSafely(List<T> batch) {
+        try {
+            writeBatch(batch);
+        } catch (RuntimeException e) {
+            log.error("{} failed to write {} records", name, batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.k5_iot_springboot.service.support;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * === HierarchicalTimingWheel ===
+ * : 만료 시각이 있는 키를 등록하고, 시계를 진행(advance)하면 만료된 키를 돌려주는 계층형 타이밍 휠
+ *
+ * [ 구조 ]
+ * - 1단계 휠: tickMs 간격의 버킷 wheelSize 개 (tickMs * wheelSize 범위)
+ * - 범위를 넘는 만료 시각은 상위 휠(tick = 하위 휠 전체 범위)에 등록 - 필요할 때 상위 휠을 생성
+ *      예) tick 1초 x 60 >> 상위 1분 x 60 >> 상위 1시간 x 60 ...
+ * - 상위 휠의 버킷 시각이 되면 버킷의 키들을 다시 등록 >> 하위 휠로 내려오거나 만료
+ *
+ * - 등록/취소 O(1), 진행 시 지나간 버킷만 확인 (전체 키를 훑지 않음)
+ * - 같은 키를 다시 등록하면 이전 만료 시각은 무시 (버킷에서 바로 지우지 않고 꺼낼 때 건너뜀)
+ *
+ * cf) 스레드 안전 (모든 공개 메서드 synchronized) - 등록은 요청 스레드, 진행은 스케줄러 스레드
+ * */
+public final class HierarchicalTimingWheel<K> {
+    private record Entry<K>(K key, long deadlineMs) {}
+
+    private final Level root;
+    // 키별 현재 유효한 만료 시각 - 버킷에 남은 이전 등록/취소된 등록을 걸러냄
+    private final Map<K, Long> deadlines = new HashMap<>();
+    // 등록 시점에 이미 만료된 키 (다음 advance 에서 반환)
+    private final List<Entry<K>> due = new ArrayList<>();
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1)
+            throw new IllegalArgumentException("tickMs > 0, wheelSize > 1 이어야 합니다.");
+        this.root = new Level(tickMs, wheelSize, startMs);
+    }
+
+    /** 만료 시각 등록 (이미 등록된 키면 새 만료 시각으로 교체) */
+    public synchronized void schedule(K key, long deadlineMs) {
+        deadlines.put(key, deadlineMs);
+        Entry<K> entry = new Entry<>(key, deadlineMs);
+        if (!root.add(entry)) due.add(entry);
+    }
+
+    /** 등록 취소 */
+    public synchronized void cancel(K key) {
+        deadlines.remove(key);
+    }
+
+    /** 등록된 키 수 */
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    /** 시계를 nowMs 까지 진행하고 만료된 키 반환 (반환된 키는 등록 해제) */
+    public synchronized List<K> advance(long nowMs) {
+        List<K> expired = new ArrayList<>();
+        for (Entry<K> entry : due) {
+            if (isCurrent(entry)) {
+                deadlines.remove(entry.key());
+                expired.add(entry.key());
+            }
+        }
+        due.clear();
+
+        // 하위 휠부터 진행 - 상위 휠에서 내려오는 키가 이미 진행된 하위 휠에 등록되도록
+        for (Level level = root; level != null; level = level.overflow) {
+            level.advance(nowMs, entry -> {
+                if (!isCurrent(entry)) return; // 취소/재등록된 이전 항목
+                if (!root.add(entry)) {
+                    deadlines.remove(entry.key());
+                    expired.add(entry.key());
+                }
+            });
+        }
+        return expired;
+    }
+
+    private boolean isCurrent(Entry<K> entry) {
+        Long current = deadlines.get(entry.key());
+        return current != null && current == entry.deadlineMs();
+    }
+
+    private final class Level {
+        final long tickMs;
+        final int wheelSize;
+        final long interval;          // 이 휠이 담는 범위 (tickMs * wheelSize)
+        final List<List<Entry<K>>> buckets;
+        long currentTime;             // tickMs 단위로 내림한 현재 시각
+        Level overflow;               // 상위 휠 (필요할 때 생성)
+
+        Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = Math.multiplyExact(tickMs, (long) wheelSize);
+            this.currentTime = startMs - Math.floorMod(startMs, tickMs);
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) buckets.add(new ArrayList<>());
+        }
+
+        // 버킷에 등록 - 이미 만료(현재 tick 안)면 false
+        boolean add(Entry<K> entry) {
+            long deadline = entry.deadlineMs();
+            if (deadline < currentTime + tickMs) return false;
+            if (deadline < currentTime + interval) {
+                buckets.get(index(deadline / tickMs)).add(entry);
+                return true;
+            }
+            if (overflow == null) overflow = new Level(interval, wheelSize, currentTime);
+            return overflow.add(entry);
+        }
+
+        // nowMs 까지 지나간 버킷을 비우고 항목을 sink 로 전달 (sink 에서 다시 등록 또는 만료 처리)
+        void advance(long nowMs, Consumer<Entry<K>> sink) {
+            long target = nowMs - Math.floorMod(nowMs, tickMs);
+            if (target <= currentTime) return;
+
+            long fromTick = currentTime / tickMs;
+            // 한 바퀴 이상 지났으면 모든 버킷을 한 번씩만 확인
+            long steps = Math.min((target - currentTime) / tickMs, wheelSize);
+            currentTime = target;
+
+            for (long i = 1; i <= steps; i++) {
+                int idx = index(fromTick + i);
+                List<Entry<K>> bucket = buckets.get(idx);
+                if (bucket.isEmpty()) continue;
+                buckets.set(idx, new ArrayList<>());
+                bucket.forEach(sink);
+            }
+        }
+
+        int index(long tick) {
+            return (int) Math.floorMod(tick, (long) wheelSize);
+        }
+    }
+}
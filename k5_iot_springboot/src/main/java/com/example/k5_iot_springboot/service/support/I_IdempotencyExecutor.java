@@ -0,0 +1,344 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.common.enums.IdempotencyStatus;
+import com.example.k5_iot_springboot.common.errors.IdempotencyConflictException;
+import com.example.k5_iot_springboot.entity.I_IdempotencyKey;
+import com.example.k5_iot_springboot.repository.I_IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * === I_IdempotencyExecutor ===
+ * : Idempotency-Key 헤더가 있는 요청을 "키당 한 번만" 실행하고, 재시도에는 저장된 최초 응답을 반환
+ *
+ * [ 조회 순서 ]
+ * 1) 메모리 LRU (TTL) - 같은 서버로 들어온 재시도는 DB 조회 없이 바로 응답
+ * 2) 처리 중(in-flight) 요청 - 같은 서버에 동시에 들어온 같은 키 요청은 먼저 온 요청의 결과를 기다림 (실행 1회)
+ * 3) idempotency_keys 테이블 - 다른 서버가 처리했거나 처리 중인 키
+ *      - 처리 권한은 (user_id, idem_key) 유니크 INSERT 로 선점 >> 여러 서버 중 하나만 실행
+ *
+ * - 같은 키로 다른 요청 본문을 보내면 409 (IdempotencyConflictException)
+ * - 실행이 실패하면 선점 기록을 지워 같은 키로 다시 시도할 수 있게 함 (실패 응답은 저장하지 않음)
+ *
+ * [ 완료 기록 ]
+ * - action 은 결과를 만든 트랜잭션 안에서 completeInTransaction(응답) 호출
+ *      >> 주문 저장과 COMPLETED 기록이 함께 커밋/롤백 (주문만 저장되고 키는 IN_PROGRESS 로 남는 경우 없음)
+ * - action 이 호출하지 않은 경우에만 실행 후 별도 트랜잭션으로 기록
+ *
+ * [ 선점 임대 ]
+ * - IN_PROGRESS 선점은 lease-seconds 동안만 유효 - 지나면 같은 키의 다음 요청이 넘겨받아 실행
+ *      (처리 중 서버 장애로 남은 선점이 만료(ttl-minutes)까지 409 를 내지 않도록)
+ * - 완료/실패 기록은 선점 시각(claimed_at)이 그대로일 때만 반영 >> 넘겨받힌 느린 요청의 트랜잭션은 롤백
+ * */
+@Slf4j
+@Component
+public class I_IdempotencyExecutor {
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final long POLL_INTERVAL_MS = 100;
+
+    // 현재 스레드에서 실행 중인 선점 (action 안에서 completeInTransaction 으로 완료 기록)
+    private static final ThreadLocal<Claim> CURRENT = new ThreadLocal<>();
+
+    private final I_IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final long ttlMinutes;
+    private final long waitMs;
+    private final long leaseSeconds;
+
+    // 최근 응답 (접근 순서 LRU) - value: 요청 해시 + 응답 JSON + 만료 시각
+    private final Map<String, Stored> cache;
+    // 같은 서버에서 처리 중인 키
+    private final ConcurrentHashMap<String, CompletableFuture<Stored>> inFlight = new ConcurrentHashMap<>();
+
+    private record Stored(String requestHash, String body, LocalDateTime expiresAt) {}
+
+    /** 처리 권한 선점 - stored: action 트랜잭션에서 완료 기록한 응답 */
+    private static final class Claim {
+        private final Long id;
+        private final String requestHash;
+        private final LocalDateTime claimedAt;
+        private final LocalDateTime expiresAt;
+        private Stored stored;
+
+        private Claim(Long id, String requestHash, LocalDateTime claimedAt, LocalDateTime expiresAt) {
+            this.id = id;
+            this.requestHash = requestHash;
+            this.claimedAt = claimedAt;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public I_IdempotencyExecutor(
+            I_IdempotencyKeyRepository idempotencyKeyRepository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${idempotency.cache-size:10000}") int cacheSize,
+            @Value("${idempotency.ttl-minutes:1440}") long ttlMinutes,
+            @Value("${idempotency.wait-ms:5000}") long waitMs,
+            @Value("${idempotency.lease-seconds:30}") long leaseSeconds
+    ) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttlMinutes = Math.max(ttlMinutes, 1);
+        this.waitMs = Math.max(waitMs, 0);
+        this.leaseSeconds = Math.max(leaseSeconds, 1);
+
+        int maxEntries = Math.max(cacheSize, 1);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Stored> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * 키당 한 번만 action 실행
+     * @param userId 키 소유자 (사용자마다 키 공간 분리)
+     * @param request 요청 본문 - 같은 키로 다른 요청을 보냈는지 비교용
+     * @param responseType 저장된 응답(JSON) 역직렬화 타입
+     * */
+    public <T> T execute(Long userId, String key, Object request, TypeReference<T> responseType, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH)
+            throw new IllegalArgumentException("Idempotency-Key는 1 ~ %d자여야 합니다.".formatted(MAX_KEY_LENGTH));
+
+        String cacheKey = userId + ":" + key;
+        String requestHash = hash(request);
+
+        // 1) 메모리 LRU
+        Stored cached = cache.get(cacheKey);
+        if (cached != null && cached.expiresAt().isAfter(LocalDateTime.now())) {
+            return replay(cached, requestHash, responseType);
+        }
+
+        // 2) 같은 서버에서 처리 중이면 그 결과를 기다림
+        CompletableFuture<Stored> mine = new CompletableFuture<>();
+        CompletableFuture<Stored> running = inFlight.putIfAbsent(cacheKey, mine);
+        if (running != null) {
+            return replay(await(running), requestHash, responseType);
+        }
+
+        try {
+            // 3) DB 확인 & 처리 권한 선점
+            Object claimed = claimOrLoad(userId, key, requestHash);
+            if (claimed instanceof Stored existing) {
+                cache.put(cacheKey, existing);
+                mine.complete(existing);
+                return replay(existing, requestHash, responseType);
+            }
+            Claim claim = (Claim) claimed;
+
+            T result;
+            CURRENT.set(claim);
+            try {
+                result = action.get();
+            } catch (RuntimeException e) {
+                transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.release(
+                        claim.id, claim.claimedAt, IdempotencyStatus.IN_PROGRESS));
+                throw e;
+            } finally {
+                CURRENT.remove();
+            }
+
+            // action 이 자신의 트랜잭션에서 완료 기록하지 않았으면 여기서 기록
+            Stored stored = claim.stored;
+            if (stored == null) {
+                String body = toJson(result);
+                stored = transactionTemplate.execute(status -> complete(claim, body));
+            }
+            cache.put(cacheKey, stored);
+            mine.complete(stored);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, mine);
+        }
+    }
+
+    /**
+     * 실행 중인 키의 응답을 현재 트랜잭션에 완료 기록 (action 안, 결과를 저장하는 트랜잭션에서 호출)
+     * - 키 없이 호출된 요청이면 아무것도 하지 않음
+     * - 선점을 다른 요청이 넘겨받았으면 IdempotencyConflictException >> 호출한 트랜잭션 롤백
+     * */
+    public <T> T completeInTransaction(T response) {
+        Claim claim = CURRENT.get();
+        if (claim == null || claim.stored != null) return response;
+        if (!TransactionSynchronizationManager.isActualTransactionActive())
+            throw new IllegalStateException("completeInTransaction 은 트랜잭션 안에서 호출해야 합니다.");
+
+        Stored stored = complete(claim, toJson(response));
+        claim.stored = stored;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) claim.stored = null; // 롤백되면 완료 기록도 취소됨
+            }
+        });
+        return response;
+    }
+
+    /** 만료된 기록 정리 (매 정시) */
+    @Scheduled(cron = "${idempotency.purge-cron:0 0 * * * *}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer deleted = transactionTemplate.execute(status -> idempotencyKeyRepository.deleteExpired(now));
+        synchronized (cache) { // synchronizedMap 의 뷰 순회는 직접 동기화 필요
+            cache.values().removeIf(s -> !s.expiresAt().isAfter(now));
+        }
+        if (deleted != null && deleted > 0) log.info("Purged {} expired idempotency keys", deleted);
+    }
+
+    // 완료된 기록이 있으면 Stored, 없으면 IN_PROGRESS 로 선점하고 Claim 반환
+    private Object claimOrLoad(Long userId, String key, String requestHash) {
+        long deadline = System.currentTimeMillis() + waitMs;
+
+        while (true) {
+            Optional<I_IdempotencyKey> row = transactionTemplate.execute(status ->
+                    idempotencyKeyRepository.findByUserIdAndIdemKey(userId, key));
+            LocalDateTime now = LocalDateTime.now();
+
+            if (row != null && row.isPresent()) {
+                I_IdempotencyKey k = row.get();
+                if (k.getExpiresAt().isBefore(now)) {
+                    // 만료된 키 - 지우고 새로 선점
+                    transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.deleteById(k.getId()));
+                } else if (k.getStatus() == IdempotencyStatus.COMPLETED) {
+                    return new Stored(k.getRequestHash(), k.getResponseBody(), k.getExpiresAt());
+                } else {
+                    if (!k.getRequestHash().equals(requestHash))
+                        throw new IdempotencyConflictException("같은 Idempotency-Key로 다른 요청을 보낼 수 없습니다.");
+
+                    // 임대 시간이 지난 선점 - 처리하던 서버가 완료 기록 없이 멈춤 >> 넘겨받아 실행
+                    //      (완료 기록은 주문과 같은 트랜잭션이므로 COMPLETED 가 아니면 주문도 커밋되지 않음)
+                    if (k.getClaimedAt().plusSeconds(leaseSeconds).isBefore(now)) {
+                        LocalDateTime claimedAt = now();
+                        Integer updated = transactionTemplate.execute(status -> idempotencyKeyRepository.takeOver(
+                                k.getId(), k.getClaimedAt(), claimedAt, IdempotencyStatus.IN_PROGRESS));
+                        if (updated != null && updated == 1) {
+                            log.warn("Took over stale idempotency claim: userId={}, key={}", userId, key);
+                            return new Claim(k.getId(), requestHash, claimedAt, k.getExpiresAt());
+                        }
+                        continue; // 다른 요청이 먼저 넘겨받음 - 다시 조회
+                    }
+
+                    // 다른 서버에서 처리 중 - 완료될 때까지 잠시 대기 후 재확인
+                    if (System.currentTimeMillis() >= deadline)
+                        throw new IdempotencyConflictException("같은 Idempotency-Key의 요청이 처리 중입니다. 잠시 후 다시 시도해주세요.");
+                    sleep();
+                    continue;
+                }
+            }
+
+            try {
+                LocalDateTime claimedAt = now();
+                I_IdempotencyKey saved = transactionTemplate.execute(status -> idempotencyKeyRepository.saveAndFlush(
+                        I_IdempotencyKey.builder()
+                                .userId(userId)
+                                .idemKey(key)
+                                .requestHash(requestHash)
+                                .claimedAt(claimedAt)
+                                .expiresAt(claimedAt.plusMinutes(ttlMinutes))
+                                .build()));
+                return new Claim(saved.getId(), requestHash, claimedAt, saved.getExpiresAt()); // 선점 성공 - 호출한 쪽에서 실행
+            } catch (DataIntegrityViolationException e) {
+                // 다른 서버가 먼저 선점 - 다시 조회
+            }
+        }
+    }
+
+    // 현재 트랜잭션에서 완료 기록 - 선점을 잃었으면 예외 (트랜잭션 롤백)
+    private Stored complete(Claim claim, String body) {
+        int updated = idempotencyKeyRepository.complete(claim.id, claim.claimedAt, body,
+                IdempotencyStatus.IN_PROGRESS, IdempotencyStatus.COMPLETED);
+        if (updated != 1)
+            throw new IdempotencyConflictException("같은 Idempotency-Key의 요청을 다른 요청이 넘겨받았습니다. 잠시 후 다시 시도해주세요.");
+        return new Stored(claim.requestHash, body, claim.expiresAt);
+    }
+
+    // DATETIME(6) 과 비교하므로 마이크로초 단위로 자름 (조건부 UPDATE 의 claimed_at 일치 비교)
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private <T> T replay(Stored stored, String requestHash, TypeReference<T> responseType) {
+        if (!stored.requestHash().equals(requestHash))
+            throw new IdempotencyConflictException("같은 Idempotency-Key로 다른 요청을 보낼 수 없습니다.");
+        try {
+            return objectMapper.readValue(stored.body(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 응답을 읽을 수 없습니다.", e);
+        }
+    }
+
+    private Stored await(CompletableFuture<Stored> running) {
+        try {
+            return running.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyConflictException("같은 Idempotency-Key의 요청이 처리 중입니다. 잠시 후 다시 시도해주세요.");
+        } catch (ExecutionException e) {
+            // 먼저 온 요청의 실패를 그대로 전달
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("요청 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("응답을 저장할 수 없습니다.", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(toJson(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("요청 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+}
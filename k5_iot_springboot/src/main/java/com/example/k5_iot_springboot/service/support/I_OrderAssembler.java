@@ -0,0 +1,114 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.dto.I_Order.request.OrderRequest;
+import com.example.k5_iot_springboot.entity.G_User;
+import com.example.k5_iot_springboot.entity.I_Order;
+import com.example.k5_iot_springboot.entity.I_OrderItem;
+import com.example.k5_iot_springboot.entity.I_Product;
+import com.example.k5_iot_springboot.repository.I_ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * === I_OrderAssembler ===
+ * : 주문 생성 요청 >> I_Order 엔티티 조립
+ * - 동기 생성(I_OrderServiceImpl.create)과 비동기 접수(I_OrderIntakeQueue)가 같은 규칙으로 주문을 만들도록 공통화
+ * */
+@Component
+@RequiredArgsConstructor
+public class I_OrderAssembler {
+    private final EntityManager em;
+    private final I_ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final I_OrderExpiryScheduler orderExpiryScheduler;
+
+    /**
+     * 요청 검증 + 상품별 수량 합산 (DB 조회 없음)
+     * - 같은 상품이 여러 줄로 들어온 경우 수량을 합쳐 한 항목으로 (uq_order_product 위반 방지, 요청 순서 유지)
+     * - 합산이 int 범위를 넘으면 400 (음수로 넘어간 수량이 조건부 차감에서 재고를 늘리는 것 방지)
+     * */
+    public Map<Long, Integer> mergeLines(OrderRequest.OrderCreateRequest req) {
+        if (req == null || req.items() == null || req.items().isEmpty())
+            throw new IllegalArgumentException("주문 항목이 비어있습니다.");
+
+        Map<Long, Integer> quantityMap = new LinkedHashMap<>();
+        for (OrderRequest.OrderItemLine line: req.items()) { // List<OrderItemLine> items
+            if (line.productId() == null) throw new IllegalArgumentException("상품 ID가 비어있습니다.");
+            if (line.quantity() <= 0) throw new IllegalArgumentException("수량은 1 이상이어야 합니다.");
+            try {
+                quantityMap.merge(line.productId(), line.quantity(), Math::addExact);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("상품 수량 합계가 허용 범위를 초과했습니다. productId=" + line.productId());
+            }
+        }
+        return quantityMap;
+    }
+
+    /** 상품 일괄 조회 (IN 1회) - 항목 수와 관계없이 SELECT 1번, 없는 상품이 있으면 모두 모아서 404 */
+    public Map<Long, I_Product> loadProducts(Collection<Long> productIds) {
+        Map<Long, I_Product> productMap = loadExisting(productIds);
+
+        List<Long> missingIds = missingProducts(productIds, productMap);
+        if (!missingIds.isEmpty())
+            throw new EntityNotFoundException("상품을 찾을 수 없습니다. ids=" + missingIds);
+        return productMap;
+    }
+
+    /** 상품 일괄 조회 (IN 1회) - 존재하는 상품만 (없는 상품은 호출하는 쪽에서 missingProducts 로 확인) */
+    public Map<Long, I_Product> loadExisting(Collection<Long> productIds) {
+        Map<Long, I_Product> productMap = new HashMap<>();
+        for (I_Product p : productRepository.findAllById(productIds)) productMap.put(p.getId(), p);
+        return productMap;
+    }
+
+    /** productMap 에 없는 상품 ID */
+    public List<Long> missingProducts(Collection<Long> productIds, Map<Long, I_Product> productMap) {
+        return productIds.stream()
+                .filter(id -> !productMap.containsKey(id))
+                .toList();
+    }
+
+    /** PENDING 주문 조립 (저장 전) - productMap 에 quantityMap 의 모든 상품이 있어야 함 */
+    public I_Order assemble(Long userId, Map<Long, Integer> quantityMap, Map<Long, I_Product> productMap) {
+        // EntityManager.getReference() VS JPA.findById()
+        // 1) EntityManager.getReference()
+        //       : 단순히 연관관계 주입만 필요할 때 사용
+        //       - 실제 SQL SELECT문을 실행하지 않고, 프록시 객체를 반환
+        //       >> 어차피 Order 엔티티의 user를 참조하는 데 실제 User의 다른 필드가 필요없는 경우 효율적
+        // 2) UserRepository.findById()
+        //       : DB 조회 쿼리를 날리고 G_User 엔티티를 반환
+        //       >> 존재하지 않는 userId이면 예외를 던지고 싶다! (안전성)
+
+        // 인증 주체 userId로 G_User 프록시(대리인, 중계자) 획득 (UserRepository 없이도 가능)
+        G_User userRef = em.getReference(G_User.class, userId);
+
+        I_Order order = I_Order.builder()
+                .user(userRef)
+                .orderStatus(OrderStatus.PENDING) // 기본값 - PENDING
+                .build();
+
+        // 모든 항목이 자동 승인 상품이면 자동 승인 대상 (I_OrderAutoApprover)
+        order.setAutoApprove(quantityMap.keySet().stream().allMatch(id -> productMap.get(id).isAutoApprove()));
+
+        quantityMap.forEach((productId, quantity) -> {
+            I_OrderItem item = I_OrderItem.builder()
+                    .product(productMap.get(productId))
+                    .quantity(quantity)
+                    .build();
+            order.addItem(item);
+        });
+        return order;
+    }
+
+    /** 저장 직후 (같은 트랜잭션) - 생성 로그 이벤트 + 커밋 후 만료 타이머 등록 */
+    public void created(I_Order saved) {
+        eventPublisher.publishEvent(I_OrderLogEvent.created(saved.getId()));
+        orderExpiryScheduler.register(saved.getId(), saved.getCreatedAt());
+    }
+}
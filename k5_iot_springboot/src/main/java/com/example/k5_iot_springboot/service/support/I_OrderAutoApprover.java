@@ -0,0 +1,192 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.common.enums.OrderClaimMode;
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderResponse;
+import com.example.k5_iot_springboot.entity.I_Order;
+import com.example.k5_iot_springboot.repository.I_OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * === I_OrderAutoApprover ===
+ * : 자동 승인 대상(모든 항목이 auto_approve 상품) PENDING 주문을 백그라운드 작업자가 오래된 순으로 승인
+ *
+ * [ 동작 ] (작업자 workers 개, 각각 반복)
+ * 1) 트랜잭션 시작 >> PENDING + auto_approve 주문을 ID 오름차순으로 batch-size 건 가져옴 (claim-mode)
+ *      - SKIP_LOCKED: SELECT ... FOR UPDATE SKIP LOCKED - 다른 작업자/서버가 잡은 주문은 건너뜀 (서로 기다리지 않음)
+ *      - GUARDED_UPDATE: 잠금 없이 후보 조회 (같은 서버의 작업자끼리는 후보를 나누어 가짐)
+ *          >> 조건부 UPDATE(PENDING -> APPROVED)에서 이긴 주문만 처리 (SKIP LOCKED 미지원 DB용)
+ * 2) 일괄 승인과 같은 로직(I_OrderBatchApprover)으로 재고 확인 & 차감 >> 배치 단위로 한 번에 커밋
+ * 3) 재고 부족 등으로 실패한 주문은 auto_approve = false (수동 승인 대기) - 같은 주문을 계속 다시 가져오지 않도록
+ * 4) 가져온 주문이 없으면 idle-ms 동안 대기
+ *
+ * [ 메트릭 ]
+ * - order.auto-approve.approved / rejected / conflicts : 승인 / 자동 승인 제외 / 다른 요청과 경합해 빠진 건수 (rate = 초당 처리량)
+ * - order.auto-approve.batch : 배치 1회 처리 시간
+ * - order.auto-approve.queue-depth : 자동 승인 대기 주문 수 (queue-depth-refresh-ms 마다 갱신)
+ * */
+@Slf4j
+@Component
+public class I_OrderAutoApprover {
+    private final I_OrderRepository orderRepository;
+    private final I_OrderBatchApprover orderBatchApprover;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final boolean enabled;
+    private final OrderClaimMode claimMode;
+    private final int workers;
+    private final int batchSize;
+    private final long idleMs;
+
+    private final Counter approved;
+    private final Counter rejected;
+    private final Counter conflicts;
+    private final Timer batchTimer;
+    private final AtomicLong queueDepth = new AtomicLong();
+
+    private volatile boolean running;
+    private ExecutorService executor;
+
+    public I_OrderAutoApprover(
+            I_OrderRepository orderRepository,
+            I_OrderBatchApprover orderBatchApprover,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${order.auto-approve.enabled:false}") boolean enabled,
+            @Value("${order.auto-approve.claim-mode:SKIP_LOCKED}") OrderClaimMode claimMode,
+            @Value("${order.auto-approve.workers:2}") int workers,
+            @Value("${order.auto-approve.batch-size:50}") int batchSize,
+            @Value("${order.auto-approve.idle-ms:500}") long idleMs
+    ) {
+        this.orderRepository = orderRepository;
+        this.orderBatchApprover = orderBatchApprover;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.claimMode = claimMode;
+        this.workers = Math.max(workers, 1);
+        this.batchSize = Math.max(batchSize, 1);
+        this.idleMs = Math.max(idleMs, 10);
+
+        this.approved = meterRegistry.counter("order.auto-approve.approved");
+        this.rejected = meterRegistry.counter("order.auto-approve.rejected");
+        this.conflicts = meterRegistry.counter("order.auto-approve.conflicts");
+        this.batchTimer = meterRegistry.timer("order.auto-approve.batch");
+        meterRegistry.gauge("order.auto-approve.queue-depth", queueDepth);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) return;
+
+        AtomicInteger seq = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "order-auto-approver-" + seq.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            int workerIndex = i;
+            executor.submit(() -> loop(workerIndex));
+        }
+        log.info("Order auto-approver started: workers={}, batchSize={}, claimMode={}", workers, batchSize, claimMode);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (executor == null) return;
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Scheduled(fixedDelayString = "${order.auto-approve.queue-depth-refresh-ms:5000}")
+    public void refreshQueueDepth() {
+        if (!enabled) return;
+        queueDepth.set(orderRepository.countByOrderStatusAndAutoApproveTrue(OrderStatus.PENDING));
+    }
+
+    private void loop(int workerIndex) {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            int claimed;
+            try {
+                Integer count = batchTimer.record(() -> transactionTemplate.execute(status -> runBatch(workerIndex)));
+                claimed = count == null ? 0 : count;
+            } catch (RuntimeException e) {
+                // 배치 전체 롤백 - 다음 반복에서 같은 주문을 다시 가져옴
+                log.warn("Order auto-approve batch failed: worker={}, cause={}", workerIndex, e.getMessage());
+                claimed = 0;
+            }
+
+            if (claimed == 0) {
+                try {
+                    Thread.sleep(idleMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    // 한 배치 처리 (트랜잭션 안) - 가져온 주문 수 반환
+    private int runBatch(int workerIndex) {
+        List<Long> ids = claim(workerIndex);
+        if (ids.isEmpty()) return 0;
+
+        List<I_Order> pendings = new ArrayList<>(orderRepository.findDetailAllByIdIn(ids));
+        pendings.sort(Comparator.comparing(I_Order::getId)); // 오래된 주문부터 재고 배정
+
+        I_OrderBatchApprover.Result result = orderBatchApprover.approve(pendings);
+
+        if (!result.rejectedIds().isEmpty()) {
+            orderRepository.disableAutoApprove(result.rejectedIds(), LocalDateTime.now());
+            Set<Long> rejectedSet = new HashSet<>(result.rejectedIds());
+            for (OrderResponse.BatchFailure f : result.failures()) {
+                if (rejectedSet.contains(f.orderId()))
+                    eventPublisher.publishEvent(I_OrderLogEvent.autoApproveRejected(f.orderId(), f.reason()));
+            }
+        }
+
+        approved.increment(result.approvedIds().size());
+        rejected.increment(result.rejectedIds().size());
+        conflicts.increment(result.failures().size() - result.rejectedIds().size());
+        return ids.size();
+    }
+
+    private List<Long> claim(int workerIndex) {
+        if (claimMode == OrderClaimMode.SKIP_LOCKED) {
+            return orderRepository.claimAutoApprovableSkipLocked(batchSize);
+        }
+
+        // GUARDED_UPDATE: 앞쪽 후보 (batch-size x workers) 를 같은 서버의 작업자끼리 번갈아 나누어 가짐
+        List<Long> candidates = orderRepository.findAutoApprovableIds(OrderStatus.PENDING, PageRequest.of(0, batchSize * workers));
+        List<Long> mine = new ArrayList<>(batchSize);
+        for (int i = workerIndex; i < candidates.size() && mine.size() < batchSize; i += workers) {
+            mine.add(candidates.get(i));
+        }
+        return mine;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.common.enums.StockMovementReason;
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderResponse;
+import com.example.k5_iot_springboot.entity.I_Order;
+import com.example.k5_iot_springboot.entity.I_Stock;
+import com.example.k5_iot_springboot.repository.I_OrderRepository;
+import com.example.k5_iot_springboot.repository.I_StockRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * === I_OrderBatchApprover ===
+ * : PENDING 주문 여러 건을 한 트랜잭션에서 승인 (재고 확인 & 차감)
+ * - 일괄 승인 API(I_OrderServiceImpl.approveBatch)와 자동 승인 작업자(I_OrderAutoApprover)가 함께 사용
+ *
+ * [ 순서 ]
+ * 1) 아직 PENDING 인 주문 행을 한 번에 잠금 (SELECT ... IN (...) FOR UPDATE, 주문 ID 오름차순)
+ *      - 단건 승인과 같은 "주문 행 -> 재고" 잠금 순서
+ *      - 조회 이후 다른 요청이 먼저 승인/취소한 주문은 제외 (재고 차감 대상에서 빠짐)
+ * 2) 재고 확인 & 차감 - 재고가 모자란 주문만 실패 처리하고 나머지는 계속 승인 (실패한 주문은 PENDING 그대로)
+ * 3) 승인된 주문만 PENDING -> APPROVED 일괄 전이 (UPDATE 1회) + 재고 이동 원장 / 일별 매출 집계 반영 (각각 batch 1회)
+ *
+ * cf) 호출하는 쪽의 트랜잭션에 참여 (MANDATORY)
+ * cf) 전달받은 엔티티의 상태는 PENDING 그대로 두고 사용하지 않음 (벌크 UPDATE와 dirty checking 충돌 방지)
+ * */
+@Component
+@RequiredArgsConstructor
+public class I_OrderBatchApprover {
+    private final I_OrderRepository orderRepository;
+    private final I_StockRepository stockRepository;
+    private final I_StockMutator stockMutator;
+    private final I_SalesAggregator salesAggregator;
+    private final I_StockMovementRecorder stockMovementRecorder;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * @param approvedIds 승인된 주문 ID
+     * @param failures 승인하지 못한 주문과 사유
+     * @param rejectedIds failures 중 재고 부족 등 "주문 자체"의 이유로 실패한 주문 ID (동시 변경으로 빠진 주문 제외)
+     * */
+    public record Result(List<Long> approvedIds, List<OrderResponse.BatchFailure> failures, List<Long> rejectedIds) {}
+
+    /** @param pendings 주문 ID 오름차순, 항목이 로딩된 PENDING 주문 */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Result approve(List<I_Order> pendings) {
+        List<I_Order> approvedOrders = new ArrayList<>();
+        List<OrderResponse.BatchFailure> failures = new ArrayList<>();
+        List<Long> rejectedIds = new ArrayList<>();
+
+        // 1) PENDING 주문 행 일괄 잠금 - 잠금을 얻은 주문만 재고 차감 대상
+        Set<Long> lockedIds = pendings.isEmpty()
+                ? Set.of()
+                : new HashSet<>(orderRepository.lockPendingIds(pendings.stream().map(I_Order::getId).toList()));
+        List<I_Order> claimed = new ArrayList<>();
+        for (I_Order order : pendings) {
+            if (lockedIds.contains(order.getId())) {
+                claimed.add(order);
+            } else {
+                failures.add(new OrderResponse.BatchFailure(order.getId(), "다른 요청에서 이미 상태가 변경된 주문입니다."));
+            }
+        }
+
+        // 재고가 stocks 행 하나에 있지 않은 모드(SHARDED/LEDGER) - 주문 단위로 차감, 실패 시 해당 주문에서 차감한 수량만 되돌림
+        if (!stockMutator.usesStockRow()) {
+            for (I_Order order : claimed) {
+                String reason = decreaseOrCompensate(order.quantitiesByProduct());
+                if (reason != null) {
+                    reject(order.getId(), reason, failures, rejectedIds);
+                    continue;
+                }
+                approved(order, approvedOrders);
+            }
+            return result(approvedOrders, failures, rejectedIds);
+        }
+
+        // 2) 관련된 모든 상품의 재고 행을 product_id 오름차순으로 한 번에 잠금 (SELECT ... IN (...) FOR UPDATE)
+        Set<Long> productIds = new TreeSet<>();
+        claimed.forEach(o -> o.getItems().forEach(item -> productIds.add(item.getProduct().getId())));
+
+        Map<Long, I_Stock> stockMap = new HashMap<>();
+        if (!productIds.isEmpty()) {
+            for (I_Stock s : stockRepository.findAllByProductIdInForUpdate(productIds)) stockMap.put(s.getProduct().getId(), s);
+        }
+
+        // 3) 주문 순서대로 (메모리 상의 잔여 재고 기준) 확인 & 차감
+        //      - 변경된 재고는 flush 시점에 JDBC batch로 한 번에 UPDATE
+        for (I_Order order : claimed) {
+            Map<Long, Integer> needMap = order.quantitiesByProduct();
+
+            String reason = null;
+            for (Map.Entry<Long, Integer> e : needMap.entrySet()) {
+                I_Stock stock = stockMap.get(e.getKey());
+                if (stock == null) {
+                    reason = "재고 정보가 없습니다. productId=" + e.getKey();
+                    break;
+                }
+                if (stock.getQuantity() < e.getValue()) {
+                    reason = "재고 부족: productId=%d, 필요=%d, 보유=%d".formatted(e.getKey(), e.getValue(), stock.getQuantity());
+                    break;
+                }
+            }
+
+            if (reason != null) {
+                reject(order.getId(), reason, failures, rejectedIds);
+                continue;
+            }
+
+            needMap.forEach((productId, need) -> {
+                I_Stock stock = stockMap.get(productId);
+                stock.setQuantity(stock.getQuantity() - need);
+            });
+            approved(order, approvedOrders);
+        }
+
+        return result(approvedOrders, failures, rejectedIds);
+    }
+
+    // 주문 하나의 재고 차감 - 실패 시 이미 차감한 상품을 복원하고 실패 사유 반환 (성공 시 null)
+    private String decreaseOrCompensate(Map<Long, Integer> needMap) {
+        Map<Long, Integer> decreased = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<Long, Integer> e : needMap.entrySet()) {
+                stockMutator.decrease(e.getKey(), e.getValue());
+                decreased.put(e.getKey(), e.getValue());
+            }
+            return null;
+        } catch (IllegalArgumentException | EntityNotFoundException e) {
+            decreased.forEach(stockMutator::increase);
+            return e.getMessage();
+        }
+    }
+
+    private void approved(I_Order order, List<I_Order> approvedOrders) {
+        stockMovementRecorder.recordOrder(StockMovementReason.ORDER_APPROVE, order.getId(), order.quantitiesByProduct(), -1);
+        eventPublisher.publishEvent(I_OrderLogEvent.statusChanged(order.getId(), OrderStatus.PENDING, OrderStatus.APPROVED));
+        approvedOrders.add(order);
+    }
+
+    // 승인된 주문 상태 일괄 전이 (UPDATE 1회) + 매출 집계 반영 + 결과 조립
+    // - 주문 행은 1)에서 잠근 상태이므로 승인된 주문은 모두 PENDING 그대로 (조건 불일치 없음)
+    private Result result(List<I_Order> approvedOrders, List<OrderResponse.BatchFailure> failures, List<Long> rejectedIds) {
+        List<Long> approvedIds = approvedOrders.stream().map(I_Order::getId).toList();
+        if (!approvedIds.isEmpty()) {
+            orderRepository.updateStatusIn(approvedIds, OrderStatus.PENDING, OrderStatus.APPROVED, LocalDateTime.now());
+        }
+        salesAggregator.approved(approvedOrders);
+        return new Result(approvedIds, failures, rejectedIds);
+    }
+
+    // 재고 부족 등으로 승인하지 못한 주문 - 상태는 PENDING 그대로 (전이 전이므로 되돌릴 UPDATE 없음)
+    private void reject(Long orderId, String reason, List<OrderResponse.BatchFailure> failures, List<Long> rejectedIds) {
+        failures.add(new OrderResponse.BatchFailure(orderId, reason));
+        rejectedIds.add(orderId);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.common.enums.OrderClaimMode;
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.repository.I_OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * === I_OrderExpiryScheduler ===
+ * : 일정 시간(order.expiry.pending-ttl-minutes) 동안 승인되지 않은 PENDING 주문을 자동 취소
+ * - 기본값 0: 사용 안 함 (켜면 기동 시 TTL 이 지난 기존 PENDING 주문(승인 대기 포함)도 모두 취소되므로 명시적으로 설정)
+ *
+ * [ 동작 ]
+ * 1) 기동 시 PENDING 주문을 ID 순으로 나누어 읽어 타이밍 휠에 등록 (만료 시각 = 생성 시각 + TTL)
+ * 2) 주문 생성 시 커밋 후 휠에 등록 (I_OrderServiceImpl.create)
+ * 3) tick 마다 휠을 진행하여 만료된 주문만 batch-size 단위로 취소
+ *      - 주기적으로 orders 전체를 조회하지 않음 (만료된 주문 ID만 DB에 전달)
+ *      - 주문 선점 방식(claim-mode, 자동 승인과 같은 OrderClaimMode)
+ *          - SKIP_LOCKED: SELECT ... FOR UPDATE SKIP LOCKED 로 잠근 PENDING 주문만 UPDATE 1회로 CANCELLED 변경
+ *              >> 다른 트랜잭션이 잠근 PENDING 주문은 잠시 후 다시 시도
+ *          - GUARDED_UPDATE: 잠금 없이 PENDING 후보 조회 >> 주문별 조건부 UPDATE(PENDING -> CANCELLED) 에서 이긴 주문만 처리
+ *              (SKIP LOCKED 미지원 DB(H2, MySQL 5.7)용 - 다른 트랜잭션이 잠근 행은 기다림)
+ *          >> 어느 방식이든 여러 서버가 같은 주문을 가지고 있어도 한 서버만 만료 처리 + 로그 기록
+ *      - 이미 승인/취소된 주문은 제외
+ * 4) 보정(sweep): 다른 서버에서 생성된 뒤 그 서버가 종료되어 어느 휠에도 없는 주문을 위해
+ *      sweep-interval-ms 마다 "만료 시각이 지난 PENDING 주문"만 상태 인덱스로 조회하여 취소
+ *
+ * cf) PENDING 주문은 재고를 차감하지 않으므로 만료 시 재고 복원 없음
+ * */
+@Slf4j
+@Component
+public class I_OrderExpiryScheduler {
+    private static final long RETRY_DELAY_MS = 5_000;
+
+    private final I_OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Duration ttl;
+    private final int batchSize;
+    private final OrderClaimMode claimMode;
+    private final HierarchicalTimingWheel<Long> wheel;
+
+    public I_OrderExpiryScheduler(
+            I_OrderRepository orderRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${order.expiry.pending-ttl-minutes:0}") long ttlMinutes,
+            @Value("${order.expiry.tick-ms:1000}") long tickMs,
+            @Value("${order.expiry.wheel-size:60}") int wheelSize,
+            @Value("${order.expiry.batch-size:500}") int batchSize,
+            @Value("${order.expiry.claim-mode:${order.auto-approve.claim-mode:SKIP_LOCKED}}") OrderClaimMode claimMode
+    ) {
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.ttl = ttlMinutes > 0 ? Duration.ofMinutes(ttlMinutes) : null; // 0 이하: 자동 만료 사용 안 함
+        this.batchSize = Math.max(batchSize, 1);
+        this.claimMode = claimMode;
+        this.wheel = new HierarchicalTimingWheel<>(Math.max(tickMs, 1), Math.max(wheelSize, 2), System.currentTimeMillis());
+    }
+
+    /** 새 PENDING 주문 등록 - 트랜잭션 안이면 커밋 후 등록 (롤백된 주문은 등록하지 않음) */
+    public void register(Long orderId, LocalDateTime createdAt) {
+        if (ttl == null) return;
+        long deadline = deadlineOf(createdAt);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wheel.schedule(orderId, deadline);
+                }
+            });
+        } else {
+            wheel.schedule(orderId, deadline);
+        }
+    }
+
+    /** 기동 시 PENDING 주문 적재 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (ttl == null) return;
+        int loaded = forEachPending(null, o -> wheel.schedule(o.getId(), deadlineOf(o.getCreatedAt())));
+        log.info("Order expiry wheel loaded: pending={}, ttl={}", loaded, ttl);
+    }
+
+    /** 휠 진행 + 만료된 주문 취소 */
+    @Scheduled(fixedDelayString = "${order.expiry.tick-ms:1000}")
+    public void tick() {
+        if (ttl == null) return;
+        List<Long> expired = wheel.advance(System.currentTimeMillis());
+        if (!expired.isEmpty()) expire(expired);
+    }
+
+    /** 어느 서버의 휠에도 없는 만료 주문 보정 */
+    @Scheduled(fixedDelayString = "${order.expiry.sweep-interval-ms:600000}",
+            initialDelayString = "${order.expiry.sweep-interval-ms:600000}")
+    public void sweep() {
+        if (ttl == null) return;
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+
+        List<Long> overdue = new ArrayList<>();
+        forEachPending(cutoff, o -> {
+            overdue.add(o.getId());
+            if (overdue.size() == batchSize) {
+                expire(overdue);
+                overdue.clear();
+            }
+        });
+        if (!overdue.isEmpty()) expire(overdue);
+    }
+
+    private void expire(List<Long> orderIds) {
+        for (int from = 0; from < orderIds.size(); from += batchSize) {
+            List<Long> chunk = orderIds.subList(from, Math.min(from + batchSize, orderIds.size()));
+            Integer count = transactionTemplate.execute(status -> expireBatch(chunk));
+            if (count != null && count > 0) log.info("Expired pending orders: {}", count);
+        }
+    }
+
+    private int expireBatch(List<Long> orderIds) {
+        if (claimMode == OrderClaimMode.GUARDED_UPDATE) return expireBatchGuarded(orderIds);
+
+        List<Long> locked = orderRepository.lockPendingIdsSkipLocked(orderIds);
+
+        // 잠그지 못한 주문 중 아직 PENDING 인 주문 (다른 트랜잭션이 처리 중) - 잠시 후 다시 확인
+        if (locked.size() < orderIds.size()) {
+            Set<Long> lockedSet = new HashSet<>(locked);
+            List<Long> others = orderIds.stream().filter(id -> !lockedSet.contains(id)).toList();
+            long retryAt = System.currentTimeMillis() + RETRY_DELAY_MS;
+            orderRepository.findIdsByIdInAndStatus(others, OrderStatus.PENDING)
+                    .forEach(id -> wheel.schedule(id, retryAt));
+        }
+        if (locked.isEmpty()) return 0;
+
+        // 잠근 행은 모두 PENDING - UPDATE 1회로 취소하고 주문별 로그 이벤트 발행 (커밋 후 일괄 INSERT)
+        orderRepository.updateStatusIn(locked, OrderStatus.PENDING, OrderStatus.CANCELLED, LocalDateTime.now());
+        locked.forEach(id -> eventPublisher.publishEvent(I_OrderLogEvent.expired(id)));
+        return locked.size();
+    }
+
+    // GUARDED_UPDATE: 행 잠금 없이 후보 조회 >> 주문별 조건부 UPDATE 로 이긴 주문만 로그 기록
+    private int expireBatchGuarded(List<Long> orderIds) {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = 0;
+        for (Long id : orderRepository.findIdsByIdInAndStatus(orderIds, OrderStatus.PENDING)) {
+            if (orderRepository.updateStatusIf(id, OrderStatus.PENDING, OrderStatus.CANCELLED, now) == 1) {
+                eventPublisher.publishEvent(I_OrderLogEvent.expired(id));
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    // 상태 인덱스 keyset 조회로 PENDING 주문 순회 - 처리한 건수 반환
+    private int forEachPending(LocalDateTime createdBefore, Consumer<I_OrderRepository.PendingOrder> action) {
+        int count = 0;
+        long afterId = 0L;
+        while (true) {
+            long cursor = afterId;
+            List<I_OrderRepository.PendingOrder> page = transactionTemplate.execute(status ->
+                    orderRepository.findIdsByStatusAfter(OrderStatus.PENDING, cursor, createdBefore, PageRequest.of(0, batchSize)));
+            if (page == null || page.isEmpty()) return count;
+
+            page.forEach(action);
+            count += page.size();
+            afterId = page.get(page.size() - 1).getId();
+            if (page.size() < batchSize) return count;
+        }
+    }
+
+    // 생성 시각(UTC) + TTL >> epoch ms
+    private long deadlineOf(LocalDateTime createdAt) {
+        return createdAt.plus(ttl).toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
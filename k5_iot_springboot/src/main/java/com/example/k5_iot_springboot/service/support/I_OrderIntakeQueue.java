@@ -0,0 +1,294 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.common.enums.OrderTicketStatus;
+import com.example.k5_iot_springboot.common.id.SnowflakeIds;
+import com.example.k5_iot_springboot.entity.I_Order;
+import com.example.k5_iot_springboot.entity.I_Product;
+import com.example.k5_iot_springboot.repository.I_OrderRepository;
+import com.example.k5_iot_springboot.repository.I_OrderTicketRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * === I_OrderIntakeQueue ===
+ * : 비동기 주문 접수 - 요청 스레드는 검증 후 대기열에 넣고 바로 티켓 ID 반환 (202 Accepted)
+ *
+ * [ 동작 ]
+ * 1) accept: 제한된 크기의 대기열에 offer (기다리지 않음)
+ *      - 가득 차면 RejectedExecutionException >> 503 (요청 스레드/커넥션 풀이 밀린 요청에 묶이지 않음)
+ * 2) 작업자(workers 개)가 batch-size 단위로 꺼내 한 트랜잭션에서 저장
+ *      - 배치 전체 상품을 IN 1회로 조회 >> 주문 saveAll (Snowflake ID + JDBC batch INSERT)
+ *      - 없는 상품이 있는 요청은 해당 티켓만 실패 처리
+ *      - 배치 트랜잭션이 실패하면 요청을 하나씩 다시 저장하여 실패한 요청만 골라냄
+ * 3) 결과(성공: 주문 ID / 실패: 사유)는 order_tickets 에 같은 트랜잭션으로 기록 + 커밋 후 메모리 갱신
+ *
+ * [ 티켓 조회 ] 메모리 >> order_tickets 순서
+ * - 대기 중(QUEUED)인 티켓은 접수한 서버의 메모리에만 존재
+ * - 메모리 결과는 ticket-ttl-minutes 후 정리, order_tickets 는 retention-hours 후 삭제
+ *
+ * cf) 서버가 종료되면 대기열에 남은 요청은 처리되지 않음 (종료 시 대기 중인 배치는 끝까지 저장 시도)
+ * */
+@Slf4j
+@Component
+public class I_OrderIntakeQueue {
+    private static final String INSERT_TICKET_SQL =
+            "INSERT INTO order_tickets (id, user_id, status, order_id, failure_reason, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_REASON_LENGTH = 255;
+
+    /** 티켓 상태 (메모리) */
+    public record Ticket(Long ticketId, Long userId, OrderTicketStatus status, Long orderId, String failureReason) {}
+
+    private record Intake(Long ticketId, Long userId, Map<Long, Integer> quantityMap) {}
+
+    private record Outcome(Intake intake, Long orderId, String failureReason) {
+        OrderTicketStatus status() {
+            return orderId != null ? OrderTicketStatus.SUCCEEDED : OrderTicketStatus.FAILED;
+        }
+    }
+
+    private record Entry(Ticket ticket, long expiresAtMs) {}
+
+    private final I_OrderRepository orderRepository;
+    private final I_OrderTicketRepository orderTicketRepository;
+    private final I_OrderAssembler orderAssembler;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int workers;
+    private final int batchSize;
+    private final long ticketTtlMs;
+    private final long retentionHours;
+
+    private final BlockingQueue<Intake> queue;
+    private final ConcurrentHashMap<Long, Entry> tickets = new ConcurrentHashMap<>();
+    private final Counter accepted;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private ExecutorService executor;
+
+    public I_OrderIntakeQueue(
+            I_OrderRepository orderRepository,
+            I_OrderTicketRepository orderTicketRepository,
+            I_OrderAssembler orderAssembler,
+            TransactionTemplate transactionTemplate,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${order.intake.queue-capacity:10000}") int capacity,
+            @Value("${order.intake.workers:2}") int workers,
+            @Value("${order.intake.batch-size:100}") int batchSize,
+            @Value("${order.intake.ticket-ttl-minutes:10}") long ticketTtlMinutes,
+            @Value("${order.intake.ticket-retention-hours:24}") long retentionHours
+    ) {
+        this.orderRepository = orderRepository;
+        this.orderTicketRepository = orderTicketRepository;
+        this.orderAssembler = orderAssembler;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.workers = Math.max(workers, 1);
+        this.batchSize = Math.max(batchSize, 1);
+        this.ticketTtlMs = TimeUnit.MINUTES.toMillis(Math.max(ticketTtlMinutes, 1));
+        this.retentionHours = Math.max(retentionHours, 1);
+        this.queue = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+
+        this.accepted = meterRegistry.counter("order.intake.accepted");
+        this.rejected = meterRegistry.counter("order.intake.rejected");
+        meterRegistry.gauge("order.intake.queue-depth", queue, BlockingQueue::size);
+    }
+
+    /** 접수 - 티켓 ID 반환, 대기열이 가득 차면 RejectedExecutionException */
+    public Ticket accept(Long userId, Map<Long, Integer> quantityMap) {
+        if (!running) throw new RejectedExecutionException("주문 접수를 시작하지 않았거나 종료 중입니다.");
+
+        Long ticketId = SnowflakeIds.next();
+        Ticket ticket = new Ticket(ticketId, userId, OrderTicketStatus.QUEUED, null, null);
+        tickets.put(ticketId, new Entry(ticket, Long.MAX_VALUE)); // 처리 전에는 만료되지 않음
+
+        if (!queue.offer(new Intake(ticketId, userId, quantityMap))) {
+            tickets.remove(ticketId);
+            rejected.increment();
+            throw new RejectedExecutionException("주문 접수 대기열이 가득 찼습니다.");
+        }
+        accepted.increment();
+        return ticket;
+    }
+
+    /** 티켓 조회 (메모리 >> order_tickets) */
+    public Optional<Ticket> find(Long ticketId) {
+        Entry entry = tickets.get(ticketId);
+        if (entry != null) return Optional.of(entry.ticket());
+
+        return orderTicketRepository.findById(ticketId)
+                .map(t -> new Ticket(t.getId(), t.getUserId(), t.getStatus(), t.getOrderId(), t.getFailureReason()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        AtomicInteger seq = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "order-intake-" + seq.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+        running = true;
+        for (int i = 0; i < workers; i++) executor.submit(this::loop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (executor == null) return;
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        if (!queue.isEmpty()) log.warn("Order intake stopped with {} queued requests", queue.size());
+    }
+
+    /** 만료된 메모리 티켓 + 보관 기간이 지난 order_tickets 정리 */
+    @Scheduled(fixedDelayString = "${order.intake.purge-interval-ms:60000}")
+    public void purge() {
+        long now = System.currentTimeMillis();
+        tickets.values().removeIf(e -> e.expiresAtMs() <= now);
+        transactionTemplate.executeWithoutResult(status ->
+                orderTicketRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours)));
+    }
+
+    private void loop() {
+        List<Intake> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Intake first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                persist(batch);
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) persist(batch); // 꺼낸 요청은 끝까지 처리 (인터럽트 플래그 복원 전 - 커넥션 획득 실패 방지)
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Order intake batch failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void persist(List<Intake> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistBatch(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+                return;
+            }
+            // 배치 중 하나가 전체를 실패시킨 경우 - 하나씩 다시 저장하여 해당 요청만 실패 처리
+            log.warn("Order intake batch rolled back, retrying one by one: size={}, cause={}", batch.size(), e.getMessage());
+            for (Intake intake : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persistBatch(List.of(intake)));
+                } catch (RuntimeException ex) {
+                    fail(intake, ex);
+                }
+            }
+        }
+    }
+
+    // 한 트랜잭션에서 배치 저장 + 티켓 결과 기록
+    private void persistBatch(List<Intake> batch) {
+        Set<Long> productIds = new HashSet<>();
+        batch.forEach(i -> productIds.addAll(i.quantityMap().keySet()));
+
+        Map<Long, I_Product> productMap = orderAssembler.loadExisting(productIds);
+
+        List<Outcome> outcomes = new ArrayList<>(batch.size());
+        List<I_Order> orders = new ArrayList<>();
+        List<Intake> orderIntakes = new ArrayList<>();
+        for (Intake intake : batch) {
+            List<Long> missingIds = orderAssembler.missingProducts(intake.quantityMap().keySet(), productMap);
+            if (!missingIds.isEmpty()) {
+                outcomes.add(new Outcome(intake, null, "상품을 찾을 수 없습니다. ids=" + missingIds));
+                continue;
+            }
+            try {
+                orders.add(orderAssembler.assemble(intake.userId(), intake.quantityMap(), productMap));
+                orderIntakes.add(intake);
+            } catch (IllegalArgumentException e) { // 금액 범위 초과 등 요청 자체의 오류
+                outcomes.add(new Outcome(intake, null, e.getMessage()));
+            }
+        }
+
+        List<I_Order> saved = orderRepository.saveAll(orders);
+        for (int i = 0; i < saved.size(); i++) {
+            orderAssembler.created(saved.get(i));
+            outcomes.add(new Outcome(orderIntakes.get(i), saved.get(i).getId(), null));
+        }
+
+        record(outcomes);
+    }
+
+    // 저장 자체가 실패한 요청 - 별도 트랜잭션으로 실패 기록
+    private void fail(Intake intake, RuntimeException cause) {
+        log.warn("Order intake failed: ticketId={}, cause={}", intake.ticketId(), cause.getMessage());
+        String reason = cause.getMessage() != null ? cause.getMessage() : "주문을 저장하지 못했습니다.";
+        try {
+            transactionTemplate.executeWithoutResult(status -> record(List.of(new Outcome(intake, null, reason))));
+        } catch (RuntimeException e) {
+            // 기록도 실패하면 메모리에만 남김
+            complete(List.of(new Outcome(intake, null, reason)));
+        }
+    }
+
+    // order_tickets JDBC batch INSERT + 커밋 후 메모리 티켓 갱신
+    private void record(List<Outcome> outcomes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_TICKET_SQL, outcomes, outcomes.size(), (ps, o) -> {
+            ps.setLong(1, o.intake().ticketId());
+            ps.setLong(2, o.intake().userId());
+            ps.setString(3, o.status().name());
+            if (o.orderId() != null) ps.setLong(4, o.orderId()); else ps.setNull(4, Types.BIGINT);
+            ps.setString(5, truncate(o.failureReason()));
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                complete(outcomes);
+            }
+        });
+    }
+
+    private void complete(List<Outcome> outcomes) {
+        long expiresAt = System.currentTimeMillis() + ticketTtlMs;
+        for (Outcome o : outcomes) {
+            Intake in = o.intake();
+            tickets.put(in.ticketId(), new Entry(
+                    new Ticket(in.ticketId(), in.userId(), o.status(), o.orderId(), truncate(o.failureReason())),
+                    expiresAt));
+        }
+    }
+
+    private String truncate(String s) {
+        return (s == null || s.length() <= MAX_REASON_LENGTH) ? s : s.substring(0, MAX_REASON_LENGTH);
+    }
+}
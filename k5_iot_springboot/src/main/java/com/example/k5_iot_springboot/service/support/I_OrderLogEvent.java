@@ -0,0 +1,31 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 로그 이벤트 (주문 생성 / 상태 변경)
+ * - 서비스 트랜잭션 안에서 발행 >> 커밋된 경우에만 I_OrderLogWriter가 order_logs 에 기록
+ * */
+public record I_OrderLogEvent(
+        Long orderId,
+        String message,
+        LocalDateTime createdAt // UTC
+) {
+    public static I_OrderLogEvent created(Long orderId) {
+        return new I_OrderLogEvent(orderId, "주문이 생성되었습니다. 주문ID: " + orderId, LocalDateTime.now());
+    }
+
+    public static I_OrderLogEvent statusChanged(Long orderId, OrderStatus from, OrderStatus to) {
+        return new I_OrderLogEvent(orderId, "주문 상태가 " + from + " -> " + to + "로 변경되었습니다.", LocalDateTime.now());
+    }
+
+    public static I_OrderLogEvent expired(Long orderId) {
+        return new I_OrderLogEvent(orderId, "미승인 주문이 만료되어 PENDING -> CANCELLED로 변경되었습니다.", LocalDateTime.now());
+    }
+
+    public static I_OrderLogEvent autoApproveRejected(Long orderId, String reason) {
+        return new I_OrderLogEvent(orderId, "자동 승인에 실패하여 수동 승인 대기로 전환되었습니다. 사유: " + reason, LocalDateTime.now());
+    }
+}
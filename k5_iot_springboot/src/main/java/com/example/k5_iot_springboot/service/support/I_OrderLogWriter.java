@@ -0,0 +1,51 @@
+package com.example.k5_iot_springboot.service.support;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * === I_OrderLogWriter ===
+ * : 주문 로그(order_logs) 비동기 일괄 기록
+ * - 기존 DB 트리거(trg_after_order_insert / trg_after_order_status_update)를 대체
+ * - AFTER_COMMIT 리스너: 롤백된 트랜잭션의 이벤트는 전달되지 않음 >> 실제로 반영된 변경만 기록
+ * - 주문 처리 트랜잭션은 로그 INSERT를 기다리지 않음 (큐에 넣고 바로 반환)
+ * */
+@Component
+public class I_OrderLogWriter extends AsyncBatchWriter<I_OrderLogEvent> {
+    private static final String INSERT_SQL =
+            "INSERT INTO order_logs (order_id, message, created_at, updated_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public I_OrderLogWriter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${order-log.queue-capacity:10000}") int capacity,
+            @Value("${order-log.batch-size:200}") int batchSize,
+            @Value("${order-log.max-wait-ms:50}") long maxWaitMs
+    ) {
+        super("order-log-writer", capacity, batchSize, maxWaitMs);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void on(I_OrderLogEvent event) {
+        enqueue(event);
+    }
+
+    @Override
+    protected void writeBatch(List<I_OrderLogEvent> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, e) -> {
+            Timestamp at = Timestamp.valueOf(e.createdAt());
+            ps.setLong(1, e.orderId());
+            ps.setString(2, e.message());
+            ps.setTimestamp(3, at);
+            ps.setTimestamp(4, at);
+        });
+    }
+}
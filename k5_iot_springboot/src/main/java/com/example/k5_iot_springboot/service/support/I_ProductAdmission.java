@@ -0,0 +1,147 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.common.errors.AdmissionRejectedException;
+import com.example.k5_iot_springboot.entity.I_ProductAdmissionRule;
+import com.example.k5_iot_springboot.repository.I_ProductAdmissionRuleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * === I_ProductAdmission ===
+ * : 상품별 주문 유입 제한 (주문 생성/승인 앞단) - 인기 상품 하나에 요청이 몰려도 다른 API가 밀리지 않도록
+ *
+ * [ 배경 ]
+ * - 한 상품에 주문/승인이 몰리면 같은 재고 행(findByProductIdForUpdate)의 잠금 대기가 길어지고
+ *   잠금을 기다리는 트랜잭션이 Hikari 커넥션을 붙잡아 상관없는 API까지 커넥션을 얻지 못함
+ * >> 트랜잭션 시작 전(커넥션 획득 전)에 상품별 토큰 버킷으로 유입량 제한
+ *
+ * [ 동작 ]
+ * - 규칙(product_admission_rules)이 있는 상품만 제한, 없는 상품은 그대로 통과
+ * - 허용 속도 이내: 즉시 통과 (admitted)
+ * - 초과 + max-wait-ms 안에 토큰을 받을 수 있음: 그만큼 요청 스레드에서 기다린 뒤 통과 (queued)
+ * - 그 이상: 즉시 거절 >> 429 + Retry-After (rejected)
+ * - 여러 상품이 담긴 주문은 모든 상품의 토큰을 예약해야 통과 (하나라도 실패하면 예약한 토큰 반환)
+ *
+ * [ 메트릭 ] order.admission{productId, outcome=admitted|queued|rejected}
+ *
+ * cf) 규칙은 refresh-ms 마다 DB에서 다시 읽음 (다른 서버에서 변경한 규칙 반영), 허용 속도는 서버별 적용
+ * */
+@Slf4j
+@Component
+public class I_ProductAdmission {
+    /** 상품 1개의 규칙 + 버킷 + 메트릭 */
+    public record Limiter(Long productId, int ratePerSecond, int burst, int maxWaitMs, TokenBucket bucket,
+                          Counter admitted, Counter queued, Counter rejected) {
+        boolean sameConfig(I_ProductAdmissionRule r) {
+            return ratePerSecond == r.getRatePerSecond() && burst == r.getBurst() && maxWaitMs == r.getMaxWaitMs();
+        }
+    }
+
+    private final I_ProductAdmissionRuleRepository ruleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<Long, Limiter> limiters = new ConcurrentHashMap<>();
+
+    public I_ProductAdmission(
+            I_ProductAdmissionRuleRepository ruleRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.ruleRepository = ruleRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 상품들의 유입 허용 (트랜잭션 밖에서 호출)
+     * - 필요하면 최대 max-wait-ms 동안 대기, 허용할 수 없으면 AdmissionRejectedException
+     * */
+    public void admit(Collection<Long> productIds) {
+        if (limiters.isEmpty()) return;
+
+        List<Limiter> reserved = new ArrayList<>();
+        long waitNanos = 0;
+        for (Long productId : new TreeSet<>(productIds)) {
+            Limiter limiter = limiters.get(productId);
+            if (limiter == null) continue;
+
+            long wait = limiter.bucket().reserve(TimeUnit.MILLISECONDS.toNanos(limiter.maxWaitMs()));
+            if (wait < 0) {
+                reserved.forEach(l -> l.bucket().refund());
+                limiter.rejected().increment();
+                long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(limiter.bucket().nanosUntilAvailable()) + 1);
+                throw new AdmissionRejectedException(
+                        "주문이 몰려 잠시 처리할 수 없는 상품입니다. 잠시 후 다시 시도해주세요. productId=" + productId, retryAfter);
+            }
+            reserved.add(limiter);
+            waitNanos = Math.max(waitNanos, wait); // 각 상품의 대기는 동시에 흐르므로 가장 긴 대기만큼만 기다림
+        }
+        if (reserved.isEmpty()) return;
+
+        if (waitNanos > 0) {
+            reserved.forEach(l -> l.queued().increment());
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reserved.forEach(l -> l.bucket().refund());
+                throw new AdmissionRejectedException("요청 대기 중 중단되었습니다.", 1);
+            }
+        } else {
+            reserved.forEach(l -> l.admitted().increment());
+        }
+    }
+
+    /** 현재 적용 중인 규칙 (productId 오름차순) */
+    public List<Limiter> limiters() {
+        return limiters.values().stream()
+                .sorted(Comparator.comparing(Limiter::productId))
+                .toList();
+    }
+
+    /** 규칙 적용 (설정이 같으면 기존 버킷 유지) */
+    public void apply(I_ProductAdmissionRule rule) {
+        limiters.compute(rule.getProductId(), (id, current) ->
+                (current != null && current.sameConfig(rule)) ? current : newLimiter(rule));
+    }
+
+    public void remove(Long productId) {
+        limiters.remove(productId);
+    }
+
+    /** DB 규칙 다시 읽기 (기동 직후 1회 + refresh-ms 마다) */
+    @Scheduled(fixedDelayString = "${order.admission.refresh-ms:10000}")
+    public void refresh() {
+        List<I_ProductAdmissionRule> rules = transactionTemplate.execute(status -> ruleRepository.findAll());
+        if (rules == null) return;
+
+        Set<Long> ids = new HashSet<>();
+        for (I_ProductAdmissionRule rule : rules) {
+            apply(rule);
+            ids.add(rule.getProductId());
+        }
+        limiters.keySet().removeIf(id -> !ids.contains(id));
+    }
+
+    private Limiter newLimiter(I_ProductAdmissionRule rule) {
+        String productId = String.valueOf(rule.getProductId());
+        log.info("Product admission rule applied: productId={}, rate={}/s, burst={}, maxWaitMs={}",
+                productId, rule.getRatePerSecond(), rule.getBurst(), rule.getMaxWaitMs());
+        return new Limiter(
+                rule.getProductId(), rule.getRatePerSecond(), rule.getBurst(), rule.getMaxWaitMs(),
+                new TokenBucket(rule.getRatePerSecond(), rule.getBurst()),
+                meterRegistry.counter("order.admission", "productId", productId, "outcome", "admitted"),
+                meterRegistry.counter("order.admission", "productId", productId, "outcome", "queued"),
+                meterRegistry.counter("order.admission", "productId", productId, "outcome", "rejected")
+        );
+    }
+}
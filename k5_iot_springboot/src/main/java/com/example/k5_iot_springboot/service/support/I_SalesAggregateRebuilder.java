@@ -0,0 +1,119 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.common.utils.DateUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * === I_SalesAggregateRebuilder ===
+ * : daily_product_sales 를 orders/order_items 원본에서 다시 계산 (집계 누락/오류 복구용)
+ *
+ * [ 동작 ]
+ * - 기간을 판매일(KST) 하루 단위 파티션으로 나누어 parallelism 개 스레드로 동시에 처리
+ * - 파티션 1개 = 트랜잭션 1개: 해당 날짜 행 DELETE >> INSERT ... SELECT (APPROVED 주문, 생성 시각 범위, 상품별 GROUP BY)
+ *      - 날짜 범위 조건은 idx_orders_created_at 범위 스캔
+ * - 실행 중인 승인/취소와 잠금이 엇갈려 데드락이 나면 해당 파티션만 다시 시도 (최대 MAX_ATTEMPTS 회)
+ *
+ * cf) 파티션마다 커넥션 1개를 사용 - parallelism 은 커넥션 풀 크기보다 충분히 작게
+ * */
+@Slf4j
+@Component
+public class I_SalesAggregateRebuilder {
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String DELETE_SQL = "DELETE FROM daily_product_sales WHERE sales_date = ?";
+    private static final String INSERT_SQL = """
+            INSERT INTO daily_product_sales (sales_date, product_id, units, revenue, updated_at)
+            SELECT ?, oi.product_id, SUM(oi.quantity), SUM(oi.line_total), ?
+            FROM orders o
+                JOIN order_items oi ON oi.order_id = o.id
+            WHERE o.order_status = 'APPROVED'
+                AND o.created_at >= ? AND o.created_at < ?
+            GROUP BY oi.product_id
+            """;
+
+    /** @param days 처리한 날짜 수 @param rows 다시 만든 집계 행 수 */
+    public record Result(int days, int rows) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+
+    public I_SalesAggregateRebuilder(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${sales.rebuild.parallelism:4}") int parallelism
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(parallelism, 1), r -> {
+            Thread t = new Thread(r, "sales-rebuild-" + seq.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** from ~ to (KST 날짜, 양 끝 포함) 다시 계산 - 모든 파티션이 끝날 때까지 대기 */
+    public Result rebuild(LocalDate from, LocalDate to) {
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LocalDate partition = day;
+            futures.add(executor.submit(() -> rebuildDay(partition)));
+        }
+
+        int rows = 0;
+        try {
+            for (Future<Integer> f : futures) rows += f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("매출 집계 재계산이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+        }
+
+        log.info("Daily product sales rebuilt: {} ~ {}, days={}, rows={}", from, to, futures.size(), rows);
+        return new Result(futures.size(), rows);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private int rebuildDay(LocalDate day) {
+        Timestamp start = Timestamp.valueOf(DateUtils.kstDateStartUtc(day));
+        Timestamp end = Timestamp.valueOf(DateUtils.kstDateStartUtc(day.plusDays(1)));
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Integer rows = transactionTemplate.execute(status -> {
+                    jdbcTemplate.update(DELETE_SQL, Date.valueOf(day));
+                    return jdbcTemplate.update(INSERT_SQL,
+                            Date.valueOf(day), Timestamp.valueOf(LocalDateTime.now()), start, end);
+                });
+                return rows == null ? 0 : rows;
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) throw e;
+                log.warn("Sales rebuild partition conflict, retrying: day={}, attempt={}", day, attempt);
+            }
+        }
+    }
+}
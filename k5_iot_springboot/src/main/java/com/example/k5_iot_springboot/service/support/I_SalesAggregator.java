@@ -0,0 +1,84 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.common.utils.DateUtils;
+import com.example.k5_iot_springboot.entity.I_Order;
+import com.example.k5_iot_springboot.entity.I_OrderItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * === I_SalesAggregator ===
+ * : daily_product_sales 증분 반영 - 승인(+) / 승인 후 취소(-)
+ *
+ * - 판매일 = 주문 생성일(KST) >> 승인과 취소가 항상 같은 행을 증감 (승인/취소 날짜가 달라도 집계가 맞음)
+ * - 주문 여러 건을 (판매일, 상품) 단위로 합산 후 INSERT ... ON DUPLICATE KEY UPDATE 를 JDBC batch 1회로 실행
+ * - (판매일, 상품) 오름차순으로 실행하여 동시 승인 간 집계 행 잠금 순서를 고정
+ *
+ * cf) 호출하는 쪽의 트랜잭션에 참여 (MANDATORY) - 주문 상태 변경이 롤백되면 집계도 함께 롤백
+ * */
+@Component
+@RequiredArgsConstructor
+public class I_SalesAggregator {
+    private static final String UPSERT_SQL =
+            "INSERT INTO daily_product_sales (sales_date, product_id, units, revenue, updated_at) VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE units = units + VALUES(units), revenue = revenue + VALUES(revenue), updated_at = VALUES(updated_at)";
+
+    private record Key(LocalDate salesDate, Long productId) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key o) {
+            int c = salesDate.compareTo(o.salesDate);
+            return c != 0 ? c : productId.compareTo(o.productId);
+        }
+    }
+
+    private record Delta(Key key, long units, long revenue) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 승인된 주문 반영 (항목이 로딩된 주문) */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void approved(Collection<I_Order> orders) {
+        apply(orders, 1);
+    }
+
+    /** 승인 후 취소된 주문 반영 (항목이 로딩된 주문) */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void cancelled(Collection<I_Order> orders) {
+        apply(orders, -1);
+    }
+
+    private void apply(Collection<I_Order> orders, int sign) {
+        if (orders.isEmpty()) return;
+
+        Map<Key, long[]> sums = new TreeMap<>();
+        for (I_Order order : orders) {
+            LocalDate salesDate = DateUtils.toKstDate(order.getCreatedAt());
+            for (I_OrderItem item : order.getItems()) {
+                long[] sum = sums.computeIfAbsent(new Key(salesDate, item.getProduct().getId()), k -> new long[2]);
+                sum[0] += item.getQuantity();
+                sum[1] += item.getLineTotal();
+            }
+        }
+
+        List<Delta> deltas = new ArrayList<>(sums.size());
+        sums.forEach((key, sum) -> deltas.add(new Delta(key, sign * sum[0], sign * sum[1])));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, deltas, deltas.size(), (ps, d) -> {
+            ps.setDate(1, Date.valueOf(d.key().salesDate()));
+            ps.setLong(2, d.key().productId());
+            ps.setLong(3, d.units());
+            ps.setLong(4, d.revenue());
+            ps.setTimestamp(5, now);
+        });
+    }
+}
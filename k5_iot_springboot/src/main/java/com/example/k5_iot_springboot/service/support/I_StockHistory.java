@@ -0,0 +1,78 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.entity.I_StockMovement;
+import com.example.k5_iot_springboot.entity.I_StockSnapshot;
+import com.example.k5_iot_springboot.repository.I_StockMovementRepository;
+import com.example.k5_iot_springboot.repository.I_StockSnapshotRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * === I_StockHistory ===
+ * : 특정 시각의 재고 = 그 이전 가장 가까운 스냅샷 + 스냅샷 이후 ~ 해당 시각까지의 이동만 재생
+ * - 스냅샷은 주기적으로 생성되므로(I_StockSnapshotter) 재생 건수는 스냅샷 간격 동안의 이동 수로 제한
+ * - 보관 기간(stock.history.retention-days)보다 오래된 시각은 이동이 압축되어 있으므로 스냅샷 값만 반환 (exact = false)
+ * */
+@Component
+@RequiredArgsConstructor
+public class I_StockHistory {
+    private final I_StockMovementRepository movementRepository;
+    private final I_StockSnapshotRepository snapshotRepository;
+
+    @Value("${stock.history.retention-days:90}")
+    private long retentionDays;
+
+    /**
+     * @param quantity 해당 시각의 재고
+     * @param snapshotAt 재생 시작점 스냅샷 시각 (스냅샷 없이 처음부터 재생했으면 null)
+     * @param replayed 재생한 이동 수
+     * @param exact false: 압축된 구간이라 스냅샷 시각 기준 값
+     * */
+    public record PointInTime(int quantity, LocalDateTime snapshotAt, int replayed, boolean exact) {}
+
+    /** at(UTC) 시각의 재고 - 기록이 없으면 EntityNotFoundException */
+    public PointInTime quantityAt(Long productId, LocalDateTime at) {
+        I_StockSnapshot snapshot = snapshotRepository
+                .findFirstByProductIdAndSnapshotAtLessThanEqualOrderByLastMovementIdDesc(productId, at)
+                .orElse(null);
+
+        boolean compacted = retentionDays > 0 && at.isBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (compacted) {
+            if (snapshot == null) throw noHistory(productId, at);
+            return new PointInTime(snapshot.getQuantity(), snapshot.getSnapshotAt(), 0, false);
+        }
+
+        long afterId = snapshot == null ? 0L : snapshot.getLastMovementId();
+        List<I_StockMovement> movements = movementRepository.findReplay(productId, afterId, at);
+        if (snapshot == null && movements.isEmpty()) throw noHistory(productId, at);
+
+        int quantity = replay(snapshot == null ? 0 : snapshot.getQuantity(), movements);
+        return new PointInTime(quantity, snapshot == null ? null : snapshot.getSnapshotAt(), movements.size(), true);
+    }
+
+    /** lastMovementId 까지 반영한 재고 (스냅샷 생성용) */
+    public int quantityThrough(Long productId, Long lastMovementId) {
+        I_StockSnapshot snapshot = snapshotRepository.findLatestUpTo(productId, lastMovementId).orElse(null);
+        long afterId = snapshot == null ? 0L : snapshot.getLastMovementId();
+        List<I_StockMovement> movements = movementRepository.findReplayUntilId(productId, afterId, lastMovementId);
+        return replay(snapshot == null ? 0 : snapshot.getQuantity(), movements);
+    }
+
+    // 이동 재생 - INITIAL/SET 은 설정, 그 외는 증감
+    private int replay(int start, List<I_StockMovement> movements) {
+        int quantity = start;
+        for (I_StockMovement m : movements) {
+            quantity = m.getReason().isAbsolute() ? m.getQuantity() : quantity + m.getQuantity();
+        }
+        return quantity;
+    }
+
+    private EntityNotFoundException noHistory(Long productId, LocalDateTime at) {
+        return new EntityNotFoundException("해당 시각의 재고 기록이 없습니다. productId=%d, at=%s".formatted(productId, at));
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.common.enums.StockMutationMode;
+import com.example.k5_iot_springboot.entity.I_Product;
+import com.example.k5_iot_springboot.entity.I_StockDelta;
+import com.example.k5_iot_springboot.repository.I_StockDeltaRepository;
+import com.example.k5_iot_springboot.repository.I_StockRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * === I_StockLedger ===
+ * : 재고 예약 원장 (StockMutationMode.LEDGER)
+ * - 상품별 가용 재고를 메모리(AtomicInteger, CAS)로 관리 >> 차감 가능 여부 판단에 DB 행 잠금을 사용하지 않음
+ * - 모든 변경은 같은 트랜잭션에서 stock_deltas 에 INSERT (저널) >> stocks 는 주기적으로 일괄 반영 (write-behind)
+ *
+ * [ 초과 판매 방지 규칙 ]
+ * 1) 차감(reserve): 메모리에서 먼저 CAS 차감 >> 저널 INSERT
+ *      - 트랜잭션이 롤백되면 afterCompletion에서 메모리 값을 되돌림
+ *      - 커밋 전까지는 "적게 보이는" 쪽으로만 어긋나므로 다른 주문이 없는 재고를 가져갈 수 없음
+ * 2) 증가(release): 저널 INSERT >> 커밋된 뒤(afterCommit)에만 메모리에 더함
+ *      - 커밋되지 않은(롤백될 수 있는) 재고를 다른 주문이 예약하는 일이 없음
+ * 3) 재시작/장애 후: 메모리 값 = stocks.quantity + 미반영 delta 합계 로 재구성
+ *      - 커밋된 변경은 모두 stocks 또는 stock_deltas 중 한 곳에 남아있음
+ *
+ * cf) 메모리 원장은 인스턴스마다 따로 존재 >> LEDGER 모드는 재고를 변경하는 인스턴스가 하나일 때만 사용
+ *      (여러 인스턴스가 같은 상품을 변경하면 서로의 차감을 보지 못함)
+ *      >> stock.ledger.single-instance=true 를 명시하지 않으면 기동 실패 (IllegalStateException)
+ * cf) 저널 INSERT 는 주문 트랜잭션 안에서 동기 실행 (차감 1회당 INSERT 1회)
+ *      - 커밋된 차감이 장애로 유실되지 않도록 하기 위함 >> 행 잠금 대기는 없지만 문장 수는 줄지 않음
+ * */
+@Slf4j
+@Component
+public class I_StockLedger {
+    private final I_StockDeltaRepository deltaRepository;
+    private final I_StockRepository stockRepository;
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int flushBatchSize;
+
+    private final ConcurrentHashMap<Long, AtomicInteger> available = new ConcurrentHashMap<>();
+
+    public I_StockLedger(
+            I_StockDeltaRepository deltaRepository,
+            I_StockRepository stockRepository,
+            EntityManager em,
+            TransactionTemplate transactionTemplate,
+            @Value("${stock.mutation-mode:PESSIMISTIC}") StockMutationMode mode,
+            @Value("${stock.ledger.flush-batch-size:1000}") int flushBatchSize,
+            @Value("${stock.ledger.single-instance:false}") boolean singleInstance
+    ) {
+        if (mode == StockMutationMode.LEDGER && !singleInstance)
+            throw new IllegalStateException("LEDGER 모드는 재고를 변경하는 인스턴스가 하나일 때만 사용할 수 있습니다. (stock.ledger.single-instance=true 필요)");
+
+        this.deltaRepository = deltaRepository;
+        this.stockRepository = stockRepository;
+        this.em = em;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = mode == StockMutationMode.LEDGER;
+        this.flushBatchSize = Math.max(flushBatchSize, 1);
+    }
+
+    /** 현재 가용 재고 (커밋되지 않은 차감은 빠진 값) */
+    public int available(Long productId) {
+        return counter(productId).get();
+    }
+
+    /** 재고 차감(예약) - 부족하면 IllegalArgumentException */
+    public void reserve(Long productId, int need) {
+        requireTransaction();
+        AtomicInteger counter = counter(productId);
+
+        int current;
+        do {
+            current = counter.get();
+            if (current < need)
+                throw new IllegalArgumentException("재고 부족: productId=%d, 필요=%d, 보유=%d".formatted(productId, need, current));
+        } while (!counter.compareAndSet(current, current - need));
+
+        onRollback(() -> counter.addAndGet(need));
+        journal(productId, -need);
+    }
+
+    /** 재고 증가(복원/입고) - 커밋 후 메모리에 반영 */
+    public void release(Long productId, int quantity) {
+        requireTransaction();
+        AtomicInteger counter = counter(productId);
+
+        journal(productId, quantity);
+        onCommit(() -> counter.addAndGet(quantity));
+    }
+
+    /** 재고 증감 - 변경 후 수량 반환 */
+    public int adjust(Long productId, int delta) {
+        if (delta < 0) {
+            reserve(productId, -delta);
+            return available(productId);
+        }
+        release(productId, delta);
+        return available(productId) + delta; // 증가분은 커밋 후 반영
+    }
+
+    /** 재고 직접 설정 - 현재 값과의 차이를 delta로 기록 */
+    public int set(Long productId, int quantity) {
+        requireTransaction();
+        AtomicInteger counter = counter(productId);
+
+        while (true) {
+            int current = counter.get();
+            int diff = quantity - current;
+            if (diff >= 0) {
+                journal(productId, diff);
+                onCommit(() -> counter.addAndGet(diff));
+                return quantity;
+            }
+            if (counter.compareAndSet(current, quantity)) {
+                onRollback(() -> counter.addAndGet(-diff));
+                journal(productId, diff);
+                return quantity;
+            }
+        }
+    }
+
+    /** 기동 시 전체 상품 원장 적재 (이후 추가된 상품은 최초 접근 시 적재) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) return;
+        transactionTemplate.executeWithoutResult(status ->
+                deltaRepository.findAllLedgerQuantities()
+                        .forEach(q -> available.putIfAbsent(q.getProductId(), new AtomicInteger(q.getQuantity().intValue()))));
+        log.info("Stock ledger rebuilt: products={}", available.size());
+    }
+
+    /**
+     * 미반영 delta를 stocks 에 일괄 반영 (상품별 합계로 UPDATE 1회 + 반영한 delta 삭제를 한 트랜잭션에서)
+     * - stocks + stock_deltas 합계는 변하지 않으므로 메모리 원장은 건드리지 않음
+     * */
+    @Scheduled(fixedDelayString = "${stock.ledger.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled) return;
+
+        int flushed;
+        do {
+            Integer count = transactionTemplate.execute(status -> flushBatch());
+            flushed = count == null ? 0 : count;
+        } while (flushed == flushBatchSize);
+    }
+
+    private int flushBatch() {
+        List<I_StockDeltaRepository.PendingDelta> pending = deltaRepository.findPendingForUpdate(flushBatchSize);
+        if (pending.isEmpty()) return 0;
+
+        // product_id 오름차순으로 UPDATE (주문 처리와의 잠금 순서 고정)
+        Map<Long, Integer> sumMap = new TreeMap<>();
+        pending.forEach(d -> sumMap.merge(d.getProductId(), d.getDelta(), Integer::sum));
+
+        LocalDateTime now = LocalDateTime.now();
+        sumMap.forEach((productId, delta) -> {
+            if (delta != 0) stockRepository.increase(productId, delta, now);
+        });
+        deltaRepository.deleteAllByIdIn(pending.stream().map(I_StockDeltaRepository.PendingDelta::getId).toList());
+
+        return pending.size();
+    }
+
+    private AtomicInteger counter(Long productId) {
+        // 최초 접근 시 1회 적재 - 같은 상품에 대한 동시 적재는 computeIfAbsent가 하나로 합침
+        return available.computeIfAbsent(productId, id -> new AtomicInteger(
+                deltaRepository.findLedgerQuantityByProductId(id)
+                        .map(Long::intValue)
+                        .orElseThrow(() -> new EntityNotFoundException("재고 정보를 찾을 수 없습니다. productId=" + id))));
+    }
+
+    private void journal(Long productId, int delta) {
+        deltaRepository.save(I_StockDelta.builder()
+                .product(em.getReference(I_Product.class, productId))
+                .delta(delta)
+                .build());
+    }
+
+    private void requireTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive())
+            throw new IllegalStateException("재고 원장은 트랜잭션 안에서만 변경할 수 있습니다.");
+    }
+
+    private void onCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void onRollback(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.common.enums.StockMovementReason;
+import com.example.k5_iot_springboot.common.id.SnowflakeIds;
+import com.example.k5_iot_springboot.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * === I_StockMovementRecorder ===
+ * : 재고 변경을 stock_movements 원장에 기록 (사유 / 요청자 / 주문 ID)
+ *
+ * - 재고 변경과 같은 트랜잭션에 기록 >> 재고 변경이 롤백되면 이동 기록도 없음 (원장 = 커밋된 변경만)
+ * - 트랜잭션 동안 메모리에 모았다가 커밋 직전(beforeCommit) JDBC batch INSERT 1회
+ *      >> 일괄 승인처럼 한 트랜잭션에서 여러 상품을 변경해도 INSERT 왕복 1번
+ * - 이동 ID(Snowflake)는 기록 시점(재고 행 잠금 안)에 발급 >> 같은 상품의 ID 순서 = 적용 순서
+ *
+ * cf) 재고 변경 모드(stock.mutation-mode)와 관계없이 서비스 계층에서 호출 - 원장은 모든 모드에서 같은 의미
+ * */
+@Component
+@RequiredArgsConstructor
+public class I_StockMovementRecorder {
+    private static final String INSERT_SQL =
+            "INSERT INTO stock_movements (id, product_id, reason, quantity, order_id, actor_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // 트랜잭션별 버퍼 - TransactionSynchronizationManager 리소스 키
+    private static final Object BUFFER_KEY = new Object();
+
+    private record Movement(long id, Long productId, StockMovementReason reason, int quantity,
+                            Long orderId, Long actorId, LocalDateTime createdAt) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 이동 1건 기록 (트랜잭션 안에서 호출)
+     * @param quantity reason 이 INITIAL/SET 이면 설정된 수량, 그 외는 증감량(차감은 음수)
+     * */
+    public void record(Long productId, StockMovementReason reason, int quantity, Long orderId) {
+        buffer().add(new Movement(SnowflakeIds.next(), productId, reason, quantity, orderId, currentActorId(), LocalDateTime.now()));
+    }
+
+    /** 주문 단위 기록 - quantities: 상품별 수량, sign: 차감 -1 / 복원 +1 */
+    public void recordOrder(StockMovementReason reason, Long orderId, Map<Long, Integer> quantities, int sign) {
+        quantities.forEach((productId, quantity) -> record(productId, reason, sign * quantity, orderId));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Movement> buffer() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            throw new IllegalStateException("재고 이동은 트랜잭션 안에서 기록해야 합니다.");
+
+        List<Movement> buffer = (List<Movement>) TransactionSynchronizationManager.getResource(BUFFER_KEY);
+        if (buffer != null) return buffer;
+
+        List<Movement> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(BUFFER_KEY, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                insertAll(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(BUFFER_KEY);
+            }
+        });
+        return created;
+    }
+
+    private void insertAll(List<Movement> movements) {
+        if (movements.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_SQL, movements, movements.size(), (ps, m) -> {
+            ps.setLong(1, m.id());
+            ps.setLong(2, m.productId());
+            ps.setString(3, m.reason().name());
+            ps.setInt(4, m.quantity());
+            if (m.orderId() != null) ps.setLong(5, m.orderId()); else ps.setNull(5, Types.BIGINT);
+            if (m.actorId() != null) ps.setLong(6, m.actorId()); else ps.setNull(6, Types.BIGINT);
+            ps.setTimestamp(7, Timestamp.valueOf(m.createdAt()));
+        });
+    }
+
+    // 요청 스레드의 인증 사용자 ID (백그라운드 작업자 등 인증 정보가 없으면 null)
+    private Long currentActorId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof UserPrincipal principal) return principal.getId();
+        return null;
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.common.enums.StockMutationMode;
+import com.example.k5_iot_springboot.entity.I_Stock;
+import com.example.k5_iot_springboot.repository.I_StockRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * === I_StockMutator ===
+ * : 재고 변경(차감/복원/증감/설정)을 한 곳에서 처리하는 컴포넌트
+ * - stock.mutation-mode 설정값으로 전략 선택 (기본 PESSIMISTIC)
+ *
+ * 1) PESSIMISTIC
+ *      : findByProductIdForUpdate 로 행을 잠근 뒤 자바에서 수량 검사 >> 변경 감지로 UPDATE
+ *      - 잠금이 SELECT ~ flush 까지 두 문장에 걸쳐 유지됨
+ * 2) CONDITIONAL
+ *      : UPDATE ... WHERE quantity >= :n 단일 문장
+ *      - 영향 행 수가 0이면 재고 부족으로 판단 (실패 시에만 원인 확인용 SELECT 실행)
+ * 3) OPTIMISTIC
+ *      : 잠금 없이 조회 >> 자바에서 수량 검사 >> 커밋 시 @Version 비교
+ *      - 충돌 시 OptimisticLockingFailureException >> I_StockRetryExecutor가 트랜잭션 전체를 재실행
+ * 4) SHARDED
+ *      : 상품 재고를 stock_slots 의 N개 슬롯으로 분할 >> 차감은 슬롯 단위 조건부 UPDATE (I_StockSlotManager)
+ *      - 증감/설정(adjust/set) 시 슬롯으로 분할 & 재분배, 아직 분할되지 않은 상품은 stocks 행 조건부 UPDATE
+ *      - 분할되지 않은 상품의 조건부 UPDATE 는 stocks.sharded = false 조건 포함
+ *        (UPDATE 가 최초 분할(rebalance)의 stocks 행 잠금을 기다린 경우 영향 행 0 - 미러 값만 바뀌고 슬롯은 그대로인 문제 방지)
+ *        >> 영향 행이 0일 때만 잠금 읽기로 분할 여부 확인 (성공 경로에는 추가 문장 X)
+ *      - 가용 재고는 getQuantity()로 조회 (분할된 상품은 슬롯 합계)
+ * 5) LEDGER
+ *      : 메모리 원장(CAS)에서 차감 + stock_deltas 저널 INSERT >> stocks 는 주기적으로 일괄 반영 (I_StockLedger)
+ *      - 재고 판단에 stocks 행 잠금을 사용하지 않음 (단일 인스턴스 전용)
+ *
+ * cf) 호출하는 쪽의 트랜잭션 안에서 실행되어야 함 (자체 트랜잭션 X)
+ * */
+@Component
+@RequiredArgsConstructor
+public class I_StockMutator {
+    private final I_StockRepository stockRepository;
+    private final I_StockSlotManager slotManager;
+    private final I_StockLedger stockLedger;
+
+    @Value("${stock.mutation-mode:PESSIMISTIC}")
+    private StockMutationMode mode;
+
+    public StockMutationMode getMode() {
+        return mode;
+    }
+
+    /** 재고 수량이 stocks 행 하나에 온전히 저장되는 모드인지 여부 (일괄 행 잠금 처리 가능 여부) */
+    public boolean usesStockRow() {
+        return mode != StockMutationMode.SHARDED && mode != StockMutationMode.LEDGER;
+    }
+
+    /** 현재 가용 재고 조회 */
+    public int getQuantity(Long productId) {
+        if (mode == StockMutationMode.LEDGER) return stockLedger.available(productId);
+        if (mode == StockMutationMode.SHARDED && slotManager.isSharded(productId)) {
+            return slotManager.sum(productId);
+        }
+        return stockRepository.findQuantityByProductId(productId)
+                .orElseThrow(() -> notFound(productId));
+    }
+
+    /** 재고 차감 - 부족하면 IllegalArgumentException */
+    public void decrease(Long productId, int need) {
+        if (mode == StockMutationMode.LEDGER) {
+            stockLedger.reserve(productId, need);
+            return;
+        }
+        if (mode == StockMutationMode.SHARDED) {
+            if (!slotManager.isSharded(productId)) {
+                if (stockRepository.decreaseIfEnoughUnsharded(productId, need, LocalDateTime.now()) == 1) return;
+                // 재고 부족 또는 대기 중 최초 분할이 커밋됨 - 분할된 경우에만 슬롯에서 차감
+                if (!slotManager.isShardedForUpdate(productId)) throw insufficient(productId, need);
+            }
+            slotManager.decrease(productId, need);
+            return;
+        }
+        if (mode == StockMutationMode.CONDITIONAL) {
+            if (stockRepository.decreaseIfEnough(productId, need, LocalDateTime.now()) == 0) throw insufficient(productId, need);
+            return;
+        }
+
+        I_Stock stock = loadStock(productId);
+        if (stock.getQuantity() < need)
+            throw new IllegalArgumentException("재고 부족: productId=%d, 필요=%d, 보유=%d".formatted(productId, need, stock.getQuantity()));
+        stock.setQuantity(stock.getQuantity() - need);
+    }
+
+    /** 재고 증가 (주문 취소 시 복원 등) */
+    public void increase(Long productId, int quantity) {
+        if (mode == StockMutationMode.LEDGER) {
+            stockLedger.release(productId, quantity);
+            return;
+        }
+        if (mode == StockMutationMode.SHARDED) {
+            if (!slotManager.isSharded(productId)) {
+                if (stockRepository.increaseUnsharded(productId, quantity, LocalDateTime.now()) == 1) return;
+                // 재고 정보 없음 또는 대기 중 최초 분할이 커밋됨 - 분할된 경우에만 슬롯에 추가
+                if (!slotManager.isShardedForUpdate(productId)) throw notFound(productId);
+            }
+            slotManager.increase(productId, quantity);
+            return;
+        }
+        if (mode == StockMutationMode.CONDITIONAL) {
+            if (stockRepository.increase(productId, quantity, LocalDateTime.now()) == 0) throw notFound(productId);
+            return;
+        }
+
+        I_Stock stock = loadStock(productId);
+        stock.setQuantity(stock.getQuantity() + quantity); // 변경 감지로 UPDATE
+    }
+
+    /** 재고 증감 (delta 양수: 입고/반품, 음수: 출고/차감) - 변경 후 수량 반환 */
+    public int adjust(Long productId, int delta) {
+        if (mode == StockMutationMode.LEDGER) return stockLedger.adjust(productId, delta);
+        if (mode == StockMutationMode.SHARDED) {
+            return slotManager.rebalance(productId, current -> current + delta);
+        }
+        if (mode == StockMutationMode.CONDITIONAL) {
+            if (delta >= 0) {
+                if (stockRepository.increase(productId, delta, LocalDateTime.now()) == 0) throw notFound(productId);
+            } else if (stockRepository.decreaseIfEnough(productId, -delta, LocalDateTime.now()) == 0) {
+                throw insufficient(productId, -delta);
+            }
+            // 같은 트랜잭션 안에서 자신이 변경한 값을 읽음 (UPDATE가 잡은 행 잠금은 커밋까지 유지)
+            return stockRepository.findQuantityByProductId(productId)
+                    .orElseThrow(() -> notFound(productId));
+        }
+
+        I_Stock stock = loadStock(productId);
+        int newQuantity = stock.getQuantity() + delta;
+        if (newQuantity < 0) throw new IllegalArgumentException("재고가 부족합니다.");
+        stock.setQuantity(newQuantity);
+        return newQuantity;
+    }
+
+    /** 재고 직접 설정 - 설정된 수량 반환 */
+    public int set(Long productId, int quantity) {
+        if (quantity < 0) throw new IllegalArgumentException("재고는 0이상이어야 합니다.");
+
+        if (mode == StockMutationMode.LEDGER) return stockLedger.set(productId, quantity);
+        if (mode == StockMutationMode.SHARDED) {
+            return slotManager.rebalance(productId, current -> quantity);
+        }
+
+        if (mode == StockMutationMode.CONDITIONAL) {
+            if (stockRepository.updateQuantity(productId, quantity, LocalDateTime.now()) == 0) throw notFound(productId);
+            return quantity;
+        }
+
+        I_Stock stock = loadStock(productId);
+        stock.setQuantity(quantity);
+        return quantity;
+    }
+
+    private I_Stock loadStock(Long productId) {
+        // OPTIMISTIC: 잠금 없이 조회 (충돌은 커밋 시 version 비교로 감지)
+        Optional<I_Stock> stock = (mode == StockMutationMode.OPTIMISTIC)
+                ? stockRepository.findByProductId(productId)
+                : stockRepository.findByProductIdForUpdate(productId);
+        return stock.orElseThrow(() -> notFound(productId));
+    }
+
+    // 조건부 UPDATE 실패 시에만 원인 확인 (재고 정보 없음 VS 재고 부족)
+    private RuntimeException insufficient(Long productId, int need) {
+        Integer current = stockRepository.findQuantityByProductId(productId).orElse(null);
+        if (current == null) return notFound(productId);
+        return new IllegalArgumentException("재고 부족: productId=%d, 필요=%d, 보유=%d".formatted(productId, need, current));
+    }
+
+    private EntityNotFoundException notFound(Long productId) {
+        return new EntityNotFoundException("재고 정보를 찾을 수 없습니다. productId=" + productId);
+    }
+}
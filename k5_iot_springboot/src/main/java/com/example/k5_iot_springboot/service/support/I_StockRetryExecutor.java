@@ -0,0 +1,102 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.common.enums.StockMutationMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * === I_StockRetryExecutor ===
+ * : 재고를 변경하는 작업을 "트랜잭션 단위"로 실행하는 실행기
+ * - PESSIMISTIC / CONDITIONAL / LEDGER 모드: 트랜잭션 1회 실행 (기존 @Transactional과 동일)
+ * - OPTIMISTIC 모드: 버전 충돌(OptimisticLock) 발생 시 트랜잭션 전체를 처음부터 다시 실행
+ * - SHARDED 모드: 슬롯 경합(잠긴 슬롯 때문에 차감 여부를 정할 수 없음) 시 같은 방식으로 재실행 (I_StockSlotManager)
+ *      >> 재시도 간격은 지수 증가 + 무작위 지연(full jitter) - 동시에 충돌한 요청끼리 다시 부딪히지 않도록 분산
+ *      >> stock.optimistic.max-attempts 초과 시 마지막 예외를 그대로 던짐 (409 CONFLICT)
+ *
+ * [ 메트릭 ] (tag: operation = approve | cancel | adjust | set)
+ * - stock.optimistic.attempts : 트랜잭션 실행 시도 수
+ * - stock.optimistic.retries  : 충돌로 인한 재시도 수
+ * - stock.optimistic.aborts   : 재시도 한도 초과로 실패한 수
+ *      >> retries / attempts 비율이 높은 작업(상품)은 PESSIMISTIC / CONDITIONAL 모드가 적합
+ *
+ * cf) 호출하는 서비스 메서드는 트랜잭션 밖(Propagation.NOT_SUPPORTED)에서 실행되어야 함
+ *      - 이미 열린 트랜잭션에 참여하면 재시도해도 같은 트랜잭션(같은 영속성 컨텍스트)이 재사용되기 때문
+ * */
+@Slf4j
+@Component
+public class I_StockRetryExecutor {
+    private final TransactionTemplate transactionTemplate;
+    private final I_StockMutator stockMutator;
+    private final MeterRegistry meterRegistry;
+
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+
+    public I_StockRetryExecutor(
+            TransactionTemplate transactionTemplate,
+            I_StockMutator stockMutator,
+            MeterRegistry meterRegistry,
+            @Value("${stock.optimistic.max-attempts:5}") int maxAttempts,
+            @Value("${stock.optimistic.base-backoff-ms:10}") long baseBackoffMs,
+            @Value("${stock.optimistic.max-backoff-ms:200}") long maxBackoffMs
+    ) {
+        this.transactionTemplate = transactionTemplate;
+        this.stockMutator = stockMutator;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.baseBackoffMs = Math.max(baseBackoffMs, 1);
+        this.maxBackoffMs = Math.max(maxBackoffMs, this.baseBackoffMs);
+    }
+
+    /**
+     * 트랜잭션 안에서 action 실행 (OPTIMISTIC / SHARDED 모드에서는 충돌 시 재실행)
+     * @param operation 메트릭 태그용 작업명
+     * */
+    public <T> T execute(String operation, Supplier<T> action) {
+        StockMutationMode mode = stockMutator.getMode();
+        if (mode != StockMutationMode.OPTIMISTIC && mode != StockMutationMode.SHARDED) {
+            return transactionTemplate.execute(status -> action.get());
+        }
+
+        Counter attempts = meterRegistry.counter("stock.optimistic.attempts", "operation", operation);
+        Counter retries = meterRegistry.counter("stock.optimistic.retries", "operation", operation);
+        Counter aborts = meterRegistry.counter("stock.optimistic.aborts", "operation", operation);
+
+        for (int attempt = 1; ; attempt++) {
+            attempts.increment();
+            try {
+                // 커밋 시점의 version 충돌도 execute() 안에서 예외로 전달됨
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    aborts.increment();
+                    log.warn("Stock optimistic lock aborted: operation={}, attempts={}, cause={}", operation, attempt, e.getMessage());
+                    throw e;
+                }
+                retries.increment();
+                sleepWithJitter(attempt);
+            }
+        }
+    }
+
+    // 지수 백오프 상한 안에서 무작위 대기 (full jitter)
+    private void sleepWithJitter(int attempt) {
+        long cap = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재고 변경 재시도 중 인터럽트가 발생했습니다.", ie);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.entity.I_Stock;
+import com.example.k5_iot_springboot.entity.I_StockSlot;
+import com.example.k5_iot_springboot.repository.I_StockRepository;
+import com.example.k5_iot_springboot.repository.I_StockSlotRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * === I_StockSlotManager ===
+ * : 분할 재고(StockMutationMode.SHARDED) 슬롯 관리
+ *
+ * [ 구조 ]
+ * - 한 상품의 재고를 stock_slots 의 N개 행(slot_no 0 ~ N-1)으로 나누어 저장
+ * - 가용 재고 = 슬롯 수량의 합 (stocks.quantity 는 재분배 시점의 관리용 미러 값)
+ * - 슬롯이 없는 상품은 기존 stocks 행 그대로 사용 >> 재고 증감/설정(adjust/set) 시 슬롯으로 분할됨
+ *
+ * [ 차감 ]
+ * 1) 잠금 없는 스냅샷으로 필요 수량 이상 남은 슬롯만 후보로 선택
+ * 2) 무작위 시작 슬롯부터 순회하며 슬롯 하나를 SKIP LOCKED 로 잠금 >> 수량이 충분하면 UPDATE 후 종료
+ *      - 동시 요청이 서로 다른 슬롯으로 흩어지기 때문에 하나의 행 잠금에 직렬화되지 않음
+ * 3) 모든 후보가 실패(어느 슬롯도 단독으로는 부족)하면 잠글 수 있는 슬롯을 모두 잠그고 여러 슬롯에서 나누어 차감
+ *      - 잠긴 슬롯 때문에 모자라면: 전체 합계도 부족 >> 재고 부족 / 아니면 OptimisticLockingFailureException (트랜잭션 재실행)
+ *
+ * cf) 차감은 어떤 슬롯 잠금도 기다리지 않음
+ *      - 실패한 시도의 슬롯 잠금은 트랜잭션 끝까지 유지되므로, 그 상태로 다른 슬롯을 기다리면
+ *        서로의 슬롯을 기다리는 교착 상태(Deadlock)가 생길 수 있음
+ *
+ * [ 재분배 ]
+ * : stocks 행 잠금 >> 전체 슬롯 잠금 >> 새 합계를 슬롯 수만큼 균등 분배 (잠금 순서: stocks >> stock_slots 고정)
+ * */
+@Component
+public class I_StockSlotManager {
+    private final I_StockSlotRepository slotRepository;
+    private final I_StockRepository stockRepository;
+    private final int slotCount;
+
+    // 한 번 분할된 상품은 다시 단일 행으로 돌아가지 않으므로 "분할됨"만 캐시
+    private final Set<Long> shardedProducts = ConcurrentHashMap.newKeySet();
+
+    public I_StockSlotManager(
+            I_StockSlotRepository slotRepository,
+            I_StockRepository stockRepository,
+            @Value("${stock.sharded.slot-count:8}") int slotCount
+    ) {
+        this.slotRepository = slotRepository;
+        this.stockRepository = stockRepository;
+        this.slotCount = Math.max(slotCount, 1);
+    }
+
+    /** 해당 상품의 재고가 슬롯으로 분할되어 있는지 여부 */
+    public boolean isSharded(Long productId) {
+        if (shardedProducts.contains(productId)) return true;
+        if (slotRepository.existsByProductId(productId)) {
+            shardedProducts.add(productId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 분할 여부 재확인 - 잠금 읽기(FOR UPDATE)로 최신 커밋 기준 확인 (캐시/트랜잭션 스냅샷 사용 X)
+     * - stocks 행 조건부 UPDATE(sharded = false)가 실패했을 때만 호출: 재고 부족인지, 그 사이 최초 분할이 커밋되었는지 구분
+     * */
+    public boolean isShardedForUpdate(Long productId) {
+        if (slotRepository.findQuantitiesByProductIdForUpdate(productId).isEmpty()) return false;
+        shardedProducts.add(productId);
+        return true;
+    }
+
+    /** 슬롯 수량 합계 */
+    public int sum(Long productId) {
+        return slotRepository.sumQuantityByProductId(productId).map(Long::intValue).orElse(0);
+    }
+
+    /** 슬롯에서 차감 - 부족하면 IllegalArgumentException */
+    public void decrease(Long productId, int need) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<I_StockSlotRepository.SlotQuantity> snapshot = slotRepository.findQuantitiesByProductId(productId);
+        List<Integer> candidates = snapshot.stream()
+                .filter(s -> s.getQuantity() >= need) // 스냅샷 기준 부족한 슬롯은 시도하지 않음 (불필요한 잠금 방지)
+                .map(I_StockSlotRepository.SlotQuantity::getSlotNo)
+                .toList();
+
+        if (!candidates.isEmpty()) {
+            int start = ThreadLocalRandom.current().nextInt(candidates.size());
+            for (int i = 0; i < candidates.size(); i++) {
+                int slotNo = candidates.get((start + i) % candidates.size());
+                // 다른 요청이 잡고 있는 슬롯은 기다리지 않고 다음 후보로
+                Integer quantity = slotRepository.findQuantityBySlotForUpdateSkipLocked(productId, slotNo).orElse(null);
+                if (quantity != null && quantity >= need) {
+                    slotRepository.updateQuantity(productId, slotNo, quantity - need, now);
+                    return;
+                }
+            }
+        }
+
+        // 어느 슬롯도 단독으로는 부족 >> 잠글 수 있는 슬롯을 모두 잠근 뒤 합산 차감
+        List<I_StockSlotRepository.SlotQuantity> locked = slotRepository.findQuantitiesByProductIdForUpdateSkipLocked(productId);
+        int total = locked.stream().mapToInt(I_StockSlotRepository.SlotQuantity::getQuantity).sum();
+        if (total < need) {
+            int committed = sum(productId);
+            if (committed < need)
+                throw new IllegalArgumentException("재고 부족: productId=%d, 필요=%d, 보유=%d".formatted(productId, need, committed));
+            // 다른 트랜잭션이 잡고 있는 슬롯까지 있어야 충분 - 기다리지 않고 트랜잭션 재실행 (I_StockRetryExecutor)
+            throw new OptimisticLockingFailureException("재고 슬롯 경합: productId=%d, 필요=%d".formatted(productId, need));
+        }
+
+        int remaining = need;
+        for (I_StockSlotRepository.SlotQuantity slot : locked) {
+            int take = Math.min(slot.getQuantity(), remaining);
+            if (take == 0) continue;
+            slotRepository.updateQuantity(productId, slot.getSlotNo(), slot.getQuantity() - take, now);
+            remaining -= take;
+            if (remaining == 0) break;
+        }
+    }
+
+    /** 임의의 슬롯 하나에 수량 추가 */
+    public void increase(Long productId, int quantity) {
+        LocalDateTime now = LocalDateTime.now();
+        int slotNo = ThreadLocalRandom.current().nextInt(slotCount);
+        if (slotRepository.increase(productId, slotNo, quantity, now) == 1) return;
+
+        // 슬롯 수 설정이 바뀌어 해당 번호의 슬롯이 없는 경우 - 존재하는 첫 슬롯에 추가
+        List<I_StockSlotRepository.SlotQuantity> slots = slotRepository.findQuantitiesByProductId(productId);
+        if (slots.isEmpty()) throw new EntityNotFoundException("재고 슬롯을 찾을 수 없습니다. productId=" + productId);
+        slotRepository.increase(productId, slots.get(0).getSlotNo(), quantity, now);
+    }
+
+    /**
+     * 현재 합계를 기준으로 새 합계를 계산하여 슬롯에 균등 재분배 - 새 합계 반환
+     * @param newTotalFn 현재 합계 >> 새 합계 (증감: current + delta, 설정: 고정값)
+     * */
+    public int rebalance(Long productId, IntUnaryOperator newTotalFn) {
+        I_Stock stock = stockRepository.findByProductIdForUpdate(productId)
+                .orElseThrow(() -> new EntityNotFoundException("재고 정보를 찾을 수 없습니다. productId=" + productId));
+
+        List<I_StockSlotRepository.SlotQuantity> slots = slotRepository.findQuantitiesByProductIdForUpdate(productId);
+        int current = slots.isEmpty()
+                ? stock.getQuantity() // 최초 분할 - 기존 단일 행 수량을 슬롯으로 이동
+                : slots.stream().mapToInt(I_StockSlotRepository.SlotQuantity::getQuantity).sum();
+
+        int newTotal = newTotalFn.applyAsInt(current);
+        if (newTotal < 0) throw new IllegalArgumentException("재고가 부족합니다.");
+
+        Set<Integer> existing = slots.stream()
+                .map(I_StockSlotRepository.SlotQuantity::getSlotNo)
+                .collect(Collectors.toSet());
+
+        LocalDateTime now = LocalDateTime.now();
+        int base = newTotal / slotCount;
+        int remainder = newTotal % slotCount;
+        for (int slotNo = 0; slotNo < slotCount; slotNo++) {
+            int quantity = base + (slotNo < remainder ? 1 : 0);
+            if (existing.contains(slotNo)) {
+                slotRepository.updateQuantity(productId, slotNo, quantity, now);
+            } else {
+                slotRepository.save(I_StockSlot.builder()
+                        .product(stock.getProduct())
+                        .slotNo(slotNo)
+                        .quantity(quantity)
+                        .build());
+            }
+        }
+        slotRepository.deleteSlotsFrom(productId, slotCount);
+
+        // stocks.quantity 는 관리용 미러 값으로 함께 갱신 (슬롯 차감 시에는 갱신하지 않음) + 분할됨 표시
+        stockRepository.updateShardedQuantity(productId, newTotal, now);
+        shardedProducts.add(productId);
+
+        return newTotal;
+    }
+}
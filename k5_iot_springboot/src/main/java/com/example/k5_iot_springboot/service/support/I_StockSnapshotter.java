@@ -0,0 +1,118 @@
+package com.example.k5_iot_springboot.service.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * === I_StockSnapshotter ===
+ * : 재고 이동 원장의 주기 작업
+ *
+ * 1) 스냅샷 (snapshot-interval-ms 마다)
+ *      - 마지막 스냅샷 이후 이동이 있는 상품만 "이전 스냅샷 + 이후 이동 재생"으로 새 스냅샷 생성
+ *      - settle-seconds 보다 최근 이동은 제외 (ID 발급 후 아직 커밋되지 않은 트랜잭션의 이동을 건너뛰지 않도록)
+ *      - 여러 서버가 동시에 실행해도 (product_id, last_movement_id) 유니크 + INSERT IGNORE 로 한 번만 저장
+ * 2) 압축 (compaction-interval-ms 마다)
+ *      - retention-days 이전(포함)의 가장 최근 스냅샷까지 반영된 이동을 삭제 (스냅샷은 유지)
+ *      - 상품별로 compaction-batch-size 건씩 나누어 삭제 (긴 잠금/큰 undo 방지)
+ * */
+@Slf4j
+@Component
+public class I_StockSnapshotter {
+    private static final String PENDING_SQL = """
+            SELECT m.product_id, MAX(m.id) AS last_id, MAX(m.created_at) AS last_at
+            FROM stock_movements m
+            WHERE m.created_at <= ?
+                AND m.id > COALESCE((SELECT MAX(s.last_movement_id) FROM stock_snapshots s WHERE s.product_id = m.product_id), 0)
+            GROUP BY m.product_id
+            """;
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO stock_snapshots (product_id, quantity, last_movement_id, snapshot_at) VALUES (?, ?, ?, ?)";
+    private static final String COMPACTABLE_SQL = """
+            SELECT product_id, MAX(last_movement_id) AS last_id
+            FROM stock_snapshots
+            WHERE snapshot_at <= ?
+            GROUP BY product_id
+            """;
+    private static final String DELETE_SQL =
+            "DELETE FROM stock_movements WHERE product_id = ? AND id <= ? ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final I_StockHistory stockHistory;
+
+    private final long settleSeconds;
+    private final long retentionDays;
+    private final int compactionBatchSize;
+
+    public I_StockSnapshotter(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            I_StockHistory stockHistory,
+            @Value("${stock.history.settle-seconds:60}") long settleSeconds,
+            @Value("${stock.history.retention-days:90}") long retentionDays,
+            @Value("${stock.history.compaction-batch-size:5000}") int compactionBatchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.stockHistory = stockHistory;
+        this.settleSeconds = Math.max(settleSeconds, 0);
+        this.retentionDays = retentionDays;
+        this.compactionBatchSize = Math.max(compactionBatchSize, 1);
+    }
+
+    @Scheduled(fixedDelayString = "${stock.history.snapshot-interval-ms:3600000}",
+            initialDelayString = "${stock.history.snapshot-interval-ms:3600000}")
+    public void snapshot() {
+        Timestamp settled = Timestamp.valueOf(LocalDateTime.now().minusSeconds(settleSeconds));
+        List<Map<String, Object>> pending = jdbcTemplate.queryForList(PENDING_SQL, settled);
+
+        int created = 0;
+        for (Map<String, Object> row : pending) {
+            Long productId = ((Number) row.get("product_id")).longValue();
+            Long lastId = ((Number) row.get("last_id")).longValue();
+            Timestamp lastAt = toTimestamp(row.get("last_at"));
+
+            Integer inserted = transactionTemplate.execute(status -> {
+                int quantity = stockHistory.quantityThrough(productId, lastId);
+                return jdbcTemplate.update(INSERT_SQL, productId, quantity, lastId, lastAt);
+            });
+            if (inserted != null) created += inserted;
+        }
+        if (created > 0) log.info("Stock snapshots created: {}", created);
+    }
+
+    @Scheduled(fixedDelayString = "${stock.history.compaction-interval-ms:86400000}",
+            initialDelayString = "${stock.history.compaction-interval-ms:86400000}")
+    public void compact() {
+        if (retentionDays <= 0) return; // 0 이하: 압축 사용 안 함
+
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays));
+        List<Map<String, Object>> targets = jdbcTemplate.queryForList(COMPACTABLE_SQL, cutoff);
+
+        long deleted = 0;
+        for (Map<String, Object> row : targets) {
+            Long productId = ((Number) row.get("product_id")).longValue();
+            Long lastId = ((Number) row.get("last_id")).longValue();
+            int n;
+            do {
+                n = jdbcTemplate.update(DELETE_SQL, productId, lastId, compactionBatchSize); // 문장마다 자동 커밋
+                deleted += n;
+            } while (n == compactionBatchSize);
+        }
+        if (deleted > 0) log.info("Stock movements compacted: {}", deleted);
+    }
+
+    // MAX(created_at) 은 드라이버에 따라 Timestamp 또는 LocalDateTime 으로 반환
+    private Timestamp toTimestamp(Object value) {
+        return value instanceof LocalDateTime ldt ? Timestamp.valueOf(ldt) : (Timestamp) value;
+    }
+}
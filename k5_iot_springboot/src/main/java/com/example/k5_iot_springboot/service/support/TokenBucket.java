@@ -0,0 +1,58 @@
+package com.example.k5_iot_springboot.service.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * === TokenBucket ===
+ * : 잠금 없는(lock-free) 토큰 버킷 - 초당 ratePerSecond 개 충전, 최대 burst 개까지 몰아서 허용
+ *
+ * [ 구현 ] GCRA(Generic Cell Rate Algorithm) - 상태는 AtomicLong 하나 (다음 토큰이 "이론상" 도착하는 시각, TAT)
+ * - 요청 1건 = TAT 를 interval(1초 / rate) 만큼 뒤로 미는 CAS
+ * - TAT - now <= burst x interval 이면 즉시 허용, 그 이상이면 차이만큼 기다려야 토큰이 생김
+ * - 토큰 수를 주기적으로 충전하는 스레드/타이머 없음 (경과 시간으로 계산)
+ *
+ * cf) 시각은 System.nanoTime() 기준 (음수가 될 수 있으므로 항상 차이로 비교)
+ * */
+public final class TokenBucket {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong tat;
+
+    public TokenBucket(int ratePerSecond, int burst) {
+        if (ratePerSecond <= 0) throw new IllegalArgumentException("ratePerSecond는 1 이상이어야 합니다.");
+        if (burst <= 0) throw new IllegalArgumentException("burst는 1 이상이어야 합니다.");
+        this.intervalNanos = Math.max(TimeUnit.SECONDS.toNanos(1) / ratePerSecond, 1);
+        this.burstNanos = intervalNanos * burst;
+        this.tat = new AtomicLong(System.nanoTime()); // 처음에는 burst 개가 모두 차 있는 상태
+    }
+
+    /**
+     * 토큰 1개 예약
+     * @param maxWaitNanos 토큰이 생길 때까지 기다릴 수 있는 최대 시간 (0: 즉시 허용될 때만)
+     * @return 예약 성공 시 기다려야 하는 시간(ns, 0 = 즉시), 실패 시 -1 (상태 변경 없음)
+     * */
+    public long reserve(long maxWaitNanos) {
+        while (true) {
+            long now = System.nanoTime();
+            long current = tat.get();
+            long base = current - now < 0 ? now : current; // 오래 쉬었으면 현재 시각부터 (burst 이상 쌓이지 않음)
+            long next = base + intervalNanos;
+            long waitNanos = next - now - burstNanos;
+
+            if (waitNanos > maxWaitNanos) return -1;
+            if (tat.compareAndSet(current, next)) return Math.max(waitNanos, 0);
+        }
+    }
+
+    /** 예약 취소 - reserve 성공 후 실제로 사용하지 않은 토큰 반환 */
+    public void refund() {
+        tat.addAndGet(-intervalNanos);
+    }
+
+    /** 다음 토큰을 즉시 받을 수 있을 때까지 남은 시간(ns) */
+    public long nanosUntilAvailable() {
+        long waitNanos = tat.get() + intervalNanos - System.nanoTime() - burstNanos;
+        return Math.max(waitNanos, 0);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.k5_iot_springboot.common.id;
+
+import com.example.k5_iot_springboot.entity.G_User;
+import com.example.k5_iot_springboot.entity.I_Order;
+import com.example.k5_iot_springboot.entity.I_OrderItem;
+import com.example.k5_iot_springboot.entity.I_Product;
+import com.example.k5_iot_springboot.repository.G_UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * === SnowflakeIdsBenchmarkTest ===
+ * : 시간 순서 ID(@SnowflakeId) 생성/INSERT 처리량 (Hibernate Statistics, H2)
+ * - ID 생성: 단일 스레드 단조 증가 + 여러 스레드 동시 생성 시 중복 없음 >> 초당 생성 수 출력
+ * - INSERT: 같은 트랜잭션에서 ROWS 건 저장
+ *      - IDENTITY(I_Product): ID를 DB가 정하므로 persist 마다 INSERT 즉시 실행 >> statement 수 = 행 수
+ *      - @SnowflakeId(I_Order / I_OrderItem): ID를 미리 정하므로 flush 시 jdbc.batch_size 단위로 묶어서 전송
+ *      >> statement 수가 행 수의 1/10 미만인지 확인 (처리량은 로그로만 출력)
+ * */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class SnowflakeIdsBenchmarkTest {
+    private static final int IDS = 200_000;
+    private static final int THREADS = 4;
+    private static final int ORDERS = 40;
+    private static final int ITEMS = 50; // 주문당 항목 수 (order_id, product_id 유일 >> 상품 수)
+    private static final int ROWS = ORDERS * ITEMS;
+
+    @Autowired EntityManager entityManager;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired G_UserRepository userRepository;
+
+    @Test
+    void idsAreUniqueAndOrdered() throws Exception {
+        long previous = SnowflakeIds.next();
+        int outOfOrder = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < IDS; i++) {
+            long id = SnowflakeIds.next();
+            if (id <= previous) outOfOrder++;
+            previous = id;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < IDS / THREADS; i++) ids.add(SnowflakeIds.next());
+            }));
+        }
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+
+        System.out.printf("[snowflake] %d ids in %d ms (%.0f ids/s), %d threads: %d unique%n",
+                IDS, elapsed / 1_000_000, IDS / (elapsed / 1_000_000_000.0), THREADS, ids.size());
+        assertThat(outOfOrder).as("단조 증가하지 않은 ID 수").isZero();
+        assertThat(ids).hasSize(IDS);
+    }
+
+    @Test
+    void snowflakeInsertsAreBatched() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String loginId = "snowflake-" + System.nanoTime();
+        G_User user = userRepository.save(G_User.builder()
+                .loginId(loginId)
+                .password("{noop}password")
+                .email(loginId + "@example.com")
+                .nickname(loginId)
+                .build());
+
+        // 1) IDENTITY: 상품 ROWS 건
+        statistics.clear();
+        long identityStart = System.nanoTime();
+        List<Long> productIds = transactionTemplate.execute(status -> {
+            List<Long> saved = new ArrayList<>(ITEMS);
+            for (int i = 0; i < ROWS; i++) {
+                I_Product product = I_Product.builder().name(loginId + "-" + i).price(1_000).build();
+                entityManager.persist(product);
+                if (i < ITEMS) saved.add(product.getId());
+            }
+            return saved;
+        });
+        long identityMs = (System.nanoTime() - identityStart) / 1_000_000;
+        long identity = statistics.getPrepareStatementCount();
+
+        // 2) @SnowflakeId: 주문 ORDERS 건 x 항목 ITEMS 건
+        statistics.clear();
+        long snowflakeStart = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            G_User owner = entityManager.getReference(G_User.class, user.getId());
+            List<I_Product> products = entityManager
+                    .createQuery("select p from I_Product p where p.id in :ids", I_Product.class)
+                    .setParameter("ids", productIds)
+                    .getResultList(); // 항목 스냅샷(이름/가격)용 상품 조회 1회
+            for (int o = 0; o < ORDERS; o++) {
+                I_Order order = I_Order.builder().user(owner).build();
+                for (I_Product p : products) {
+                    order.addItem(I_OrderItem.builder().product(p).quantity(1).build());
+                }
+                entityManager.persist(order);
+            }
+        });
+        long snowflakeMs = (System.nanoTime() - snowflakeStart) / 1_000_000;
+        long snowflake = statistics.getPrepareStatementCount();
+
+        System.out.printf("[snowflake] IDENTITY %d rows: %d statements (%d ms), @SnowflakeId %d orders + %d items: %d statements (%d ms)%n",
+                ROWS, identity, identityMs, ORDERS, ROWS, snowflake, snowflakeMs);
+
+        assertThat(identity).as("IDENTITY statement 수").isGreaterThanOrEqualTo(ROWS);
+        assertThat(snowflake).as("@SnowflakeId statement 수").isLessThan(ROWS / 10);
+    }
+}
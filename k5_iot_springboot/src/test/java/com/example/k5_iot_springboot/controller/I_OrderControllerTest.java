@@ -0,0 +1,83 @@
+package com.example.k5_iot_springboot.controller;
+
+import com.example.k5_iot_springboot.entity.G_User;
+import com.example.k5_iot_springboot.entity.I_Product;
+import com.example.k5_iot_springboot.repository.G_UserRepository;
+import com.example.k5_iot_springboot.repository.I_OrderRepository;
+import com.example.k5_iot_springboot.repository.I_ProductRepository;
+import com.example.k5_iot_springboot.security.UserPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * === I_OrderControllerTest ===
+ * : 주문 생성 요청 검증 (H2)
+ * - 같은 상품의 여러 줄 수량 합계가 int 범위를 넘으면 400 (음수로 넘어간 합계로 주문이 저장되지 않음)
+ * */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class I_OrderControllerTest {
+    @Autowired MockMvc mockMvc;
+    @Autowired G_UserRepository userRepository;
+    @Autowired I_ProductRepository productRepository;
+    @Autowired I_OrderRepository orderRepository;
+
+    private UsernamePasswordAuthenticationToken auth;
+    private I_Product product;
+
+    @BeforeEach
+    void setUp() {
+        G_User user = userRepository.save(G_User.builder()
+                .loginId("order-" + System.nanoTime())
+                .password("{noop}password")
+                .email("order@example.com")
+                .nickname("order")
+                .build());
+        UserPrincipal principal = UserPrincipal.builder()
+                .id(user.getId())
+                .username(user.getLoginId())
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_USER")))
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .enabled(true)
+                .build();
+        auth = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        product = productRepository.save(I_Product.builder().name("overflow-product").price(1).build());
+    }
+
+    @Test
+    void mergedQuantityOverflowIsBadRequest() throws Exception {
+        long before = orderRepository.count();
+        String body = """
+                {"items": [
+                    {"productId": %d, "quantity": %d},
+                    {"productId": %d, "quantity": 1}
+                ]}
+                """.formatted(product.getId(), Integer.MAX_VALUE, product.getId());
+
+        mockMvc.perform(post("/api/v1/orders")
+                        .with(authentication(auth))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+
+        assertThat(orderRepository.count()).as("저장된 주문 수").isEqualTo(before);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.k5_iot_springboot.filter;
+
+import com.example.k5_iot_springboot.common.enums.JwtAuthMode;
+import com.example.k5_iot_springboot.entity.G_User;
+import com.example.k5_iot_springboot.provider.JwtProvider;
+import com.example.k5_iot_springboot.repository.G_UserRepository;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * === JwtAuthModeBenchmarkTest ===
+ * : jwt.auth-mode DB vs CLAIMS - JwtAuthenticationFilter 1회 인증 처리량 비교 (H2)
+ * - DB: 요청마다 users + user_roles 조회 (PrincipalCache 끔 - 조회 비용 그대로 측정)
+ * - CLAIMS: 검증된 클레임만으로 UserPrincipal 구성
+ * - 두 모드 모두 인증이 성공하는지 확인하고 초당 처리량은 로그로 출력 (환경마다 달라 수치 비교는 하지 않음)
+ * */
+@SpringBootTest(properties = "principal.cache.max-entries=0")
+@ActiveProfiles("test")
+class JwtAuthModeBenchmarkTest {
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 10_000;
+
+    @Autowired JwtAuthenticationFilter filter;
+    @Autowired JwtProvider jwtProvider;
+    @Autowired G_UserRepository userRepository;
+
+    private String authorization;
+    private JwtAuthMode original;
+
+    @BeforeEach
+    void setUp() {
+        G_User user = userRepository.save(G_User.builder()
+                .loginId("bench-" + System.nanoTime())
+                .password("{noop}password")
+                .email("bench@example.com")
+                .nickname("bench")
+                .build());
+        authorization = JwtProvider.BEARER_PREFIX
+                + jwtProvider.generateJwtToken(user.getLoginId(), user.getId(), user.getTokenVersion(), Set.of("ROLE_USER"));
+        original = (JwtAuthMode) ReflectionTestUtils.getField(filter, "authMode");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(filter, "authMode", original);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void compareDbAndClaimsThroughput() throws Exception {
+        double db = measure(JwtAuthMode.DB);
+        double claims = measure(JwtAuthMode.CLAIMS);
+        System.out.printf("[jwt.auth-mode] DB=%.0f req/s, CLAIMS=%.0f req/s (x%.1f)%n", db, claims, claims / db);
+    }
+
+    // 초당 인증 처리 횟수 - 매 요청 인증 성공 확인
+    private double measure(JwtAuthMode mode) throws Exception {
+        ReflectionTestUtils.setField(filter, "authMode", mode);
+        AtomicInteger authenticated = new AtomicInteger();
+        FilterChain chain = (req, res) -> {
+            if (SecurityContextHolder.getContext().getAuthentication() != null) authenticated.incrementAndGet();
+        };
+
+        for (int i = 0; i < WARMUP; i++) authenticate(chain);
+        authenticated.set(0);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) authenticate(chain);
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(authenticated.get()).as("%s 모드 인증 성공 횟수", mode).isEqualTo(ITERATIONS);
+        return ITERATIONS / (elapsed / 1_000_000_000.0);
+    }
+
+    private void authenticate(FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/me");
+        request.addHeader("Authorization", authorization);
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.k5_iot_springboot.provider;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * === VerifiedTokenCacheBenchmarkTest ===
+ * : JwtProvider 검증 캐시(jwt.verified-cache.max-entries) 사용 vs 미사용 - 요청 1건의 토큰 검증 처리량
+ * - 요청 1건 = 필터의 getClaims + 이후 같은 토큰에 대한 getUsernameFromJwt (같은 요청 안에서 2번 검증)
+ * - 반복 토큰: USERS 명이 각자 같은 토큰으로 계속 요청 >> 캐시 사용 시 HMAC 검증 + JSON 디코딩 생략
+ *      >> 캐시 사용 처리량이 미사용의 2배 이상인지 확인
+ * - 처음 보는 토큰: 요청마다 새 토큰 (캐시 미스 + 저장 비용) >> 처리량만 출력
+ * */
+class VerifiedTokenCacheBenchmarkTest {
+    private static final String SECRET = "1234567890qwertyuiopasdfghjklzxcvbnmQWERTYUIOPASDFGHJKLZXCVBNM1234567890";
+    private static final long EXPIRATION_MS = 900_000L;
+    private static final int USERS = 100;
+    private static final int REQUESTS = 50_000;
+    private static final int FRESH_TOKENS = 10_000;
+
+    private final JwtProvider cached = new JwtProvider(SECRET, EXPIRATION_MS, 60, 10_000);
+    private final JwtProvider uncached = new JwtProvider(SECRET, EXPIRATION_MS, 60, 0);
+
+    @Test
+    void cacheHitsSkipSignatureVerification() {
+        List<String> tokens = tokens(USERS);
+        run(cached, tokens, REQUESTS); // 워밍업 (JIT)
+        run(uncached, tokens, REQUESTS);
+
+        double hit = run(cached, tokens, REQUESTS);
+        double off = run(uncached, tokens, REQUESTS);
+
+        List<String> fresh = tokens(FRESH_TOKENS);
+        List<String> freshOff = tokens(FRESH_TOKENS);
+        double miss = run(cached, fresh, FRESH_TOKENS);
+        double missOff = run(uncached, freshOff, FRESH_TOKENS);
+
+        System.out.printf("[jwt cache] repeated tokens: cache=%.0f req/s, no cache=%.0f req/s | fresh tokens: cache=%.0f req/s, no cache=%.0f req/s%n",
+                hit, off, miss, missOff);
+        assertThat(hit).as("반복 토큰 - 캐시 사용 처리량").isGreaterThan(off * 2);
+    }
+
+    // 요청 count 건 처리 (tokens 를 순환) - 초당 처리 요청 수
+    private static double run(JwtProvider provider, List<String> tokens, int count) {
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            String token = tokens.get(i % tokens.size());
+            String subject = provider.getClaims(token).getSubject();
+            assertThat(provider.getUsernameFromJwt(token)).isEqualTo(subject);
+        }
+        return count / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    private List<String> tokens(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> cached.generateJwtToken("user-" + i, (long) i, 0L, Set.of("ROLE_USER")))
+                .toList();
+    }
+}
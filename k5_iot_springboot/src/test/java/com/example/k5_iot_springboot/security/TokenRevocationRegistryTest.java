@@ -0,0 +1,60 @@
+package com.example.k5_iot_springboot.security;
+
+import com.example.k5_iot_springboot.common.id.SnowflakeIds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * === TokenRevocationRegistryTest ===
+ * : 사용자 단위 폐기 경계 - 발급 시각은 iat(초 단위) 기준, 같은 초는 폐기로 판단
+ * - 트랜잭션 밖 호출 >> 폐기는 즉시 이 서버에 반영 (JdbcTemplate 은 mock - INSERT 결과 무시)
+ * */
+class TokenRevocationRegistryTest {
+    private static final long USER_ID = 1L;
+
+    private TokenRevocationRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TokenRevocationRegistry(mock(JdbcTemplate.class), 3_600_000L, 0, 30, 1_000, 0.01);
+    }
+
+    @Test
+    void tokenIssuedBeforeRevocationIsRevokedEvenIfIdClockIsAhead() {
+        // ms 당 128개를 넘게 발급하면 Snowflake 논리 시계가 벽시계보다 앞섬 (엔티티 ID 와 jti 가 같은 순번 공유)
+        long jti;
+        do {
+            jti = SnowflakeIds.next();
+        } while (SnowflakeIds.timestampOf(jti) < System.currentTimeMillis() + 2_000);
+        Date iat = new Date(System.currentTimeMillis() / 1000 * 1000);
+
+        registry.revokeUser(USER_ID);
+
+        assertThat(SnowflakeIds.timestampOf(jti)).as("jti 시각 - 폐기 시각보다 뒤").isGreaterThan(System.currentTimeMillis());
+        assertThat(registry.isRevoked(Long.toString(jti), USER_ID, iat)).as("폐기 전 발급 토큰").isTrue();
+    }
+
+    @Test
+    void tokenIssuedInSameSecondIsRevoked() {
+        Date iat = new Date(System.currentTimeMillis() / 1000 * 1000);
+        registry.revokeUser(USER_ID);
+
+        assertThat(registry.isRevoked(Long.toString(SnowflakeIds.next()), USER_ID, iat)).as("같은 초 발급 토큰").isTrue();
+        assertThat(registry.isRevoked(null, USER_ID, iat)).as("jti 없는 토큰").isTrue();
+        assertThat(registry.isRevoked(null, 2L, iat)).as("다른 사용자").isFalse();
+    }
+
+    @Test
+    void tokenIssuedInLaterSecondIsAccepted() {
+        registry.revokeUser(USER_ID);
+        Date iat = new Date((System.currentTimeMillis() / 1000 + 1) * 1000);
+
+        assertThat(registry.isRevoked(Long.toString(SnowflakeIds.next()), USER_ID, iat)).as("다음 초 발급 토큰").isFalse();
+    }
+}
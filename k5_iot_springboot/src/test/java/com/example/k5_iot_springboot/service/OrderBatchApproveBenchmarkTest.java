@@ -0,0 +1,136 @@
+package com.example.k5_iot_springboot.service;
+
+import com.example.k5_iot_springboot.common.enums.OrderStatus;
+import com.example.k5_iot_springboot.dto.I_Order.request.OrderRequest;
+import com.example.k5_iot_springboot.dto.I_Order.response.OrderResponse;
+import com.example.k5_iot_springboot.entity.G_User;
+import com.example.k5_iot_springboot.entity.I_Product;
+import com.example.k5_iot_springboot.entity.I_Stock;
+import com.example.k5_iot_springboot.repository.G_UserRepository;
+import com.example.k5_iot_springboot.repository.I_OrderRepository;
+import com.example.k5_iot_springboot.repository.I_ProductRepository;
+import com.example.k5_iot_springboot.repository.I_StockRepository;
+import com.example.k5_iot_springboot.security.UserPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * === OrderBatchApproveBenchmarkTest ===
+ * : PENDING 주문 N건 승인 - 단건 승인(approve) N회 vs 일괄 승인(approveBatch) 1회 (Hibernate Statistics, H2)
+ * - 단건: 주문마다 트랜잭션 1개 + 상태 전이 + 상품마다 재고 행 잠금 >> statement 수가 주문 수에 비례
+ * - 일괄: 주문 행 잠금 SELECT 1회 + 재고 행 잠금 SELECT 1회 + 재고/상태 UPDATE batch >> 주문 수와 거의 무관
+ * - 처리 시간은 로그로만 출력 (환경마다 달라 수치 비교는 하지 않음)
+ * */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class OrderBatchApproveBenchmarkTest {
+    private static final int ORDERS = 100;
+    private static final int PRODUCTS = 5;
+    private static final int INITIAL_STOCK = 10_000;
+
+    @Autowired I_OrderService orderService;
+    @Autowired G_UserRepository userRepository;
+    @Autowired I_ProductRepository productRepository;
+    @Autowired I_StockRepository stockRepository;
+    @Autowired I_OrderRepository orderRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    private UserPrincipal principal;
+    private List<I_Product> products;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        G_User user = userRepository.save(G_User.builder()
+                .loginId("batch-" + System.nanoTime())
+                .password("{noop}password")
+                .email("batch@example.com")
+                .nickname("batch")
+                .build());
+        principal = UserPrincipal.builder()
+                .id(user.getId())
+                .username(user.getLoginId())
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_MANAGER")))
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .enabled(true)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        products = productRepository.saveAll(IntStream.range(0, PRODUCTS)
+                .mapToObj(i -> I_Product.builder().name("batch-product-" + i).price(1_000 + i).build())
+                .toList());
+        products.forEach(p -> {
+            I_Stock stock = I_Stock.builder().product(p).build();
+            stock.setQuantity(INITIAL_STOCK);
+            stockRepository.save(stock);
+        });
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void batchApproveStatementsDoNotGrowWithOrders() {
+        List<Long> singleIds = createOrders();
+        statistics.clear();
+        long singleStart = System.nanoTime();
+        singleIds.forEach(id -> orderService.approve(principal, id));
+        long singleMs = (System.nanoTime() - singleStart) / 1_000_000;
+        long single = statistics.getPrepareStatementCount();
+
+        List<Long> batchIds = createOrders();
+        statistics.clear();
+        long batchStart = System.nanoTime();
+        OrderResponse.BatchApproveResult result =
+                orderService.approveBatch(principal, new OrderRequest.BatchApproveRequest(batchIds)).getData();
+        long batchMs = (System.nanoTime() - batchStart) / 1_000_000;
+        long batch = statistics.getPrepareStatementCount();
+
+        System.out.printf("[approve] %d orders: approve x%d=%d statements (%d ms), approve-batch=%d statements (%d ms)%n",
+                ORDERS, ORDERS, single, singleMs, batch, batchMs);
+
+        assertThat(result.failures()).isEmpty();
+        assertThat(result.approvedOrderIds()).hasSize(ORDERS);
+        assertThat(batchIds).allSatisfy(id ->
+                assertThat(orderRepository.findStatusById(id)).contains(OrderStatus.APPROVED));
+        // 주문 1건 = 상품 2개 x 수량 1, 두 번의 승인 모두 반영
+        int decreased = products.stream()
+                .mapToInt(p -> INITIAL_STOCK - stockRepository.findQuantityByProductId(p.getId()).orElseThrow())
+                .sum();
+        assertThat(decreased).isEqualTo(2 * 2 * ORDERS);
+
+        assertThat(batch * 10).as("일괄 승인 statement 수 x10").isLessThan(single);
+    }
+
+    // 상품 2개(연속된 두 상품)가 담긴 PENDING 주문 ORDERS 건 생성
+    private List<Long> createOrders() {
+        return IntStream.range(0, ORDERS)
+                .mapToObj(i -> new OrderRequest.OrderCreateRequest(List.of(
+                        new OrderRequest.OrderItemLine(products.get(i % PRODUCTS).getId(), 1),
+                        new OrderRequest.OrderItemLine(products.get((i + 1) % PRODUCTS).getId(), 1))))
+                .map(req -> orderService.create(principal, req).getData().orderId())
+                .toList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.k5_iot_springboot.service;
+
+import com.example.k5_iot_springboot.dto.I_Order.request.OrderRequest;
+import com.example.k5_iot_springboot.entity.G_User;
+import com.example.k5_iot_springboot.entity.I_Product;
+import com.example.k5_iot_springboot.repository.G_UserRepository;
+import com.example.k5_iot_springboot.repository.I_ProductRepository;
+import com.example.k5_iot_springboot.security.UserPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * === OrderCreateStatementCountTest ===
+ * : 주문 생성 시 statement 수가 주문 항목 수와 무관한지 확인 (Hibernate Statistics, H2)
+ * - 상품 일괄 조회(IN 1회) + 주문/항목 INSERT 는 @SnowflakeId 로 jdbc.batch_size 단위 batch
+ *      >> 1줄 주문과 50줄 주문의 statement 수가 같음
+ * - 항목마다 상품을 조회하거나(findById N회) 항목 ID가 IDENTITY 이면 항목당 statement 1개씩 늘어남
+ * */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class OrderCreateStatementCountTest {
+    private static final int LINES = 50;
+
+    @Autowired I_OrderService orderService;
+    @Autowired G_UserRepository userRepository;
+    @Autowired I_ProductRepository productRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    private UserPrincipal principal;
+    private List<I_Product> products;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        G_User user = userRepository.save(G_User.builder()
+                .loginId("stmt-" + System.nanoTime())
+                .password("{noop}password")
+                .email("stmt@example.com")
+                .nickname("stmt")
+                .build());
+        principal = UserPrincipal.builder()
+                .id(user.getId())
+                .username(user.getLoginId())
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_USER")))
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .enabled(true)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        products = productRepository.saveAll(IntStream.range(0, LINES)
+                .mapToObj(i -> I_Product.builder().name("stmt-product-" + i).price(1_000 + i).build())
+                .toList());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void productLookupDoesNotGrowWithLines() {
+        create(1); // 워밍업 - 최초 호출 시의 지연 초기화 쿼리 제외
+
+        long single = create(1);
+        long fifty = create(LINES);
+
+        System.out.printf("[order create] statements: 1 line=%d, %d lines=%d%n", single, LINES, fifty);
+        assertThat(fifty).as("%d줄 주문 statement 수", LINES).isEqualTo(single);
+    }
+
+    // 주문 1건 생성 시 준비(prepare)된 JDBC statement 수
+    private long create(int lines) {
+        OrderRequest.OrderCreateRequest req = new OrderRequest.OrderCreateRequest(products.subList(0, lines).stream()
+                .map(p -> new OrderRequest.OrderItemLine(p.getId(), 1))
+                .toList());
+
+        statistics.clear();
+        orderService.create(principal, req);
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.k5_iot_springboot.service;
+
+import com.example.k5_iot_springboot.common.enums.ExportFormat;
+import com.example.k5_iot_springboot.entity.G_User;
+import com.example.k5_iot_springboot.entity.I_OrderItem;
+import com.example.k5_iot_springboot.entity.I_Product;
+import com.example.k5_iot_springboot.repository.G_UserRepository;
+import com.example.k5_iot_springboot.repository.I_ProductRepository;
+import com.example.k5_iot_springboot.service.impl.I_OrderExportServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * === OrderExportStreamingTest ===
+ * : 주문 내보내기(CSV)가 DB 커서에서 읽은 행을 바로 흘려보내고, N행마다 영속성 컨텍스트를 비우는지 확인 (H2)
+ * - 주문 ORDERS건 x 항목 2개 = CLEAR_INTERVAL 의 몇 배가 되는 행 수를 JDBC batch 로 시드
+ * - 출력 스트림에 쓰인 행마다 해당 주문 항목 엔티티를 조회 >> 지연 로딩으로 엔티티가 올라오는 상황 재현
+ *      >> em.clear() 가 주기적으로 호출되지 않으면 관리 엔티티 수가 전체 행 수까지 증가
+ * - 출력 flush 횟수 >= 행 수 / CLEAR_INTERVAL >> 결과를 모았다가 한 번에 쓰지 않음
+ * */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderExportStreamingTest {
+    private static final int ORDERS = 12_000;
+    private static final int ITEMS_PER_ORDER = 2;
+    private static final int ROWS = ORDERS * ITEMS_PER_ORDER;
+
+    // 시드 데이터만 내보내도록 조회 기간 고정 (KST)
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Autowired I_OrderExportService exportService;
+    @Autowired G_UserRepository userRepository;
+    @Autowired I_ProductRepository productRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired EntityManager em;
+
+    private final int clearInterval = (int) ReflectionTestUtils.getField(I_OrderExportServiceImpl.class, "CLEAR_INTERVAL");
+
+    @BeforeEach
+    void setUp() {
+        G_User user = userRepository.save(G_User.builder()
+                .loginId("export-" + System.nanoTime())
+                .password("{noop}password")
+                .email("export@example.com")
+                .nickname("export")
+                .build());
+        List<I_Product> products = productRepository.saveAll(List.of(
+                I_Product.builder().name("export-a").price(1_000).build(),
+                I_Product.builder().name("export-b").price(2_000).build()));
+
+        Timestamp createdAt = Timestamp.valueOf(CREATED_AT.minusHours(9)); // 저장은 UTC
+        List<Long> orderIds = LongStream.rangeClosed(1, ORDERS).boxed().toList();
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO orders (id, user_id, order_status, total_amount, total_quantity, auto_approve, created_at, updated_at) " +
+                        "VALUES (?, ?, 'PENDING', 3000, 2, false, ?, ?)",
+                orderIds, 1_000, (ps, id) -> {
+                    ps.setLong(1, id);
+                    ps.setLong(2, user.getId());
+                    ps.setTimestamp(3, createdAt);
+                    ps.setTimestamp(4, createdAt);
+                });
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO order_items (id, order_id, product_id, quantity, product_name, unit_price, line_total, created_at, updated_at) " +
+                        "VALUES (?, ?, ?, 1, ?, ?, ?, ?, ?)",
+                LongStream.rangeClosed(1, ROWS).boxed().toList(), 1_000, (ps, id) -> {
+                    I_Product product = products.get((int) ((id - 1) % ITEMS_PER_ORDER));
+                    ps.setLong(1, id);
+                    ps.setLong(2, (id - 1) / ITEMS_PER_ORDER + 1);
+                    ps.setLong(3, product.getId());
+                    ps.setString(4, product.getName());
+                    ps.setInt(5, product.getPrice());
+                    ps.setInt(6, product.getPrice());
+                    ps.setTimestamp(7, createdAt);
+                    ps.setTimestamp(8, createdAt);
+                });
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "manager", null, List.of(new SimpleGrantedAuthority("ROLE_MANAGER"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM order_items WHERE id <= ?", ROWS);
+        jdbcTemplate.update("DELETE FROM orders WHERE id <= ?", ORDERS);
+    }
+
+    @Test
+    void csvExportStreamsAndClearsPersistenceContext() throws Exception {
+        assertThat(ROWS).isGreaterThan(clearInterval * 4);
+
+        StreamingResponseBody body = exportService.export(ExportFormat.CSV, null, CREATED_AT, CREATED_AT);
+        LoadingOutputStream out = new LoadingOutputStream();
+        body.writeTo(out);
+
+        System.out.printf("[order export] rows=%d, flushes=%d, max managed entities=%d%n",
+                out.lines - 1, out.flushes, out.maxManaged);
+
+        assertThat(out.lines).as("헤더 + 항목 행 수").isEqualTo(ROWS + 1);
+        assertThat(out.flushes).as("출력 flush 횟수").isGreaterThanOrEqualTo(ROWS / clearInterval);
+        assertThat(out.maxManaged).as("관리 엔티티 수 최대값")
+                .isPositive()
+                .isLessThanOrEqualTo(clearInterval * 2L)
+                .isLessThan(ROWS);
+    }
+
+    /**
+     * 응답 스트림 대역
+     * - 쓰인 행 수만큼 주문 항목 엔티티를 조회해 영속성 컨텍스트에 올림 (내보내기 트랜잭션과 같은 스레드 = 같은 EntityManager)
+     * - 매 쓰기 시점의 관리 엔티티 수 최대값 기록
+     * */
+    private class LoadingOutputStream extends OutputStream {
+        long lines;
+        long flushes;
+        long maxManaged;
+
+        @Override
+        public void write(int b) {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            long from = lines;
+            for (int i = off; i < off + len; i++) if (b[i] == '\n') lines++;
+
+            // 헤더(첫 줄) 제외 - 항목 ID 는 1 부터 행 순서대로 시드
+            long firstItem = Math.max(from, 1);
+            if (lines > firstItem) {
+                em.createQuery("SELECT i FROM I_OrderItem i WHERE i.id BETWEEN :from AND :to", I_OrderItem.class)
+                        .setParameter("from", firstItem)
+                        .setParameter("to", lines - 1)
+                        .getResultList();
+            }
+            maxManaged = Math.max(maxManaged, em.unwrap(Session.class).getStatistics().getEntityCount());
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
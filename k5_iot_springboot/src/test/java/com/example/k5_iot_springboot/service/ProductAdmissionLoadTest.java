@@ -0,0 +1,244 @@
+package com.example.k5_iot_springboot.service;
+
+import com.example.k5_iot_springboot.common.errors.AdmissionRejectedException;
+import com.example.k5_iot_springboot.dto.I_Order.request.OrderRequest;
+import com.example.k5_iot_springboot.entity.G_User;
+import com.example.k5_iot_springboot.entity.I_Product;
+import com.example.k5_iot_springboot.entity.I_ProductAdmissionRule;
+import com.example.k5_iot_springboot.entity.I_Stock;
+import com.example.k5_iot_springboot.repository.G_UserRepository;
+import com.example.k5_iot_springboot.repository.I_ProductAdmissionRuleRepository;
+import com.example.k5_iot_springboot.repository.I_ProductRepository;
+import com.example.k5_iot_springboot.repository.I_StockRepository;
+import com.example.k5_iot_springboot.security.UserPrincipal;
+import com.example.k5_iot_springboot.service.support.I_ProductAdmission;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * === ProductAdmissionLoadTest ===
+ * : 인기 상품 승인 폭주 중 다른 상품 승인의 지연 시간 - 상품별 유입 제한 규칙 없음 vs 있음 (PESSIMISTIC, H2)
+ * - 폭주: HOT_THREADS 개 스레드(> 커넥션 풀 크기)가 SPIKE_MS 동안 같은 상품 주문을 승인
+ *      >> 재고 행 잠금 대기가 커넥션을 붙잡아 다른 상품 승인이 커넥션을 기다림
+ * - 같은 시간 동안 다른 상품(cold) 주문을 한 스레드에서 순서대로 승인 >> p50/p99 출력
+ * - 규칙 없음: 느려지더라도 실패 없이 처리되는지 확인 (승인 1건이 커넥션 2개를 잡으면 풀이 교착되어 시간 초과로 실패)
+ * - 규칙 있음: 인기 상품 승인 수가 허용 속도(rate x 시간 + burst) 이내로 제한되고 초과분은 거절(429)되는지,
+ *   다른 상품 승인이 모두 성공하고 p99 가 규칙 없음보다 낮은지 확인 (조용할 때의 p99 도 함께 출력)
+ * */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductAdmissionLoadTest {
+    private static final int HOT_THREADS = 24;
+    // 구간별 주문 수 (구간마다 새 주문 사용 - 이전 구간이 빨리 끝나도 다음 구간의 주문이 모자라지 않도록)
+    private static final int QUIET_COLD_ORDERS = 50;
+    private static final int SPIKE_HOT_ORDERS = 400;
+    private static final int LIMITED_HOT_ORDERS = 150;
+    private static final int SPIKE_COLD_ORDERS = 150;
+    private static final long SPIKE_MS = 3_000;
+    private static final long REJECTED_PAUSE_MS = 50; // 거절(429)된 클라이언트가 다시 요청하기 전 대기
+    private static final int INITIAL_STOCK = 100_000;
+
+    private static final int RATE_PER_SECOND = 20;
+    private static final int BURST = 5;
+    private static final int MAX_WAIT_MS = 100;
+
+    @Autowired I_OrderService orderService;
+    @Autowired I_ProductAdmission productAdmission;
+    @Autowired I_ProductAdmissionRuleRepository ruleRepository;
+    @Autowired G_UserRepository userRepository;
+    @Autowired I_ProductRepository productRepository;
+    @Autowired I_StockRepository stockRepository;
+
+    private UserPrincipal principal;
+    private Long hotProductId;
+    private Long coldProductId;
+
+    /** 한 구간의 측정 결과 */
+    private record Phase(int hotApproved, int hotRejected, int hotFailed, long elapsedMs,
+                         int coldApproved, int coldFailed, long coldP50, long coldP99) {}
+
+    @BeforeEach
+    void setUp() {
+        String loginId = "spike-" + System.nanoTime();
+        G_User user = userRepository.save(G_User.builder()
+                .loginId(loginId)
+                .password("{noop}password")
+                .email(loginId + "@example.com")
+                .nickname(loginId)
+                .build());
+        principal = UserPrincipal.builder()
+                .id(user.getId())
+                .username(user.getLoginId())
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_MANAGER")))
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .enabled(true)
+                .build();
+        authenticate();
+
+        hotProductId = product("hot-" + loginId);
+        coldProductId = product("cold-" + loginId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ruleRepository.deleteById(hotProductId);
+        productAdmission.refresh();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void hotProductSpikeDoesNotStarveOtherProducts() throws Exception {
+        // 주문 생성도 유입 제한 대상 >> 규칙 적용 전에 모두 생성
+        Queue<Long> quietCold = createOrders(coldProductId, QUIET_COLD_ORDERS);
+        Queue<Long> unlimitedHot = createOrders(hotProductId, SPIKE_HOT_ORDERS);
+        Queue<Long> unlimitedCold = createOrders(coldProductId, SPIKE_COLD_ORDERS);
+        Queue<Long> limitedHot = createOrders(hotProductId, LIMITED_HOT_ORDERS);
+        Queue<Long> limitedCold = createOrders(coldProductId, SPIKE_COLD_ORDERS);
+
+        Phase quiet = run(0, new ConcurrentLinkedQueue<>(), quietCold);
+        Phase unlimited = run(HOT_THREADS, unlimitedHot, unlimitedCold);
+
+        ruleRepository.save(I_ProductAdmissionRule.builder()
+                .productId(hotProductId)
+                .ratePerSecond(RATE_PER_SECOND)
+                .burst(BURST)
+                .maxWaitMs(MAX_WAIT_MS)
+                .build());
+        productAdmission.refresh();
+        Phase limited = run(HOT_THREADS, limitedHot, limitedCold);
+
+        print("quiet", quiet);
+        print("spike, no rule", unlimited);
+        print("spike, %d/s burst %d".formatted(RATE_PER_SECOND, BURST), limited);
+
+        assertThat(unlimited.hotFailed() + unlimited.coldFailed()).as("규칙 없이 실패한 승인 수").isZero();
+        assertThat(limited.hotRejected()).as("규칙 적용 후 거절된 인기 상품 승인 수").isPositive();
+        long allowed = RATE_PER_SECOND * limited.elapsedMs() / 1_000 + BURST + RATE_PER_SECOND * MAX_WAIT_MS / 1_000 + 2;
+        assertThat(limited.hotApproved()).as("규칙 적용 후 승인된 인기 상품 주문 수").isLessThanOrEqualTo((int) allowed);
+        assertThat(limited.coldFailed()).as("규칙 적용 후 실패한 다른 상품 승인 수").isZero();
+        assertThat(limited.coldP99()).as("규칙 적용 후 다른 상품 승인 p99").isLessThan(unlimited.coldP99());
+    }
+
+    // 최대 SPIKE_MS 동안 hotThreads 개 스레드는 인기 상품, 1개 스레드는 다른 상품 주문을 승인
+    //      - 인기 상품 주문이 모두 승인되면 폭주 종료 >> 다른 상품 승인도 함께 종료 (폭주 중 지연 시간만 측정)
+    private Phase run(int hotThreads, Queue<Long> hotOrders, Queue<Long> coldOrders) throws Exception {
+        AtomicInteger hotRunning = new AtomicInteger(hotThreads);
+        AtomicInteger hotApproved = new AtomicInteger();
+        AtomicInteger hotRejected = new AtomicInteger();
+        AtomicInteger hotFailed = new AtomicInteger();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SPIKE_MS);
+
+        ExecutorService pool = Executors.newFixedThreadPool(hotThreads + 1);
+        List<Future<?>> hot = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < hotThreads; t++) {
+            hot.add(pool.submit(() -> {
+                authenticate();
+                Long id;
+                while (System.nanoTime() < deadline && (id = hotOrders.poll()) != null) {
+                    try {
+                        orderService.approve(principal, id);
+                        hotApproved.incrementAndGet();
+                    } catch (AdmissionRejectedException e) {
+                        hotRejected.incrementAndGet();
+                        hotOrders.add(id); // 승인되지 않은 주문은 다시 사용
+                        sleep(REJECTED_PAUSE_MS);
+                    } catch (RuntimeException e) {
+                        hotFailed.incrementAndGet(); // 잠금 대기 시간 초과 등
+                    }
+                }
+                hotRunning.decrementAndGet();
+            }));
+        }
+
+        Future<List<Long>> cold = pool.submit(() -> {
+            authenticate();
+            List<Long> latencies = new ArrayList<>();
+            Long id;
+            while (System.nanoTime() < deadline && (hotThreads == 0 || hotRunning.get() > 0)
+                    && (id = coldOrders.poll()) != null) {
+                long t = System.nanoTime();
+                try {
+                    orderService.approve(principal, id);
+                    latencies.add(System.nanoTime() - t);
+                } catch (RuntimeException e) {
+                    latencies.add(-1L);
+                }
+            }
+            return latencies;
+        });
+
+        for (Future<?> f : hot) f.get();
+        List<Long> coldLatencies = cold.get();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        pool.shutdown();
+
+        List<Long> succeeded = coldLatencies.stream().filter(l -> l >= 0).sorted().toList();
+        return new Phase(hotApproved.get(), hotRejected.get(), hotFailed.get(), elapsedMs,
+                succeeded.size(), coldLatencies.size() - succeeded.size(),
+                percentile(succeeded, 0.50), percentile(succeeded, 0.99));
+    }
+
+    private static long percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) return 0;
+        return sorted.get((int) Math.ceil(sorted.size() * p) - 1) / 1_000_000;
+    }
+
+    private static void print(String label, Phase p) {
+        System.out.printf("[admission] %s: hot approved=%d rejected=%d failed=%d in %d ms | cold approved=%d failed=%d p50=%d ms p99=%d ms%n",
+                label, p.hotApproved(), p.hotRejected(), p.hotFailed(), p.elapsedMs(),
+                p.coldApproved(), p.coldFailed(), p.coldP50(), p.coldP99());
+    }
+
+    private Long product(String name) {
+        I_Product product = productRepository.save(I_Product.builder().name(name).price(1_000).build());
+        I_Stock stock = I_Stock.builder().product(product).build();
+        stock.setQuantity(INITIAL_STOCK);
+        stockRepository.save(stock);
+        return product.getId();
+    }
+
+    private Queue<Long> createOrders(Long productId, int count) {
+        OrderRequest.OrderCreateRequest req = new OrderRequest.OrderCreateRequest(
+                List.of(new OrderRequest.OrderItemLine(productId, 1)));
+        return IntStream.range(0, count)
+                .mapToObj(i -> orderService.create(principal, req).getData().orderId())
+                .collect(Collectors.toCollection(ConcurrentLinkedQueue::new));
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.k5_iot_springboot.service;
+
+import com.example.k5_iot_springboot.common.enums.StockMutationMode;
+import com.example.k5_iot_springboot.dto.I_Order.request.OrderRequest;
+import com.example.k5_iot_springboot.entity.G_User;
+import com.example.k5_iot_springboot.entity.I_Product;
+import com.example.k5_iot_springboot.entity.I_Stock;
+import com.example.k5_iot_springboot.repository.G_UserRepository;
+import com.example.k5_iot_springboot.repository.I_ProductRepository;
+import com.example.k5_iot_springboot.repository.I_StockRepository;
+import com.example.k5_iot_springboot.security.UserPrincipal;
+import com.example.k5_iot_springboot.service.support.I_StockMutator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * === StockMutationModeBenchmarkTest ===
+ * : 인기 상품 1개에 대한 주문 승인 - stock.mutation-mode PESSIMISTIC vs CONDITIONAL (H2)
+ * - statement 수: PESSIMISTIC 은 재고마다 SELECT ... FOR UPDATE + UPDATE, CONDITIONAL 은 조건부 UPDATE 1개
+ *      >> 단일 스레드 승인에서 CONDITIONAL 이 승인 1건당 1개씩 적은지 확인 (Hibernate Statistics)
+ * - 동시 승인: THREADS 개 스레드가 같은 상품 주문을 승인 >> 처리량/p99 출력 (환경마다 달라 수치 비교는 하지 않음)
+ *      >> 두 모드 모두 모든 주문이 승인되고 재고가 정확히 승인 수만큼 줄었는지 확인
+ * */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class StockMutationModeBenchmarkTest {
+    private static final int COUNTED_ORDERS = 50;
+    private static final int CONCURRENT_ORDERS = 400;
+    private static final int THREADS = 8;
+    private static final int INITIAL_STOCK = 100_000;
+
+    @Autowired I_OrderService orderService;
+    @Autowired I_StockMutator stockMutator;
+    @Autowired G_UserRepository userRepository;
+    @Autowired I_ProductRepository productRepository;
+    @Autowired I_StockRepository stockRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    private UserPrincipal principal;
+    private Long productId;
+    private Statistics statistics;
+    private StockMutationMode original;
+
+    @BeforeEach
+    void setUp() {
+        String loginId = "mode-" + System.nanoTime();
+        G_User user = userRepository.save(G_User.builder()
+                .loginId(loginId)
+                .password("{noop}password")
+                .email(loginId + "@example.com")
+                .nickname(loginId)
+                .build());
+        principal = UserPrincipal.builder()
+                .id(user.getId())
+                .username(user.getLoginId())
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_MANAGER")))
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .enabled(true)
+                .build();
+        authenticate();
+
+        I_Product product = productRepository.save(I_Product.builder().name("hot-" + loginId).price(1_000).build());
+        I_Stock stock = I_Stock.builder().product(product).build();
+        stock.setQuantity(INITIAL_STOCK);
+        stockRepository.save(stock);
+        productId = product.getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        original = stockMutator.getMode();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(stockMutator, "mode", original);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void conditionalUpdateSavesOneStatementPerApproval() {
+        long pessimistic = countApproveStatements(StockMutationMode.PESSIMISTIC);
+        long conditional = countApproveStatements(StockMutationMode.CONDITIONAL);
+
+        System.out.printf("[stock mode] %d approvals: PESSIMISTIC=%d statements, CONDITIONAL=%d statements%n",
+                COUNTED_ORDERS, pessimistic, conditional);
+        assertThat(conditional).as("CONDITIONAL statement 수").isLessThan(pessimistic - COUNTED_ORDERS / 2);
+    }
+
+    @Test
+    void compareConcurrentApprovalThroughput() throws Exception {
+        for (StockMutationMode mode : List.of(StockMutationMode.PESSIMISTIC, StockMutationMode.CONDITIONAL)) {
+            ReflectionTestUtils.setField(stockMutator, "mode", mode);
+            List<Long> orderIds = createOrders(CONCURRENT_ORDERS);
+            int before = stockRepository.findQuantityByProductId(productId).orElseThrow();
+
+            List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+            ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+            long start = System.nanoTime();
+            List<Future<?>> futures = orderIds.stream()
+                    .<Future<?>>map(id -> pool.submit(() -> {
+                        authenticate();
+                        long t = System.nanoTime();
+                        orderService.approve(principal, id);
+                        latencies.add(System.nanoTime() - t);
+                    }))
+                    .toList();
+            for (Future<?> f : futures) f.get(); // 승인 실패 시 예외로 테스트 실패
+            long elapsed = System.nanoTime() - start;
+            pool.shutdown();
+
+            List<Long> sorted = latencies.stream().sorted().toList();
+            long p99 = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+            System.out.printf("[stock mode] %s: %d approvals x %d threads - %.0f approvals/s, p99=%.1f ms%n",
+                    mode, CONCURRENT_ORDERS, THREADS, CONCURRENT_ORDERS / (elapsed / 1_000_000_000.0), p99 / 1_000_000.0);
+
+            assertThat(stockRepository.findQuantityByProductId(productId)).as("%s 승인 후 재고", mode)
+                    .contains(before - CONCURRENT_ORDERS);
+        }
+    }
+
+    // 단일 스레드로 COUNTED_ORDERS 건 승인할 때 준비된 statement 수
+    private long countApproveStatements(StockMutationMode mode) {
+        ReflectionTestUtils.setField(stockMutator, "mode", mode);
+        List<Long> orderIds = createOrders(COUNTED_ORDERS);
+        orderService.approve(principal, createOrders(1).get(0)); // 워밍업 - 최초 호출 시의 지연 초기화 쿼리 제외
+
+        statistics.clear();
+        orderIds.forEach(id -> orderService.approve(principal, id));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Long> createOrders(int count) {
+        OrderRequest.OrderCreateRequest req = new OrderRequest.OrderCreateRequest(
+                List.of(new OrderRequest.OrderItemLine(productId, 1)));
+        return IntStream.range(0, count)
+                .mapToObj(i -> orderService.create(principal, req).getData().orderId())
+                .toList();
+    }
+
+    private void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.k5_iot_springboot.service;
+
+import com.example.k5_iot_springboot.common.enums.StockMutationMode;
+import com.example.k5_iot_springboot.dto.I_Order.request.OrderRequest;
+import com.example.k5_iot_springboot.dto.I_Order.request.StockRequest;
+import com.example.k5_iot_springboot.entity.G_User;
+import com.example.k5_iot_springboot.entity.I_Product;
+import com.example.k5_iot_springboot.entity.I_Stock;
+import com.example.k5_iot_springboot.repository.G_UserRepository;
+import com.example.k5_iot_springboot.repository.I_ProductRepository;
+import com.example.k5_iot_springboot.repository.I_StockRepository;
+import com.example.k5_iot_springboot.security.UserPrincipal;
+import com.example.k5_iot_springboot.service.support.I_StockMutator;
+import com.example.k5_iot_springboot.service.support.I_StockSlotManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * === StockSlotContentionBenchmarkTest ===
+ * : 인기 상품 1개에 대한 동시 승인 - stock.sharded.slot-count 별 슬롯 경합 (SHARDED 모드, H2)
+ * - 슬롯 잠금을 쥔 트랜잭션이 있을 때: 슬롯 1개면 승인이 재시도 한도까지 충돌(409), 슬롯 8개면 다른 슬롯에서 바로 성공
+ * - 슬롯 1 / 4 / 16개에서 THREADS 개 스레드가 같은 상품 주문을 승인 >> 처리량/재시도/충돌 수 출력
+ *      >> 슬롯 수 > 스레드 수이면 재시도 없이 모두 성공하는지 확인
+ *      >> 모든 슬롯 수에서 슬롯 합계 감소량 = 승인 성공 수 (충돌한 승인은 재고를 줄이지 않음)
+ * */
+@SpringBootTest
+@ActiveProfiles("test")
+class StockSlotContentionBenchmarkTest {
+    private static final int ORDERS = 200;
+    private static final int THREADS = 8;
+    private static final int INITIAL_STOCK = 100_000;
+
+    @Autowired I_OrderService orderService;
+    @Autowired I_StockService stockService;
+    @Autowired I_StockMutator stockMutator;
+    @Autowired I_StockSlotManager slotManager;
+    @Autowired G_UserRepository userRepository;
+    @Autowired I_ProductRepository productRepository;
+    @Autowired I_StockRepository stockRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired MeterRegistry meterRegistry;
+
+    private UserPrincipal principal;
+    private Long productId;
+    private StockMutationMode originalMode;
+    private Object originalSlotCount;
+
+    @BeforeEach
+    void setUp() {
+        String loginId = "slot-" + System.nanoTime();
+        G_User user = userRepository.save(G_User.builder()
+                .loginId(loginId)
+                .password("{noop}password")
+                .email(loginId + "@example.com")
+                .nickname(loginId)
+                .build());
+        principal = UserPrincipal.builder()
+                .id(user.getId())
+                .username(user.getLoginId())
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_MANAGER")))
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .enabled(true)
+                .build();
+        authenticate();
+
+        I_Product product = productRepository.save(I_Product.builder().name("hot-" + loginId).price(1_000).build());
+        I_Stock stock = I_Stock.builder().product(product).build();
+        stock.setQuantity(INITIAL_STOCK);
+        stockRepository.save(stock);
+        productId = product.getId();
+
+        originalMode = stockMutator.getMode();
+        originalSlotCount = ReflectionTestUtils.getField(slotManager, "slotCount");
+        ReflectionTestUtils.setField(stockMutator, "mode", StockMutationMode.SHARDED);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(stockMutator, "mode", originalMode);
+        ReflectionTestUtils.setField(slotManager, "slotCount", originalSlotCount);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void heldSlotBlocksOnlyWhenThereIsNoOtherSlot() throws Exception {
+        useSlots(1);
+        Long blocked = createOrders(1).get(0);
+        whileSlotHeld(() -> assertThatThrownBy(() -> orderService.approve(principal, blocked))
+                .isInstanceOf(OptimisticLockingFailureException.class));
+
+        useSlots(8);
+        Long approved = createOrders(1).get(0);
+        whileSlotHeld(() -> orderService.approve(principal, approved));
+        // 쥐고 있던 트랜잭션은 롤백 >> 승인 1건만 반영
+        assertThat(slotManager.sum(productId)).isEqualTo(INITIAL_STOCK - 1);
+    }
+
+    @Test
+    void compareSlotCounts() throws Exception {
+        for (int slots : List.of(1, 4, 16)) {
+            useSlots(slots);
+            List<Long> orderIds = createOrders(ORDERS);
+            double retriesBefore = retries();
+
+            AtomicInteger approved = new AtomicInteger();
+            AtomicInteger conflicts = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+            long start = System.nanoTime();
+            List<Future<?>> futures = orderIds.stream()
+                    .<Future<?>>map(id -> pool.submit(() -> {
+                        authenticate();
+                        try {
+                            orderService.approve(principal, id);
+                            approved.incrementAndGet();
+                        } catch (OptimisticLockingFailureException e) {
+                            conflicts.incrementAndGet(); // 재시도 한도 초과 (409)
+                        }
+                    }))
+                    .toList();
+            for (Future<?> f : futures) f.get();
+            long elapsed = System.nanoTime() - start;
+            pool.shutdown();
+
+            long retried = Math.round(retries() - retriesBefore);
+            System.out.printf("[stock slots] slots=%d: %d approvals x %d threads - %.0f approvals/s, retries=%d, conflicts=%d%n",
+                    slots, ORDERS, THREADS, approved.get() / (elapsed / 1_000_000_000.0), retried, conflicts.get());
+
+            assertThat(slotManager.sum(productId)).as("slots=%d 승인 후 재고", slots)
+                    .isEqualTo(INITIAL_STOCK - approved.get());
+            if (slots > THREADS) {
+                // 다른 스레드가 모든 슬롯을 동시에 잡을 수 없음 >> 비어 있는 슬롯이 항상 있음
+                assertThat(retried).as("slots=%d 재시도 수", slots).isZero();
+                assertThat(conflicts.get()).as("slots=%d 충돌 수", slots).isZero();
+            }
+        }
+    }
+
+    // 슬롯 수 변경 후 재고를 INITIAL_STOCK 으로 다시 설정 (새 슬롯 수로 재분배)
+    private void useSlots(int slots) {
+        ReflectionTestUtils.setField(slotManager, "slotCount", slots);
+        stockService.set(principal, new StockRequest.StockSet(productId, INITIAL_STOCK));
+    }
+
+    // 다른 트랜잭션이 슬롯 1개를 차감한 채 잠금을 유지하는 동안 action 실행 (이후 해당 트랜잭션은 롤백)
+    private void whileSlotHeld(Runnable action) throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            stockMutator.decrease(productId, 1);
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            status.setRollbackOnly();
+        }));
+        try {
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+            action.run();
+        } finally {
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private double retries() {
+        return meterRegistry.counter("stock.optimistic.retries", "operation", "approve").count();
+    }
+
+    private List<Long> createOrders(int count) {
+        OrderRequest.OrderCreateRequest req = new OrderRequest.OrderCreateRequest(
+                List.of(new OrderRequest.OrderItemLine(productId, 1)));
+        return IntStream.range(0, count)
+                .mapToObj(i -> orderService.create(principal, req).getData().orderId())
+                .toList();
+    }
+
+    private void authenticate() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.dto.I_Order.request.OrderRequest;
+import com.example.k5_iot_springboot.entity.G_User;
+import com.example.k5_iot_springboot.entity.I_Product;
+import com.example.k5_iot_springboot.entity.I_Stock;
+import com.example.k5_iot_springboot.repository.G_UserRepository;
+import com.example.k5_iot_springboot.repository.I_ProductRepository;
+import com.example.k5_iot_springboot.repository.I_StockRepository;
+import com.example.k5_iot_springboot.security.UserPrincipal;
+import com.example.k5_iot_springboot.service.I_OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * === I_OrderLogWriterBenchmarkTest ===
+ * : 주문 로그 N건 기록 - 호출 스레드에서 건마다 INSERT(기존 트리거 방식) vs I_OrderLogWriter 큐 + batch INSERT (H2)
+ * - 호출 스레드가 기다리는 시간: 동기 INSERT N회 vs enqueue N회 >> 비동기가 더 짧은지 확인
+ * - batch 수: writeBatch 호출 횟수가 이벤트 수보다 훨씬 적은지 확인 (N/10 미만)
+ * - 두 방식 모두 N건이 모두 기록되는지 확인 (전체 소요 시간은 로그로만 출력)
+ * */
+@SpringBootTest
+@ActiveProfiles("test")
+class I_OrderLogWriterBenchmarkTest {
+    private static final int EVENTS = 2_000;
+    private static final String INSERT_SQL =
+            "INSERT INTO order_logs (order_id, message, created_at, updated_at) VALUES (?, ?, ?, ?)";
+
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired I_OrderService orderService;
+    @Autowired G_UserRepository userRepository;
+    @Autowired I_ProductRepository productRepository;
+    @Autowired I_StockRepository stockRepository;
+
+    private Long orderId;
+
+    @BeforeEach
+    void setUp() {
+        // order_logs.order_id 는 orders 를 참조 (FK) >> 로그를 붙일 주문 1건 생성
+        String loginId = "log-" + System.nanoTime();
+        G_User user = userRepository.save(G_User.builder()
+                .loginId(loginId)
+                .password("{noop}password")
+                .email(loginId + "@example.com")
+                .nickname(loginId)
+                .build());
+        UserPrincipal principal = UserPrincipal.builder()
+                .id(user.getId())
+                .username(user.getLoginId())
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_USER")))
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .enabled(true)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        I_Product product = productRepository.save(I_Product.builder().name("log-" + loginId).price(1_000).build());
+        I_Stock stock = I_Stock.builder().product(product).build();
+        stock.setQuantity(10);
+        stockRepository.save(stock);
+
+        orderId = orderService.create(principal, new OrderRequest.OrderCreateRequest(
+                List.of(new OrderRequest.OrderItemLine(product.getId(), 1)))).getData().orderId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void asyncWriterFreesCallerAndBatchesInserts() throws Exception {
+        // 1) 동기: 호출 스레드에서 건마다 INSERT
+        long syncStart = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            I_OrderLogEvent e = event("sync", i);
+            Timestamp at = Timestamp.valueOf(e.createdAt());
+            jdbcTemplate.update(INSERT_SQL, e.orderId(), e.message(), at, at);
+        }
+        long syncMs = (System.nanoTime() - syncStart) / 1_000_000;
+
+        // 2) 비동기: enqueue 만 호출 스레드에서, INSERT 는 writer 스레드에서 batch 로
+        AtomicInteger batches = new AtomicInteger();
+        I_OrderLogWriter writer = new I_OrderLogWriter(jdbcTemplate, EVENTS, 200, 50) {
+            @Override
+            protected void writeBatch(List<I_OrderLogEvent> batch) {
+                batches.incrementAndGet();
+                super.writeBatch(batch);
+            }
+        };
+        writer.start();
+        long asyncStart = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            writer.enqueue(event("async", i));
+        }
+        long enqueueMs = (System.nanoTime() - asyncStart) / 1_000_000;
+
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (count("async") < EVENTS && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        long asyncMs = (System.nanoTime() - asyncStart) / 1_000_000;
+        writer.stop();
+
+        System.out.printf("[order log] %d events: sync INSERT caller=%d ms, async enqueue caller=%d ms (written in %d ms, %d batches)%n",
+                EVENTS, syncMs, enqueueMs, asyncMs, batches.get());
+
+        assertThat(count("sync")).isEqualTo(EVENTS);
+        assertThat(count("async")).isEqualTo(EVENTS);
+        assertThat(batches.get()).as("writeBatch 호출 수").isLessThan(EVENTS / 10);
+        assertThat(enqueueMs).as("비동기 호출 스레드 소요 시간(ms)").isLessThan(syncMs);
+    }
+
+    private I_OrderLogEvent event(String kind, int i) {
+        return new I_OrderLogEvent(orderId, "bench-" + kind + "-" + i, LocalDateTime.now());
+    }
+
+    private int count(String kind) {
+        Integer n = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_logs WHERE order_id = ? AND message LIKE ?",
+                Integer.class, orderId, "bench-" + kind + "-%");
+        return n == null ? 0 : n;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.k5_iot_springboot.service.support;
+
+import com.example.k5_iot_springboot.common.enums.StockMutationMode;
+import com.example.k5_iot_springboot.repository.I_StockDeltaRepository;
+import com.example.k5_iot_springboot.repository.I_StockRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * === I_StockLedgerTest ===
+ * : LEDGER 모드는 단일 인스턴스 설정(stock.ledger.single-instance=true)을 명시해야만 기동
+ * */
+class I_StockLedgerTest {
+
+    @Test
+    void ledgerModeRequiresExplicitSingleInstance() {
+        assertThatThrownBy(() -> ledger(StockMutationMode.LEDGER, false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("stock.ledger.single-instance");
+        assertThatCode(() -> ledger(StockMutationMode.LEDGER, true)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void otherModesIgnoreSingleInstanceSetting() {
+        assertThatCode(() -> ledger(StockMutationMode.PESSIMISTIC, false)).doesNotThrowAnyException();
+    }
+
+    private I_StockLedger ledger(StockMutationMode mode, boolean singleInstance) {
+        return new I_StockLedger(mock(I_StockDeltaRepository.class), mock(I_StockRepository.class),
+                mock(EntityManager.class), mock(TransactionTemplate.class), mode, 1_000, singleInstance);
+    }
+}
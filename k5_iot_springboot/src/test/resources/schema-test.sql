@@ -0,0 +1,18 @@
+-- 테스트(H2) 전용: 엔티티가 없는 JDBC 전용 테이블 (query.sql 과 같은 컬럼)
+CREATE TABLE IF NOT EXISTS principal_invalidations (
+    id          BIGINT AUTO_INCREMENT PRIMARY KEY,
+    login_id    VARCHAR(50) NOT NULL,
+    created_at  DATETIME(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_principal_invalidations_created_at ON principal_invalidations (created_at);
+
+CREATE TABLE IF NOT EXISTS token_revocations (
+    id              BIGINT AUTO_INCREMENT PRIMARY KEY,
+    jti             VARCHAR(40) NULL,
+    user_id         BIGINT NULL,
+    revoked_before  DATETIME(6) NULL,
+    expires_at      DATETIME(6) NOT NULL,
+    created_at      DATETIME(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_token_revocations_created_at ON token_revocations (created_at);
+CREATE INDEX IF NOT EXISTS idx_token_revocations_expires_at ON token_revocations (expires_at);